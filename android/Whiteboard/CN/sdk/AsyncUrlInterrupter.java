@@ -0,0 +1,20 @@
+package com.herewhite.sdk;
+
+/**
+ * 异步替换白板所加载资源 URL 的接口，详见
+ * {@link WhiteSdk#setAsyncUrlInterrupter(AsyncUrlInterrupter, com.herewhite.sdk.domain.UrlInterrupterOptions) setAsyncUrlInterrupter}。
+ *
+ * @since 2.16.101
+ */
+public interface AsyncUrlInterrupter {
+
+    /**
+     * 替换资源的 URL。
+     *
+     * @note 该方法在 SDK 的线程中调用，而非白板的线程。可以在该方法中执行签名等耗时操作，也可以将 `resultCaller` 交给其他线程后立即返回。
+     *
+     * @param sourceUrl    资源的原始 URL。
+     * @param resultCaller 将用于替换 `sourceUrl` 的 URL 传给 `resultCaller.invoke`。传入 `null` 则保留 `sourceUrl`，此时结果不会缓存。
+     */
+    void urlInterrupter(String sourceUrl, ResultCaller<String> resultCaller);
+}
@@ -0,0 +1,101 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 保存已释放的图片，之后解码时可以通过 `BitmapFactory.Options.inBitmap` 复用其内存。
+ * <p>
+ * 图片按分配内存大小以 2 的幂次分桶，查找时只需扫描能容纳所需大小的桶。每个桶最多保存 {@link #MAX_BITMAPS_PER_BUCKET} 张图片，
+ * 总大小不超过 {@link #MAX_POOL_BYTES}，超出限制时释放的图片会被回收。
+ */
+class BitmapPool {
+    private static final int MAX_BITMAPS_PER_BUCKET = 2;
+    private static final long MAX_POOL_BYTES = 32L * 1024 * 1024;
+
+    private final Map<Integer, ArrayDeque<Bitmap>> buckets = new HashMap<>();
+    private long pooledBytes;
+
+    /**
+     * 取出一张分配内存不小于 `byteCount` 字节的图片，如果没有则返回 `null`。
+     */
+    synchronized Bitmap acquire(int byteCount) {
+        if (byteCount <= 0) {
+            return null;
+        }
+        int floor = bucket(byteCount);
+        // 下界所在桶中的图片可能小于所需大小，下一个桶中的图片一定足够大。
+        Bitmap bitmap = take(floor, byteCount);
+        if (bitmap == null) {
+            bitmap = take(floor + 1, byteCount);
+        }
+        return bitmap;
+    }
+
+    private Bitmap take(int bucket, int byteCount) {
+        ArrayDeque<Bitmap> bitmaps = buckets.get(bucket);
+        if (bitmaps == null) {
+            return null;
+        }
+        for (Bitmap bitmap : bitmaps) {
+            if (bitmap.getAllocationByteCount() >= byteCount) {
+                bitmaps.remove(bitmap);
+                pooledBytes -= bitmap.getAllocationByteCount();
+                return bitmap;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 归还不再使用的图片。解码时只能复用可变（mutable）的图片。
+     */
+    void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        if (!bitmap.isMutable() || !offer(bitmap)) {
+            bitmap.recycle();
+        }
+    }
+
+    private synchronized boolean offer(Bitmap bitmap) {
+        int byteCount = bitmap.getAllocationByteCount();
+        int bucket = bucket(byteCount);
+        ArrayDeque<Bitmap> bitmaps = buckets.get(bucket);
+        if (bitmaps == null) {
+            bitmaps = new ArrayDeque<>();
+            buckets.put(bucket, bitmaps);
+        }
+        if (bitmaps.contains(bitmap)) {
+            // 重复释放，图片已在池中。
+            return true;
+        }
+        if (bitmaps.size() >= MAX_BITMAPS_PER_BUCKET || pooledBytes + byteCount > MAX_POOL_BYTES) {
+            return false;
+        }
+        bitmaps.add(bitmap);
+        pooledBytes += byteCount;
+        return true;
+    }
+
+    /**
+     * 回收池中所有图片。
+     */
+    synchronized void clear() {
+        for (ArrayDeque<Bitmap> bitmaps : buckets.values()) {
+            for (Bitmap bitmap : bitmaps) {
+                bitmap.recycle();
+            }
+        }
+        buckets.clear();
+        pooledBytes = 0;
+    }
+
+    private static int bucket(int byteCount) {
+        return 31 - Integer.numberOfLeadingZeros(byteCount);
+    }
+}
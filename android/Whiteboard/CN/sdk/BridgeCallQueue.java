@@ -0,0 +1,138 @@
+package com.herewhite.sdk;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import wendu.dsbridge.OnReturnValue;
+
+/**
+ * 内部队列，缓存 bridge 调用并在每个显示帧统一发送。
+ * 调用始终按入队顺序发送。
+ */
+class BridgeCallQueue implements Choreographer.FrameCallback {
+
+    interface Sink {
+        void dispatch(List<PendingCall> calls);
+    }
+
+    static class PendingCall {
+        final String method;
+        final Object[] args;
+        final OnReturnValue<?> handler;
+        /**
+         * 合并的调用保留原始参数，发送时才转换为 bridge 参数。
+         */
+        final boolean coalesced;
+
+        PendingCall(String method, Object[] args, OnReturnValue<?> handler, boolean coalesced) {
+            this.method = method;
+            this.args = args;
+            this.handler = handler;
+            this.coalesced = coalesced;
+        }
+    }
+
+    private final Choreographer choreographer;
+    private final Sink sink;
+    private final List<PendingCall> pending = new ArrayList<>();
+    private boolean scheduled;
+
+    private long queuedCalls;
+    private long flushedFrames;
+    private long flushNanos;
+    private final Map<String, Long> elidedCalls = new HashMap<>();
+
+    /**
+     * 必须在主线程创建，{@link Choreographer} 与创建时所在线程的 Looper 绑定。
+     */
+    BridgeCallQueue(Sink sink) {
+        this.choreographer = Choreographer.getInstance();
+        this.sink = sink;
+    }
+
+    synchronized void enqueue(String method, Object[] args, OnReturnValue<?> handler) {
+        pending.add(new PendingCall(method, args, handler, false));
+        queuedCalls++;
+        schedule();
+    }
+
+    /**
+     * 将“设置为某值”的调用入队。队列中同名方法的调用会被新调用取代并合并到新调用中，
+     * 除非在它之后已有不可合并的调用入队。
+     */
+    synchronized void enqueueCoalesced(String method, Object[] args) {
+        Object[] merged = args;
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            PendingCall call = pending.get(i);
+            if (!call.coalesced) {
+                break;
+            }
+            if (call.method.equals(method)) {
+                pending.remove(i);
+                merged = SetterCoalescer.merge(call.args, args);
+                Long count = elidedCalls.get(method);
+                elidedCalls.put(method, count == null ? 1 : count + 1);
+                break;
+            }
+        }
+        pending.add(new PendingCall(method, merged, null, true));
+        queuedCalls++;
+        schedule();
+    }
+
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            choreographer.postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        flush();
+    }
+
+    void flush() {
+        List<PendingCall> calls;
+        synchronized (this) {
+            if (scheduled) {
+                scheduled = false;
+                choreographer.removeFrameCallback(this);
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            calls = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        long start = System.nanoTime();
+        sink.dispatch(calls);
+        long cost = System.nanoTime() - start;
+
+        synchronized (this) {
+            flushedFrames++;
+            flushNanos += cost;
+        }
+    }
+
+    synchronized long getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    synchronized long getFlushedFrames() {
+        return flushedFrames;
+    }
+
+    synchronized long getFlushNanos() {
+        return flushNanos;
+    }
+
+    synchronized Map<String, Long> getElidedCalls() {
+        return new HashMap<>(elidedCalls);
+    }
+}
@@ -0,0 +1,44 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.SlideErrorType;
+import com.herewhite.sdk.window.SlideListener;
+
+/**
+ * 将课件资源下载到 {@link SlideResourceCache}，并将资源和事件转发给 app 的监听器。WebView 通过 {@link SlideResourceCache#resolve(String)} 读取已缓存的资源。
+ */
+class CachingSlideListener implements SlideListener {
+    private final SlideResourceCache cache;
+    private final SlideListener delegate;
+
+    CachingSlideListener(SlideResourceCache cache, SlideListener delegate) {
+        this.cache = cache;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void slideUrlInterrupter(final String sourceUrl, final ResultCaller<String> resultCaller) {
+        // 保留原 URL：WebView 请求已缓存的资源时由本地提供，详见 SlideResourceCache#resolve。
+        final boolean cached = cache.contains(sourceUrl);
+        if (delegate == null) {
+            if (!cached) {
+                cache.fetch(sourceUrl, sourceUrl);
+            }
+            resultCaller.invoke(sourceUrl);
+            return;
+        }
+        // 从 app 返回的 URL（可能带签名）下载，但以原始 URL 缓存。
+        delegate.slideUrlInterrupter(sourceUrl, url -> {
+            if (!cached) {
+                cache.fetch(sourceUrl, url);
+            }
+            resultCaller.invoke(url);
+        });
+    }
+
+    @Override
+    public void onSlideError(SlideErrorType errorType, String errorMsg, String slideId, int slideIndex) {
+        if (delegate != null) {
+            delegate.onSlideError(errorType, errorMsg, slideId, slideIndex);
+        }
+    }
+}
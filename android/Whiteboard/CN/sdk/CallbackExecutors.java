@@ -0,0 +1,46 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+
+/**
+ * 用于 {@link Displayer#setCallbackExecutor setCallbackExecutor} 和 {@link Displayer#setEventCallbackExecutor setEventCallbackExecutor} 的执行器。
+ *
+ * @since 2.16.101
+ */
+public final class CallbackExecutors {
+    private static final Executor MAIN = new Executor() {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+    };
+    private static final Executor DIRECT = Runnable::run;
+
+    private CallbackExecutors() {
+    }
+
+    /**
+     * 获取在主线程触发回调的执行器。
+     *
+     * @return 主线程执行器。
+     */
+    public static Executor main() {
+        return MAIN;
+    }
+
+    /**
+     * 获取直接在接收白板消息的线程触发回调的执行器。
+     *
+     * @note 回调必须尽快返回，否则会延迟白板的其他消息。
+     *
+     * @return 直接执行器。
+     */
+    public static Executor direct() {
+        return DIRECT;
+    }
+}
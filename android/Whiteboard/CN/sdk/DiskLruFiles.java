@@ -0,0 +1,190 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按总大小限制的缓存文件目录，优先淘汰最久未使用的文件。
+ * <p>
+ * 首次使用时从目录加载索引。文件的读取时间保存在其最后修改时间中，因此 app 重启后淘汰顺序不变。各方法会读写文件，不应在主线程调用。
+ */
+class DiskLruFiles {
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean loaded;
+    /**
+     * 索引加载完成后置位，使 {@link #peek(String)} 无需等待加载。
+     */
+    private volatile boolean ready;
+    private volatile long bytes;
+    private volatile long evictions;
+
+    DiskLruFiles(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 获取缓存的文件并标记为最近使用；如果未缓存，返回 `null`。
+     */
+    synchronized File get(String name) {
+        load();
+        if (entries.get(name) == null) {
+            return null;
+        }
+        File file = new File(directory, name);
+        if (!file.isFile()) {
+            removeEntry(name);
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * 获取缓存目录中文件的路径，不检查文件是否已缓存。
+     */
+    File file(String name) {
+        return new File(directory, name);
+    }
+
+    synchronized boolean contains(String name) {
+        load();
+        return entries.containsKey(name);
+    }
+
+    /**
+     * 仅根据内存中的索引检查文件是否已缓存，不执行文件 I/O。索引加载完成前返回 `false`，详见 {@link #preload()}。
+     */
+    boolean peek(String name) {
+        if (!ready) {
+            return false;
+        }
+        synchronized (this) {
+            return entries.get(name) != null;
+        }
+    }
+
+    /**
+     * 加载索引，之后的调用无需再列出目录。
+     */
+    synchronized void preload() {
+        load();
+    }
+
+    /**
+     * 获取在 {@link #commit} 之前写入的文件，读取方因此不会读到写了一半的文件。
+     */
+    synchronized File tempFile(String name) {
+        load();
+        return new File(directory, name + TMP_SUFFIX);
+    }
+
+    synchronized void commit(String name, File tempFile) throws IOException {
+        load();
+        File file = new File(directory, name);
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            throw new IOException("rename failed: " + file);
+        }
+        removeEntry(name);
+        entries.put(name, file.length());
+        bytes += file.length();
+        trim();
+    }
+
+    synchronized void remove(String name) {
+        load();
+        if (removeEntry(name)) {
+            new File(directory, name).delete();
+        }
+    }
+
+    long size() {
+        return bytes;
+    }
+
+    long evictionCount() {
+        return evictions;
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        loadEntries();
+        ready = true;
+    }
+
+    private void loadEntries() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Logger.error("An exception occurred while create cache directory", new IOException("mkdirs failed: " + directory));
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (file.getName().endsWith(TMP_SUFFIX)) {
+                // 写入中断后遗留的文件。
+                file.delete();
+            } else if (file.isFile()) {
+                entries.put(file.getName(), file.length());
+                bytes += file.length();
+            }
+        }
+        trim();
+    }
+
+    private boolean removeEntry(String name) {
+        Long length = entries.remove(name);
+        if (length == null) {
+            return false;
+        }
+        bytes -= length;
+        return true;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            iterator.remove();
+            bytes -= entry.getValue();
+            new File(directory, entry.getKey()).delete();
+            evictions++;
+        }
+    }
+
+    /**
+     * 根据缓存键生成文件名。文件名保留后缀，以便从文件名判断文件类型。
+     */
+    static String fileName(String key, String suffix) {
+        StringBuilder name = new StringBuilder();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(UTF_8));
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            name.append(Integer.toHexString(key.hashCode()));
+        }
+        return name.append(suffix).toString();
+    }
+}
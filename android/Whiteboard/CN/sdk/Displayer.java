@@ -1,25 +1,30 @@
 package com.herewhite.sdk;
 
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Color;
-import android.os.Handler;
-import android.os.Looper;
-import android.util.Base64;
+import android.util.Size;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import com.herewhite.sdk.domain.AnimationMode;
 import com.herewhite.sdk.domain.CameraBound;
+import com.herewhite.sdk.domain.CallbackDispatchStats;
 import com.herewhite.sdk.domain.CameraConfig;
+import com.herewhite.sdk.domain.EventBufferOptions;
+import com.herewhite.sdk.domain.EventEntry;
 import com.herewhite.sdk.domain.EventListener;
+import com.herewhite.sdk.domain.EventPayloadCodec;
 import com.herewhite.sdk.domain.FrequencyEventListener;
 import com.herewhite.sdk.domain.Point;
 import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.RectangleConfig;
 import com.herewhite.sdk.domain.SDKError;
 import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.SceneIndexMode;
+import com.herewhite.sdk.domain.ScenePreviewCacheOptions;
+import com.herewhite.sdk.domain.ScenePreviewCacheStats;
+import com.herewhite.sdk.domain.SceneState;
 import com.herewhite.sdk.domain.WhiteObject;
 import com.herewhite.sdk.domain.WhiteScenePathType;
 import com.herewhite.sdk.internal.Logger;
@@ -27,8 +32,14 @@ import com.herewhite.sdk.internal.Logger;
 import org.json.JSONObject;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.VisibleForTesting;
@@ -40,18 +51,39 @@ import wendu.dsbridge.OnReturnValue;
  */
 public class Displayer {
     protected final static Gson gson = new Gson();
+    private static final int MAX_BUFFERED_EVENT_THREADS = 4;
+    /**
+     * 运行缓冲的高频事件监听器，不占用接收事件的线程。
+     */
+    private static final Executor bufferedEventExecutor = Executors.newFixedThreadPool(MAX_BUFFERED_EVENT_THREADS);
     @ColorInt
     private int backgroundColor = Color.WHITE;
 
     protected final JsBridgeInterface bridge;
     protected String uuid;
     protected int densityDpi;
-    private Handler handler;
+    private volatile MeasuredExecutor callbackExecutor = new MeasuredExecutor(CallbackExecutors.main());
+    private final Executor defaultEventCallbackExecutor;
+    private volatile MeasuredExecutor eventCallbackExecutor;
 
     @VisibleForTesting
     ConcurrentHashMap<String, EventListener> eventListenerMap = new ConcurrentHashMap<>();
     @VisibleForTesting
     ConcurrentHashMap<String, FrequencyEventListener> frequencyEventListenerMap = new ConcurrentHashMap<>();
+    @VisibleForTesting
+    ConcurrentHashMap<String, EventRingBuffer> frequencyEventBufferMap = new ConcurrentHashMap<>();
+    @VisibleForTesting
+    final MagixEventDispatcher magixEventDispatcher = new MagixEventDispatcher();
+    @VisibleForTesting
+    ConcurrentHashMap<String, EventPayloadCodec<?>> payloadCodecMap = new ConcurrentHashMap<>();
+    private final SceneImageDecoder sceneImageDecoder;
+    private final Object scenePreviewLock = new Object();
+    private volatile ScenePreviewCache scenePreviewCache;
+    private SceneState previewSceneState;
+    @VisibleForTesting
+    final SceneIndex sceneIndex = new SceneIndex();
+    private volatile SceneIndexMode sceneIndexMode = SceneIndexMode.DISABLED;
+    private final AtomicLong sceneIndexMismatches = new AtomicLong();
 
     /// @cond test
     /**
@@ -63,21 +95,82 @@ public class Displayer {
      * 文档中隐藏
      */
     public Displayer(String uuid, JsBridgeInterface bridge, int densityDpi) {
+        this(uuid, bridge, densityDpi, CallbackExecutors.direct());
+    }
+    /// @endcond
+
+    /**
+     * @param defaultEventCallbackExecutor 应用未设置执行器时，触发自定义事件回调的执行器。
+     */
+    Displayer(String uuid, JsBridgeInterface bridge, int densityDpi, Executor defaultEventCallbackExecutor) {
         this.uuid = uuid;
         this.bridge = bridge;
         this.densityDpi = densityDpi;
+        this.sceneImageDecoder = new SceneImageDecoder(densityDpi);
+        this.defaultEventCallbackExecutor = defaultEventCallbackExecutor;
+        this.eventCallbackExecutor = new MeasuredExecutor(defaultEventCallbackExecutor);
     }
-    /// @endcond
 
-    private Handler getHandler() {
-        if (handler == null) {
-            handler = new Handler(Looper.getMainLooper());
-        }
-        return handler;
+    protected void post(Runnable runnable) {
+        callbackExecutor.execute(runnable);
     }
 
-    protected void post(Runnable runnable) {
-        getHandler().post(runnable);
+    void postEvent(Runnable runnable) {
+        eventCallbackExecutor.execute(runnable);
+    }
+
+    private void postBufferedEvent(Runnable runnable) {
+        eventCallbackExecutor.execute(bufferedEventExecutor, runnable);
+    }
+
+    /**
+     * 设置触发状态回调（例如 {@link RoomListener} 回调）的执行器。
+     *
+     * @since 2.16.101
+     *
+     * SDK 默认在主线程触发这些回调。如果回调不更新 UI（例如数据统计或录制代码），可以在后台执行器中触发，避免与渲染争用主线程。
+     *
+     * @param executor 执行器，详见 {@link CallbackExecutors}。传入 `null` 则恢复在主线程触发。
+     */
+    public void setCallbackExecutor(Executor executor) {
+        callbackExecutor = new MeasuredExecutor(executor != null ? executor : CallbackExecutors.main());
+    }
+
+    /**
+     * 设置触发自定义事件回调（例如 {@link com.herewhite.sdk.domain.EventListener EventListener} 回调）的执行器。
+     *
+     * @since 2.16.101
+     *
+     * SDK 默认在接收白板消息的线程触发 {@link Room} 的自定义事件回调。
+     *
+     * @param executor 执行器，详见 {@link CallbackExecutors}。传入 `null` 则恢复默认线程。
+     */
+    public void setEventCallbackExecutor(Executor executor) {
+        eventCallbackExecutor = new MeasuredExecutor(executor != null ? executor : defaultEventCallbackExecutor);
+    }
+
+    /**
+     * 获取通过 {@link #setCallbackExecutor setCallbackExecutor} 设置的执行器触发状态回调的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * @return 统计数据，包括排队数量和回调延迟，详见 {@link com.herewhite.sdk.domain.CallbackDispatchStats CallbackDispatchStats}。
+     */
+    public CallbackDispatchStats getCallbackDispatchStats() {
+        return callbackExecutor.getStats();
+    }
+
+    /**
+     * 获取通过 {@link #setEventCallbackExecutor setEventCallbackExecutor} 设置的执行器触发自定义事件回调的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * 统计数据也包括缓冲的高频事件监听器的回调，这些回调总是在后台线程触发。
+     *
+     * @return 统计数据，包括排队数量和回调延迟，详见 {@link com.herewhite.sdk.domain.CallbackDispatchStats CallbackDispatchStats}。
+     */
+    public CallbackDispatchStats getEventCallbackDispatchStats() {
+        return eventCallbackExecutor.getStats();
     }
 
     /**
@@ -113,11 +206,20 @@ public class Displayer {
      *                - 如果方法调用成功，将返回场景路径类型。详见 {@link com.herewhite.sdk.domain.WhiteScenePathType WhiteScenePathType}。
      *                - 如果方法调用失败，将返回错误信息。
      */
-    public void getScenePathType(String path, final Promise<WhiteScenePathType> promise) {
+    public void getScenePathType(final String path, final Promise<WhiteScenePathType> promise) {
+        final SceneIndexMode mode = sceneIndexMode;
+        final WhiteScenePathType local = mode != SceneIndexMode.DISABLED ? sceneIndex.pathType(path) : null;
+        if (local != null && mode == SceneIndexMode.LOCAL) {
+            promise.then(local);
+            return;
+        }
         bridge.callHandler("displayer.scenePathType", new Object[]{path}, new OnReturnValue<String>() {
             @Override
             public void onValue(String retValue) {
                 WhiteScenePathType type = gson.fromJson(retValue, WhiteScenePathType.class);
+                if (local != null) {
+                    verifySceneIndex("scenePathType " + path, local, type);
+                }
                 promise.then(type);
             }
         });
@@ -131,11 +233,21 @@ public class Displayer {
      * - 如果方法调用成功，将返回场景信息。详见 {@link com.herewhite.sdk.domain.Scene Scene}。
      * - 如果方法调用失败，将返回错误信息。
      */
-    public void getScene(String path, final Promise<Scene> promise) {
+    public void getScene(final String path, final Promise<Scene> promise) {
+        final SceneIndexMode mode = sceneIndexMode;
+        final boolean indexed = mode != SceneIndexMode.DISABLED && sceneIndex.knowsScene(path);
+        final Scene local = indexed ? sceneIndex.scene(path) : null;
+        if (indexed && mode == SceneIndexMode.LOCAL) {
+            promise.then(local);
+            return;
+        }
         bridge.callHandler("displayer.getScene", new Object[]{path}, new OnReturnValue<String>() {
             @Override
             public void onValue(String retValue) {
                 Scene scene = gson.fromJson(retValue, Scene.class);
+                if (indexed) {
+                    verifySceneIndex("getScene " + path, local, scene);
+                }
                 promise.then(scene);
             }
         });
@@ -150,17 +262,161 @@ public class Displayer {
      *                - 如果方法调用失败，将返回错误信息。
      */
     public void getEntireScenes(final Promise<Map<String, Scene[]>> promise) {
+        final Map<String, Scene[]> local = sceneIndexMode == SceneIndexMode.VERIFY ? sceneIndex.entireScenes() : null;
+        final long revision = sceneIndex.getRevision();
         bridge.callHandler("displayer.entireScenes", new OnReturnValue<JSONObject>() {
             @Override
             public void onValue(JSONObject retValue) {
-                Type type = new TypeToken<Map<String, Scene[]>>() {
-                }.getType();
-                Map<String, Scene[]> map = gson.fromJson(String.valueOf(retValue), type);
+                Map<String, Scene[]> map = parseEntireScenes(retValue);
+                if (local != null) {
+                    verifySceneIndex("entireScenes", local, map);
+                }
+                if (map != null && sceneIndexMode != SceneIndexMode.DISABLED) {
+                    sceneIndex.reset(map, revision);
+                }
                 promise.then(map);
             }
         });
     }
 
+    private static Map<String, Scene[]> parseEntireScenes(JSONObject retValue) {
+        Type type = new TypeToken<Map<String, Scene[]>>() {
+        }.getType();
+        return gson.fromJson(String.valueOf(retValue), type);
+    }
+
+    /**
+     * 设置场景查询使用本地场景索引的方式。
+     *
+     * @since 2.16.101
+     *
+     * SDK 会在本地维护场景树索引，并根据房间的场景状态，以及本客户端的场景操作（例如 {@link Room#putScenes(String, Scene[], int) putScenes}、
+     * {@link Room#moveScene(String, String) moveScene} 和 {@link Room#removeScenes(String) removeScenes}）更新索引。开启索引后，
+     * {@link #getScenePathType(String) getScenePathType}、{@link #getScene(String) getScene} 和 {@link #getEntireScenes() getEntireScenes}
+     * 会通过索引同步返回结果；索引可以回答时，通过 promise 返回结果的查询方法也不再向白板查询，但
+     * {@link #getEntireScenes(Promise) getEntireScenes} 除外，该方法总是向白板查询，并用查询结果刷新索引。
+     *
+     * @note
+     * - 开启索引时会查询一次所有场景。在查询结果返回前，只有当前目录下的场景会被索引。
+     * - 其他用户修改当前目录以外的场景后，只有该目录成为当前目录，或调用 {@link #getEntireScenes(Promise) getEntireScenes} 时，索引才会更新。
+     *
+     * @param mode 查询方式，详见 {@link SceneIndexMode}。默认值为 `DISABLED`。
+     */
+    public void setSceneIndexMode(SceneIndexMode mode) {
+        sceneIndex.setEnabled(mode != null && mode != SceneIndexMode.DISABLED);
+        sceneIndexMode = mode != null ? mode : SceneIndexMode.DISABLED;
+        ensureSceneIndex();
+    }
+
+    /**
+     * 获取 `VERIFY` 模式下本地场景索引与白板结果不一致的查询次数。
+     *
+     * @since 2.16.101
+     *
+     * @return 不一致的次数。
+     */
+    public long getSceneIndexMismatchCount() {
+        return sceneIndexMismatches.get();
+    }
+
+    /**
+     * 通过本地场景索引查询场景路径类型。
+     *
+     * @since 2.16.101
+     *
+     * @param path 想要查询的场景路径。
+     * @return 场景路径类型，详见 {@link com.herewhite.sdk.domain.WhiteScenePathType WhiteScenePathType}。
+     * 如果本地场景索引未开启或暂时无法回答，返回 `null`。详见 {@link #setSceneIndexMode(SceneIndexMode) setSceneIndexMode}。
+     */
+    public WhiteScenePathType getScenePathType(String path) {
+        if (sceneIndexMode == SceneIndexMode.DISABLED) {
+            return null;
+        }
+        WhiteScenePathType local = sceneIndex.pathType(path);
+        if (local != null && sceneIndexMode == SceneIndexMode.VERIFY) {
+            getScenePathType(path, ignoredPromise());
+        }
+        return local;
+    }
+
+    /**
+     * 通过本地场景索引获取指定场景的信息。
+     *
+     * @since 2.16.101
+     *
+     * @param path 场景的路径，例如，`/math/classA`。
+     * @return 场景信息，详见 {@link com.herewhite.sdk.domain.Scene Scene}。当前目录以外的场景的 `componentsCount` 可能不是最新的。
+     * 如果场景不存在，或本地场景索引未开启或暂时无法回答，返回 `null`。详见 {@link #setSceneIndexMode(SceneIndexMode) setSceneIndexMode}。
+     */
+    public Scene getScene(String path) {
+        if (sceneIndexMode == SceneIndexMode.DISABLED || !sceneIndex.knowsScene(path)) {
+            return null;
+        }
+        if (sceneIndexMode == SceneIndexMode.VERIFY) {
+            getScene(path, ignoredPromise());
+        }
+        return sceneIndex.scene(path);
+    }
+
+    /**
+     * 通过本地场景索引获取当前房间内所有场景的信息。
+     *
+     * @since 2.16.101
+     *
+     * @return 各场景目录下的场景，以场景目录的路径为键。如果本地场景索引未开启或暂时无法回答，返回 `null`。
+     * 详见 {@link #setSceneIndexMode(SceneIndexMode) setSceneIndexMode}。
+     */
+    public Map<String, Scene[]> getEntireScenes() {
+        if (sceneIndexMode == SceneIndexMode.DISABLED) {
+            return null;
+        }
+        Map<String, Scene[]> local = sceneIndex.entireScenes();
+        if (local != null && sceneIndexMode == SceneIndexMode.VERIFY) {
+            getEntireScenes(ignoredPromise());
+        }
+        return local;
+    }
+
+    /**
+     * 如果本地场景索引已开启但不完整，重新加载索引。会在可能使索引失效的场景操作后调用。
+     */
+    void ensureSceneIndex() {
+        if (sceneIndexMode == SceneIndexMode.DISABLED || sceneIndex.isComplete()) {
+            return;
+        }
+        final long revision = sceneIndex.getRevision();
+        bridge.callHandler("displayer.entireScenes", new OnReturnValue<JSONObject>() {
+            @Override
+            public void onValue(JSONObject retValue) {
+                Map<String, Scene[]> map = parseEntireScenes(retValue);
+                if (map != null && sceneIndexMode != SceneIndexMode.DISABLED && !sceneIndex.reset(map, revision)) {
+                    // 期间发送了场景操作，查询结果可能不包含该操作。
+                    ensureSceneIndex();
+                }
+            }
+        });
+    }
+
+    private void verifySceneIndex(String query, Object local, Object remote) {
+        if (!SceneIndex.sameScenes(local, remote)) {
+            sceneIndexMismatches.incrementAndGet();
+            Logger.error("The local scene index does not match the whiteboard: " + query,
+                    new IllegalStateException("local: " + gson.toJson(local) + ", whiteboard: " + gson.toJson(remote)));
+        }
+    }
+
+    private static <T> Promise<T> ignoredPromise() {
+        return new Promise<T>() {
+            @Override
+            public void then(T t) {
+            }
+
+            @Override
+            public void catchEx(SDKError t) {
+            }
+        };
+    }
+
     /**
      * 刷新白板的界面。
      * <p>
@@ -235,6 +491,133 @@ public class Displayer {
         bridge.callHandler("displayer.addHighFrequencyEventListener", new Object[]{eventName, fireInterval});
     }
 
+    /**
+     * 添加带缓冲区的高频自定义事件监听。
+     *
+     * @since 2.16.101
+     *
+     * 与 {@link #addHighFrequencyEventListener(String, FrequencyEventListener, Integer) addHighFrequencyEventListener}[1/2] 不同，
+     * 同一事件可以添加多个监听。SDK 为每个监听器在有界缓冲区中缓存事件，并在后台线程触发回调，每次回调包含上次回调以来收到的所有事件。
+     * 慢速监听器不会延迟其他监听器，也不会延迟房间接收事件。最多同时触发 4 个监听器的回调，回调计入
+     * {@link #getEventCallbackDispatchStats() getEventCallbackDispatchStats} 的统计数据。
+     *
+     * @note
+     * - 同一事件的所有监听器使用第一个添加的监听器的缓冲区配置。
+     * - 调用 {@link #removeHighFrequencyEventListener(String, FrequencyEventListener) removeHighFrequencyEventListener} 可移除单个监听器。
+     * - 使用 {@link com.herewhite.sdk.domain.EventOverflowPolicy#BLOCK BLOCK} 时，慢速监听器会阻塞白板发给 SDK 的所有消息，而不仅是事件。详见 {@link com.herewhite.sdk.domain.EventOverflowPolicy EventOverflowPolicy}。
+     *
+     * @param eventName     想要监听的自定义事件名称。
+     * @param eventListener 自定义事件回调，详见 {@link com.herewhite.sdk.domain.FrequencyEventListener FrequencyEventListener}。
+     * @param fireInterval  SDK 接收事件的频率，单位为毫秒。该参数最小值为 500 ms，如果设置为低于该值会被重置为 500 ms。
+     * @param options       缓冲区配置，详见 {@link com.herewhite.sdk.domain.EventBufferOptions EventBufferOptions}。传 `null` 表示使用默认配置。
+     */
+    public void addHighFrequencyEventListener(String eventName, FrequencyEventListener eventListener, Integer fireInterval, EventBufferOptions options) {
+        if (fireInterval < 500) {
+            fireInterval = 500;
+        }
+        if (options == null) {
+            options = new EventBufferOptions();
+        }
+        EventRingBuffer buffer = frequencyEventBufferMap.get(eventName);
+        if (buffer == null) {
+            buffer = new EventRingBuffer(options.getCapacity(), options.getOverflowPolicy(), this::postBufferedEvent);
+            EventRingBuffer previous = frequencyEventBufferMap.putIfAbsent(eventName, buffer);
+            if (previous != null) {
+                buffer = previous;
+            }
+        }
+        buffer.addListener(eventListener);
+        bridge.callHandler("displayer.addHighFrequencyEventListener", new Object[]{eventName, fireInterval});
+    }
+
+    /**
+     * 移除自定义高频事件的缓冲监听器。
+     *
+     * @since 2.16.101
+     *
+     * 该事件的其他监听器会保留。移除该事件的最后一个监听器后，SDK 不再接收该事件，除非还通过其他方法添加了监听器。
+     *
+     * @param eventName     自定义事件名称。
+     * @param eventListener 通过 {@link #addHighFrequencyEventListener(String, FrequencyEventListener, Integer, EventBufferOptions) addHighFrequencyEventListener}[2/2] 添加的监听器。
+     */
+    public void removeHighFrequencyEventListener(String eventName, FrequencyEventListener eventListener) {
+        EventRingBuffer buffer = frequencyEventBufferMap.get(eventName);
+        if (buffer == null || !buffer.removeListener(eventListener)) {
+            return;
+        }
+        if (frequencyEventBufferMap.remove(eventName, buffer)) {
+            buffer.close();
+            if (!hasMagixEventListener(eventName)) {
+                bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventName});
+            }
+        }
+    }
+
+    /**
+     * 获取因高频事件的缓冲监听器处理过慢而丢弃的事件数。
+     *
+     * @since 2.16.101
+     *
+     * @param eventName 自定义事件名称。
+     * @return 丢弃的事件数。同一事件对多个监听器丢弃时，按监听器分别计数。
+     */
+    public long getDroppedHighFrequencyEventCount(String eventName) {
+        EventRingBuffer buffer = frequencyEventBufferMap.get(eventName);
+        return buffer != null ? buffer.getDroppedEvents() : 0;
+    }
+
+    /**
+     * 设置自定义事件内容的解码器。
+     *
+     * @since 2.16.101
+     *
+     * 设置成功后，{@link com.herewhite.sdk.domain.EventEntry#getPayload() EventEntry.getPayload} 返回解码器解码后的值。
+     * 只有在监听器读取事件内容时才会解码。
+     *
+     * @param eventName 自定义事件名称。
+     * @param codec     事件内容解码器，详见 {@link com.herewhite.sdk.domain.EventPayloadCodec EventPayloadCodec}。传入 `null` 可移除解码器。
+     * @param <T>       解码后事件内容的类型。
+     */
+    public <T> void setMagixEventPayloadCodec(String eventName, EventPayloadCodec<T> codec) {
+        if (codec == null) {
+            payloadCodecMap.remove(eventName);
+        } else {
+            payloadCodecMap.put(eventName, codec);
+        }
+    }
+
+    /**
+     * 设置自定义事件内容解码的目标类型。
+     *
+     * @since 2.16.101
+     *
+     * 等同于调用 {@link #setMagixEventPayloadCodec setMagixEventPayloadCodec} 并传入使用 Gson 解码的解码器。
+     *
+     * @param eventName 自定义事件名称。
+     * @param classOfT  事件内容的类型，例如 POJO、`String` 或 `Double`。
+     * @param <T>       事件内容的类型。
+     */
+    public <T> void setMagixEventPayloadClass(String eventName, Class<T> classOfT) {
+        setMagixEventPayloadCodec(eventName, payload -> gson.fromJson(payload, classOfT));
+    }
+
+    void attachPayloadCodec(EventEntry eventEntry) {
+        if (payloadCodecMap.isEmpty()) {
+            return;
+        }
+        EventPayloadCodec<?> codec = payloadCodecMap.get(eventEntry.getEventName());
+        if (codec != null) {
+            eventEntry.setPayloadCodec(codec);
+        }
+    }
+
+    void publishHighFrequencyEvent(EventEntry[] eventEntries) {
+        EventRingBuffer buffer = frequencyEventBufferMap.get(eventEntries[0].getEventName());
+        if (buffer != null) {
+            buffer.publish(eventEntries);
+        }
+    }
+
     /**
      * 移除自定义事件监听。
      *
@@ -243,7 +626,55 @@ public class Displayer {
     public void removeMagixEventListener(String eventName) {
         this.eventListenerMap.remove(eventName);
         this.frequencyEventListenerMap.remove(eventName);
-        bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventName});
+        EventRingBuffer buffer = this.frequencyEventBufferMap.remove(eventName);
+        if (buffer != null) {
+            buffer.close();
+        }
+        if (!hasMagixEventListener(eventName)) {
+            bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventName});
+        }
+    }
+
+    private boolean hasMagixEventListener(String eventName) {
+        return eventListenerMap.containsKey(eventName)
+                || frequencyEventListenerMap.containsKey(eventName)
+                || frequencyEventBufferMap.containsKey(eventName)
+                || magixEventDispatcher.contains(eventName);
+    }
+
+    /**
+     * 订阅自定义事件，或订阅名称具有相同前缀的所有自定义事件。
+     *
+     * @since 2.16.101
+     *
+     * 与 {@link #addMagixEventListener addMagixEventListener} 不同，同一事件可以添加多个监听。
+     * 只有在添加某个事件名或前缀的第一个监听时，SDK 才会向白板注册该事件。
+     *
+     * @param eventPattern 自定义事件名称，或以 `*` 结尾的前缀模式：
+     * - `"quiz.*"`：所有名称以 `"quiz."` 开头的事件。
+     * - `"*"`：所有事件。
+     * @param eventListener 自定义事件回调，详见 {@link com.herewhite.sdk.domain.EventListener EventListener}。
+     */
+    public void subscribeMagixEvent(String eventPattern, EventListener eventListener) {
+        if (magixEventDispatcher.add(eventPattern, eventListener)) {
+            bridge.callHandler("displayer.addMagixEventListener", new Object[]{eventPattern});
+        }
+    }
+
+    /**
+     * 移除通过 {@link #subscribeMagixEvent subscribeMagixEvent} 添加的监听。
+     *
+     * @since 2.16.101
+     *
+     * 移除某个事件名或前缀的最后一个监听时，SDK 会向白板注销该事件。
+     *
+     * @param eventPattern 调用 {@link #subscribeMagixEvent subscribeMagixEvent} 时传入的事件名或前缀模式。
+     * @param eventListener 要移除的回调。
+     */
+    public void unsubscribeMagixEvent(String eventPattern, EventListener eventListener) {
+        if (magixEventDispatcher.remove(eventPattern, eventListener) && !hasMagixEventListener(eventPattern)) {
+            bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventPattern});
+        }
     }
 
     /**
@@ -337,22 +768,103 @@ public class Displayer {
      *                  - 如果方法调用失败，将返回错误码。
      */
     public void getScenePreviewImage(String scenePath, final Promise<Bitmap> promise) {
+        getScenePreviewImage(scenePath, 0, 0, promise);
+    }
+
+    /**
+     * 获取指定场景的预览图，并按指定尺寸降采样。
+     *
+     * @since 2.16.101
+     *
+     * 预览图会按 2 的幂次降采样，同时保证宽高均不小于 `width` 和 `height`。将预览图作为缩略图显示时，可以节省内存和解码时间。
+     * 不再使用的图片可以传给 {@link #releaseSceneImage(Bitmap)}，之后获取预览图或截图时会复用其内存。
+     *
+     * 如果已通过 {@link #setScenePreviewCacheOptions(ScenePreviewCacheOptions)} 开启场景预览图缓存，命中缓存时直接返回缓存的预览图，不会重新渲染场景。
+     * 缓存的图片会在多次调用间共享，请勿修改或回收。
+     *
+     * @param scenePath 场景路径。
+     * @param width     返回图片的最小宽度（像素）。传 0 表示保持原始宽度。
+     * @param height    返回图片的最小高度（像素）。传 0 表示保持原始高度。
+     * @param promise   `Promise<Bitmap>` 接口实例，详见 {@link com.herewhite.sdk.domain.Promise Promise}。你可以通过该接口获取 `getScenePreviewImage` 方法的调用结果：
+     *                  - 如果方法调用成功，将返回指定场景的预览图。
+     *                  - 如果方法调用失败，将返回错误信息。
+     */
+    public void getScenePreviewImage(final String scenePath, final int width, final int height, final Promise<Bitmap> promise) {
+        final ScenePreviewCache cache = scenePreviewCache;
+        final String versionKey = cache != null ? cache.versionKey(scenePath) : null;
+        if (versionKey == null) {
+            this.bridge.callHandler("displayerAsync.scenePreview", new Object[]{scenePath}, new OnReturnValue<String>() {
+                @Override
+                public void onValue(String retValue) {
+                    Bitmap bitmap;
+                    try {
+                        bitmap = sceneImageDecoder.decode(retValue, width, height);
+                    } catch (Exception e) {
+                        promise.catchEx(new SDKError(e.getMessage()));
+                        return;
+                    }
+                    if (bitmap != null) {
+                        promise.then(bitmap);
+                    } else {
+                        promise.catchEx(new SDKError("Failed to decode the scene image"));
+                    }
+                }
+            });
+            return;
+        }
+
+        Bitmap cached = cache.getFromMemory(versionKey, width, height);
+        if (cached != null) {
+            promise.then(cached);
+            return;
+        }
+        if (!cache.addPending(versionKey, width, height, promise)) {
+            // 正在加载相同的预览图，加载完成后一并返回给该 promise。
+            return;
+        }
+        cache.getFromDisk(versionKey, width, height, sceneImageDecoder, bitmap -> {
+            if (bitmap != null) {
+                final List<Promise<Bitmap>> promises = cache.takePending(versionKey, width, height);
+                post(() -> settleScenePreview(promises, bitmap, null));
+                return;
+            }
+            CallbackExecutors.main().execute(() -> renderScenePreview(cache, scenePath, versionKey, width, height));
+        });
+    }
+
+    private void renderScenePreview(final ScenePreviewCache cache, String scenePath, final String versionKey, final int width, final int height) {
         this.bridge.callHandler("displayerAsync.scenePreview", new Object[]{scenePath}, new OnReturnValue<String>() {
             @Override
             public void onValue(String retValue) {
                 Bitmap bitmap = null;
+                SDKError error = null;
                 try {
-                    bitmap = transformBase64toBitmap(retValue);
+                    bitmap = sceneImageDecoder.decode(retValue, width, height);
                 } catch (Exception e) {
-                    promise.catchEx(new SDKError(e.getMessage()));
+                    error = new SDKError(e.getMessage());
                 }
                 if (bitmap != null) {
-                    promise.then(bitmap);
+                    // 缓存的图片会交给该预览图的每个调用方。
+                    sceneImageDecoder.share(bitmap);
+                    cache.put(versionKey, width, height, bitmap, retValue);
+                } else if (error == null) {
+                    error = new SDKError("Failed to decode the scene image");
                 }
+                settleScenePreview(cache.takePending(versionKey, width, height), bitmap, error);
             }
         });
     }
 
+    private static void settleScenePreview(List<Promise<Bitmap>> promises, Bitmap bitmap, SDKError error) {
+        for (Promise<Bitmap> promise : promises) {
+            if (error != null) {
+                promise.catchEx(error);
+            } else {
+                promise.then(bitmap);
+            }
+        }
+    }
+
     /**
      * 获取指定场景的截图。
      *
@@ -364,28 +876,199 @@ public class Displayer {
      *                  - 如果方法调用失败，将返回错误信息。
      */
     public void getSceneSnapshotImage(String scenePath, final Promise<Bitmap> promise) {
+        getSceneSnapshotImage(scenePath, 0, 0, promise);
+    }
+
+    /**
+     * 获取指定场景的截图，并按指定尺寸降采样。
+     *
+     * @since 2.16.101
+     *
+     * 截图会按 2 的幂次降采样，同时保证宽高均不小于 `width` 和 `height`。
+     * 不再使用的图片可以传给 {@link #releaseSceneImage(Bitmap)}，之后获取预览图或截图时会复用其内存。
+     *
+     * @param scenePath 场景路径。
+     * @param width     返回图片的最小宽度（像素）。传 0 表示保持原始宽度。
+     * @param height    返回图片的最小高度（像素）。传 0 表示保持原始高度。
+     * @param promise   `Promise<Bitmap>` 接口实例，详见 {@link com.herewhite.sdk.domain.Promise Promise}。你可以通过该接口获取 `getSceneSnapshotImage` 方法的调用结果：
+     *                  - 如果方法调用成功，将返回指定场景的截图。
+     *                  - 如果方法调用失败，将返回错误信息。
+     */
+    public void getSceneSnapshotImage(String scenePath, final int width, final int height, final Promise<Bitmap> promise) {
         this.bridge.callHandler("displayerAsync.sceneSnapshot", new Object[]{scenePath}, new OnReturnValue<String>() {
             @Override
             public void onValue(String retValue) {
-                Bitmap bitmap = null;
+                Bitmap bitmap;
                 try {
-                    bitmap = transformBase64toBitmap(retValue);
+                    bitmap = sceneImageDecoder.decode(retValue, width, height);
                 } catch (Exception e) {
                     promise.catchEx(new SDKError(e.getMessage()));
+                    return;
                 }
                 if (bitmap != null) {
                     promise.then(bitmap);
+                } else {
+                    promise.catchEx(new SDKError("Failed to decode the scene image"));
                 }
             }
         });
     }
 
-    private Bitmap transformBase64toBitmap(String base64String) {
-        final String pureBase64Encoded = base64String.substring(base64String.indexOf(",") + 1);
-        final byte[] decodedBytes = Base64.decode(pureBase64Encoded, Base64.DEFAULT);
-        BitmapFactory.Options opts = new BitmapFactory.Options();
-        opts.inDensity = densityDpi;
-        return BitmapFactory.decodeByteArray(decodedBytes, 0, decodedBytes.length, opts);
+    /**
+     * 释放通过 `getScenePreviewImage` 或 `getSceneSnapshotImage` 获取的图片。
+     *
+     * @since 2.16.101
+     *
+     * SDK 会将之后获取的预览图和截图解码到已释放的图片中，而不是重新分配内存。释放后请勿再使用该图片。
+     * 预览缓存返回的图片由多个调用方共享，不会被复用，释放这些图片不会产生任何效果。
+     *
+     * @param bitmap 不再使用的图片。
+     */
+    public void releaseSceneImage(Bitmap bitmap) {
+        // 预览缓存交出的图片会被忽略，即使已被缓存淘汰。
+        sceneImageDecoder.release(bitmap);
+    }
+
+    /**
+     * 开启或关闭场景预览图缓存。
+     *
+     * @since 2.16.101
+     *
+     * 开启缓存后，{@link #getScenePreviewImage(String, int, int, Promise)} 会从按字节数限制大小的内存缓存，或可选的按大小限制的磁盘缓存中返回预览图，
+     * 不会重新渲染场景。缓存仅在场景内容未变化时使用：SDK 会根据场景状态为当前目录下的每个场景生成内容版本，其他场景的预览图不会缓存。
+     *
+     * @note
+     * - 缓存的图片会在多次调用间共享，请勿修改或回收。
+     * - 内容版本根据房间的场景状态生成，因此缓存仅在房间中生效。
+     *
+     * @param options 缓存配置，详见 {@link ScenePreviewCacheOptions}。传 `null` 表示关闭缓存。缓存默认关闭。
+     */
+    public void setScenePreviewCacheOptions(ScenePreviewCacheOptions options) {
+        synchronized (scenePreviewLock) {
+            ScenePreviewCache previous = scenePreviewCache;
+            ScenePreviewCache cache = null;
+            if (options != null) {
+                cache = new ScenePreviewCache(options);
+                cache.updateVersions(previewSceneState);
+            }
+            scenePreviewCache = cache;
+            if (previous != null) {
+                previous.clearMemory();
+            }
+        }
+    }
+
+    /**
+     * 获取场景预览图缓存的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * @return 开启缓存以来的统计数据，包括命中、未命中和淘汰次数，详见 {@link ScenePreviewCacheStats}。如果缓存未开启，返回 `null`。
+     */
+    public ScenePreviewCacheStats getScenePreviewCacheStats() {
+        ScenePreviewCache cache = scenePreviewCache;
+        return cache != null ? cache.stats() : null;
+    }
+
+    /**
+     * 将指定场景的预览图加载到场景预览图缓存中。
+     *
+     * @since 2.16.101
+     *
+     * 你可以传入可见页面相邻的页面，使其在滚动到可见区域之前就已缓存。如果场景预览图缓存未开启，该方法不会执行任何操作。
+     *
+     * @param scenePaths 场景路径。
+     * @param width      预览图的最小宽度（像素），与传给 {@link #getScenePreviewImage(String, int, int, Promise)} 的值相同。
+     * @param height     预览图的最小高度（像素），与传给 {@link #getScenePreviewImage(String, int, int, Promise)} 的值相同。
+     */
+    public void prefetchScenePreviews(String[] scenePaths, int width, int height) {
+        ScenePreviewCache cache = scenePreviewCache;
+        if (cache == null) {
+            return;
+        }
+        for (String scenePath : scenePaths) {
+            if (cache.versionKey(scenePath) != null) {
+                getScenePreviewImage(scenePath, width, height, new Promise<Bitmap>() {
+                    @Override
+                    public void then(Bitmap bitmap) {
+                    }
+
+                    @Override
+                    public void catchEx(SDKError t) {
+                        Logger.error("An exception occurred while prefetch scene preview", t);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * 生成指定目录及其子目录下所有场景的预览图。
+     *
+     * @since 2.16.101
+     *
+     * SDK 不会一次性渲染所有场景，而是同时最多渲染 `parallelism` 张预览图，每张预览图渲染完成后立即回调。这样白板可以保持响应，概览网格也可以逐步填充。
+     * 如果已通过 {@link #setScenePreviewCacheOptions(ScenePreviewCacheOptions) setScenePreviewCacheOptions} 开启场景预览图缓存，命中缓存的预览图无需渲染。
+     *
+     * @param dir         场景目录的路径，例如 `"/"` 表示所有场景。
+     * @param size        预览图的最小尺寸（像素），详见 {@link #getScenePreviewImage(String, int, int, Promise) getScenePreviewImage}。
+     * @param parallelism 同时渲染的预览图的最大数量。小于 1 的值按 1 处理。
+     * @param callback    预览图生成回调，详见 {@link ScenePreviewsCallback}。
+     * @return 本次生成的句柄，可用于取消生成，详见 {@link ScenePreviewTask}。
+     */
+    public ScenePreviewTask generatePreviews(final String dir, Size size, int parallelism, ScenePreviewsCallback callback) {
+        final ScenePreviewTask task = new ScenePreviewTask(this, size.getWidth(), size.getHeight(), parallelism, callback);
+        getEntireScenes(new Promise<Map<String, Scene[]>>() {
+            @Override
+            public void then(Map<String, Scene[]> entireScenes) {
+                task.start(scenePaths(entireScenes, dir));
+            }
+
+            @Override
+            public void catchEx(SDKError t) {
+                task.start(Collections.<String>emptyList());
+            }
+        });
+        return task;
+    }
+
+    private static List<String> scenePaths(Map<String, Scene[]> entireScenes, String dir) {
+        String prefix = dir.endsWith("/") ? dir : dir + "/";
+        List<String> scenePaths = new ArrayList<>();
+        if (entireScenes == null) {
+            return scenePaths;
+        }
+        for (Map.Entry<String, Scene[]> entry : entireScenes.entrySet()) {
+            String sceneDir = entry.getKey().endsWith("/") ? entry.getKey() : entry.getKey() + "/";
+            if (!sceneDir.startsWith(prefix) || entry.getValue() == null) {
+                continue;
+            }
+            for (Scene scene : entry.getValue()) {
+                scenePaths.add(sceneDir + scene.getName());
+            }
+        }
+        return scenePaths;
+    }
+
+    /**
+     * 根据最新的场景状态更新本地场景索引和场景预览图缓存。
+     */
+    void onSceneStateChanged(SceneState sceneState) {
+        sceneIndex.updateSceneState(sceneState);
+        updateScenePreviewVersions(sceneState);
+    }
+
+    /**
+     * 更新场景预览图缓存使用的内容版本。
+     */
+    private void updateScenePreviewVersions(SceneState sceneState) {
+        synchronized (scenePreviewLock) {
+            previewSceneState = sceneState;
+            ScenePreviewCache cache = scenePreviewCache;
+            if (cache != null) {
+                cache.updateVersions(sceneState);
+            }
+        }
     }
 
     /**
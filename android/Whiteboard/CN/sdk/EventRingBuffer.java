@@ -0,0 +1,189 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.EventOverflowPolicy;
+import com.herewhite.sdk.domain.FrequencyEventListener;
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 位于 bridge 线程（唯一的生产者）与同一高频事件的监听器之间的有界环形缓冲区。
+ * <p>
+ * 每个监听器在 Displayer 传入的执行器上使用各自的游标读取，并将上次回调以来的所有事件作为一批回调，慢速监听器既不会阻塞 bridge，
+ * 也不会阻塞其他监听器。最慢的监听器落后整个缓冲区时，由 {@link EventOverflowPolicy} 决定丢弃哪个事件。
+ */
+class EventRingBuffer {
+    private static final long BLOCK_WAIT_MILLIS = 10;
+
+    private final EventEntry[] slots;
+    private final int mask;
+    private final EventOverflowPolicy policy;
+    private final Executor executor;
+    /**
+     * 下一个待发布事件的序号，只由生产者写入。
+     */
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final CopyOnWriteArrayList<Consumer> consumers = new CopyOnWriteArrayList<>();
+    private final Object spaceLock = new Object();
+    private volatile boolean closed;
+
+    EventRingBuffer(int capacity, EventOverflowPolicy policy, Executor executor) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new EventEntry[size];
+        this.mask = size - 1;
+        this.policy = policy != null ? policy : EventOverflowPolicy.DROP_OLDEST;
+        this.executor = executor;
+    }
+
+    void addListener(FrequencyEventListener listener) {
+        consumers.add(new Consumer(listener, published.get()));
+    }
+
+    /**
+     * 移除监听器。如果移除的是缓冲区的最后一个监听器，返回 `true`。
+     */
+    boolean removeListener(FrequencyEventListener listener) {
+        for (Consumer consumer : consumers) {
+            if (consumer.listener == listener && consumers.remove(consumer)) {
+                consumer.removed = true;
+                break;
+            }
+        }
+        if (policy == EventOverflowPolicy.BLOCK) {
+            // 生产者可能正在等待被移除的监听器。
+            synchronized (spaceLock) {
+                spaceLock.notifyAll();
+            }
+        }
+        return consumers.isEmpty();
+    }
+
+    /**
+     * 停止回调事件，并释放正在等待空间的生产者。
+     */
+    void close() {
+        closed = true;
+        consumers.clear();
+    }
+
+    long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * 只能在生产者线程调用。
+     */
+    void publish(EventEntry[] entries) {
+        for (EventEntry entry : entries) {
+            long sequence = published.get();
+            if (!claim(sequence)) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            slots[(int) (sequence & mask)] = entry;
+            published.set(sequence + 1);
+        }
+        for (Consumer consumer : consumers) {
+            consumer.schedule();
+        }
+    }
+
+    /**
+     * 确保没有消费者仍需读取 `sequence` 对应的位置。需要丢弃该事件时返回 `false`。
+     */
+    private boolean claim(long sequence) {
+        long wrapPoint = sequence - slots.length;
+        for (Consumer consumer : consumers) {
+            long cursor;
+            while (!consumer.removed && (cursor = consumer.cursor.get()) <= wrapPoint) {
+                switch (policy) {
+                    case DROP_NEWEST:
+                        return false;
+                    case DROP_OLDEST:
+                        // CAS 失败说明消费者已经前进，重新检查
+                        if (consumer.cursor.compareAndSet(cursor, cursor + 1)) {
+                            dropped.incrementAndGet();
+                        }
+                        break;
+                    case BLOCK:
+                        if (closed) {
+                            return false;
+                        }
+                        consumer.schedule();
+                        synchronized (spaceLock) {
+                            try {
+                                spaceLock.wait(BLOCK_WAIT_MILLIS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return false;
+                            }
+                        }
+                        break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private class Consumer implements Runnable {
+        final FrequencyEventListener listener;
+        /**
+         * 下一个待回调事件的序号。生产者可能推进该值以丢弃最旧的事件。
+         */
+        final AtomicLong cursor;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean removed;
+
+        Consumer(FrequencyEventListener listener, long cursor) {
+            this.listener = listener;
+            this.cursor = new AtomicLong(cursor);
+        }
+
+        void schedule() {
+            if (cursor.get() < published.get() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                drain();
+                scheduled.set(false);
+            } while (cursor.get() < published.get() && scheduled.compareAndSet(false, true));
+        }
+
+        private void drain() {
+            while (true) {
+                long from = cursor.get();
+                long to = published.get();
+                if (from >= to) {
+                    return;
+                }
+                EventEntry[] batch = new EventEntry[(int) (to - from)];
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = slots[(int) ((from + i) & mask)];
+                }
+                // 如果生产者同时丢弃了最旧的事件，对应位置可能已被覆盖，重新读取
+                if (!cursor.compareAndSet(from, to)) {
+                    continue;
+                }
+                if (policy == EventOverflowPolicy.BLOCK) {
+                    synchronized (spaceLock) {
+                        spaceLock.notifyAll();
+                    }
+                }
+                try {
+                    listener.onEvent(batch);
+                } catch (Throwable e) {
+                    Logger.error("An exception occurred in high frequency event listener", e);
+                }
+            }
+        }
+    }
+}
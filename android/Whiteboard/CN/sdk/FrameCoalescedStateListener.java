@@ -0,0 +1,54 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.herewhite.sdk.domain.WhiteObjectFields;
+
+/**
+ * 合并同一显示帧内上报的状态修改，在主线程的显示帧中以一次修改的形式交给目标监听器。目标监听器应将修改交给回调执行器。
+ * 较新修改中的非 `null` 字段会覆盖较旧的字段，不会丢失任何变化的字段。
+ */
+class FrameCoalescedStateListener<T> implements SyncDisplayerState.Listener<T>, Choreographer.FrameCallback {
+    private final WhiteObjectFields fields;
+    private final SyncDisplayerState.Listener<T> target;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private T pending;
+    private long mergedStates;
+
+    FrameCoalescedStateListener(Class<T> clazz, SyncDisplayerState.Listener<T> target) {
+        this.fields = WhiteObjectFields.of(clazz);
+        this.target = target;
+    }
+
+    @Override
+    public void onDisplayerStateChanged(T modifyState) {
+        synchronized (this) {
+            if (pending != null) {
+                pending = fields.overlay(pending, modifyState);
+                mergedStates++;
+                return;
+            }
+            pending = modifyState;
+        }
+        // Choreographer 与调用线程的 Looper 绑定，而状态在 bridge 线程上报
+        mainHandler.post(() -> Choreographer.getInstance().postFrameCallback(this));
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        T modifyState;
+        synchronized (this) {
+            modifyState = pending;
+            pending = null;
+        }
+        if (modifyState != null) {
+            target.onDisplayerStateChanged(modifyState);
+        }
+    }
+
+    synchronized long getMergedStates() {
+        return mergedStates;
+    }
+}
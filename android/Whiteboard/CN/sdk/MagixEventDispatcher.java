@@ -0,0 +1,86 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.EventListener;
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 自定义事件的分发索引，每个订阅可以有任意数量的监听器。
+ * <p>
+ * 订阅可以是完整的事件名，也可以是前缀模式，例如 `"quiz.*"` 匹配所有以 `"quiz."` 开头的事件，`"*"` 匹配所有事件。
+ * 分发时先查找完整事件名，再按事件名中的每个 `.` 各查找一次；没有前缀订阅时完全跳过前缀查找。
+ */
+class MagixEventDispatcher {
+    static final String WILDCARD = "*";
+
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<EventListener>> listeners = new ConcurrentHashMap<>();
+    private volatile int prefixSubscriptions;
+
+    static boolean isPrefixPattern(String pattern) {
+        return pattern.endsWith(WILDCARD);
+    }
+
+    /**
+     * 该模式添加第一个监听器时返回 `true`，调用方据此在 JS 侧订阅。
+     */
+    synchronized boolean add(String pattern, EventListener listener) {
+        CopyOnWriteArrayList<EventListener> list = listeners.get(pattern);
+        if (list == null) {
+            list = new CopyOnWriteArrayList<>();
+            listeners.put(pattern, list);
+            if (isPrefixPattern(pattern)) {
+                prefixSubscriptions++;
+            }
+        }
+        list.addIfAbsent(listener);
+        return list.size() == 1;
+    }
+
+    /**
+     * 该模式的最后一个监听器被移除时返回 `true`，调用方据此在 JS 侧取消订阅。
+     */
+    synchronized boolean remove(String pattern, EventListener listener) {
+        CopyOnWriteArrayList<EventListener> list = listeners.get(pattern);
+        if (list == null || !list.remove(listener) || !list.isEmpty()) {
+            return false;
+        }
+        listeners.remove(pattern);
+        if (isPrefixPattern(pattern)) {
+            prefixSubscriptions--;
+        }
+        return true;
+    }
+
+    boolean contains(String pattern) {
+        return listeners.containsKey(pattern);
+    }
+
+    void dispatch(EventEntry eventEntry) {
+        String eventName = eventEntry.getEventName();
+        deliver(listeners.get(eventName), eventEntry);
+        if (prefixSubscriptions == 0) {
+            return;
+        }
+        deliver(listeners.get(WILDCARD), eventEntry);
+        for (int i = eventName.indexOf('.'); i >= 0; i = eventName.indexOf('.', i + 1)) {
+            deliver(listeners.get(eventName.substring(0, i + 1) + WILDCARD), eventEntry);
+        }
+    }
+
+    private static void deliver(List<EventListener> list, EventEntry eventEntry) {
+        if (list == null) {
+            return;
+        }
+        for (EventListener listener : list) {
+            try {
+                listener.onEvent(eventEntry);
+            } catch (Throwable e) {
+                Logger.error("An exception occurred in magix event listener", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.herewhite.sdk.domain.AkkoEvent;
+import com.herewhite.sdk.domain.EventOverflowPolicy;
+import com.herewhite.sdk.domain.MagixEventSendOptions;
+import com.herewhite.sdk.domain.MagixEventSendPolicy;
+import com.herewhite.sdk.domain.MagixEventSendStats;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 设置了 {@link MagixEventSendOptions} 的自定义事件的发送管道。
+ * 其他事件不经过这里，直接发送。
+ */
+class MagixEventSender {
+
+    interface Sink {
+        void send(AkkoEvent event);
+    }
+
+    private final Sink sink;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Map<String, Channel> channels = new HashMap<>();
+    /**
+     * 从各通道取出的事件，在锁外按顺序发送，同一时间只有一个线程发送。
+     */
+    private final ConcurrentLinkedQueue<AkkoEvent> outbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private long queuedEvents;
+    private long sentEvents;
+    private long mergedEvents;
+    private long droppedEvents;
+
+    MagixEventSender(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * 替换事件名的发送配置，传入 `null` 则移除。旧配置下尚未发送的事件会先发送。
+     */
+    void setOptions(String eventName, MagixEventSendOptions options) {
+        synchronized (this) {
+            Channel previous = channels.remove(eventName);
+            if (previous != null) {
+                handler.removeCallbacks(previous);
+                previous.flushAll();
+            }
+            if (options != null) {
+                channels.put(eventName, new Channel(eventName, options));
+            }
+        }
+        drain();
+    }
+
+    /**
+     * 事件名没有发送配置时返回 `false`，由调用方直接发送该事件。
+     */
+    boolean offer(AkkoEvent event) {
+        synchronized (this) {
+            Channel channel = channels.get(event.getEventName());
+            if (channel == null) {
+                return false;
+            }
+            queuedEvents++;
+            channel.enqueue(event);
+        }
+        drain();
+        return true;
+    }
+
+    synchronized MagixEventSendStats getStats() {
+        return new MagixEventSendStats(queuedEvents, sentEvents, mergedEvents, droppedEvents);
+    }
+
+    private void send(AkkoEvent event) {
+        sentEvents++;
+        outbox.add(event);
+    }
+
+    /**
+     * 发送 outbox 中的事件。如果其他线程正在发送，则由该线程发送。
+     */
+    private void drain() {
+        // 释放标记后再检查一次，期间可能有新事件加入。
+        while (!outbox.isEmpty() && draining.compareAndSet(false, true)) {
+            try {
+                AkkoEvent event;
+                while ((event = outbox.poll()) != null) {
+                    sink.send(event);
+                }
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * 最多容纳一秒事件数的令牌桶。
+     */
+    private static class TokenBucket {
+        final double tokensPerMillis;
+        final double capacity;
+        double tokens;
+        long lastRefill;
+
+        TokenBucket(double eventsPerSecond) {
+            this.tokensPerMillis = eventsPerSecond / 1000;
+            this.capacity = Math.max(1, eventsPerSecond);
+            this.tokens = capacity;
+            this.lastRefill = SystemClock.uptimeMillis();
+        }
+
+        boolean tryAcquire() {
+            long now = SystemClock.uptimeMillis();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMillis);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        long millisUntilToken() {
+            return (long) Math.ceil((1 - tokens) / tokensPerMillis);
+        }
+    }
+
+    private class Channel implements Runnable {
+        final String eventName;
+        final MagixEventSendPolicy policy;
+        final long flushInterval;
+        final TokenBucket bucket;
+        final int maxQueuedEvents;
+        final EventOverflowPolicy overflowPolicy;
+
+        final ArrayDeque<AkkoEvent> queue = new ArrayDeque<>();
+        AkkoEvent latest;
+        final List<Object> payloads = new ArrayList<>();
+        boolean scheduled;
+
+        Channel(String eventName, MagixEventSendOptions options) {
+            this.eventName = eventName;
+            this.policy = options.getPolicy() != null ? options.getPolicy() : MagixEventSendPolicy.IMMEDIATE;
+            this.flushInterval = Math.max(0, options.getFlushInterval());
+            this.bucket = options.getMaxEventsPerSecond() > 0 ? new TokenBucket(options.getMaxEventsPerSecond()) : null;
+            this.maxQueuedEvents = Math.max(1, options.getMaxQueuedEvents());
+            this.overflowPolicy = options.getQueueOverflowPolicy() != null ? options.getQueueOverflowPolicy() : EventOverflowPolicy.DROP_OLDEST;
+        }
+
+        void enqueue(AkkoEvent event) {
+            switch (policy) {
+                case IMMEDIATE:
+                    if (queue.size() >= maxQueuedEvents) {
+                        switch (overflowPolicy) {
+                            case DROP_NEWEST:
+                                droppedEvents++;
+                                return;
+                            case DROP_OLDEST:
+                                droppedEvents++;
+                                queue.poll();
+                                break;
+                            case BLOCK:
+                                // 不阻塞调用方，改为超出频率限制发送最早的事件。
+                                send(queue.poll());
+                                break;
+                        }
+                    }
+                    queue.add(event);
+                    flush();
+                    break;
+                case COALESCE:
+                    if (latest != null) {
+                        mergedEvents++;
+                    }
+                    latest = event;
+                    schedule(flushInterval);
+                    break;
+                case ACCUMULATE:
+                    if (!payloads.isEmpty()) {
+                        mergedEvents++;
+                    }
+                    payloads.add(event.getPayload());
+                    schedule(flushInterval);
+                    break;
+            }
+        }
+
+        @Override
+        public void run() {
+            synchronized (MagixEventSender.this) {
+                scheduled = false;
+                flush();
+            }
+            drain();
+        }
+
+        /**
+         * 发送频率限制允许的事件，其余事件安排下一次发送。
+         */
+        void flush() {
+            while (hasPending()) {
+                if (bucket != null && !bucket.tryAcquire()) {
+                    schedule(bucket.millisUntilToken());
+                    return;
+                }
+                send(take());
+            }
+        }
+
+        /**
+         * 忽略频率限制，发送所有待发送的事件。
+         */
+        void flushAll() {
+            while (hasPending()) {
+                send(take());
+            }
+        }
+
+        private boolean hasPending() {
+            switch (policy) {
+                case COALESCE:
+                    return latest != null;
+                case ACCUMULATE:
+                    return !payloads.isEmpty();
+                default:
+                    return !queue.isEmpty();
+            }
+        }
+
+        private AkkoEvent take() {
+            switch (policy) {
+                case COALESCE:
+                    AkkoEvent event = latest;
+                    latest = null;
+                    return event;
+                case ACCUMULATE:
+                    AkkoEvent accumulated = new AkkoEvent(eventName, new ArrayList<>(payloads));
+                    payloads.clear();
+                    return accumulated;
+                default:
+                    return queue.poll();
+            }
+        }
+
+        private void schedule(long delay) {
+            if (!scheduled) {
+                scheduled = true;
+                handler.postDelayed(this, delay);
+            }
+        }
+    }
+}
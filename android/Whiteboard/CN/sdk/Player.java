@@ -92,7 +92,7 @@ public class Player extends Displayer {
      * @param densityDpi Android屏幕密度值
      */
     Player(String room, JsBridgeInterface bridge, int densityDpi) {
-        super(room, bridge, densityDpi);
+        super(room, bridge, densityDpi, CallbackExecutors.main());
         syncPlayerState = new SyncDisplayerState(PlayerState.class, "{}", true);
         syncPlayerState.setListener(localPlayStateListener);
     }
@@ -340,17 +340,23 @@ public class Player extends Displayer {
     private class PlayerDelegateImpl implements PlayerDelegate {
         @Override
         public void fireMagixEvent(EventEntry eventEntry) {
-            post(() -> {
+            attachPayloadCodec(eventEntry);
+            postEvent(() -> {
                 EventListener eventListener = eventListenerMap.get(eventEntry.getEventName());
                 if (eventListener != null) {
                     eventListener.onEvent(eventEntry);
                 }
+                magixEventDispatcher.dispatch(eventEntry);
             });
         }
 
         @Override
         public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
-            post(() -> {
+            for (EventEntry eventEntry : eventEntries) {
+                attachPayloadCodec(eventEntry);
+            }
+            publishHighFrequencyEvent(eventEntries);
+            postEvent(() -> {
                 FrequencyEventListener eventListener = frequencyEventListenerMap.get(eventEntries[0].getEventName());
                 if (eventListener != null) {
                     eventListener.onEvent(eventEntries);
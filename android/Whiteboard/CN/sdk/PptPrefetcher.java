@@ -0,0 +1,242 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.PptPage;
+import com.herewhite.sdk.domain.PptPrefetchOptions;
+import com.herewhite.sdk.domain.PptPrefetchStats;
+import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * 跟随场景切换，将当前场景前后场景的 PPT 资源下载到磁盘缓存中。
+ * <p>
+ * 每次翻页时，先排队下载前进方向上的页面，再下载后方的页面，并丢弃上一个窗口中仍在排队的下载。仅下载 `http` 和 `https` 资源。
+ */
+class PptPrefetcher {
+    private static final int MAX_DOWNLOADS = 2;
+    private static final int MAX_RECORDED_PAGES = 64;
+    /**
+     * 所有房间共用，每个预加载器在其上最多同时执行 {@link #MAX_DOWNLOADS} 个下载。
+     */
+    private static final Executor downloadExecutor = Executors.newFixedThreadPool(MAX_DOWNLOADS);
+    /**
+     * 场景切换在该线程上按顺序处理，因为处理时会读取磁盘缓存。
+     */
+    private static final Executor sceneExecutor = Executors.newSingleThreadExecutor();
+
+    private final DiskLruFiles files;
+    private final int pageCount;
+
+    private final ArrayDeque<String> queue = new ArrayDeque<>();
+    private final Set<String> downloading = new HashSet<>();
+    private int workers;
+    private boolean closed;
+
+    private String scenePath;
+    private String dir;
+    private int index = -1;
+    private int direction = 1;
+
+    /**
+     * 正在等待的页面：场景路径、尚未下载完成的资源，以及翻页的时间。
+     */
+    private String waitingPage;
+    private final Set<String> waitingUrls = new HashSet<>();
+    private long waitingSince;
+
+    private long pageViews;
+    private long pageHits;
+    private long downloads;
+    private long downloadedBytes;
+    private long failures;
+    private final LinkedHashMap<String, Long> readyTimes = new LinkedHashMap<String, Long>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_RECORDED_PAGES;
+        }
+    };
+
+    PptPrefetcher(PptPrefetchOptions options) {
+        this.files = new DiskLruFiles(new File(options.getCacheDirectory()), options.getCacheSize());
+        this.pageCount = Math.max(0, options.getPageCount());
+        // 资源解析器的查询只读取内存中的索引，详见 getCachedUrl()。
+        downloadExecutor.execute(files::preload);
+    }
+
+    /**
+     * 获取已下载资源的本地 URL；如果未缓存，返回 `null`。
+     */
+    String getCachedUrl(String url) {
+        if (!ResourceDownloader.isDownloadable(url)) {
+            return null;
+        }
+        final String name = fileName(url);
+        if (!files.peek(name)) {
+            return null;
+        }
+        // 在调用线程之外将文件标记为最近使用，不在调用线程上读写文件。如果文件在此期间被淘汰，资源服务会回退到原始 URL。
+        sceneExecutor.execute(() -> files.get(name));
+        return "file://" + files.file(name).getAbsolutePath();
+    }
+
+    /**
+     * 将场景切换加入队列。调用线程（例如主线程或 bridge 线程）不执行文件 I/O。
+     */
+    void onSceneStateChanged(final SceneState sceneState) {
+        sceneExecutor.execute(() -> update(sceneState));
+    }
+
+    private synchronized void update(SceneState sceneState) {
+        if (closed || sceneState == null || sceneState.getScenes() == null || sceneState.getScenePath() == null) {
+            return;
+        }
+        if (sceneState.getScenePath().equals(scenePath)) {
+            return;
+        }
+        String scenePath = sceneState.getScenePath();
+        String dir = scenePath.substring(0, Math.max(scenePath.lastIndexOf('/'), 0));
+        int index = sceneState.getIndex();
+        if (dir.equals(this.dir) && index != this.index) {
+            direction = index > this.index ? 1 : -1;
+        } else {
+            direction = 1;
+        }
+        this.scenePath = scenePath;
+        this.dir = dir;
+        this.index = index;
+
+        Scene[] scenes = sceneState.getScenes();
+        recordPageView(scenePath, index >= 0 && index < scenes.length ? scenes[index] : null);
+
+        // 先下载当前页面，再下载前方的页面，最后下载后方的页面。
+        Set<String> urls = new LinkedHashSet<>(waitingUrls);
+        for (int offset = 1; offset <= pageCount; offset++) {
+            addUrls(urls, scenes, index + direction * offset);
+        }
+        for (int offset = 1; offset <= pageCount; offset++) {
+            addUrls(urls, scenes, index - direction * offset);
+        }
+        queue.clear();
+        for (String url : urls) {
+            if (!downloading.contains(url) && !files.contains(fileName(url))) {
+                queue.add(url);
+            }
+        }
+        while (workers < MAX_DOWNLOADS && workers < queue.size()) {
+            workers++;
+            downloadExecutor.execute(this::drain);
+        }
+    }
+
+    private void recordPageView(String scenePath, Scene scene) {
+        pageViews++;
+        waitingPage = scenePath;
+        waitingUrls.clear();
+        waitingSince = System.currentTimeMillis();
+        List<String> urls = new ArrayList<>();
+        addUrls(urls, new Scene[]{scene}, 0);
+        for (String url : urls) {
+            if (!files.contains(fileName(url))) {
+                waitingUrls.add(url);
+            }
+        }
+        if (waitingUrls.isEmpty()) {
+            pageHits++;
+            onPageReady();
+        }
+    }
+
+    private void onPageReady() {
+        readyTimes.remove(waitingPage);
+        readyTimes.put(waitingPage, System.currentTimeMillis() - waitingSince);
+        waitingPage = null;
+    }
+
+    private static void addUrls(Collection<String> urls, Scene[] scenes, int index) {
+        if (index < 0 || index >= scenes.length || scenes[index] == null || scenes[index].getPpt() == null) {
+            return;
+        }
+        PptPage ppt = scenes[index].getPpt();
+        for (String url : new String[]{ppt.getSrc(), ppt.getPreview()}) {
+            if (ResourceDownloader.isDownloadable(url)) {
+                urls.add(url);
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            String url;
+            synchronized (this) {
+                url = closed ? null : queue.poll();
+                if (url == null) {
+                    workers--;
+                    return;
+                }
+                downloading.add(url);
+            }
+            long bytes = download(url);
+            synchronized (this) {
+                downloading.remove(url);
+                if (bytes >= 0) {
+                    downloads++;
+                    downloadedBytes += bytes;
+                } else {
+                    failures++;
+                }
+                if (waitingPage != null && waitingUrls.remove(url) && waitingUrls.isEmpty()) {
+                    onPageReady();
+                }
+            }
+        }
+    }
+
+    /**
+     * 返回下载的字节数；如果下载失败，返回 -1。
+     */
+    private long download(String url) {
+        String name = fileName(url);
+        File tmp = files.tempFile(name);
+        try {
+            long bytes = ResourceDownloader.download(url, tmp);
+            files.commit(name, tmp);
+            return bytes;
+        } catch (IOException | RuntimeException e) {
+            Logger.error("An exception occurred while prefetch ppt resource", e);
+            tmp.delete();
+            return -1;
+        }
+    }
+
+    /**
+     * 停止安排下载。正在进行的下载会完成，磁盘中的文件会保留，供之后使用。
+     */
+    synchronized void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    synchronized PptPrefetchStats stats() {
+        return new PptPrefetchStats(pageViews, pageHits, downloads, downloadedBytes, failures, files.size(),
+                new HashMap<>(readyTimes));
+    }
+
+    private static String fileName(String url) {
+        return DiskLruFiles.fileName(url, ResourceDownloader.extension(url));
+    }
+}
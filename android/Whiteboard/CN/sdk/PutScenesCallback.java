@@ -0,0 +1,33 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.SDKError;
+
+/**
+ * 分批调用 {@link Room#putScenes(String, java.util.Iterator, int, int, PutScenesCallback) putScenes} 插入场景的进度回调接口。
+ *
+ * @since 2.16.101
+ */
+public interface PutScenesCallback {
+
+    /**
+     * 一批场景插入完成回调。
+     *
+     * @param putCount 目前已插入的场景数量。
+     */
+    void onProgress(int putCount);
+
+    /**
+     * 所有场景插入完成回调。
+     *
+     * @param putCount 插入的场景总数。
+     */
+    void onCompleted(int putCount);
+
+    /**
+     * 读取场景失败，或白板插入某批场景失败或 30 秒内未确认插入回调。剩余的场景不会插入。
+     *
+     * @param error    错误信息，详见 {@link SDKError}。
+     * @param putCount 失败前已插入的场景数量。
+     */
+    void onFailure(SDKError error, int putCount);
+}
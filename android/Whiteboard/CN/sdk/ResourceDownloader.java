@@ -0,0 +1,73 @@
+package com.herewhite.sdk;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * 下载 SDK 磁盘缓存中保存的资源。
+ */
+final class ResourceDownloader {
+    private static final int TIMEOUT = 15 * 1000;
+
+    private ResourceDownloader() {
+    }
+
+    static boolean isDownloadable(String url) {
+        return url != null && (url.startsWith("http://") || url.startsWith("https://"));
+    }
+
+    /**
+     * 将 `url` 下载到 `file`，返回下载的字节数。
+     */
+    static long download(String url, File file) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setConnectTimeout(TIMEOUT);
+            connection.setReadTimeout(TIMEOUT);
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + connection.getResponseCode() + ": " + url);
+            }
+            long bytes = 0;
+            try (InputStream in = connection.getInputStream(); OutputStream out = new FileOutputStream(file)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    bytes += read;
+                }
+            }
+            return bytes;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * 去除 `url` 的查询参数和片段。
+     */
+    static String stripQuery(String url) {
+        int end = url.length();
+        for (char c : new char[]{'?', '#'}) {
+            int i = url.indexOf(c);
+            if (i >= 0 && i < end) {
+                end = i;
+            }
+        }
+        return url.substring(0, end);
+    }
+
+    /**
+     * 获取 `url` 路径的扩展名，例如 `.png`；如果没有，返回空字符串。缓存文件保留扩展名，以便 WebView 判断文件的内容类型。
+     */
+    static String extension(String url) {
+        String path = stripQuery(url);
+        int dot = path.lastIndexOf('.');
+        String extension = dot > path.lastIndexOf('/') ? path.substring(dot) : "";
+        return extension.length() <= 6 && extension.matches("(\\.[A-Za-z0-9]*)?") ? extension : "";
+    }
+}
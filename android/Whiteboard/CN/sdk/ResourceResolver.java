@@ -0,0 +1,25 @@
+package com.herewhite.sdk;
+
+/**
+ * 从本地文件提供白板资源的接口，详见 {@link WhiteboardView#setResourceResolver(ResourceResolver) setResourceResolver}。
+ *
+ * 白板通过 URL 加载资源，例如 {@link com.herewhite.sdk.domain.PptPage PptPage} 的 `src`、{@link com.herewhite.sdk.domain.FontFace FontFace} 的 `src`
+ * 和 {@link com.herewhite.sdk.domain.ImageInformationWithUrl ImageInformationWithUrl} 的 `url`。解析器将此类 URL 映射到本地文件，SDK 会将该文件以流的形式提供给 WebView，而不加载该 URL。
+ *
+ * @since 2.16.101
+ */
+public interface ResourceResolver {
+
+    /**
+     * 解析资源的 URL。
+     *
+     * @note 该方法在 WebView 的后台线程调用，返回前会阻塞该资源的加载。
+     *
+     * @param url 白板请求的 URL。
+     * @return 本地资源，格式如下：
+     * - `file:///android_asset/<path>`：app assets 中的文件。
+     * - `file://<absolute path>`：设备上的文件，例如 {@link Room#getPrefetchedUrl(String) getPrefetchedUrl} 下载的文件。
+     * - `null` 或其他 URL：照常从 `url` 加载资源。
+     */
+    String resolve(String url);
+}
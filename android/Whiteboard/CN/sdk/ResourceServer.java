@@ -0,0 +1,99 @@
+package com.herewhite.sdk;
+
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.os.ParcelFileDescriptor;
+import android.webkit.MimeTypeMap;
+import android.webkit.WebResourceResponse;
+
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 将 {@link ResourceResolver} 映射的资源提供给 WebView。
+ * <p>
+ * WebView 通过文件描述符上的流读取响应，因此内容不会缓冲在 Java 堆中。
+ */
+class ResourceServer {
+    private static final String FILE_SCHEME = "file://";
+    private static final String ASSET_PREFIX = "file:///android_asset/";
+    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+    private final AssetManager assets;
+    private final ResourceResolver resolver;
+
+    ResourceServer(AssetManager assets, ResourceResolver resolver) {
+        this.assets = assets;
+        this.resolver = resolver;
+    }
+
+    /**
+     * 返回 `url` 的响应；返回 `null` 则由 WebView 从网络加载。
+     */
+    WebResourceResponse serve(String url) {
+        if (url == null || url.startsWith(FILE_SCHEME)) {
+            return null;
+        }
+        String localUrl;
+        try {
+            localUrl = resolver.resolve(url);
+        } catch (RuntimeException e) {
+            Logger.error("An exception occurred while resolve resource: " + url, e);
+            return null;
+        }
+        if (localUrl == null || !localUrl.startsWith(FILE_SCHEME)) {
+            return null;
+        }
+        try {
+            InputStream stream = localUrl.startsWith(ASSET_PREFIX)
+                    ? openAsset(localUrl.substring(ASSET_PREFIX.length()))
+                    : openFile(new File(localUrl.substring(FILE_SCHEME.length())));
+            return response(mimeType(url, localUrl), stream);
+        } catch (IOException e) {
+            // 文件可能在解析后已被淘汰，仍可从网络加载。
+            Logger.error("An exception occurred while open resource: " + localUrl, e);
+            return null;
+        }
+    }
+
+    private static InputStream openFile(File file) throws FileNotFoundException {
+        return new ParcelFileDescriptor.AutoCloseInputStream(ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY));
+    }
+
+    private InputStream openAsset(String path) throws IOException {
+        try {
+            AssetFileDescriptor descriptor = assets.openFd(path);
+            return descriptor.createInputStream();
+        } catch (FileNotFoundException e) {
+            // 压缩的 asset 没有文件描述符。
+            return assets.open(path);
+        }
+    }
+
+    private static WebResourceResponse response(String mimeType, InputStream stream) {
+        Map<String, String> headers = new HashMap<>();
+        // 页面通过 file URL 加载，绘制到 canvas 上的资源必须允许任意来源。
+        headers.put("Access-Control-Allow-Origin", "*");
+        return new WebResourceResponse(mimeType, null, 200, "OK", headers, stream);
+    }
+
+    private static String mimeType(String url, String localUrl) {
+        String mimeType = null;
+        for (String candidate : new String[]{localUrl, url}) {
+            String extension = ResourceDownloader.extension(candidate);
+            if (!extension.isEmpty()) {
+                mimeType = MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension.substring(1).toLowerCase());
+            }
+            if (mimeType != null) {
+                return mimeType;
+            }
+        }
+        return DEFAULT_MIME_TYPE;
+    }
+}
@@ -1,5 +1,8 @@
 package com.herewhite.sdk;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.Nullable;
 
 import com.google.gson.JsonObject;
@@ -14,21 +17,36 @@ import com.herewhite.sdk.domain.FrequencyEventListener;
 import com.herewhite.sdk.domain.GlobalState;
 import com.herewhite.sdk.domain.ImageInformation;
 import com.herewhite.sdk.domain.ImageInformationWithUrl;
+import com.herewhite.sdk.domain.MagixEventSendOptions;
+import com.herewhite.sdk.domain.MagixEventSendStats;
 import com.herewhite.sdk.domain.MemberState;
+import com.herewhite.sdk.domain.PptPage;
+import com.herewhite.sdk.domain.PptPrefetchOptions;
+import com.herewhite.sdk.domain.PptPrefetchStats;
 import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.RoomMember;
 import com.herewhite.sdk.domain.RoomPhase;
 import com.herewhite.sdk.domain.RoomState;
 import com.herewhite.sdk.domain.SDKError;
 import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.ScenePreviewCacheOptions;
 import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.domain.StateField;
+import com.herewhite.sdk.domain.StateFieldListener;
 import com.herewhite.sdk.domain.ViewMode;
 import com.herewhite.sdk.internal.Logger;
 import com.herewhite.sdk.internal.RoomDelegate;
 
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import wendu.dsbridge.OnReturnValue;
 
@@ -70,8 +88,13 @@ public class Room extends Displayer {
     }
 
     private Boolean writable;
+    private final MagixEventSender magixEventSender = new MagixEventSender(event -> bridge.callHandler("room.dispatchMagixEvent", new Object[]{event}));
     private Double timeDelay;
     private Long observerId;
+    private final Object pptPrefetchLock = new Object();
+    private static final long PUT_SCENES_CHUNK_TIMEOUT = 30_000;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile PptPrefetcher pptPrefetcher;
 
     /// @cond test
     /**
@@ -82,6 +105,7 @@ public class Room extends Displayer {
         this.timeDelay = 0.0;
         this.syncRoomState = new SyncDisplayerState<>(RoomState.class, disableCallbackWhilePutting);
         this.syncRoomState.setListener(localRoomStateListener);
+        this.syncRoomState.setFieldsListener(localRoomFieldsListener);
     }
     /// @endcond
 
@@ -414,7 +438,7 @@ public class Room extends Displayer {
      *
      */
     public GlobalState getGlobalState() {
-        return syncRoomState.getDisplayerState().getGlobalState();
+        return syncRoomState.getGlobalState();
     }
 
     /**
@@ -487,7 +511,7 @@ public class Room extends Displayer {
      *
      */
     public MemberState getMemberState() {
-        return syncRoomState.getDisplayerState().getMemberState();
+        return getStateValue(StateField.MEMBER_STATE);
     }
 
     /**
@@ -529,7 +553,7 @@ public class Room extends Displayer {
      *
      */
     public RoomMember[] getRoomMembers() {
-        return syncRoomState.getDisplayerState().getRoomMembers();
+        return getStateValue(StateField.ROOM_MEMBERS);
     }
 
     /**
@@ -562,6 +586,58 @@ public class Room extends Displayer {
         });
     }
 
+    /**
+     * 按 memberId 获取房间用户。
+     *
+     * @since 2.16.101
+     *
+     * @note 该方法为同步调用，不会遍历用户列表。
+     *
+     * @param memberId 用户的 memberId。
+     * @return 房间用户，如果房间内没有该 memberId 的用户，则返回 `null`。详见 {@link com.herewhite.sdk.domain.RoomMember RoomMember}。
+     */
+    public RoomMember getRoomMember(long memberId) {
+        return memberRegistry.getByMemberId(memberId);
+    }
+
+    /**
+     * 按 {@link com.herewhite.sdk.domain.MemberInformation MemberInformation} 中设置的 userId 获取房间用户。
+     *
+     * @since 2.16.101
+     *
+     * @note
+     * - 该方法为同步调用，不会遍历用户列表。
+     * - 如果该用户从多个设备加入房间，该方法返回其中一个。
+     *
+     * @param userId 用户的 userId。
+     * @return 房间用户，如果房间内没有该 userId 的用户，则返回 `null`。详见 {@link com.herewhite.sdk.domain.RoomMember RoomMember}。
+     */
+    public RoomMember getRoomMemberByUserId(String userId) {
+        return memberRegistry.getByUserId(userId);
+    }
+
+    /**
+     * 监听房间用户列表的变化。
+     *
+     * @since 2.16.101
+     *
+     * @param listener 用户列表变化回调，详见 {@link RoomMemberListener}。
+     */
+    public void addRoomMemberListener(RoomMemberListener listener) {
+        roomMemberListeners.addIfAbsent(listener);
+    }
+
+    /**
+     * 移除房间用户列表变化的监听。
+     *
+     * @since 2.16.101
+     *
+     * @param listener 要移除的回调。
+     */
+    public void removeRoomMemberListener(RoomMemberListener listener) {
+        roomMemberListeners.remove(listener);
+    }
+
     /**
      * 获取用户的视角状态。
      *
@@ -576,7 +652,7 @@ public class Room extends Displayer {
      *
      */
     public BroadcastState getBroadcastState() {
-        return syncRoomState.getDisplayerState().getBroadcastState();
+        return getStateValue(StateField.BROADCAST_STATE);
     }
 
     /**
@@ -626,7 +702,7 @@ public class Room extends Displayer {
      * @return 当前场景目录下的场景状态，详见 {@link com.herewhite.sdk.domain.SceneState SceneState}。
      */
     public SceneState getSceneState() {
-        return syncRoomState.getDisplayerState().getSceneState();
+        return getStateValue(StateField.SCENE_STATE);
     }
 
     /**
@@ -717,6 +793,97 @@ public class Room extends Displayer {
     }
 
 
+    /**
+     * 将当前场景相邻场景的预览图加载到场景预览图缓存中。
+     *
+     * @since 2.16.101
+     *
+     * 该方法会加载当前目录下当前场景前后各最多 `count` 个场景。如果场景预览图缓存未开启，该方法不会执行任何操作。详见 {@link #setScenePreviewCacheOptions(ScenePreviewCacheOptions) setScenePreviewCacheOptions}。
+     *
+     * @param count  当前场景每一侧加载的场景数量。
+     * @param width  预览图的最小宽度（像素），与传给 {@link #getScenePreviewImage(String, int, int, Promise) getScenePreviewImage} 的值相同。
+     * @param height 预览图的最小高度（像素），与传给 {@link #getScenePreviewImage(String, int, int, Promise) getScenePreviewImage} 的值相同。
+     */
+    public void prefetchAdjacentScenePreviews(int count, int width, int height) {
+        SceneState sceneState = getSceneState();
+        if (sceneState == null || sceneState.getScenes() == null || sceneState.getScenePath() == null) {
+            return;
+        }
+        Scene[] scenes = sceneState.getScenes();
+        String scenePath = sceneState.getScenePath();
+        String dir = scenePath.substring(0, Math.max(scenePath.lastIndexOf('/'), 0));
+        List<String> scenePaths = new ArrayList<>();
+        for (int offset = 1; offset <= count; offset++) {
+            for (int index : new int[]{sceneState.getIndex() + offset, sceneState.getIndex() - offset}) {
+                if (index >= 0 && index < scenes.length) {
+                    scenePaths.add(dir + "/" + scenes[index].getName());
+                }
+            }
+        }
+        prefetchScenePreviews(scenePaths.toArray(new String[0]), width, height);
+    }
+
+    /**
+     * 开启或关闭 PPT 预加载器。
+     *
+     * @since 2.16.101
+     *
+     * 开启预加载器后，每次当前场景变化时，SDK 会将当前页面前后页面的 {@link PptPage#getSrc() src} 和 {@link PptPage#getPreview() preview}
+     * 资源下载到缓存目录中。SDK 会先下载前进方向上的页面，并丢弃用户已离开的页面的下载。如需加载已下载的文件，
+     * 请将 `room::getPrefetchedUrl` 设为 {@link WhiteboardView#setResourceResolver(ResourceResolver) setResourceResolver} 的解析器，SDK 会将文件流式传输给白板。
+     *
+     * @note
+     * - 仅下载 `http` 和 `https` 资源。使用 `pptx://` 协议的动态 PPT 资源会被跳过。
+     * - 离开房间后文件仍会保留，供之后的课堂使用。
+     *
+     * @param options 预加载器配置，详见 {@link PptPrefetchOptions}。传入 `null` 关闭预加载器。预加载器默认关闭。
+     */
+    public void setPptPrefetchOptions(PptPrefetchOptions options) {
+        PptPrefetcher prefetcher = null;
+        if (options != null && options.getCacheDirectory() != null) {
+            prefetcher = new PptPrefetcher(options);
+        }
+        PptPrefetcher previous;
+        synchronized (pptPrefetchLock) {
+            previous = pptPrefetcher;
+            pptPrefetcher = prefetcher;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+        if (prefetcher != null) {
+            prefetcher.onSceneStateChanged(getSceneState());
+        }
+    }
+
+    /**
+     * 获取加载资源使用的 URL。
+     *
+     * @since 2.16.101
+     *
+     * 该方法只读取内存中已下载文件的索引，可以在任意线程调用。开启预加载器后、索引加载完成前，该方法返回 `sourceUrl`。
+     *
+     * @param sourceUrl 资源的原始 URL。
+     * @return 如果 PPT 预加载器已下载该资源，返回已下载文件的 `file://` URL，否则返回 `sourceUrl`。
+     */
+    public String getPrefetchedUrl(String sourceUrl) {
+        PptPrefetcher prefetcher = pptPrefetcher;
+        String url = prefetcher != null ? prefetcher.getCachedUrl(sourceUrl) : null;
+        return url != null ? url : sourceUrl;
+    }
+
+    /**
+     * 获取 PPT 预加载器的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * @return 统计数据，包括开启预加载器以来的页面命中次数和页面就绪耗时，详见 {@link PptPrefetchStats}。如果预加载器未开启，返回 `null`。
+     */
+    public PptPrefetchStats getPptPrefetchStats() {
+        PptPrefetcher prefetcher = pptPrefetcher;
+        return prefetcher != null ? prefetcher.stats() : null;
+    }
+
     /**
      * 获取用户当前的视角缩放比例。
      *
@@ -732,7 +899,7 @@ public class Room extends Displayer {
      * @return 视角缩放比例。
      */
     public double getZoomScale() {
-        return syncRoomState.getDisplayerState().getZoomScale();
+        return getStateValue(StateField.ZOOM_SCALE);
     }
 
     /**
@@ -860,6 +1027,86 @@ public class Room extends Displayer {
             }
         });
     }
+    /**
+     * 监听房间状态中的单个字段。
+     *
+     * @since 2.16.101
+     *
+     * 只有监听的字段值发生变化时，SDK 才会在主线程触发回调，并且只反序列化有监听的字段。
+     * 相比在 {@link RoomListener#onRoomStateChanged onRoomStateChanged} 中逐个比较字段，开销更小。
+     *
+     * @param field    监听的字段，详见 {@link com.herewhite.sdk.domain.StateField StateField}。
+     * @param listener 字段变化回调，详见 {@link com.herewhite.sdk.domain.StateFieldListener StateFieldListener}。
+     * @param <V>      字段值的类型。
+     */
+    public <V> void addStateFieldListener(StateField<V> field, StateFieldListener<V> listener) {
+        CopyOnWriteArrayList<StateFieldListener<?>> listeners = stateFieldListeners.get(field);
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+            CopyOnWriteArrayList<StateFieldListener<?>> previous = stateFieldListeners.putIfAbsent(field, listeners);
+            if (previous != null) {
+                listeners = previous;
+            }
+        }
+        listeners.addIfAbsent(listener);
+    }
+
+    /**
+     * 移除房间状态单个字段的监听。
+     *
+     * @since 2.16.101
+     *
+     * @param field    监听的字段，详见 {@link com.herewhite.sdk.domain.StateField StateField}。
+     * @param listener 要移除的回调。
+     * @param <V>      字段值的类型。
+     */
+    public <V> void removeStateFieldListener(StateField<V> field, StateFieldListener<V> listener) {
+        CopyOnWriteArrayList<StateFieldListener<?>> listeners = stateFieldListeners.get(field);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * 设置是否合并房间状态变化，每个显示帧最多回调一次。
+     *
+     * @since 2.16.101
+     *
+     * 开启后，同一显示帧内上报的房间状态变化会合并为一次 {@link RoomListener#onRoomStateChanged onRoomStateChanged} 回调，
+     * 回调中每个字段均为最新的值。状态频繁变化时（例如多人同时书写），可以避免主线程堆积中间状态。
+     *
+     * 合并后的回调与其他回调一样，通过 {@link #setCallbackExecutor(java.util.concurrent.Executor) setCallbackExecutor} 设置的执行器发送。
+     *
+     * @param enabled 是否合并房间状态变化：
+     * - `true`：合并同一显示帧内的房间状态变化。
+     * - `false`：（默认）每次房间状态变化都回调。
+     */
+    public void setCoalesceRoomStateChanged(boolean enabled) {
+        this.coalesceRoomStateChanged = enabled;
+    }
+
+    /**
+     * 获取是否合并房间状态变化，每个显示帧最多回调一次。
+     *
+     * @since 2.16.101
+     *
+     * @return 是否合并房间状态变化。
+     */
+    public boolean isCoalesceRoomStateChanged() {
+        return coalesceRoomStateChanged;
+    }
+
+    /**
+     * 获取开启合并后，被合并到之后回调中的中间房间状态变化次数。
+     *
+     * @since 2.16.101
+     *
+     * @return 被合并的房间状态变化次数。
+     */
+    public long getMergedRoomStateCount() {
+        return frameRoomStateListener.getMergedStates();
+    }
+
     //endregion
 
     //region Scene API
@@ -963,6 +1210,85 @@ public class Room extends Displayer {
      */
     public void putScenes(String dir, Scene[] scenes, int index) {
         bridge.callHandler("room.putScenes", new Object[]{dir, scenes, index});
+        sceneIndex.putScenes(dir, scenes, index);
+        ensureSceneIndex();
+    }
+
+    /**
+     * 分批在指定场景目录下插入多个场景。
+     *
+     * @since 2.16.101
+     *
+     * 通过 {@link #putScenes(String, Scene[], int) putScenes} 插入上千个场景时，所有场景会在一条消息中发送，转换消息期间 app 和白板都会卡顿。
+     * 该方法每次从 `scenes` 中读取 `chunkSize` 个场景，并在白板插入上一批场景后再发送下一批。只要插入完成前不修改该场景目录，
+     * 场景的最终顺序与调用一次 `putScenes` 相同。
+     *
+     * @param dir       场景目录的名称，必须以 `/` 开头。不能为场景路径。
+     * @param scenes    待插入的场景。SDK 会在主线程逐批读取该迭代器，因此场景可以按需创建。
+     * @param index     待插入的多个场景中，第一个场景在该场景目录的索引号，详见 {@link #putScenes(String, Scene[], int) putScenes}。
+     * @param chunkSize 每批发送的最大场景数量，例如 50。小于 1 的值按 1 处理。
+     * @param callback  进度回调，可以为 `null`，详见 {@link PutScenesCallback}。
+     */
+    public void putScenes(String dir, Iterator<Scene> scenes, int index, int chunkSize, PutScenesCallback callback) {
+        final int size = Math.max(1, chunkSize);
+        mainHandler.post(() -> putSceneChunk(dir, scenes, index, size, 0, callback));
+    }
+
+    private void putSceneChunk(final String dir, final Iterator<Scene> scenes, final int index, final int chunkSize,
+                               final int putCount, final PutScenesCallback callback) {
+        final List<Scene> chunk = new ArrayList<>();
+        try {
+            while (chunk.size() < chunkSize && scenes.hasNext()) {
+                chunk.add(scenes.next());
+            }
+        } catch (RuntimeException e) {
+            Logger.error("An exception occurred while read scenes to put", e);
+            if (callback != null) {
+                post(() -> callback.onFailure(new SDKError(e.getMessage()), putCount));
+            }
+            return;
+        }
+        if (chunk.isEmpty()) {
+            if (callback != null) {
+                post(() -> callback.onCompleted(putCount));
+            }
+            return;
+        }
+        // 每批场景都插入在上一批之后，因此结果与在 `index` 处一次插入所有场景相同。
+        final Scene[] chunkScenes = chunk.toArray(new Scene[0]);
+        final AtomicBoolean settled = new AtomicBoolean();
+        // 白板抛出异常时不会返回任何值，因此超时后停止插入。
+        final Runnable timeout = () -> {
+            if (settled.compareAndSet(false, true) && callback != null) {
+                post(() -> callback.onFailure(new SDKError("Timed out waiting for the whiteboard to insert the scenes"), putCount));
+            }
+        };
+        mainHandler.postDelayed(timeout, PUT_SCENES_CHUNK_TIMEOUT);
+        bridge.callHandler("room.putScenes", new Object[]{dir, chunkScenes, index + putCount}, new OnReturnValue<String>() {
+            @Override
+            public void onValue(String retValue) {
+                mainHandler.removeCallbacks(timeout);
+                final SDKError error = SDKError.promiseError(retValue);
+                if (error != null) {
+                    if (settled.compareAndSet(false, true) && callback != null) {
+                        post(() -> callback.onFailure(error, putCount));
+                    }
+                    return;
+                }
+                // 仅将白板确认插入的场景加入本地场景树。超时后到达的确认仍会记录。
+                sceneIndex.putScenes(dir, chunkScenes, index + putCount);
+                ensureSceneIndex();
+                if (!settled.compareAndSet(false, true)) {
+                    return;
+                }
+                final int count = putCount + chunk.size();
+                if (callback != null) {
+                    post(() -> callback.onProgress(count));
+                }
+                // 返回值在 bridge 线程回调，迭代器只在主线程读取。
+                mainHandler.post(() -> putSceneChunk(dir, scenes, index, chunkSize, count, callback));
+            }
+        });
     }
 
     /**
@@ -981,6 +1307,8 @@ public class Room extends Displayer {
      */
     public void moveScene(String sourcePath, String targetDirOrPath) {
         bridge.callHandler("room.moveScene", new Object[]{sourcePath, targetDirOrPath});
+        sceneIndex.moveScene(sourcePath, targetDirOrPath);
+        ensureSceneIndex();
     }
 
     /**
@@ -1002,6 +1330,8 @@ public class Room extends Displayer {
      */
     public void removeScenes(String dirOrPath) {
         bridge.callHandler("room.removeScenes", new Object[]{dirOrPath});
+        sceneIndex.removeScenes(dirOrPath);
+        ensureSceneIndex();
     }
 
     /**
@@ -1232,12 +1562,42 @@ public class Room extends Displayer {
     /**
      * 发送自定义事件。
      *
-     * @note 所有注册监听该事件的用户都会收到通知。
+     * @note
+     * - 所有注册监听该事件的用户都会收到通知。
+     * - 如果通过 {@link #setMagixEventSendOptions setMagixEventSendOptions} 为该事件名设置了发送配置，则按配置发送。
      *
      * @param eventEntry 自定义事件内容，详见 {@link com.herewhite.sdk.domain.AkkoEvent AkkoEvent}。
      */
     public void dispatchMagixEvent(AkkoEvent eventEntry) {
-        bridge.callHandler("room.dispatchMagixEvent", new Object[]{eventEntry});
+        if (!magixEventSender.offer(eventEntry)) {
+            bridge.callHandler("room.dispatchMagixEvent", new Object[]{eventEntry});
+        }
+    }
+
+    /**
+     * 设置某个事件名的自定义事件的发送方式。
+     *
+     * @since 2.16.101
+     *
+     * 对于高频发送的事件（例如激光笔位置），可以通过该方法减少发送的消息数：在发送间隔内只保留最新的事件，或将事件合并为一个，并限制发送频率。
+     *
+     * @param eventName 自定义事件名称。
+     * @param options   发送配置，详见 {@link com.herewhite.sdk.domain.MagixEventSendOptions MagixEventSendOptions}。
+     * 传入 `null` 则恢复直接发送该事件名的事件，尚未发送的事件会立即发送。
+     */
+    public void setMagixEventSendOptions(String eventName, MagixEventSendOptions options) {
+        magixEventSender.setOptions(eventName, options);
+    }
+
+    /**
+     * 获取按发送配置发送的自定义事件的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * @return 统计数据，详见 {@link com.herewhite.sdk.domain.MagixEventSendStats MagixEventSendStats}。
+     */
+    public MagixEventSendStats getMagixEventSendStats() {
+        return magixEventSender.getStats();
     }
 
     /**
@@ -1385,13 +1745,90 @@ public class Room extends Displayer {
         this.roomListener = roomCallbacks;
     }
 
+    private volatile boolean coalesceRoomStateChanged = false;
+
+    private final FrameCoalescedStateListener<RoomState> frameRoomStateListener = new FrameCoalescedStateListener<>(RoomState.class,
+            modifyState -> post(() -> notifyRoomStateChanged(modifyState)));
+
     private SyncDisplayerState.Listener<RoomState> localRoomStateListener = modifyState -> {
+        if (coalesceRoomStateChanged) {
+            frameRoomStateListener.onDisplayerStateChanged(modifyState);
+        } else {
+            post(() -> notifyRoomStateChanged(modifyState));
+        }
+    };
+
+    private void notifyRoomStateChanged(RoomState modifyState) {
+        if (roomListener != null) {
+            roomListener.onRoomStateChanged(modifyState);
+        }
+    }
+
+    private final ConcurrentHashMap<StateField<?>, CopyOnWriteArrayList<StateFieldListener<?>>> stateFieldListeners = new ConcurrentHashMap<>();
+
+    private final RoomMemberRegistry memberRegistry = new RoomMemberRegistry();
+    private final CopyOnWriteArrayList<RoomMemberListener> roomMemberListeners = new CopyOnWriteArrayList<>();
+
+    private SyncDisplayerState.FieldsListener localRoomFieldsListener = keys -> {
+        if (keys.contains(StateField.ROOM_MEMBERS.getKey())) {
+            updateRoomMembers();
+        }
+        if (keys.contains(StateField.SCENE_STATE.getKey())) {
+            onSceneStateChanged(getStateValue(StateField.SCENE_STATE));
+        }
+        for (Map.Entry<StateField<?>, CopyOnWriteArrayList<StateFieldListener<?>>> entry : stateFieldListeners.entrySet()) {
+            if (!entry.getValue().isEmpty() && keys.contains(entry.getKey().getKey())) {
+                fireStateFieldChanged(entry.getKey(), entry.getValue());
+            }
+        }
+    };
+
+    @Override
+    void onSceneStateChanged(SceneState sceneState) {
+        super.onSceneStateChanged(sceneState);
+        PptPrefetcher prefetcher = pptPrefetcher;
+        if (prefetcher != null) {
+            prefetcher.onSceneStateChanged(sceneState);
+        }
+    }
+
+    private void updateRoomMembers() {
+        RoomMember[] members = getStateValue(StateField.ROOM_MEMBERS);
+        RoomMemberRegistry.Delta delta = memberRegistry.update(members);
+        if (delta.isEmpty() || roomMemberListeners.isEmpty()) {
+            return;
+        }
         post(() -> {
-            if (roomListener != null) {
-                roomListener.onRoomStateChanged(modifyState);
+            for (RoomMemberListener listener : roomMemberListeners) {
+                for (RoomMember member : delta.left) {
+                    listener.onMemberLeft(member);
+                }
+                for (RoomMember member : delta.joined) {
+                    listener.onMemberJoined(member);
+                }
+                for (RoomMember member : delta.stateChanged) {
+                    listener.onMemberStateChanged(member);
+                }
             }
         });
-    };
+    }
+
+    /**
+     * 获取房间状态中单个字段的副本，无需复制完整的房间状态。
+     */
+    private <V> V getStateValue(StateField<V> field) {
+        return field.valueOf(syncRoomState.getValue(field.getKey()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> void fireStateFieldChanged(StateField<V> field, CopyOnWriteArrayList<StateFieldListener<?>> listeners) {
+        V value = getStateValue(field);
+        post(() -> {
+            for (StateFieldListener<?> listener : listeners) {
+                ((StateFieldListener<V>) listener).onStateFieldChanged(value);
+            }
+        });
+    }
 
     //endregion
     private RoomDelegate roomDelegate;
@@ -1414,10 +1851,14 @@ public class Room extends Displayer {
          */
         @Override
         public void fireMagixEvent(EventEntry eventEntry) {
-            EventListener eventListener = eventListenerMap.get(eventEntry.getEventName());
-            if (eventListener != null) {
-                eventListener.onEvent(eventEntry);
-            }
+            attachPayloadCodec(eventEntry);
+            postEvent(() -> {
+                EventListener eventListener = eventListenerMap.get(eventEntry.getEventName());
+                if (eventListener != null) {
+                    eventListener.onEvent(eventEntry);
+                }
+                magixEventDispatcher.dispatch(eventEntry);
+            });
         }
 
         /// @cond test
@@ -1428,10 +1869,16 @@ public class Room extends Displayer {
          */
         @Override
         public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
-            FrequencyEventListener eventListener = frequencyEventListenerMap.get(eventEntries[0].getEventName());
-            if (eventListener != null) {
-                eventListener.onEvent(eventEntries);
+            for (EventEntry eventEntry : eventEntries) {
+                attachPayloadCodec(eventEntry);
             }
+            publishHighFrequencyEvent(eventEntries);
+            postEvent(() -> {
+                FrequencyEventListener eventListener = frequencyEventListenerMap.get(eventEntries[0].getEventName());
+                if (eventListener != null) {
+                    eventListener.onEvent(eventEntries);
+                }
+            });
         }
         /// @endcond
 
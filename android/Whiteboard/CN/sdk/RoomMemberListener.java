@@ -0,0 +1,35 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.RoomMember;
+
+/**
+ * {@link Room} 用户列表变化回调接口。
+ *
+ * SDK 通过比较前后两次的用户列表计算变化，你可以据此增量更新 UI 中的用户列表。
+ * 添加监听时已在房间内的用户不会回调，你可以通过 {@link Room#getRoomMembers() getRoomMembers} 获取。
+ *
+ * @since 2.16.101
+ */
+public interface RoomMemberListener {
+
+    /**
+     * 用户加入房间回调。
+     *
+     * @param member 加入房间的用户，详见 {@link RoomMember}。
+     */
+    void onMemberJoined(RoomMember member);
+
+    /**
+     * 用户离开房间回调。
+     *
+     * @param member 离开房间的用户，为最后一次上报的信息，详见 {@link RoomMember}。
+     */
+    void onMemberLeft(RoomMember member);
+
+    /**
+     * 用户的白板工具状态变化回调。
+     *
+     * @param member 状态发生变化的用户，详见 {@link RoomMember}。
+     */
+    void onMemberStateChanged(RoomMember member);
+}
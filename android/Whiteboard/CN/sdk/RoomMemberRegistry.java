@@ -0,0 +1,79 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.MemberInformation;
+import com.herewhite.sdk.domain.RoomMember;
+import com.herewhite.sdk.domain.WhiteObjectFields;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按 `memberId` 和 `userId` 索引最新的房间用户，并计算前后两次用户列表之间加入、离开和状态变化的用户。
+ */
+class RoomMemberRegistry {
+
+    static class Delta {
+        final List<RoomMember> joined = new ArrayList<>();
+        final List<RoomMember> left = new ArrayList<>();
+        final List<RoomMember> stateChanged = new ArrayList<>();
+
+        boolean isEmpty() {
+            return joined.isEmpty() && left.isEmpty() && stateChanged.isEmpty();
+        }
+    }
+
+    private volatile Map<Long, RoomMember> byMemberId = Collections.emptyMap();
+    private volatile Map<String, RoomMember> byUserId = Collections.emptyMap();
+
+    /**
+     * 用新的用户列表替换已索引的用户，并返回相对上一次的变化。
+     * 索引表整体替换而不是原地修改，其他线程查询时无需加锁。
+     */
+    synchronized Delta update(RoomMember[] members) {
+        Map<Long, RoomMember> previous = byMemberId;
+        int capacity = members == null ? 0 : members.length * 4 / 3 + 1;
+        Map<Long, RoomMember> nextByMemberId = new HashMap<>(capacity);
+        Map<String, RoomMember> nextByUserId = new HashMap<>(capacity);
+        Delta delta = new Delta();
+
+        if (members != null) {
+            for (RoomMember member : members) {
+                if (member == null || member.getMemberId() == null) {
+                    continue;
+                }
+                nextByMemberId.put(member.getMemberId(), member);
+                MemberInformation information = member.getInformation();
+                if (information != null && information.getUserId() != null) {
+                    nextByUserId.put(information.getUserId(), member);
+                }
+
+                RoomMember old = previous.get(member.getMemberId());
+                if (old == null) {
+                    delta.joined.add(member);
+                } else if (!WhiteObjectFields.deepEquals(old.getMemberState(), member.getMemberState())) {
+                    delta.stateChanged.add(member);
+                }
+            }
+        }
+        for (RoomMember old : previous.values()) {
+            if (!nextByMemberId.containsKey(old.getMemberId())) {
+                delta.left.add(old);
+            }
+        }
+
+        byMemberId = nextByMemberId;
+        byUserId = nextByUserId;
+        return delta;
+    }
+
+    RoomMember getByMemberId(long memberId) {
+        return byMemberId.get(memberId);
+    }
+
+    RoomMember getByUserId(String userId) {
+        return byUserId.get(userId);
+    }
+}
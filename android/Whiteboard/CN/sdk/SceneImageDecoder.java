@@ -0,0 +1,177 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Base64;
+import android.util.Base64InputStream;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * 将场景预览图或截图的 data URL 解码为图片。
+ * <p>
+ * base64 文本在流入 `BitmapFactory` 的同时解码，既不截取 data URL 的子串，也不把解码后的图片字节复制到中间数组。
+ * 指定目标尺寸时通过 `inSampleSize` 降采样；{@link BitmapPool} 中有足够大的图片时，直接解码到该图片中。
+ */
+class SceneImageDecoder {
+
+    interface Source {
+        InputStream open() throws IOException;
+    }
+
+    private final BitmapPool bitmapPool = new BitmapPool();
+    /**
+     * 会交给多个调用方的图片，例如预览缓存中的图片。离开缓存后仍保留在这里，因为调用方可能还在显示，这些图片不会再被解码复用。
+     */
+    private final Set<Bitmap> shared = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Bitmap, Boolean>()));
+    private final int densityDpi;
+
+    SceneImageDecoder(int densityDpi) {
+        this.densityDpi = densityDpi;
+    }
+
+    /**
+     * @param reqWidth  解码后图片的最小宽度，传 0 表示保持原始宽度。
+     * @param reqHeight 解码后图片的最小高度，传 0 表示保持原始高度。
+     */
+    Bitmap decode(final String dataUrl, int reqWidth, int reqHeight) throws IOException {
+        final int start = dataUrl.indexOf(',') + 1;
+        return decode(() -> open(dataUrl, start), reqWidth, reqHeight);
+    }
+
+    /**
+     * 解码图片文件，例如通过 {@link #write(String, File)} 写入的文件。
+     */
+    Bitmap decode(final File file, int reqWidth, int reqHeight) throws IOException {
+        return decode(() -> new BufferedInputStream(new FileInputStream(file)), reqWidth, reqHeight);
+    }
+
+    /**
+     * 将 data URL 中的图片字节写入文件，写入的同时解码 base64 文本。
+     */
+    static void write(String dataUrl, File file) throws IOException {
+        try (InputStream in = open(dataUrl, dataUrl.indexOf(',') + 1);
+             OutputStream out = new FileOutputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+        }
+    }
+
+    private Bitmap decode(Source source, int reqWidth, int reqHeight) throws IOException {
+        BitmapFactory.Options opts = new BitmapFactory.Options();
+        opts.inJustDecodeBounds = true;
+        decodeStream(source, opts);
+        if (opts.outWidth <= 0 || opts.outHeight <= 0) {
+            return null;
+        }
+
+        opts.inJustDecodeBounds = false;
+        opts.inSampleSize = sampleSize(opts.outWidth, opts.outHeight, reqWidth, reqHeight);
+        opts.inDensity = densityDpi;
+        opts.inMutable = true;
+        int width = (opts.outWidth + opts.inSampleSize - 1) / opts.inSampleSize;
+        int height = (opts.outHeight + opts.inSampleSize - 1) / opts.inSampleSize;
+        // 默认格式 ARGB_8888 每像素 4 字节。
+        opts.inBitmap = bitmapPool.acquire(width * height * 4);
+        try {
+            return decodeStream(source, opts);
+        } catch (IllegalArgumentException e) {
+            // 解码器无法复用池中的图片，改为解码到新图片中。
+            bitmapPool.release(opts.inBitmap);
+            opts.inBitmap = null;
+            return decodeStream(source, opts);
+        }
+    }
+
+    private static Bitmap decodeStream(Source source, BitmapFactory.Options opts) throws IOException {
+        try (InputStream in = source.open()) {
+            return BitmapFactory.decodeStream(in, null, opts);
+        }
+    }
+
+    /**
+     * 将图片标记为共享，此后 {@link #release(Bitmap)} 会忽略该图片。
+     */
+    void share(Bitmap bitmap) {
+        shared.add(bitmap);
+    }
+
+    void release(Bitmap bitmap) {
+        if (bitmap == null || shared.contains(bitmap)) {
+            return;
+        }
+        bitmapPool.release(bitmap);
+    }
+
+    void clear() {
+        bitmapPool.clear();
+    }
+
+    /**
+     * 保证宽高均不小于所需尺寸的最大 2 的幂次。
+     */
+    private static int sampleSize(int width, int height, int reqWidth, int reqHeight) {
+        int sampleSize = 1;
+        if (reqWidth <= 0 && reqHeight <= 0) {
+            return sampleSize;
+        }
+        while (width / (sampleSize * 2) >= Math.max(reqWidth, 1) && height / (sampleSize * 2) >= Math.max(reqHeight, 1)) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static InputStream open(String dataUrl, int start) {
+        return new Base64InputStream(new AsciiInputStream(dataUrl, start), Base64.DEFAULT);
+    }
+
+    /**
+     * 将 base64 字符串的字符按字节读取，不复制字符串。
+     */
+    private static class AsciiInputStream extends InputStream {
+        private final String source;
+        private int position;
+
+        AsciiInputStream(String source, int start) {
+            this.source = source;
+            this.position = start;
+        }
+
+        @Override
+        public int read() {
+            return position < source.length() ? source.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int count = Math.min(length, source.length() - position);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) source.charAt(position++);
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return source.length() - position;
+        }
+    }
+}
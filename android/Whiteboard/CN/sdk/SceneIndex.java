@@ -0,0 +1,355 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.PptPage;
+import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.domain.WhiteObjectFields;
+import com.herewhite.sdk.domain.WhiteScenePathType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 场景树的本地副本，无需经过 bridge 往返即可回答场景查询。
+ * <p>
+ * 场景树通过 `displayer.entireScenes` 初始化，之后根据场景状态（列出当前目录下的场景）和本客户端的场景操作保持更新。
+ * 初始化完成前，只能回答当前目录下场景的查询。无法回答的查询返回 `null`。
+ */
+class SceneIndex {
+
+    private static class Dir {
+        final Map<String, Dir> dirs = new LinkedHashMap<>();
+        final List<Scene> scenes = new ArrayList<>();
+
+        boolean isEmpty() {
+            return dirs.isEmpty() && scenes.isEmpty();
+        }
+    }
+
+    private Dir root = new Dir();
+    private boolean enabled;
+    private boolean complete;
+    private SceneState sceneState;
+    /**
+     * 每次本地场景操作都会递增，详见 {@link #reset(Map, long)}。
+     */
+    private long revision;
+
+    synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * 仅在索引启用时维护场景树。禁用时丢弃场景树，启用时从场景状态重新开始。
+     */
+    synchronized void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        // 不再使用之前查询的 `displayer.entireScenes` 结果。
+        revision++;
+        root = new Dir();
+        complete = false;
+        applySceneState();
+    }
+
+    synchronized long getRevision() {
+        return revision;
+    }
+
+    /**
+     * 用 `displayer.entireScenes` 的结果替换场景树。如果 `revision` 之后执行过本地操作，查询结果可能不包含该操作，
+     * 此时不修改场景树并返回 `false`。
+     */
+    synchronized boolean reset(Map<String, Scene[]> entireScenes, long revision) {
+        if (!enabled || revision != this.revision) {
+            return false;
+        }
+        root = new Dir();
+        for (Map.Entry<String, Scene[]> entry : entireScenes.entrySet()) {
+            if (entry.getValue() != null && entry.getValue().length > 0) {
+                Dir dir = dir(entry.getKey(), true);
+                for (Scene scene : entry.getValue()) {
+                    // 查询结果也会返回给调用方，调用方可能修改它。
+                    dir.scenes.add(copy(scene));
+                }
+            }
+        }
+        complete = true;
+        // 场景状态可能比查询结果更新。
+        applySceneState();
+        return true;
+    }
+
+    synchronized void updateSceneState(SceneState sceneState) {
+        this.sceneState = sceneState;
+        applySceneState();
+    }
+
+    private void applySceneState() {
+        if (!enabled || sceneState == null || sceneState.getScenePath() == null || sceneState.getScenes() == null) {
+            return;
+        }
+        Dir dir = dir(parent(sceneState.getScenePath()), true);
+        dir.scenes.clear();
+        for (Scene scene : sceneState.getScenes()) {
+            dir.scenes.add(scene);
+        }
+    }
+
+    synchronized void putScenes(String dirPath, Scene[] scenes, int index) {
+        if (!enabled) {
+            return;
+        }
+        revision++;
+        for (Scene scene : scenes) {
+            if (scene.getName() == null) {
+                // 场景名由白板生成，这里无法得知。
+                invalidate();
+                return;
+            }
+        }
+        Dir dir = dir(dirPath, true);
+        int position = Math.max(0, Math.min(index, dir.scenes.size()));
+        for (Scene scene : scenes) {
+            dir.scenes.add(position++, scene);
+        }
+    }
+
+    synchronized void moveScene(String sourcePath, String targetDirOrPath) {
+        if (!enabled) {
+            return;
+        }
+        revision++;
+        Dir sourceDir = dir(parent(sourcePath), false);
+        int sourceIndex = sourceDir != null ? indexOf(sourceDir, name(sourcePath)) : -1;
+        if (sourceIndex < 0) {
+            // 找不到源场景，场景树已与白板不一致。
+            invalidate();
+            return;
+        }
+        Scene scene = sourceDir.scenes.remove(sourceIndex);
+        Dir targetDir = dir(targetDirOrPath, false);
+        if (targetDir == null) {
+            // 移动到新路径，场景会被重命名。
+            targetDir = dir(parent(targetDirOrPath), true);
+            Scene renamed = WhiteObjectFields.of(Scene.class).copy(scene);
+            renamed.setName(name(targetDirOrPath));
+            scene = renamed;
+        }
+        targetDir.scenes.add(scene);
+        prune(parent(sourcePath));
+    }
+
+    synchronized void removeScenes(String dirOrPath) {
+        if (!enabled) {
+            return;
+        }
+        revision++;
+        String path = normalize(dirOrPath);
+        if (path.equals("/")) {
+            // 删除所有场景后，白板会创建一个新场景。
+            invalidate();
+            return;
+        }
+        Dir parent = dir(parent(path), false);
+        if (parent == null) {
+            return;
+        }
+        if (parent.dirs.remove(name(path)) == null) {
+            int index = indexOf(parent, name(path));
+            if (index >= 0) {
+                parent.scenes.remove(index);
+            }
+        }
+        prune(parent(path));
+        if (root.isEmpty()) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        root = new Dir();
+        complete = false;
+        applySceneState();
+    }
+
+    synchronized WhiteScenePathType pathType(String path) {
+        path = normalize(path);
+        if (!path.equals("/")) {
+            Dir parent = dir(parent(path), false);
+            if (parent != null && indexOf(parent, name(path)) >= 0) {
+                return WhiteScenePathType.Page;
+            }
+        }
+        if (!complete) {
+            return null;
+        }
+        Dir dir = dir(path, false);
+        return dir != null && !dir.isEmpty() ? WhiteScenePathType.Dir : WhiteScenePathType.Empty;
+    }
+
+    /**
+     * 如果 {@link #scene(String)} 能够判断场景是否存在，返回 `true`。
+     */
+    synchronized boolean knowsScene(String path) {
+        return complete || isCurrentDir(parent(normalize(path)));
+    }
+
+    synchronized Scene scene(String path) {
+        path = normalize(path);
+        Dir dir = dir(parent(path), false);
+        int index = dir != null ? indexOf(dir, name(path)) : -1;
+        return index >= 0 ? copy(dir.scenes.get(index)) : null;
+    }
+
+    synchronized Map<String, Scene[]> entireScenes() {
+        if (!complete) {
+            return null;
+        }
+        Map<String, Scene[]> result = new LinkedHashMap<>();
+        collect("/", root, result);
+        return result;
+    }
+
+    private static void collect(String path, Dir dir, Map<String, Scene[]> result) {
+        if (!dir.scenes.isEmpty()) {
+            Scene[] scenes = new Scene[dir.scenes.size()];
+            for (int i = 0; i < scenes.length; i++) {
+                scenes[i] = copy(dir.scenes.get(i));
+            }
+            result.put(path, scenes);
+        }
+        for (Map.Entry<String, Dir> entry : dir.dirs.entrySet()) {
+            collect(child(path, entry.getKey()), entry.getValue(), result);
+        }
+    }
+
+    private static Scene copy(Scene scene) {
+        return scene != null ? WhiteObjectFields.of(Scene.class).deepCopy(scene) : null;
+    }
+
+    private boolean isCurrentDir(String dirPath) {
+        return sceneState != null && sceneState.getScenePath() != null
+                && parent(sceneState.getScenePath()).equals(dirPath);
+    }
+
+    private Dir dir(String path, boolean create) {
+        Dir dir = root;
+        for (String name : normalize(path).split("/")) {
+            if (name.isEmpty()) {
+                continue;
+            }
+            Dir next = dir.dirs.get(name);
+            if (next == null) {
+                if (!create) {
+                    return null;
+                }
+                next = new Dir();
+                dir.dirs.put(name, next);
+            }
+            dir = next;
+        }
+        return dir;
+    }
+
+    /**
+     * 与白板一致，从 `path` 向上直到根目录删除空目录。
+     */
+    private void prune(String path) {
+        path = normalize(path);
+        while (!path.equals("/")) {
+            Dir parent = dir(parent(path), false);
+            Dir dir = parent != null ? parent.dirs.get(name(path)) : null;
+            if (dir == null || !dir.isEmpty()) {
+                return;
+            }
+            parent.dirs.remove(name(path));
+            path = parent(path);
+        }
+    }
+
+    private static int indexOf(Dir dir, String name) {
+        for (int i = 0; i < dir.scenes.size(); i++) {
+            if (name.equals(dir.scenes.get(i).getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    private static String parent(String path) {
+        path = normalize(path);
+        int index = path.lastIndexOf('/');
+        return index <= 0 ? "/" : path.substring(0, index);
+    }
+
+    private static String name(String path) {
+        path = normalize(path);
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String child(String dir, String name) {
+        return dir.endsWith("/") ? dir + name : dir + "/" + name;
+    }
+
+    /**
+     * 比较两次场景查询结果的结构：场景名和 PPT 页面。组件数量只对当前目录上报，因此不参与比较。
+     */
+    static boolean sameScenes(Object a, Object b) {
+        if (a instanceof Map && b instanceof Map) {
+            Map<?, ?> mapA = (Map<?, ?>) a;
+            Map<?, ?> mapB = (Map<?, ?>) b;
+            if (!mapA.keySet().equals(mapB.keySet())) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : mapA.entrySet()) {
+                if (!sameScenes(entry.getValue(), mapB.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof Scene[] && b instanceof Scene[]) {
+            Scene[] scenesA = (Scene[]) a;
+            Scene[] scenesB = (Scene[]) b;
+            if (scenesA.length != scenesB.length) {
+                return false;
+            }
+            for (int i = 0; i < scenesA.length; i++) {
+                if (!sameScenes(scenesA[i], scenesB[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof Scene && b instanceof Scene) {
+            Scene sceneA = (Scene) a;
+            Scene sceneB = (Scene) b;
+            PptPage pptA = sceneA.getPpt();
+            PptPage pptB = sceneB.getPpt();
+            return equals(sceneA.getName(), sceneB.getName()) && WhiteObjectFields.deepEquals(pptA, pptB);
+        }
+        return equals(a, b);
+    }
+
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,239 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.ScenePreviewCacheOptions;
+import com.herewhite.sdk.domain.ScenePreviewCacheStats;
+import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 场景预览图的两级缓存：按字节数限制大小的内存 LRU 保存解码后的图片，按大小限制的磁盘 LRU 保存原始图片。
+ * <p>
+ * 缓存以场景路径和内容版本为键，内容版本根据 {@link SceneState} 中的 {@link Scene} 生成，因此场景变化后不会再返回旧的缓存。
+ * 不知道内容版本的场景（例如当前目录以外的场景）不会缓存。
+ */
+class ScenePreviewCache {
+    private static final String FILE_SUFFIX = ".img";
+    /**
+     * 磁盘操作都在该线程执行，不占用调用方的线程。
+     */
+    private static final Executor diskExecutor = Executors.newSingleThreadExecutor();
+
+    interface DiskCallback {
+        void onResult(Bitmap bitmap);
+    }
+
+    private final LruCache<String, Bitmap> memoryCache;
+    /**
+     * 如果预览图仅缓存在内存中，为 `null`。
+     */
+    private final DiskLruFiles diskCache;
+
+    /**
+     * 最新场景状态中列出的每个场景路径的内容版本。
+     */
+    private final Map<String, String> versions = new HashMap<>();
+    private final Map<String, List<Promise<Bitmap>>> pending = new HashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    ScenePreviewCache(ScenePreviewCacheOptions options) {
+        this.memoryCache = new LruCache<String, Bitmap>(Math.max(1, options.getMemoryCacheSize())) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+        this.diskCache = options.getDiskCacheDirectory() != null
+                ? new DiskLruFiles(new File(options.getDiskCacheDirectory()), options.getDiskCacheSize()) : null;
+    }
+
+    /**
+     * 用 `sceneState` 中场景的内容版本替换当前版本，并丢弃内容版本变化的场景的缓存。
+     */
+    void updateVersions(SceneState sceneState) {
+        Map<String, String> latest = new HashMap<>();
+        if (sceneState != null && sceneState.getScenes() != null && sceneState.getScenePath() != null) {
+            String scenePath = sceneState.getScenePath();
+            String dir = scenePath.substring(0, Math.max(scenePath.lastIndexOf('/'), 0));
+            for (Scene scene : sceneState.getScenes()) {
+                String version = version(scene);
+                if (version != null) {
+                    latest.put(dir + "/" + scene.getName(), version);
+                }
+            }
+        }
+        List<String> changed = new ArrayList<>();
+        synchronized (versions) {
+            for (Map.Entry<String, String> entry : versions.entrySet()) {
+                String version = latest.get(entry.getKey());
+                if (version != null && !version.equals(entry.getValue())) {
+                    changed.add(versionKey(entry.getKey(), entry.getValue()));
+                }
+            }
+            // 不再列出的场景保留其缓存，如果场景再次列出且未变化，缓存可以继续使用。
+            versions.clear();
+            versions.putAll(latest);
+        }
+        for (String versionKey : changed) {
+            invalidate(versionKey);
+        }
+    }
+
+    /**
+     * 场景内容变化时，其组件数量或 PPT 页面会变化。如果白板未返回组件数量，返回 `null`。
+     */
+    private static String version(Scene scene) {
+        if (scene.getName() == null || scene.getComponentsCount() == null) {
+            return null;
+        }
+        String ppt = scene.getPpt() != null ? scene.getPpt().getSrc() : null;
+        return scene.getComponentsCount() + ":" + ppt;
+    }
+
+    private static String versionKey(String scenePath, String version) {
+        return scenePath + "#" + version;
+    }
+
+    private static String memoryKey(String versionKey, int width, int height) {
+        return versionKey + "@" + width + "x" + height;
+    }
+
+    /**
+     * 获取场景当前内容的键，如果该场景无法缓存，返回 `null`。
+     */
+    String versionKey(String scenePath) {
+        synchronized (versions) {
+            String version = versions.get(scenePath);
+            return version != null ? versionKey(scenePath, version) : null;
+        }
+    }
+
+    Bitmap getFromMemory(String versionKey, int width, int height) {
+        Bitmap bitmap = memoryCache.get(memoryKey(versionKey, width, height));
+        if (bitmap != null) {
+            memoryHits.incrementAndGet();
+        }
+        return bitmap;
+    }
+
+    /**
+     * 登记等待预览图的 promise。如果没有正在加载的相同预览图，返回 `true`，此时由调用方加载，并处理 {@link #takePending} 返回的 promise。
+     */
+    synchronized boolean addPending(String versionKey, int width, int height, Promise<Bitmap> promise) {
+        String key = memoryKey(versionKey, width, height);
+        List<Promise<Bitmap>> promises = pending.get(key);
+        if (promises != null) {
+            promises.add(promise);
+            return false;
+        }
+        promises = new ArrayList<>();
+        promises.add(promise);
+        pending.put(key, promises);
+        return true;
+    }
+
+    synchronized List<Promise<Bitmap>> takePending(String versionKey, int width, int height) {
+        List<Promise<Bitmap>> promises = pending.remove(memoryKey(versionKey, width, height));
+        return promises != null ? promises : Collections.<Promise<Bitmap>>emptyList();
+    }
+
+    /**
+     * 在磁盘线程读取预览图，并在磁盘线程回调；如果磁盘中没有该预览图，回调 `null`。
+     */
+    void getFromDisk(final String versionKey, final int width, final int height, final SceneImageDecoder decoder,
+                     final DiskCallback callback) {
+        if (diskCache == null) {
+            misses.incrementAndGet();
+            callback.onResult(null);
+            return;
+        }
+        diskExecutor.execute(() -> {
+            Bitmap bitmap = null;
+            String name = DiskLruFiles.fileName(versionKey, FILE_SUFFIX);
+            File file = diskCache.get(name);
+            if (file != null) {
+                try {
+                    bitmap = decoder.decode(file, width, height);
+                } catch (IOException | RuntimeException e) {
+                    Logger.error("An exception occurred while read scene preview cache", e);
+                    diskCache.remove(name);
+                }
+            }
+            if (bitmap != null) {
+                diskHits.incrementAndGet();
+                decoder.share(bitmap);
+                memoryCache.put(memoryKey(versionKey, width, height), bitmap);
+            } else {
+                misses.incrementAndGet();
+            }
+            callback.onResult(bitmap);
+        });
+    }
+
+    /**
+     * 缓存白板渲染的预览图。`dataUrl` 是白板返回的图片，按原样写入磁盘，之后读取时可以解码为任意尺寸。
+     */
+    void put(final String versionKey, int width, int height, Bitmap bitmap, final String dataUrl) {
+        memoryCache.put(memoryKey(versionKey, width, height), bitmap);
+        if (diskCache == null) {
+            return;
+        }
+        diskExecutor.execute(() -> {
+            String name = DiskLruFiles.fileName(versionKey, FILE_SUFFIX);
+            File tmp = diskCache.tempFile(name);
+            try {
+                SceneImageDecoder.write(dataUrl, tmp);
+                diskCache.commit(name, tmp);
+            } catch (IOException | RuntimeException e) {
+                Logger.error("An exception occurred while write scene preview cache", e);
+                tmp.delete();
+            }
+        });
+    }
+
+    private void invalidate(final String versionKey) {
+        String prefix = versionKey + "@";
+        for (String key : memoryCache.snapshot().keySet()) {
+            if (key.startsWith(prefix)) {
+                memoryCache.remove(key);
+            }
+        }
+        if (diskCache != null) {
+            diskExecutor.execute(() -> diskCache.remove(DiskLruFiles.fileName(versionKey, FILE_SUFFIX)));
+        }
+    }
+
+    /**
+     * 清空内存缓存。磁盘文件会保留，供之后使用。
+     */
+    void clearMemory() {
+        memoryCache.evictAll();
+    }
+
+    ScenePreviewCacheStats stats() {
+        long memoryBytes = 0;
+        for (Bitmap bitmap : memoryCache.snapshot().values()) {
+            memoryBytes += bitmap.getAllocationByteCount();
+        }
+        return new ScenePreviewCacheStats(memoryHits.get(), diskHits.get(), misses.get(), memoryCache.evictionCount(),
+                diskCache != null ? diskCache.evictionCount() : 0, memoryBytes, diskCache != null ? diskCache.size() : 0);
+    }
+}
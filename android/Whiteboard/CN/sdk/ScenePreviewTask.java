@@ -0,0 +1,150 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.SDKError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 通过 {@link Displayer#generatePreviews(String, android.util.Size, int, ScenePreviewsCallback) generatePreviews} 开始的预览图生成的句柄。
+ *
+ * @since 2.16.101
+ */
+public final class ScenePreviewTask {
+    private final Displayer displayer;
+    private final int width;
+    private final int height;
+    private final int parallelism;
+    private final ScenePreviewsCallback callback;
+
+    private List<String> scenePaths;
+    private int next;
+    private int inFlight;
+    private int completed;
+    private volatile boolean cancelled;
+
+    ScenePreviewTask(Displayer displayer, int width, int height, int parallelism, ScenePreviewsCallback callback) {
+        this.displayer = displayer;
+        this.width = width;
+        this.height = height;
+        this.parallelism = Math.max(1, parallelism);
+        this.callback = callback;
+    }
+
+    /**
+     * 取消生成。
+     *
+     * 正在渲染的预览图会被丢弃，其他场景不再渲染。{@link ScenePreviewsCallback#onCompleted(boolean) onCompleted} 会以 `true` 触发。
+     */
+    public void cancel() {
+        synchronized (this) {
+            if (cancelled || isFinished()) {
+                return;
+            }
+            cancelled = true;
+        }
+        displayer.post(() -> callback.onCompleted(true));
+    }
+
+    /**
+     * 获取是否已取消生成。
+     *
+     * @return 是否已取消生成。
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 获取需要生成预览图的场景数量。
+     *
+     * @return 场景数量。如果仍在获取场景列表，返回 0。
+     */
+    public synchronized int getTotalCount() {
+        return scenePaths != null ? scenePaths.size() : 0;
+    }
+
+    /**
+     * 获取预览图已生成或生成失败的场景数量。
+     *
+     * @return 已完成的场景数量。
+     */
+    public synchronized int getCompletedCount() {
+        return completed;
+    }
+
+    private boolean isFinished() {
+        return scenePaths != null && completed == scenePaths.size();
+    }
+
+    void start(List<String> scenePaths) {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            this.scenePaths = scenePaths;
+        }
+        if (scenePaths.isEmpty()) {
+            displayer.post(() -> callback.onCompleted(false));
+            return;
+        }
+        renderNext();
+    }
+
+    /**
+     * 渲染场景，直到同时渲染的数量达到 `parallelism`。
+     */
+    private void renderNext() {
+        List<String> launch = new ArrayList<>();
+        synchronized (this) {
+            while (!cancelled && inFlight < parallelism && next < scenePaths.size()) {
+                launch.add(scenePaths.get(next++));
+                inFlight++;
+            }
+        }
+        for (final String scenePath : launch) {
+            displayer.getScenePreviewImage(scenePath, width, height, new Promise<Bitmap>() {
+                @Override
+                public void then(Bitmap bitmap) {
+                    onRendered(scenePath, bitmap, null);
+                }
+
+                @Override
+                public void catchEx(SDKError t) {
+                    onRendered(scenePath, null, t);
+                }
+            });
+        }
+    }
+
+    private void onRendered(final String scenePath, final Bitmap bitmap, final SDKError error) {
+        final boolean finished;
+        synchronized (this) {
+            inFlight--;
+            completed++;
+            finished = isFinished();
+        }
+        if (cancelled) {
+            displayer.releaseSceneImage(bitmap);
+            return;
+        }
+        displayer.post(() -> {
+            if (cancelled) {
+                displayer.releaseSceneImage(bitmap);
+                return;
+            }
+            if (bitmap != null) {
+                callback.onScenePreview(scenePath, bitmap);
+            } else {
+                callback.onScenePreviewError(scenePath, error);
+            }
+            if (finished) {
+                callback.onCompleted(false);
+            }
+        });
+        renderNext();
+    }
+}
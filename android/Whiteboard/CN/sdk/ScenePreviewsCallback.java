@@ -0,0 +1,40 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+
+import com.herewhite.sdk.domain.SDKError;
+
+/**
+ * {@link Displayer#generatePreviews(String, android.util.Size, int, ScenePreviewsCallback) generatePreviews} 生成预览图的回调接口。
+ *
+ * 每张预览图渲染完成后立即回调，因此回调顺序可能与场景顺序不同。
+ *
+ * @since 2.16.101
+ */
+public interface ScenePreviewsCallback {
+
+    /**
+     * 场景预览图生成回调。
+     *
+     * @param scenePath 场景路径。
+     * @param bitmap    场景预览图。不再使用时，可以传给 {@link Displayer#releaseSceneImage(Bitmap) releaseSceneImage}。
+     */
+    void onScenePreview(String scenePath, Bitmap bitmap);
+
+    /**
+     * 场景预览图生成失败回调。
+     *
+     * @param scenePath 场景路径。
+     * @param error     错误信息，详见 {@link SDKError}。
+     */
+    void onScenePreviewError(String scenePath, SDKError error);
+
+    /**
+     * 生成结束回调。
+     *
+     * @param cancelled 是否已取消生成：
+     *                  - `true`：已通过 {@link ScenePreviewTask#cancel() cancel} 取消生成，剩余的场景不会回调。
+     *                  - `false`：所有场景均已回调。
+     */
+    void onCompleted(boolean cancelled);
+}
@@ -0,0 +1,53 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.WhiteObject;
+import com.herewhite.sdk.domain.WhiteObjectFields;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 只设置值的 bridge 方法，队列中的调用可以被同名方法的新调用取代。
+ */
+class SetterCoalescer {
+    private static final Set<String> coalescableMethods = new HashSet<>(Arrays.asList(
+            "displayer.moveCamera",
+            "displayer.setBackgroundColor",
+            "room.setMemberState"
+    ));
+
+    static boolean isCoalescable(String method) {
+        return coalescableMethods.contains(method);
+    }
+
+    /**
+     * 后写入者生效。`CameraConfig`、`MemberState` 等对象只包含调用方设置过的字段，
+     * 因此新调用中为 `null` 的字段保留被取代调用中的值。
+     */
+    static Object[] merge(Object[] previous, Object[] next) {
+        if (previous != null && next != null && previous.length == 1 && next.length == 1) {
+            Object older = previous[0];
+            Object newer = next[0];
+            if (older instanceof WhiteObject && newer != null && older.getClass() == newer.getClass()) {
+                return new Object[]{WhiteObjectFields.of(newer.getClass()).overlay(older, newer)};
+            }
+        }
+        return next;
+    }
+
+    /**
+     * 深拷贝参数。参数在发送时才序列化，调用方可能会复用自己的对象，包括其中嵌套的数组。
+     */
+    static Object[] snapshot(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] copy = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            copy[i] = arg instanceof WhiteObject ? WhiteObjectFields.of(arg.getClass()).deepCopy(arg) : arg;
+        }
+        return copy;
+    }
+}
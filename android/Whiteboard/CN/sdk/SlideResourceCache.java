@@ -0,0 +1,315 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.SlideResourceCacheOptions;
+import com.herewhite.sdk.domain.SlideResourceCacheStats;
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 转换后课件资源的磁盘缓存。
+ * <p>
+ * 资源以转换任务的 `taskUuid` 和资源在课件中的路径为键，因为同一转换任务的资源不会变化。因此无论 URL 的域名、`prefixUrl`
+ * 或签名参数如何，同一资源都能命中缓存。每个课件已下载资源的路径记录在 `decks` 子目录中，之后的课堂无需知道课件内容即可预加载该课件。
+ */
+class SlideResourceCache {
+    private static final Pattern TASK_UUID = Pattern.compile("/([0-9a-fA-F]{32})/(.+)$");
+    private static final String DECKS_DIRECTORY = "decks";
+    private static final Executor downloadExecutor = Executors.newFixedThreadPool(2);
+
+    private final File decksDirectory;
+    private final DiskLruFiles files;
+    /**
+     * 正在下载的资源的键。
+     */
+    private final Set<String> downloading = new HashSet<>();
+    /**
+     * 每个课件已下载资源的路径，以 `taskUuid` 为键。
+     */
+    private final Map<String, Set<String>> deckPaths = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong downloadedBytes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    SlideResourceCache(SlideResourceCacheOptions options) {
+        File directory = new File(options.getCacheDirectory());
+        this.files = new DiskLruFiles(directory, options.getCacheSize());
+        this.decksDirectory = new File(directory, DECKS_DIRECTORY);
+        // bridge 线程上的查询只读取内存中的索引，详见 contains()。
+        downloadExecutor.execute(files::preload);
+    }
+
+    /**
+     * 获取资源的缓存键：转换后课件的资源为 `taskUuid/path`，其他资源为去除查询参数的 URL。如果资源无法缓存，返回 `null`。
+     */
+    static String key(String url) {
+        if (!ResourceDownloader.isDownloadable(url)) {
+            return null;
+        }
+        String path = ResourceDownloader.stripQuery(url);
+        Matcher matcher = TASK_UUID.matcher(path);
+        return matcher.find() ? matcher.group(1).toLowerCase() + "/" + matcher.group(2) : path;
+    }
+
+    private static String fileName(String key) {
+        return DiskLruFiles.fileName(key, ResourceDownloader.extension(key));
+    }
+
+    /**
+     * 仅根据内存中的索引检查资源是否已缓存，因此可以在 bridge 线程调用。索引加载完成前，资源均视为未缓存。会计入一次命中或未命中。
+     */
+    boolean contains(String url) {
+        String key = key(url);
+        if (key == null) {
+            return false;
+        }
+        boolean cached = files.peek(fileName(key));
+        if (cached) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * 为白板视图的 {@link ResourceServer} 将资源解析为缓存文件；如果未缓存，返回 `null`。在 WebView 的线程上调用。
+     */
+    String resolve(String url) {
+        String key = key(url);
+        File file = key != null ? files.get(fileName(key)) : null;
+        if (file == null) {
+            return null;
+        }
+        bytesSaved.addAndGet(file.length());
+        return "file://" + file.getAbsolutePath();
+    }
+
+    /**
+     * 获取资源的缓存文件；如果未缓存，返回 `null`。会计入一次命中或未命中。
+     */
+    File get(String url) {
+        String key = key(url);
+        if (key == null) {
+            return null;
+        }
+        File file = files.get(fileName(key));
+        if (file != null) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(file.length());
+        } else {
+            misses.incrementAndGet();
+        }
+        return file;
+    }
+
+    /**
+     * 打开资源的缓存文件用于读取；如果未缓存，返回 `null`。文件通过内存映射读取，直接从页缓存读取，无需将文件复制到堆中。
+     */
+    InputStream open(String url) throws IOException {
+        File file = get(url);
+        if (file == null) {
+            return null;
+        }
+        try (FileInputStream in = new FileInputStream(file); FileChannel channel = in.getChannel()) {
+            // 关闭 channel 后映射仍然有效。
+            return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 在后台下载资源，已缓存或正在下载的资源除外。`downloadUrl` 是实际下载的 URL，例如 app 为 `sourceUrl` 返回的 URL。
+     */
+    void fetch(String sourceUrl, final String downloadUrl) {
+        final String key = key(sourceUrl);
+        if (key == null || !ResourceDownloader.isDownloadable(downloadUrl)) {
+            return;
+        }
+        downloadExecutor.execute(() -> cache(key, downloadUrl));
+    }
+
+    /**
+     * 下载课件的资源。`resourcePaths` 是相对于 `prefixUrl/taskUuid/` 的路径；传入 `null` 则使用为该课件记录的路径。
+     * promise 返回该课件在缓存中的资源数量。
+     */
+    void preload(final String prefixUrl, final String taskUuid, final String[] resourcePaths, final Promise<Integer> promise) {
+        downloadExecutor.execute(() -> {
+            String base = (prefixUrl.endsWith("/") ? prefixUrl : prefixUrl + "/") + taskUuid + "/";
+            List<String> paths = new ArrayList<>();
+            if (resourcePaths != null) {
+                for (String path : resourcePaths) {
+                    paths.add(path.startsWith("/") ? path.substring(1) : path);
+                }
+            } else {
+                paths.addAll(recordedPaths(taskUuid.toLowerCase()));
+            }
+            int cached = 0;
+            for (String path : paths) {
+                String url = base + path;
+                String key = key(url);
+                if (key != null && cache(key, url)) {
+                    cached++;
+                }
+            }
+            final int result = cached;
+            CallbackExecutors.main().execute(() -> promise.then(result));
+        });
+    }
+
+    /**
+     * 必须在下载线程调用。如果之后资源在缓存中，返回 `true`；如果其他线程正在下载该资源，不等待并返回 `false`。
+     */
+    private boolean cache(String key, String url) {
+        synchronized (downloading) {
+            if (!downloading.add(key)) {
+                return false;
+            }
+        }
+        try {
+            return files.contains(fileName(key)) || download(key, url);
+        } finally {
+            synchronized (downloading) {
+                downloading.remove(key);
+            }
+        }
+    }
+
+    private boolean download(String key, String url) {
+        String name = fileName(key);
+        File tmp = files.tempFile(name);
+        try {
+            long bytes = ResourceDownloader.download(url, tmp);
+            files.commit(name, tmp);
+            downloads.incrementAndGet();
+            downloadedBytes.addAndGet(bytes);
+            recordDeckPath(key);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            Logger.error("An exception occurred while download slide resource", e);
+            failures.incrementAndGet();
+            tmp.delete();
+            return false;
+        }
+    }
+
+    private synchronized void recordDeckPath(String key) {
+        int slash = key.indexOf('/');
+        String taskUuid = key.substring(0, slash);
+        if (!taskUuid.matches("[0-9a-f]{32}")) {
+            // 不是转换后课件的资源。
+            return;
+        }
+        String path = key.substring(slash + 1);
+        if (!deckPaths(taskUuid).add(path)) {
+            return;
+        }
+        if (!decksDirectory.isDirectory() && !decksDirectory.mkdirs()) {
+            return;
+        }
+        try (Writer writer = new FileWriter(new File(decksDirectory, taskUuid), true)) {
+            writer.write(path + "\n");
+        } catch (IOException e) {
+            Logger.error("An exception occurred while record slide resource", e);
+        }
+    }
+
+    private synchronized List<String> recordedPaths(String taskUuid) {
+        return new ArrayList<>(deckPaths(taskUuid));
+    }
+
+    /**
+     * 获取课件已记录的路径，首次使用时加载。
+     */
+    private synchronized Set<String> deckPaths(String taskUuid) {
+        Set<String> paths = deckPaths.get(taskUuid);
+        if (paths != null) {
+            return paths;
+        }
+        paths = new LinkedHashSet<>();
+        deckPaths.put(taskUuid, paths);
+        File file = new File(decksDirectory, taskUuid);
+        if (!file.isFile()) {
+            return paths;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    paths.add(line);
+                }
+            }
+        } catch (IOException e) {
+            Logger.error("An exception occurred while read slide resource records", e);
+        }
+        return paths;
+    }
+
+    SlideResourceCacheStats stats() {
+        return new SlideResourceCacheStats(hits.get(), misses.get(), bytesSaved.get(), downloads.get(),
+                downloadedBytes.get(), failures.get(), files.evictionCount(), files.size());
+    }
+
+    private static class MappedInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+    }
+}
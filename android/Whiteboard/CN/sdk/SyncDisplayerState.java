@@ -0,0 +1,251 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.herewhite.sdk.domain.GlobalState;
+import com.herewhite.sdk.domain.WhiteDisplayerState;
+import com.herewhite.sdk.domain.WhiteObjectFields;
+import com.herewhite.sdk.internal.Logger;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 保存 WebView 上报的最新状态。
+ * <p>
+ * 状态更新只包含发生变化的顶层字段，例如 `memberState` 或 `zoomScale`。更新会合并到保留的 JSON 树中，
+ * 只有变化的字段会重新反序列化，其他字段（例如较大的 `roomMembers` 或 `sceneState`）的值会被复用。
+ * <p>
+ * 反序列化得到的值由保留的状态共享，因此调用方拿到的始终是它们的深拷贝：app 修改返回的状态对象不会影响之后的读取方和监听器。
+ */
+class SyncDisplayerState<T extends WhiteDisplayerState> {
+
+    interface Listener<T> {
+        void onDisplayerStateChanged(T modifyState);
+    }
+
+    /**
+     * 接收值确实发生变化的顶层字段，调用方只需读取关心的字段。
+     */
+    interface FieldsListener {
+        void onFieldsChanged(Set<String> keys);
+    }
+
+    private static final Gson gson = new Gson();
+    private static final String GLOBAL_STATE = "globalState";
+
+    private final WhiteObjectFields fields;
+    private final boolean disableCallbackWhilePutting;
+    private final JsonObject stateTree = new JsonObject();
+    /**
+     * 顶层字段反序列化后的值。{@link #stateTree} 中存在但此处缺失的字段会在下次读取时反序列化。
+     */
+    private final Map<String, Object> values = new HashMap<>();
+    private T displayerState;
+    /**
+     * 类型化的全局状态，仅在原始 `globalState` 子树或自定义类变化时重新转换。
+     * 字段变化时子树会被替换而不会被原地修改，因此子树的标识即为其版本。
+     */
+    private GlobalState typedGlobalState;
+    private JsonElement typedGlobalStateSource;
+    private Class<?> typedGlobalStateClass;
+    private Listener<T> listener;
+    private FieldsListener fieldsListener;
+
+    SyncDisplayerState(Class<T> clazz, boolean disableCallbackWhilePutting) {
+        this(clazz, "{}", disableCallbackWhilePutting);
+    }
+
+    SyncDisplayerState(Class<T> clazz, String stateJSON, boolean disableCallbackWhilePutting) {
+        this.fields = WhiteObjectFields.of(clazz);
+        this.disableCallbackWhilePutting = disableCallbackWhilePutting;
+        JsonObject state = parse(stateJSON);
+        if (state != null) {
+            merge(state, false, new HashSet<String>());
+        }
+    }
+
+    void setListener(Listener<T> listener) {
+        this.listener = listener;
+    }
+
+    void setFieldsListener(FieldsListener fieldsListener) {
+        this.fieldsListener = fieldsListener;
+    }
+
+    /**
+     * 合并 WebView 上报的状态更新，并将变化的部分通知给监听器。
+     */
+    void syncDisplayerState(String stateJSON) {
+        JsonObject update = parse(stateJSON);
+        if (update == null) {
+            return;
+        }
+        Set<String> changedKeys = new HashSet<>();
+        T modifyState;
+        synchronized (this) {
+            modifyState = merge(update, listener != null, changedKeys);
+        }
+        notifyListener(modifyState, changedKeys);
+    }
+
+    /**
+     * 在 WebView 上报之前应用本地修改。对象类型的值会合并到当前值中，
+     * 与 WebView 处理 `setGlobalState` 和 `setMemberState` 的方式一致。
+     */
+    void putProperty(String key, Object value) {
+        JsonElement element = gson.toJsonTree(value);
+        boolean notify = !disableCallbackWhilePutting;
+        Set<String> changedKeys = new HashSet<>();
+        T modifyState;
+        synchronized (this) {
+            JsonElement current = stateTree.get(key);
+            if (current != null && current.isJsonObject() && element.isJsonObject()) {
+                // 保留的子树不会被原地修改，浅合并即可
+                JsonObject merged = new JsonObject();
+                for (Map.Entry<String, JsonElement> entry : current.getAsJsonObject().entrySet()) {
+                    merged.add(entry.getKey(), entry.getValue());
+                }
+                for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                    merged.add(entry.getKey(), entry.getValue());
+                }
+                element = merged;
+            }
+            JsonObject update = new JsonObject();
+            update.add(key, element);
+            modifyState = merge(update, notify && listener != null, changedKeys);
+        }
+        if (notify) {
+            notifyListener(modifyState, changedKeys);
+        }
+    }
+
+    /**
+     * 获取完整状态的深拷贝。保留的实例会缓存到下次变化为止，未变化字段的值与上一个实例共享。
+     */
+    synchronized T getDisplayerState() {
+        if (displayerState == null) {
+            T state = fields.newInstance();
+            for (Map.Entry<String, JsonElement> entry : stateTree.entrySet()) {
+                Field field = fields.field(entry.getKey());
+                if (field != null) {
+                    set(state, field, value(field, entry.getKey(), entry.getValue()));
+                }
+            }
+            displayerState = state;
+        }
+        T state = fields.deepCopy(displayerState);
+        state.presetGlobalState(typedGlobalState(), typedGlobalStateClass);
+        return state;
+    }
+
+    /**
+     * 获取类型化全局状态的深拷贝。
+     */
+    synchronized GlobalState getGlobalState() {
+        GlobalState state = typedGlobalState();
+        return state != null ? WhiteObjectFields.of(state.getClass()).deepCopy(state) : null;
+    }
+
+    /**
+     * 必须在持有锁时调用。
+     */
+    private GlobalState typedGlobalState() {
+        JsonElement element = stateTree.get(GLOBAL_STATE);
+        Class<?> clazz = WhiteDisplayerState.getCustomGlobalStateClass();
+        if (element != typedGlobalStateSource || clazz != typedGlobalStateClass) {
+            typedGlobalState = element != null ? WhiteDisplayerState.toGlobalState(element, clazz) : null;
+            typedGlobalStateSource = element;
+            typedGlobalStateClass = clazz;
+        }
+        return typedGlobalState;
+    }
+
+    /**
+     * 获取单个顶层字段的值的深拷贝，必要时只反序列化该字段。
+     */
+    synchronized Object getValue(String key) {
+        Field field = fields.field(key);
+        JsonElement element = stateTree.get(key);
+        if (field == null || element == null) {
+            return null;
+        }
+        return WhiteObjectFields.deepCopyValue(value(field, key, element));
+    }
+
+    /**
+     * 调用时必须持有锁。值未变化的字段会被跳过，不会加入 `changedKeys`。
+     * `materialize` 为 `true` 且有字段变化时返回状态中变化的部分。
+     */
+    private T merge(JsonObject update, boolean materialize, Set<String> changedKeys) {
+        T modifyState = null;
+        for (Map.Entry<String, JsonElement> entry : update.entrySet()) {
+            String key = entry.getKey();
+            if (entry.getValue().equals(stateTree.get(key))) {
+                continue;
+            }
+            changedKeys.add(key);
+            if (materialize && modifyState == null) {
+                modifyState = fields.newInstance();
+            }
+            stateTree.add(key, entry.getValue());
+            values.remove(key);
+            Field field = fields.field(key);
+            if (modifyState != null && field != null) {
+                set(modifyState, field, WhiteObjectFields.deepCopyValue(value(field, key, entry.getValue())));
+            }
+        }
+        if (!changedKeys.isEmpty()) {
+            displayerState = null;
+        }
+        return modifyState;
+    }
+
+    private Object value(Field field, String key, JsonElement element) {
+        if (values.containsKey(key)) {
+            return values.get(key);
+        }
+        Object value = null;
+        try {
+            value = gson.fromJson(element, field.getGenericType());
+        } catch (RuntimeException e) {
+            Logger.error("An exception occurred while parse displayer state key: " + key, e);
+        }
+        values.put(key, value);
+        return value;
+    }
+
+    private static void set(Object target, Field field, Object value) {
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            Logger.error("An exception occurred while set displayer state field: " + field.getName(), e);
+        }
+    }
+
+    private static JsonObject parse(String stateJSON) {
+        try {
+            JsonElement element = new JsonParser().parse(stateJSON);
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        } catch (RuntimeException e) {
+            Logger.error("An exception occurred while parse displayer state", e);
+            return null;
+        }
+    }
+
+    private void notifyListener(T modifyState, Set<String> changedKeys) {
+        Listener<T> listener = this.listener;
+        if (listener != null && modifyState != null) {
+            listener.onDisplayerStateChanged(modifyState);
+        }
+        FieldsListener fieldsListener = this.fieldsListener;
+        if (fieldsListener != null && !changedKeys.isEmpty()) {
+            fieldsListener.onFieldsChanged(changedKeys);
+        }
+    }
+}
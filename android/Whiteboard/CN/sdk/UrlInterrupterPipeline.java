@@ -0,0 +1,213 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.UrlInterrupter;
+import com.herewhite.sdk.domain.UrlInterrupterOptions;
+import com.herewhite.sdk.domain.UrlInterrupterStats;
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 使用 {@link AsyncUrlInterrupter} 响应白板的同步 URL 拦截。
+ * <p>
+ * 替换后的 URL 会按有效期缓存，因此白板线程只需等待最近未请求过的 URL。对同一 URL 的并发请求共用一次拦截器调用。
+ */
+class UrlInterrupterPipeline implements UrlInterrupter {
+    private static final String METHOD = "sdk.urlInterrupter";
+    private static final String ASYNC_METHOD = "sdk.urlInterrupter.async";
+
+    private static class Entry {
+        final String url;
+        final long expiresAt;
+
+        Entry(String url, long expiresAt) {
+            this.url = url;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 一次拦截器调用，由对同一 URL 的请求共用。
+     */
+    private static class Flight {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicBoolean settled = new AtomicBoolean();
+        volatile String url;
+    }
+
+    private final AsyncUrlInterrupter interrupter;
+    private final WhiteboardView metricsView;
+    private final int cacheSize;
+    private final long cacheTtl;
+    private final long timeout;
+    private final ThreadPoolExecutor executor;
+
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Flight> flights = new HashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong sharedCalls = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * 延迟记录在 `metricsView` 的桥接指标中；如果桥接不是 {@link WhiteboardView}，`metricsView` 为 `null`。
+     */
+    UrlInterrupterPipeline(AsyncUrlInterrupter interrupter, UrlInterrupterOptions options, WhiteboardView metricsView) {
+        this.interrupter = interrupter;
+        this.metricsView = metricsView;
+        this.cacheSize = Math.max(0, options.getCacheSize());
+        this.cacheTtl = options.getCacheTtl();
+        this.timeout = options.getTimeout();
+        int threads = Math.max(1, options.getThreadCount());
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 由白板调用，阻塞直到 URL 替换完成或超时。
+     */
+    @Override
+    public String urlInterrupter(String sourceUrl) {
+        long start = System.nanoTime();
+        calls.incrementAndGet();
+        String url = cached(sourceUrl);
+        if (url != null) {
+            cacheHits.incrementAndGet();
+        } else {
+            url = await(start(sourceUrl), sourceUrl);
+        }
+        recordLatency(METHOD, start);
+        return url;
+    }
+
+    /**
+     * 开始替换 URL 但不等待，之后的请求可以从缓存获取结果。
+     */
+    void prefetch(String sourceUrl) {
+        if (cached(sourceUrl) == null) {
+            start(sourceUrl);
+        }
+    }
+
+    private String cached(String sourceUrl) {
+        synchronized (cache) {
+            Entry entry = cache.get(sourceUrl);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() >= entry.expiresAt) {
+                cache.remove(sourceUrl);
+                return null;
+            }
+            return entry.url;
+        }
+    }
+
+    private Flight start(final String sourceUrl) {
+        final Flight flight;
+        synchronized (flights) {
+            Flight existing = flights.get(sourceUrl);
+            if (existing != null) {
+                sharedCalls.incrementAndGet();
+                return existing;
+            }
+            flight = new Flight();
+            String url = cached(sourceUrl);
+            if (url != null) {
+                // 在调用方未命中缓存之后已完成。
+                flight.url = url;
+                flight.settled.set(true);
+                flight.done.countDown();
+                return flight;
+            }
+            flights.put(sourceUrl, flight);
+        }
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    interrupter.urlInterrupter(sourceUrl, url -> settle(sourceUrl, flight, url, start));
+                } catch (RuntimeException e) {
+                    Logger.error("An exception occurred in async url interrupter", e);
+                    settle(sourceUrl, flight, null, start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 在白板仍调用本管道时已被替换并关闭，使用原始 URL。
+            settle(sourceUrl, flight, null, System.nanoTime());
+        }
+        return flight;
+    }
+
+    /**
+     * 已开始的调用完成后停止线程。之后的调用返回原始 URL。
+     */
+    void close() {
+        executor.shutdown();
+    }
+
+    private void settle(String sourceUrl, Flight flight, String url, long start) {
+        if (!flight.settled.compareAndSet(false, true)) {
+            return;
+        }
+        recordLatency(ASYNC_METHOD, start);
+        if (url != null) {
+            synchronized (cache) {
+                if (cacheSize > 0) {
+                    cache.put(sourceUrl, new Entry(url, System.currentTimeMillis() + cacheTtl));
+                    if (cache.size() > cacheSize) {
+                        cache.remove(cache.keySet().iterator().next());
+                    }
+                }
+            }
+        } else {
+            failures.incrementAndGet();
+        }
+        // 先更新缓存，因此此时到达的请求要么命中该 URL，要么加入本次调用。
+        synchronized (flights) {
+            if (flights.get(sourceUrl) == flight) {
+                flights.remove(sourceUrl);
+            }
+        }
+        flight.url = url != null ? url : sourceUrl;
+        flight.done.countDown();
+    }
+
+    private String await(Flight flight, String sourceUrl) {
+        try {
+            if (flight.done.await(timeout, TimeUnit.MILLISECONDS)) {
+                return flight.url;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timeouts.incrementAndGet();
+        return sourceUrl;
+    }
+
+    private void recordLatency(String method, long start) {
+        if (metricsView != null) {
+            metricsView.recordHandledCall(method, (System.nanoTime() - start) / 1000);
+        }
+    }
+
+    UrlInterrupterStats stats() {
+        int cachedUrls;
+        synchronized (cache) {
+            cachedUrls = cache.size();
+        }
+        return new UrlInterrupterStats(calls.get(), cacheHits.get(), sharedCalls.get(), timeouts.get(), failures.get(),
+                cachedUrls);
+    }
+}
@@ -6,13 +6,18 @@ import androidx.annotation.Nullable;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.herewhite.sdk.domain.BridgeMetrics;
 import com.herewhite.sdk.domain.ConnectionPrepareParam;
 import com.herewhite.sdk.domain.FontFace;
 import com.herewhite.sdk.domain.PlayerConfiguration;
 import com.herewhite.sdk.domain.PlayerTimeInfo;
 import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.SDKError;
+import com.herewhite.sdk.domain.SlideResourceCacheOptions;
+import com.herewhite.sdk.domain.SlideResourceCacheStats;
 import com.herewhite.sdk.domain.UrlInterrupter;
+import com.herewhite.sdk.domain.UrlInterrupterOptions;
+import com.herewhite.sdk.domain.UrlInterrupterStats;
 import com.herewhite.sdk.internal.PlayerJsInterfaceImpl;
 import com.herewhite.sdk.internal.PostMessageCallback;
 import com.herewhite.sdk.internal.RoomJsInterfaceImpl;
@@ -23,6 +28,9 @@ import com.herewhite.sdk.window.SlideListener;
 import org.json.JSONObject;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
 
 import wendu.dsbridge.OnReturnValue;
 
@@ -42,6 +50,11 @@ public class WhiteSdk {
 
     private final int densityDpi;
 
+    private final Object slideResourceLock = new Object();
+    private SlideListener slideListener;
+    private volatile SlideResourceCache slideResourceCache;
+    private volatile UrlInterrupterPipeline urlInterrupterPipeline;
+
     /**
      * 设置通用事件回调。
      * <p>
@@ -391,6 +404,115 @@ public class WhiteSdk {
         releasePlayer();
     }
 
+    /**
+     * 开启或关闭 SDK 对白板调用的统计。
+     *
+     * @since 2.16.101
+     *
+     * SDK 会按 bridge 方法记录调用次数、参数大小，以及从发送调用到收到返回值的耗时。
+     * 记录过程无锁，且只对抽样的调用计算参数大小，因此可以在生产环境中保持开启。
+     *
+     * @note 该方法仅在传入 `WhiteSdk` 的 `bridge` 为 {@link WhiteboardView WhiteboardView} 时生效。
+     *
+     * @param enabled 是否开启统计：
+     * - `true`：开启统计。
+     * - `false`：（默认）关闭统计。
+     */
+    public void setBridgeMetricsEnabled(boolean enabled) {
+        if (bridge instanceof WhiteboardView) {
+            ((WhiteboardView) bridge).setBridgeMetricsEnabled(enabled);
+        }
+    }
+
+    /**
+     * 获取 SDK 对白板调用的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * 请先调用 {@link #setBridgeMetricsEnabled(boolean) setBridgeMetricsEnabled} 开启统计。
+     *
+     * @return 每个 bridge 方法（例如 `"room.getScenes"`、`"displayerAsync.scenePreview"` 和 `"room.state.getRoomState"`）的统计数据，详见 {@link com.herewhite.sdk.domain.BridgeMetrics BridgeMetrics}。
+     */
+    public BridgeMetrics getBridgeMetrics() {
+        if (bridge instanceof WhiteboardView) {
+            return ((WhiteboardView) bridge).getBridgeMetrics();
+        }
+        return new BridgeMetrics(Collections.emptyMap(), null);
+    }
+
+    /**
+     * 清空 SDK 对白板调用的统计数据。
+     *
+     * @since 2.16.101
+     */
+    public void resetBridgeMetrics() {
+        if (bridge instanceof WhiteboardView) {
+            ((WhiteboardView) bridge).resetBridgeMetrics();
+        }
+    }
+
+    /**
+     * 设置异步 URL 拦截器。
+     *
+     * @since 2.16.101
+     *
+     * 白板加载每个资源时都会请求其 URL 并等待结果。使用异步拦截器时，SDK 会在线程池中调用 {@link AsyncUrlInterrupter#urlInterrupter(String, ResultCaller) urlInterrupter}，
+     * 并缓存替换后的 URL，因此白板无需等待最近请求过的 URL。对同一 URL 的并发请求共用一次拦截器调用。
+     * 调用 {@link #prefetchInterruptedUrls(String[]) prefetchInterruptedUrls} 可在白板需要之前替换 URL。
+     *
+     * @note
+     * - 请在初始化 `WhiteSdk` 实例时调用 {@link WhiteSdkConfiguration#setEnableInterrupterAPI(boolean) setEnableInterrupterAPI}(true)，否则不会调用拦截器。
+     * - 异步拦截器会取代 `CommonCallback` 的 {@link CommonCallback#urlInterrupter(String) urlInterrupter}。
+     * - 开启桥接指标后，SDK 会记录每次调用的延迟，详见 {@link com.herewhite.sdk.domain.UrlInterrupterStats UrlInterrupterStats}。
+     *
+     * @param interrupter 拦截器，详见 {@link AsyncUrlInterrupter}。传入 `null` 移除拦截器。
+     * @param options     配置，详见 {@link UrlInterrupterOptions}。传入 `null` 使用默认配置。
+     */
+    public void setAsyncUrlInterrupter(AsyncUrlInterrupter interrupter, UrlInterrupterOptions options) {
+        UrlInterrupterPipeline pipeline = null;
+        if (interrupter != null) {
+            pipeline = new UrlInterrupterPipeline(interrupter, options != null ? options : new UrlInterrupterOptions(),
+                    bridge instanceof WhiteboardView ? (WhiteboardView) bridge : null);
+        }
+        UrlInterrupterPipeline previous = urlInterrupterPipeline;
+        urlInterrupterPipeline = pipeline;
+        sdkJsInterface.setUrlInterrupter(pipeline);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * 在白板加载之前，使用异步 URL 拦截器替换 URL。
+     *
+     * @since 2.16.101
+     *
+     * 该方法会立即返回。替换后的 URL 会被缓存，因此白板无需等待。如果未设置异步拦截器，该方法不会执行任何操作。
+     *
+     * @param sourceUrls 原始 URL，例如之后场景的 {@link com.herewhite.sdk.domain.PptPage PptPage} 的 `src`。
+     */
+    public void prefetchInterruptedUrls(String[] sourceUrls) {
+        UrlInterrupterPipeline pipeline = urlInterrupterPipeline;
+        if (pipeline == null) {
+            return;
+        }
+        for (String sourceUrl : sourceUrls) {
+            pipeline.prefetch(sourceUrl);
+        }
+    }
+
+    /**
+     * 获取异步 URL 拦截器的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * @return 统计数据，包括设置拦截器以来的调用次数、缓存命中次数和超时次数，详见 {@link UrlInterrupterStats}。如果未设置异步拦截器，返回 `null`。
+     */
+    public UrlInterrupterStats getUrlInterrupterStats() {
+        UrlInterrupterPipeline pipeline = urlInterrupterPipeline;
+        return pipeline != null ? pipeline.stats() : null;
+    }
+
     /**
      * 请求 Slide 的日志。
      *
@@ -445,7 +567,110 @@ public class WhiteSdk {
      * @param slideListener 通用回调事件，详见 {@link com.herewhite.sdk.window.SlideListener SlideListener}。
      */
     public void setSlideListener(SlideListener slideListener) {
-        sdkJsInterface.setSlideListener(slideListener);
+        synchronized (slideResourceLock) {
+            this.slideListener = slideListener;
+            updateSlideListener();
+        }
+    }
+
+    /**
+     * 开启或关闭课件资源缓存。
+     *
+     * @since 2.16.101
+     *
+     * 开启缓存后，SDK 会将转换后 PPT 课件的资源保存在磁盘中，并通过 {@link WhiteboardView} 的 `shouldInterceptRequest`
+     * 提供给白板，之后的课堂无需重新下载。白板请求的仍是原始的 `https` URL。资源以转换任务的 `taskUuid` 和资源在任务中的路径为键，因此无论 URL 的域名或查询参数如何，
+     * 资源都可以复用。未缓存的资源会在白板加载后于后台下载。
+     *
+     * 如果通过 {@link #setSlideListener(SlideListener) setSlideListener} 设置了 {@link SlideListener}，对于未缓存的资源，
+     * SDK 仍会对每个资源调用其 `slideUrlInterrupter`，并使用其返回的 URL 下载未缓存的资源。
+     *
+     * @note
+     * - 请在初始化 `WhiteSdk` 实例时调用 {@link WhiteSdkConfiguration#setEnableSlideInterrupterAPI(boolean) setEnableSlideInterrupterAPI}(true)，否则不会使用缓存。
+     * - 请在主线程调用该方法。
+     * - 该方法会为白板视图设置 `WebViewClient`，详见 {@link WhiteboardView#setResourceResolver(ResourceResolver) setResourceResolver}。
+     * 如果你设置了自己的 `WebViewClient`，或白板视图不是 `WhiteboardView`，请在 `shouldInterceptRequest` 中通过
+     * {@link WhiteboardView#interceptResourceRequest(String) interceptResourceRequest} 或 {@link #openSlideResource(String) openSlideResource} 提供已缓存的资源。
+     *
+     * @param options 缓存配置，详见 {@link SlideResourceCacheOptions}。传入 `null` 关闭缓存。缓存默认关闭。
+     */
+    public void setSlideResourceCacheOptions(SlideResourceCacheOptions options) {
+        synchronized (slideResourceLock) {
+            final SlideResourceCache cache = options != null && options.getCacheDirectory() != null ? new SlideResourceCache(options) : null;
+            slideResourceCache = cache;
+            updateSlideListener();
+            if (bridge instanceof WhiteboardView) {
+                ((WhiteboardView) bridge).setSlideResourceResolver(cache != null ? cache::resolve : null);
+            }
+        }
+    }
+
+    private void updateSlideListener() {
+        SlideResourceCache cache = slideResourceCache;
+        sdkJsInterface.setSlideListener(cache != null ? new CachingSlideListener(cache, slideListener) : slideListener);
+    }
+
+    /**
+     * 将转换后 PPT 文件的资源预加载到课件资源缓存中。
+     *
+     * @since 2.16.101
+     *
+     * 该方法会下载课件资源缓存在之前的课堂中为该文件记录的资源。请在课前调用，例如传入课堂中 slide app 使用的 `taskUuid` 和 `prefixUrl`。
+     * 对于从未在本设备上展示过的文件，请使用 {@link #preloadSlideDeck(String, String, String[], Promise) preloadSlideDeck}[2/2]。
+     *
+     * @param taskUuid  文件转换任务的 UUID。
+     * @param prefixUrl 转换后文件 URL 的前缀。
+     * @param promise   预加载后缓存中该文件的资源数量，在主线程触发。如果缓存未开启，不会触发。
+     */
+    public void preloadSlideDeck(String taskUuid, String prefixUrl, Promise<Integer> promise) {
+        preloadSlideDeck(taskUuid, prefixUrl, null, promise);
+    }
+
+    /**
+     * 将转换后 PPT 文件的指定资源预加载到课件资源缓存中。
+     *
+     * @since 2.16.101
+     *
+     * @param taskUuid      文件转换任务的 UUID。
+     * @param prefixUrl     转换后文件 URL 的前缀。
+     * @param resourcePaths 资源相对于 `prefixUrl/taskUuid/` 的路径。传入 `null` 则预加载之前课堂中记录的资源。
+     * @param promise       预加载后缓存中这些资源的数量，在主线程触发。如果缓存未开启，不会触发。
+     */
+    public void preloadSlideDeck(String taskUuid, String prefixUrl, String[] resourcePaths, Promise<Integer> promise) {
+        SlideResourceCache cache = slideResourceCache;
+        if (cache != null) {
+            cache.preload(prefixUrl, taskUuid, resourcePaths, promise);
+        }
+    }
+
+    /**
+     * 打开课件资源缓存中的资源。
+     *
+     * @since 2.16.101
+     *
+     * 文件通过内存映射读取，不会复制。你可以在自己的 `WebViewClient.shouldInterceptRequest` 中使用该方法提供资源，例如白板视图不是 `WhiteboardView` 时。
+     *
+     * @note 该方法会读取磁盘，请勿在主线程调用。
+     *
+     * @param url 资源的 URL。
+     * @return 资源的内容。如果资源未缓存或缓存未开启，返回 `null`。
+     * @throws IOException 缓存文件无法读取。
+     */
+    public InputStream openSlideResource(String url) throws IOException {
+        SlideResourceCache cache = slideResourceCache;
+        return cache != null ? cache.open(url) : null;
+    }
+
+    /**
+     * 获取课件资源缓存的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * @return 统计数据，包括开启缓存以来的命中次数、未命中次数和节省的字节数，详见 {@link SlideResourceCacheStats}。如果缓存未开启，返回 `null`。
+     */
+    public SlideResourceCacheStats getSlideResourceCacheStats() {
+        SlideResourceCache cache = slideResourceCache;
+        return cache != null ? cache.stats() : null;
     }
 
     /**
@@ -474,4 +699,22 @@ public class WhiteSdk {
             whiteboardView.destroy();
         });
     }
+
+    /**
+     * 使用视图池的视图提前选择线路。
+     *
+     * @since 2.16.101
+     *
+     * 与 {@link #prepareWhiteConnection(Context, ConnectionPrepareParam)} 不同，该方法不会在新的 WebView 中加载白板页面，
+     * 而是从视图池取出一个预热的视图，并在选择线路后将视图归还到视图池。
+     *
+     * @param pool  白板视图池，详见 {@link WhiteboardViewPool}。
+     * @param param 白板预连接参数，详见 {@link com.herewhite.sdk.domain.ConnectionPrepareParam ConnectionPrepareParam}。
+     */
+    public static void prepareWhiteConnection(WhiteboardViewPool pool, ConnectionPrepareParam param) {
+        WhiteboardView whiteboardView = pool.borrow();
+        whiteboardView.callHandler("sdk.prepareWhiteConnection", new Object[]{param}, (OnReturnValue<String>) value -> {
+            pool.release(whiteboardView);
+        });
+    }
 }
\ No newline at end of file
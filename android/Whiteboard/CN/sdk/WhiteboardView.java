@@ -1,11 +1,25 @@
 package com.herewhite.sdk;
 
 import android.content.Context;
+import android.content.MutableContextWrapper;
 import android.content.res.Configuration;
 import android.graphics.Bitmap;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.webkit.WebChromeClient;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+
+import com.herewhite.sdk.domain.BridgeDispatchStats;
+import com.herewhite.sdk.domain.BridgeMetrics;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.List;
 
 import wendu.dsbridge.DWebView;
 import wendu.dsbridge.OnReturnValue;
@@ -17,9 +31,29 @@ import wendu.dsbridge.OnReturnValue;
  * `WhiteboardView` 类，用于配置白板界面。
  */
 public class WhiteboardView extends DWebView implements JsBridgeInterface {
+    private static final String INDEX_URL = "file:///android_asset/whiteboard/index.html";
 
     private boolean autoResize = true;
     private RefreshViewSizeStrategy delayStrategy;
+    private BridgeCallQueue callQueue;
+    private volatile boolean batchDispatch = false;
+    /**
+     * 白板页面是否提供 `sdk.batch`，页面回复前为 `null`。
+     */
+    private volatile Boolean batchSupported;
+    private volatile boolean coalesceSetters = false;
+    private final BridgeMetricsRecorder metricsRecorder = new BridgeMetricsRecorder();
+    private volatile boolean metricsEnabled = false;
+    private volatile ResourceServer resourceServer;
+    private ResourceResolver resourceResolver;
+    private ResourceResolver slideResourceResolver;
+    private boolean resourceClientInstalled = false;
+    /**
+     * 创建该视图的视图池和视图的上下文，如果视图不是由视图池创建的，则为 `null`。
+     */
+    final WhiteboardViewPool pool;
+    final MutableContextWrapper pooledContext;
+    private boolean pageReady = false;
 
     /**
      * 初始化白板界面。
@@ -28,6 +62,8 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
      */
     public WhiteboardView(Context context) {
         super(getFixedContext(context));
+        this.pool = null;
+        this.pooledContext = null;
         init();
     }
 
@@ -39,6 +75,18 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
      */
     public WhiteboardView(Context context, AttributeSet attrs) {
         super(getFixedContext(context), attrs);
+        this.pool = null;
+        this.pooledContext = null;
+        init();
+    }
+
+    /**
+     * 创建视图池的视图。`context` 的基础上下文已修正，并在取出视图时切换。
+     */
+    WhiteboardView(WhiteboardViewPool pool, MutableContextWrapper context) {
+        super(context);
+        this.pool = pool;
+        this.pooledContext = context;
         init();
     }
 
@@ -57,6 +105,7 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
         delayStrategy.onDetachedFromWindow();
+        callQueue.flush();
     }
 
     /**
@@ -69,6 +118,211 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
     }
     /// @endcond
 
+    /**
+     * 开启或关闭按帧合并的批量调用。
+     *
+     * @since 2.16.101
+     *
+     * 开启批量调用后，`Room` 和 `Displayer` 对白板的调用会先进入队列，每个显示帧合并为一次 JavaScript 执行发送给白板。
+     * 调用按发起的顺序执行，每个调用仍会触发各自的回调。
+     *
+     * @note
+     * - 请在主线程调用该方法。
+     * - 关闭批量调用时，SDK 会立即发送队列中的调用。
+     * - 批量调用需要白板页面提供 `sdk.batch` 方法。SDK 在首次开启批量调用时检查该方法；在页面确认提供该方法之前，或页面不提供该方法时，
+     * SDK 仍在每个显示帧发送队列中的调用，但会逐个发送。
+     *
+     * @param batchDispatch 是否开启批量调用：
+     * - `true`：开启批量调用。
+     * - `false`：（默认）关闭批量调用，每个调用都立即发送给白板。
+     */
+    public void setBatchDispatch(boolean batchDispatch) {
+        this.batchDispatch = batchDispatch;
+        if (!batchDispatch) {
+            callQueue.flush();
+        } else if (batchSupported == null) {
+            hasJavascriptMethod("sdk.batch", exists -> batchSupported = Boolean.TRUE.equals(exists));
+        }
+    }
+
+    /**
+     * 开启或关闭设置类调用的合并（后写入者生效）。
+     *
+     * @since 2.16.101
+     *
+     * {@link Displayer#moveCamera(com.herewhite.sdk.domain.CameraConfig) moveCamera}、{@link Room#zoomChange(double) zoomChange}、
+     * {@link Room#setMemberState(com.herewhite.sdk.domain.MemberState) setMemberState} 和 {@link Displayer#setBackgroundColor(int) setBackgroundColor}
+     * 只设置某个值。开启合并后，这些调用会等到下一个显示帧再发送；如果队列中的调用被同名方法的新调用取代，该调用会在序列化和发送给白板之前被丢弃。
+     * 新调用未设置的字段会保留被丢弃调用中的值。
+     *
+     * @note
+     * - 请在主线程调用该方法。
+     * - 关闭合并时，SDK 会立即发送队列中的调用。
+     * - 其他调用不会被延迟。未开启批量发送时，这类调用会立即发送，并排在此前发起的、仍在队列中的设置类调用之后。
+     * - 该方法可以与 {@link #setBatchDispatch(boolean) setBatchDispatch} 同时使用，也可以单独使用。
+     *
+     * @param coalesceSetters 是否开启合并：
+     * - `true`：开启合并。
+     * - `false`：（默认）关闭合并。
+     */
+    public void setCoalesceSetters(boolean coalesceSetters) {
+        this.coalesceSetters = coalesceSetters;
+        if (!coalesceSetters) {
+            callQueue.flush();
+        }
+    }
+
+    /**
+     * 获取是否开启了设置类调用的合并。
+     *
+     * @since 2.16.101
+     *
+     * @return 是否开启了合并。
+     */
+    public boolean isCoalesceSetters() {
+        return coalesceSetters;
+    }
+
+    /**
+     * 获取是否开启了按帧合并的批量调用。
+     *
+     * @since 2.16.101
+     *
+     * @return 是否开启了批量调用。
+     */
+    public boolean isBatchDispatch() {
+        return batchDispatch;
+    }
+
+    /**
+     * 获取批量调用的统计数据。
+     *
+     * @since 2.16.101
+     *
+     * 你可以对比入队的调用次数和发送的帧数，了解批量调用节省了多少次 JavaScript 执行。
+     *
+     * @return 批量调用的统计数据，详见 {@link com.herewhite.sdk.domain.BridgeDispatchStats BridgeDispatchStats}。
+     */
+    public BridgeDispatchStats getBatchDispatchStats() {
+        return new BridgeDispatchStats(callQueue.getQueuedCalls(), callQueue.getFlushedFrames(), callQueue.getFlushNanos(), callQueue.getElidedCalls());
+    }
+
+    /**
+     * 设置从本地文件提供白板资源的解析器。
+     *
+     * @since 2.16.101
+     *
+     * 设置解析器后，白板加载每个资源（例如图片、字体和 PPT）时，SDK 都会询问解析器。解析为本地文件的资源会通过该文件或 app asset 的文件描述符以流的形式提供，
+     * 不会复制到 Java 堆中。例如，如需提供 PPT 预加载器下载的资源，可将 `room::getPrefetchedUrl` 设为解析器。
+     *
+     * @note
+     * - 请在主线程调用该方法。
+     * - 该方法会为白板视图设置 `WebViewClient`。如果之后设置了自己的 `WebViewClient`，请在其 `shouldInterceptRequest` 中返回 {@link #interceptResourceRequest(String) interceptResourceRequest} 的结果。
+     *
+     * @param resolver 解析器，详见 {@link ResourceResolver}。传入 `null` 则从 URL 加载所有资源，即默认行为。
+     */
+    public void setResourceResolver(ResourceResolver resolver) {
+        resourceResolver = resolver;
+        updateResourceServer();
+    }
+
+    /**
+     * 设置课件资源缓存的解析器，优先于 app 的解析器。请在主线程调用。
+     */
+    void setSlideResourceResolver(ResourceResolver resolver) {
+        slideResourceResolver = resolver;
+        updateResourceServer();
+    }
+
+    private void updateResourceServer() {
+        final ResourceResolver app = resourceResolver;
+        final ResourceResolver slide = slideResourceResolver;
+        ResourceResolver resolver = app;
+        if (slide != null) {
+            resolver = app == null ? slide : url -> {
+                String localUrl = slide.resolve(url);
+                return localUrl != null ? localUrl : app.resolve(url);
+            };
+        }
+        resourceServer = resolver != null ? new ResourceServer(getContext().getAssets(), resolver) : null;
+        if (resolver != null && !resourceClientInstalled) {
+            resourceClientInstalled = true;
+            setWebViewClient(new ResourceWebViewClient());
+        }
+    }
+
+    /**
+     * 获取白板所请求资源的本地响应。
+     *
+     * @since 2.16.101
+     *
+     * 请在自己的 `WebViewClient` 的 `shouldInterceptRequest` 中调用该方法，详见 {@link #setResourceResolver(ResourceResolver) setResourceResolver}。
+     *
+     * @param url 请求的 URL。
+     * @return 以流的形式提供本地资源的响应。如果该资源未解析为本地文件，返回 `null`。
+     */
+    public WebResourceResponse interceptResourceRequest(String url) {
+        ResourceServer server = resourceServer;
+        return server != null ? server.serve(url) : null;
+    }
+
+    /// @cond test
+    /**
+     * 文档中隐藏，请使用 {@link WhiteSdk#setBridgeMetricsEnabled(boolean)}。
+     */
+    public void setBridgeMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    /**
+     * 文档中隐藏，请使用 {@link WhiteSdk#getBridgeMetrics()}。
+     */
+    public BridgeMetrics getBridgeMetrics() {
+        return new BridgeMetrics(metricsRecorder.snapshot(), getBatchDispatchStats());
+    }
+
+    /**
+     * 文档中隐藏，请使用 {@link WhiteSdk#resetBridgeMetrics()}。
+     */
+    public void resetBridgeMetrics() {
+        metricsRecorder.reset();
+    }
+    /// @endcond
+
+    void recordHandledCall(String method, long micros) {
+        if (metricsEnabled) {
+            metricsRecorder.onHandled(method, micros);
+        }
+    }
+
+    boolean isPageReady() {
+        return pageReady;
+    }
+
+    /**
+     * 在视图池复用视图前恢复新视图的状态：重置设置，移除上一个 `WhiteSdk` 的对象，并重新加载白板页面。
+     */
+    void resetForReuse() {
+        callQueue.flush();
+        batchDispatch = false;
+        // 页面会重新加载，需要重新检查。
+        batchSupported = null;
+        coalesceSetters = false;
+        metricsEnabled = false;
+        metricsRecorder.reset();
+        resourceServer = null;
+        resourceResolver = null;
+        slideResourceResolver = null;
+        autoResize = true;
+        removeJavascriptObject("sdk");
+        removeJavascriptObject("room");
+        // 持有上一个 Activity 的混音器。
+        removeJavascriptObject("rtc");
+        pageReady = false;
+        loadUrl(INDEX_URL);
+        clearHistory();
+    }
+
 
     /// @cond test
     /**
@@ -85,15 +339,77 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
 
     private void init() {
         getSettings().setMediaPlaybackRequiresUserGesture(false);
-        loadUrl("file:///android_asset/whiteboard/index.html");
+        loadUrl(INDEX_URL);
         setWebChromeClient(new FixWebChromeClient());
         // 100ms，减少用户体验问题，防止动画过程中频繁调用问题
         delayStrategy = new RefreshViewSizeStrategy(100);
+        callQueue = new BridgeCallQueue(this::dispatchQueuedCalls);
     }
 
     @Override
     public <T> void callHandler(String method, Object[] args, OnReturnValue<T> handler) {
-        super.callHandler(method, Utils.toBridgeMaps(args), handler);
+        if (coalesceSetters && handler == null && SetterCoalescer.isCoalescable(method)) {
+            callQueue.enqueueCoalesced(method, SetterCoalescer.snapshot(args));
+            return;
+        }
+
+        Object[] bridgeArgs = Utils.toBridgeMaps(args);
+        if (metricsEnabled) {
+            handler = metricsRecorder.onCall(method, bridgeArgs, handler);
+        }
+        if (batchDispatch) {
+            callQueue.enqueue(method, bridgeArgs, handler);
+        } else {
+            // 队列中的设置类调用先于该调用发起，先发送它们以保持调用顺序。
+            callQueue.flush();
+            super.callHandler(method, bridgeArgs, handler);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatchQueuedCalls(List<BridgeCallQueue.PendingCall> calls) {
+        if (!batchDispatch || calls.size() == 1 || !Boolean.TRUE.equals(batchSupported)) {
+            for (BridgeCallQueue.PendingCall call : calls) {
+                super.callHandler(call.method, bridgeArgs(call), (OnReturnValue<Object>) call.handler);
+            }
+            return;
+        }
+
+        JSONArray batch = new JSONArray();
+        for (BridgeCallQueue.PendingCall call : calls) {
+            JSONObject item = new JSONObject();
+            Object[] args = bridgeArgs(call);
+            try {
+                item.put("method", call.method);
+                item.put("args", args == null ? new JSONArray() : new JSONArray(Arrays.asList(args)));
+            } catch (Exception e) {
+                // JSONObject.put 只会因非有限数值抛出异常，这类数值本身也无法通过 bridge 传递
+            }
+            batch.put(item);
+        }
+
+        super.callHandler("sdk.batch", new Object[]{batch}, (OnReturnValue<JSONArray>) results -> {
+            for (int i = 0; i < calls.size(); i++) {
+                OnReturnValue<Object> handler = (OnReturnValue<Object>) calls.get(i).handler;
+                if (handler == null) {
+                    continue;
+                }
+                Object value = results == null ? null : results.opt(i);
+                handler.onValue(value == JSONObject.NULL ? null : value);
+            }
+        });
+    }
+
+    private Object[] bridgeArgs(BridgeCallQueue.PendingCall call) {
+        if (!call.coalesced) {
+            return call.args;
+        }
+        // 合并的调用在发送时才记录，被取代的调用不会到达 WebView
+        Object[] bridgeArgs = Utils.toBridgeMaps(call.args);
+        if (metricsEnabled) {
+            metricsRecorder.onCall(call.method, bridgeArgs, null);
+        }
+        return bridgeArgs;
     }
 
     @Override
@@ -123,9 +439,30 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
                 return super.getDefaultVideoPoster();
             }
         }
+
+        @Override
+        public void onProgressChanged(WebView view, int newProgress) {
+            super.onProgressChanged(view, newProgress);
+            if (newProgress == 100 && !pageReady) {
+                pageReady = true;
+                if (pool != null) {
+                    pool.onPageReady(WhiteboardView.this);
+                }
+            }
+        }
     }
 
 
+    private class ResourceWebViewClient extends WebViewClient {
+        @Override
+        public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+            if (!"GET".equals(request.getMethod())) {
+                return null;
+            }
+            return interceptResourceRequest(request.getUrl().toString());
+        }
+    }
+
     private class RefreshViewSizeStrategy {
         private final int delay;
         private Runnable refreshViewSize = () -> callHandler("displayer.refreshViewSize", new Object[]{});
@@ -0,0 +1,288 @@
+package com.herewhite.sdk;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import com.herewhite.sdk.domain.WhiteboardViewPoolStats;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 预热的白板视图池。
+ *
+ * 创建 {@link WhiteboardView} 时会启动 WebView 并加载白板页面，这占用了能够绘制第一笔之前的大部分时间。
+ * 视图池在主线程空闲时提前创建视图，打开白板时页面已加载完成。
+ *
+ * 典型用法如下：
+ * 1. 创建一次视图池，例如在 `Application#onCreate` 中创建，并调用 {@link #prewarm() prewarm}。
+ * 2. 打开白板时，调用 {@link #acquire(Context) acquire}，将返回的视图添加到布局中，并传入 `WhiteSdk` 的构造方法。
+ * 3. 离开房间时，调用 {@link WhiteSdk#releaseRoom() releaseRoom}，然后调用 {@link #release(WhiteboardView) release} 将视图归还到视图池。
+ *
+ * 视图池会监听 `onTrimMemory`，在系统内存不足时销毁空闲视图。
+ *
+ * @note 请在主线程调用该类的方法。
+ *
+ * @since 2.16.101
+ */
+public class WhiteboardViewPool implements ComponentCallbacks2 {
+
+    /**
+     * 视图被取出的时间，保留到视图的页面加载完成。
+     */
+    private static class Start {
+        final boolean warm;
+        final long time;
+
+        Start(boolean warm, long time) {
+            this.warm = warm;
+            this.time = time;
+        }
+    }
+
+    private final Context context;
+    private final int size;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ArrayDeque<WhiteboardView> idleViews = new ArrayDeque<>();
+    private final Map<WhiteboardView, Start> startingViews = new HashMap<>();
+    private int target;
+    private boolean refillScheduled;
+    private boolean closed;
+
+    private long warmStarts;
+    private long warmStartupTime;
+    private long coldStarts;
+    private long coldStartupTime;
+    private long createdViews;
+    private long trimmedViews;
+
+    /**
+     * 在空闲时创建预热视图，主线程每次空闲创建一个视图。
+     */
+    private final MessageQueue.IdleHandler refill = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            synchronized (WhiteboardViewPool.this) {
+                if (!closed && idleViews.size() < target) {
+                    idleViews.add(create());
+                }
+                refillScheduled = !closed && idleViews.size() < target;
+                return refillScheduled;
+            }
+        }
+    };
+
+    /**
+     * 创建白板视图池。
+     *
+     * 视图池中的视图使用应用上下文创建。通过 {@link #acquire(Context) acquire} 取出视图时，视图的上下文会切换为传入 `acquire` 的上下文，
+     * 视图归还到视图池时再切换回应用上下文。
+     *
+     * @param context 上下文。视图池只保留应用上下文。
+     * @param size    视图池中保留的空闲视图的最大数量。推荐值为 1，每个空闲视图占用一个 WebView 的内存。
+     */
+    public WhiteboardViewPool(Context context, int size) {
+        this.context = WhiteboardView.getFixedContext(context.getApplicationContext());
+        this.size = Math.max(0, size);
+        this.target = this.size;
+        context.getApplicationContext().registerComponentCallbacks(this);
+    }
+
+    /**
+     * 开始填充视图池。
+     *
+     * 视图在主线程空闲时创建，不会拖慢 app 的首帧。
+     * 每次调用 {@link #acquire(Context) acquire} 后，视图池会以同样的方式重新填充。
+     */
+    public synchronized void prewarm() {
+        target = size;
+        scheduleRefill();
+    }
+
+    /**
+     * 从视图池中取出一个白板视图。
+     *
+     * 如果视图池为空，SDK 会创建一个新视图，并将其启动记为冷启动。
+     *
+     * @param context 显示视图的安卓活动 (Android Activity) 的上下文。
+     * @return 白板视图。
+     */
+    public synchronized WhiteboardView acquire(Context context) {
+        long now = SystemClock.elapsedRealtime();
+        WhiteboardView view = idleViews.poll();
+        boolean warm = view != null;
+        if (view == null) {
+            view = create();
+        }
+        view.pooledContext.setBaseContext(WhiteboardView.getFixedContext(context));
+        if (view.isPageReady()) {
+            recordStart(true, 0);
+        } else {
+            startingViews.put(view, new Start(warm, now));
+        }
+        target = size;
+        scheduleRefill();
+        return view;
+    }
+
+    /**
+     * 将白板视图归还到视图池。
+     *
+     * SDK 会将视图从父视图中移除，并重新加载白板页面，使下一个 `WhiteSdk` 实例从空白的白板开始。如果视图池已满，该视图会被销毁。
+     *
+     * @note
+     * - 请在调用该方法前调用 {@link WhiteSdk#releaseRoom() releaseRoom}。
+     * - 视图归还到视图池后，请勿再使用该视图，或使用该视图创建的 `WhiteSdk` 实例。
+     *
+     * @param view 从该视图池取出的白板视图。不是从该视图池取出的视图会被忽略。
+     */
+    public synchronized void release(WhiteboardView view) {
+        if (view.pool != this || idleViews.contains(view)) {
+            return;
+        }
+        startingViews.remove(view);
+        ViewParent parent = view.getParent();
+        if (parent instanceof ViewGroup) {
+            ((ViewGroup) parent).removeView(view);
+        }
+        // 视图空闲时不持有 Activity。
+        view.pooledContext.setBaseContext(context);
+        if (closed || idleViews.size() >= target) {
+            destroy(view);
+            return;
+        }
+        view.resetForReuse();
+        idleViews.add(view);
+    }
+
+    /**
+     * 销毁空闲视图并停止填充视图池。
+     *
+     * 之前取出的视图会在归还到视图池时销毁。
+     */
+    public synchronized void close() {
+        closed = true;
+        trimTo(0);
+        context.getApplicationContext().unregisterComponentCallbacks(this);
+    }
+
+    /**
+     * 获取视图池的统计数据。
+     *
+     * @return 视图池的统计数据，详见 {@link com.herewhite.sdk.domain.WhiteboardViewPoolStats WhiteboardViewPoolStats}。
+     */
+    public synchronized WhiteboardViewPoolStats getStats() {
+        return new WhiteboardViewPoolStats(warmStarts, average(warmStartupTime, warmStarts), coldStarts,
+                average(coldStartupTime, coldStarts), idleViews.size(), createdViews, trimmedViews);
+    }
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+            trimTo(0);
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            trimTo(Math.min(size, 1));
+        }
+    }
+
+    /**
+     * 文档中隐藏
+     */
+    @Override
+    public void onLowMemory() {
+        trimTo(0);
+    }
+
+    /**
+     * 文档中隐藏
+     */
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+    /// @endcond
+
+    /**
+     * 视图池中的视图在页面加载完成时调用。
+     */
+    synchronized void onPageReady(WhiteboardView view) {
+        Start start = startingViews.remove(view);
+        if (start != null) {
+            recordStart(start.warm, SystemClock.elapsedRealtime() - start.time);
+        }
+    }
+
+    Context getContext() {
+        return context;
+    }
+
+    /**
+     * 取出供内部使用的视图，例如用于选择线路。与 {@link #acquire(Context)} 不同，不会切换视图的 context，也不会记录启动时间。
+     * 请通过 {@link #release(WhiteboardView)} 归还视图。
+     */
+    synchronized WhiteboardView borrow() {
+        WhiteboardView view = idleViews.poll();
+        if (view == null) {
+            view = create();
+        }
+        target = size;
+        scheduleRefill();
+        return view;
+    }
+
+    /**
+     * 销毁空闲视图，直到最多剩余 `count` 个。下一次 {@link #acquire} 后视图池会重新填充。
+     */
+    private synchronized void trimTo(int count) {
+        target = Math.min(target, count);
+        while (idleViews.size() > count) {
+            destroy(idleViews.poll());
+            trimmedViews++;
+        }
+    }
+
+    private void scheduleRefill() {
+        if (closed || refillScheduled || idleViews.size() >= target) {
+            return;
+        }
+        refillScheduled = true;
+        // 必须在主线程添加空闲回调。
+        mainHandler.post(() -> Looper.myQueue().addIdleHandler(refill));
+    }
+
+    private WhiteboardView create() {
+        createdViews++;
+        return new WhiteboardView(this, new MutableContextWrapper(context));
+    }
+
+    private static void destroy(WhiteboardView view) {
+        view.removeAllViews();
+        view.destroy();
+    }
+
+    private void recordStart(boolean warm, long time) {
+        if (warm) {
+            warmStarts++;
+            warmStartupTime += time;
+        } else {
+            coldStarts++;
+            coldStartupTime += time;
+        }
+    }
+
+    private static long average(long total, long count) {
+        return count > 0 ? total / count : 0;
+    }
+}
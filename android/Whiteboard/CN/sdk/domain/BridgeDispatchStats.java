@@ -0,0 +1,79 @@
+package com.herewhite.sdk.domain;
+
+import java.util.Map;
+
+/**
+ * {@link com.herewhite.sdk.WhiteboardView WhiteboardView} 批量调用和设置类调用合并的统计数据。
+ *
+ * @since 2.16.101
+ */
+public class BridgeDispatchStats extends WhiteObject {
+
+    private long queuedCalls;
+    private long flushedFrames;
+    private long flushTimeNanos;
+    private Map<String, Long> elidedCalls;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public BridgeDispatchStats(long queuedCalls, long flushedFrames, long flushTimeNanos, Map<String, Long> elidedCalls) {
+        this.queuedCalls = queuedCalls;
+        this.flushedFrames = flushedFrames;
+        this.flushTimeNanos = flushTimeNanos;
+        this.elidedCalls = elidedCalls;
+    }
+    /// @endcond
+
+    /**
+     * 获取开启批量调用或设置类调用合并后入队的调用次数。
+     *
+     * @return 入队的调用次数。
+     */
+    public long getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    /**
+     * 获取将队列中的调用发送给 WebView 的帧数。
+     *
+     * 每一帧只产生一次 JavaScript 执行。
+     *
+     * @return 发送的帧数。
+     */
+    public long getFlushedFrames() {
+        return flushedFrames;
+    }
+
+    /**
+     * 获取发送队列中的调用所占用的主线程总时长。
+     *
+     * @return 发送总时长，单位为纳秒。
+     */
+    public long getFlushTimeNanos() {
+        return flushTimeNanos;
+    }
+
+    /**
+     * 获取因被同名方法的新调用取代而丢弃的设置类调用次数。
+     *
+     * @return 丢弃的调用次数，以 bridge 方法名（例如 `"displayer.moveCamera"`）为键。
+     */
+    public Map<String, Long> getElidedCalls() {
+        return elidedCalls;
+    }
+
+    /**
+     * 获取因被同名方法的新调用取代而丢弃的设置类调用总次数。
+     *
+     * @return 丢弃的调用总次数。
+     */
+    public long getTotalElidedCalls() {
+        long total = 0;
+        for (Long count : elidedCalls.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,100 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 单个 bridge 方法（例如 `"room.getScenes"` 或 `"displayerAsync.scenePreview"`）的统计数据。
+ *
+ * @since 2.16.101
+ */
+public class BridgeMethodMetrics extends WhiteObject {
+
+    private long callCount;
+    private long averagePayloadBytes;
+    private long maxPayloadBytes;
+    private long latencyCount;
+    private double p50LatencyMs;
+    private double p95LatencyMs;
+    private double p99LatencyMs;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public BridgeMethodMetrics(long callCount, long averagePayloadBytes, long maxPayloadBytes, long latencyCount,
+                               double p50LatencyMs, double p95LatencyMs, double p99LatencyMs) {
+        this.callCount = callCount;
+        this.averagePayloadBytes = averagePayloadBytes;
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.latencyCount = latencyCount;
+        this.p50LatencyMs = p50LatencyMs;
+        this.p95LatencyMs = p95LatencyMs;
+        this.p99LatencyMs = p99LatencyMs;
+    }
+    /// @endcond
+
+    /**
+     * 获取发送给白板的调用次数。
+     *
+     * @return 调用次数。
+     */
+    public long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * 获取调用参数以 UTF-8 JSON 表示时的平均大小。
+     *
+     * 为降低开销，SDK 每 16 次调用只计算一次参数大小。
+     *
+     * @return 平均参数大小，单位为字节。
+     */
+    public long getAveragePayloadBytes() {
+        return averagePayloadBytes;
+    }
+
+    /**
+     * 获取已计算的调用参数以 UTF-8 JSON 表示时的最大值。
+     *
+     * @return 最大参数大小，单位为字节。
+     */
+    public long getMaxPayloadBytes() {
+        return maxPayloadBytes;
+    }
+
+    /**
+     * 获取已统计耗时的调用次数。
+     *
+     * 只有等待返回值的调用（例如 {@link com.herewhite.sdk.Room#getScenes(Promise) getScenes}）才能统计耗时。
+     *
+     * @return 已统计耗时的调用次数。
+     */
+    public long getLatencyCount() {
+        return latencyCount;
+    }
+
+    /**
+     * 获取从发送调用到收到返回值耗时的第 50 百分位数。
+     *
+     * @return 第 50 百分位耗时，单位为毫秒。
+     */
+    public double getP50LatencyMs() {
+        return p50LatencyMs;
+    }
+
+    /**
+     * 获取从发送调用到收到返回值耗时的第 95 百分位数。
+     *
+     * @return 第 95 百分位耗时，单位为毫秒。
+     */
+    public double getP95LatencyMs() {
+        return p95LatencyMs;
+    }
+
+    /**
+     * 获取从发送调用到收到返回值耗时的第 99 百分位数。
+     *
+     * @return 第 99 百分位耗时，单位为毫秒。
+     */
+    public double getP99LatencyMs() {
+        return p99LatencyMs;
+    }
+}
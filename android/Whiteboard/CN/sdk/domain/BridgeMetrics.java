@@ -0,0 +1,53 @@
+package com.herewhite.sdk.domain;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * SDK 对白板调用的统计数据。
+ *
+ * @since 2.16.101
+ */
+public class BridgeMetrics extends WhiteObject {
+
+    private Map<String, BridgeMethodMetrics> methods;
+    private BridgeDispatchStats dispatchStats;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public BridgeMetrics(Map<String, BridgeMethodMetrics> methods, BridgeDispatchStats dispatchStats) {
+        this.methods = methods;
+        this.dispatchStats = dispatchStats;
+    }
+    /// @endcond
+
+    /**
+     * 获取每个 bridge 方法的统计数据。
+     *
+     * @return 统计数据，以 bridge 方法名（例如 `"room.state.getRoomState"`）为键，详见 {@link BridgeMethodMetrics BridgeMethodMetrics}。
+     */
+    public Map<String, BridgeMethodMetrics> getMethods() {
+        return methods == null ? Collections.<String, BridgeMethodMetrics>emptyMap() : methods;
+    }
+
+    /**
+     * 获取指定 bridge 方法的统计数据。
+     *
+     * @param method bridge 方法名。
+     * @return 该方法的统计数据，详见 {@link BridgeMethodMetrics BridgeMethodMetrics}。如果该方法未被调用过，返回 `null`。
+     */
+    public BridgeMethodMetrics getMethod(String method) {
+        return getMethods().get(method);
+    }
+
+    /**
+     * 获取批量调用和设置类调用合并的统计数据。
+     *
+     * @return 统计数据，详见 {@link BridgeDispatchStats BridgeDispatchStats}。
+     */
+    public BridgeDispatchStats getDispatchStats() {
+        return dispatchStats;
+    }
+}
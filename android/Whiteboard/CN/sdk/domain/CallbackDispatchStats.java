@@ -0,0 +1,73 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 通过 {@link com.herewhite.sdk.Displayer#setCallbackExecutor setCallbackExecutor} 或 {@link com.herewhite.sdk.Displayer#setEventCallbackExecutor setEventCallbackExecutor} 设置的执行器触发回调的统计数据。
+ *
+ * @since 2.16.101
+ */
+public class CallbackDispatchStats extends WhiteObject {
+
+    private long dispatchedCallbacks;
+    private int queueDepth;
+    private int maxQueueDepth;
+    private double averageLatencyMs;
+    private double maxLatencyMs;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public CallbackDispatchStats(long dispatchedCallbacks, int queueDepth, int maxQueueDepth, double averageLatencyMs, double maxLatencyMs) {
+        this.dispatchedCallbacks = dispatchedCallbacks;
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.averageLatencyMs = averageLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+    }
+    /// @endcond
+
+    /**
+     * 获取设置执行器后触发的回调次数。
+     *
+     * @return 触发的回调次数。
+     */
+    public long getDispatchedCallbacks() {
+        return dispatchedCallbacks;
+    }
+
+    /**
+     * 获取在执行器中等待的回调数量。
+     *
+     * @return 等待的回调数量。
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * 获取同时在执行器中等待的回调的最大数量。
+     *
+     * @return 等待回调的最大数量。
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * 获取从收到白板事件到触发回调的平均耗时。
+     *
+     * @return 平均延迟，单位为毫秒。
+     */
+    public double getAverageLatencyMs() {
+        return averageLatencyMs;
+    }
+
+    /**
+     * 获取从收到白板事件到触发回调的最长耗时。
+     *
+     * @return 最大延迟，单位为毫秒。
+     */
+    public double getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+}
@@ -0,0 +1,48 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 高频事件监听的缓冲区配置，详见 {@link com.herewhite.sdk.Displayer#addHighFrequencyEventListener(String, FrequencyEventListener, Integer, EventBufferOptions) addHighFrequencyEventListener}。
+ *
+ * @since 2.16.101
+ */
+public class EventBufferOptions extends WhiteObject {
+
+    private int capacity = 256;
+    private EventOverflowPolicy overflowPolicy = EventOverflowPolicy.DROP_OLDEST;
+
+    /**
+     * 获取每个监听器最多缓存的事件数。
+     *
+     * @return 缓冲区容量。
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * 设置每个监听器最多缓存的事件数。
+     *
+     * @param capacity 缓冲区容量，默认值为 256。SDK 会将该值向上取整为 2 的幂。
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 获取缓冲区已满时的处理策略。
+     *
+     * @return 缓冲区溢出策略，详见 {@link EventOverflowPolicy}。
+     */
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * 设置缓冲区已满时的处理策略。
+     *
+     * @param overflowPolicy 缓冲区溢出策略，详见 {@link EventOverflowPolicy}。默认值为 `DROP_OLDEST`。
+     */
+    public void setOverflowPolicy(EventOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+}
@@ -1,13 +1,38 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.JsonElement;
+
 /**
  * `EventEntry` 类，用于获取自定义事件。
  */
 public class EventEntry extends WhiteObject {
     private String eventName;
-    private Object payload;
+    private JsonElement payload;
     private String scope;
     private long authorId;
+    // 延迟解码，大部分监听器只读取部分事件的内容
+    private transient volatile EventPayloadCodec<?> payloadCodec;
+    private transient volatile DecodedPayload decodedPayload;
+    private transient volatile DecodedPayload typedPayload;
+
+    private static final class DecodedPayload {
+        final Class<?> type;
+        final Object value;
+
+        DecodedPayload(Class<?> type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public void setPayloadCodec(EventPayloadCodec<?> payloadCodec) {
+        this.payloadCodec = payloadCodec;
+    }
+    /// @endcond
 
     /// @cond test
     /**
@@ -42,9 +67,47 @@ public class EventEntry extends WhiteObject {
     /**
      * 获取回调事件的内容。
      *
+     * 事件内容在第一次调用时解码，如果通过 {@link com.herewhite.sdk.Displayer#setMagixEventPayloadCodec setMagixEventPayloadCodec} 设置了解码器，则使用该解码器。
+     *
      * @return 回调事件内容。
      */
     public Object getPayload() {
-        return payload;
+        DecodedPayload decoded = decodedPayload;
+        if (decoded == null) {
+            EventPayloadCodec<?> codec = payloadCodec;
+            Object value;
+            if (payload == null) {
+                value = null;
+            } else if (codec != null) {
+                value = codec.decode(payload);
+            } else {
+                value = gson.fromJson(payload, Object.class);
+            }
+            decoded = new DecodedPayload(null, value);
+            decodedPayload = decoded;
+        }
+        return decoded.value;
+    }
+
+    /**
+     * 获取解码为指定类型的事件内容。
+     *
+     * @since 2.16.101
+     *
+     * 事件内容直接从 JSON 树解码，不会生成 {@link #getPayload() getPayload} 返回的通用 Map 结构。
+     * 解码结果会被缓存，直到事件内容被解码为其他类型。
+     *
+     * @param classOfT 事件内容解码的目标类型。
+     * @param <T>      事件内容的类型。
+     * @return 事件内容。
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPayload(Class<T> classOfT) {
+        DecodedPayload decoded = typedPayload;
+        if (decoded == null || decoded.type != classOfT) {
+            decoded = new DecodedPayload(classOfT, payload == null ? null : gson.fromJson(payload, classOfT));
+            typedPayload = decoded;
+        }
+        return (T) decoded.value;
     }
 }
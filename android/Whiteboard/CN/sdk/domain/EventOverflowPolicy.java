@@ -0,0 +1,24 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 高频事件缓冲区已满（监听器处理事件过慢）时 SDK 的处理策略。
+ *
+ * @since 2.16.101
+ */
+public enum EventOverflowPolicy {
+    /**
+     * `DROP_OLDEST`：（默认）丢弃慢速监听器尚未收到的最旧事件，监听器始终能收到最新的事件。
+     */
+    DROP_OLDEST,
+    /**
+     * `DROP_NEWEST`：丢弃新到达的事件，监听器可以连续收到缓冲区中的事件。
+     */
+    DROP_NEWEST,
+    /**
+     * `BLOCK`：等待慢速监听器空出缓冲区位置。不会丢弃事件。
+     *
+     * @warning SDK 在接收白板所有消息的线程上等待。等待期间，白板的所有回调、状态更新和返回值都会被慢速监听器阻塞，而不仅是事件。
+     * 请仅对能快速返回的监听器使用该策略。
+     */
+    BLOCK
+}
@@ -0,0 +1,22 @@
+package com.herewhite.sdk.domain;
+
+import com.google.gson.JsonElement;
+
+/**
+ * `EventPayloadCodec` 接口类，用于解码自定义事件的内容。
+ *
+ * SDK 以 JSON 树的形式保存事件内容，只在第一次调用 {@link EventEntry#getPayload() getPayload} 时调用解码器。
+ *
+ * @since 2.16.101
+ *
+ * @param <T> 解码后事件内容的类型。
+ */
+public interface EventPayloadCodec<T> {
+    /**
+     * 解码自定义事件的内容。
+     *
+     * @param payload JSON 树形式的事件内容。
+     * @return 解码后的事件内容。
+     */
+    T decode(JsonElement payload);
+}
@@ -0,0 +1,111 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 自定义事件的发送配置，详见 {@link com.herewhite.sdk.Room#setMagixEventSendOptions setMagixEventSendOptions}。
+ *
+ * @since 2.16.101
+ */
+public class MagixEventSendOptions extends WhiteObject {
+
+    private MagixEventSendPolicy policy = MagixEventSendPolicy.IMMEDIATE;
+    private long flushInterval = 100;
+    private double maxEventsPerSecond = 0;
+    private int maxQueuedEvents = 256;
+    private EventOverflowPolicy queueOverflowPolicy = EventOverflowPolicy.DROP_OLDEST;
+
+    /**
+     * 获取发送策略。
+     *
+     * @return 发送策略，详见 {@link MagixEventSendPolicy}。
+     */
+    public MagixEventSendPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * 设置发送策略。
+     *
+     * @param policy 发送策略，详见 {@link MagixEventSendPolicy}。默认值为 `IMMEDIATE`。
+     */
+    public void setPolicy(MagixEventSendPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * 获取 `COALESCE` 和 `ACCUMULATE` 策略的发送间隔。
+     *
+     * @return 发送间隔，单位为毫秒。
+     */
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * 设置 `COALESCE` 和 `ACCUMULATE` 策略的发送间隔。
+     *
+     * @param flushInterval 发送间隔，单位为毫秒，默认值为 100。
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * 获取每秒最多发送的事件数。
+     *
+     * @return 每秒最多发送的事件数，`0` 表示不限制。
+     */
+    public double getMaxEventsPerSecond() {
+        return maxEventsPerSecond;
+    }
+
+    /**
+     * 设置每秒最多发送的事件数。
+     *
+     * 该限制为最多容纳一秒事件数的令牌桶，限制范围内的短时突发事件会立即发送。超出限制的事件会延迟发送。使用 `IMMEDIATE` 策略时，最多 {@link #setMaxQueuedEvents(int) maxQueuedEvents} 个事件等待发送，详见 {@link #setQueueOverflowPolicy(EventOverflowPolicy) setQueueOverflowPolicy}。
+     *
+     * @param maxEventsPerSecond 每秒最多发送的事件数，默认值为 `0`，表示不限制。
+     */
+    public void setMaxEventsPerSecond(double maxEventsPerSecond) {
+        this.maxEventsPerSecond = maxEventsPerSecond;
+    }
+
+    /**
+     * 获取最多等待发送的事件数。
+     *
+     * @return 最多等待发送的事件数。
+     */
+    public int getMaxQueuedEvents() {
+        return maxQueuedEvents;
+    }
+
+    /**
+     * 设置最多等待发送的事件数。
+     *
+     * 仅对设置了 {@link #setMaxEventsPerSecond(double) maxEventsPerSecond} 限制的 `IMMEDIATE` 策略生效，超出限制的事件会在队列中等待发送。
+     *
+     * @param maxQueuedEvents 最多等待发送的事件数，默认值为 256。
+     */
+    public void setMaxQueuedEvents(int maxQueuedEvents) {
+        this.maxQueuedEvents = maxQueuedEvents;
+    }
+
+    /**
+     * 获取等待发送的事件队列已满时采用的策略。
+     *
+     * @return 溢出策略，详见 {@link EventOverflowPolicy}。
+     */
+    public EventOverflowPolicy getQueueOverflowPolicy() {
+        return queueOverflowPolicy;
+    }
+
+    /**
+     * 设置等待发送的事件队列已满时采用的策略。
+     *
+     * @note `BLOCK` 不会阻塞调用方：队列中最早的事件会超出频率限制立即发送，从而不丢弃事件。
+     *
+     * @param queueOverflowPolicy 溢出策略，详见 {@link EventOverflowPolicy}。默认值为 `DROP_OLDEST`。
+     */
+    public void setQueueOverflowPolicy(EventOverflowPolicy queueOverflowPolicy) {
+        this.queueOverflowPolicy = queueOverflowPolicy;
+    }
+}
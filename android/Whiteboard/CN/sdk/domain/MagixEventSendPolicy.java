@@ -0,0 +1,21 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * SDK 发送 {@link com.herewhite.sdk.Room#dispatchMagixEvent dispatchMagixEvent} 自定义事件的方式。
+ *
+ * @since 2.16.101
+ */
+public enum MagixEventSendPolicy {
+    /**
+     * `IMMEDIATE`：（默认）在频率限制允许时立即发送每个事件。
+     */
+    IMMEDIATE,
+    /**
+     * `COALESCE`：只发送发送间隔内的最后一个事件。
+     */
+    COALESCE,
+    /**
+     * `ACCUMULATE`：将发送间隔内所有事件的内容合并为一个事件发送，该事件的内容为按发送顺序排列的内容数组。
+     */
+    ACCUMULATE
+}
@@ -0,0 +1,62 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 通过 {@link MagixEventSendOptions} 发送的自定义事件的统计数据。
+ *
+ * @since 2.16.101
+ */
+public class MagixEventSendStats extends WhiteObject {
+
+    private long queuedEvents;
+    private long sentEvents;
+    private long mergedEvents;
+    private long droppedEvents;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public MagixEventSendStats(long queuedEvents, long sentEvents, long mergedEvents, long droppedEvents) {
+        this.queuedEvents = queuedEvents;
+        this.sentEvents = sentEvents;
+        this.mergedEvents = mergedEvents;
+        this.droppedEvents = droppedEvents;
+    }
+    /// @endcond
+
+    /**
+     * 获取设置了发送配置的事件名所调用发送的事件数。
+     *
+     * @return 调用发送的事件数。
+     */
+    public long getQueuedEvents() {
+        return queuedEvents;
+    }
+
+    /**
+     * 获取实际发送到房间的事件数，合并后的事件计为一个。
+     *
+     * @return 实际发送的事件数。
+     */
+    public long getSentEvents() {
+        return sentEvents;
+    }
+
+    /**
+     * 获取因 `COALESCE` 和 `ACCUMULATE` 策略被合并的事件数。
+     *
+     * @return 被合并的事件数。
+     */
+    public long getMergedEvents() {
+        return mergedEvents;
+    }
+
+    /**
+     * 获取因等待发送的事件队列已满而丢弃的事件数。
+     *
+     * @return 被丢弃的事件数。
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+}
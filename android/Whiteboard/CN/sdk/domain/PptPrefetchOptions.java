@@ -0,0 +1,71 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * PPT 预加载器的配置，详见 {@link com.herewhite.sdk.Room#setPptPrefetchOptions(PptPrefetchOptions) setPptPrefetchOptions}。
+ *
+ * @since 2.16.101
+ */
+public class PptPrefetchOptions extends WhiteObject {
+
+    private String cacheDirectory;
+    private int pageCount = 2;
+    private long cacheSize = 128L * 1024 * 1024;
+
+    /**
+     * 获取预加载资源的保存目录。
+     *
+     * @return 目录的绝对路径。
+     */
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * 设置预加载资源的保存目录。
+     *
+     * SDK 会删除该目录中的文件，使缓存不超过 {@link #setCacheSize(long) cacheSize}，因此请使用预加载器专用的目录，例如 `Context.getCacheDir()` 下的子目录。
+     *
+     * @param cacheDirectory 目录的绝对路径，默认值为 `null`。如果为 `null`，预加载器不会开启。
+     */
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * 获取当前页面每一侧预加载的页面数量。
+     *
+     * @return 页面数量。
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * 设置当前页面每一侧预加载的页面数量。
+     *
+     * 前进方向上的页面会先于当前页面后方的页面预加载。
+     *
+     * @param pageCount 页面数量，默认值为 2。
+     */
+    public void setPageCount(int pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    /**
+     * 获取磁盘中预加载资源的最大大小。
+     *
+     * @return 缓存大小（字节）。
+     */
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * 设置磁盘中预加载资源的最大大小。
+     *
+     * @param cacheSize 缓存大小（字节），默认值为 128 MB。
+     */
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
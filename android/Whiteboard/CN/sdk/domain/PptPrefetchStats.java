@@ -0,0 +1,102 @@
+package com.herewhite.sdk.domain;
+
+import java.util.Map;
+
+/**
+ * PPT 预加载器的统计数据，详见 {@link com.herewhite.sdk.Room#getPptPrefetchStats() getPptPrefetchStats}。
+ *
+ * @since 2.16.101
+ */
+public class PptPrefetchStats extends WhiteObject {
+
+    private long pageViews;
+    private long pageHits;
+    private long downloads;
+    private long downloadedBytes;
+    private long failures;
+    private long cacheBytes;
+    private Map<String, Long> pageReadyTimes;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public PptPrefetchStats(long pageViews, long pageHits, long downloads, long downloadedBytes, long failures,
+                            long cacheBytes, Map<String, Long> pageReadyTimes) {
+        this.pageViews = pageViews;
+        this.pageHits = pageHits;
+        this.downloads = downloads;
+        this.downloadedBytes = downloadedBytes;
+        this.failures = failures;
+        this.cacheBytes = cacheBytes;
+        this.pageReadyTimes = pageReadyTimes;
+    }
+    /// @endcond
+
+    /**
+     * 获取翻页次数。
+     *
+     * @return 页面浏览次数。
+     */
+    public long getPageViews() {
+        return pageViews;
+    }
+
+    /**
+     * 获取翻到所有资源均已预加载的页面的次数。
+     *
+     * 命中率为 `pageHits / pageViews`。
+     *
+     * @return 页面命中次数。
+     */
+    public long getPageHits() {
+        return pageHits;
+    }
+
+    /**
+     * 获取已下载的资源数量。
+     *
+     * @return 下载次数。
+     */
+    public long getDownloads() {
+        return downloads;
+    }
+
+    /**
+     * 获取已下载资源的大小。
+     *
+     * @return 下载大小（字节）。
+     */
+    public long getDownloadedBytes() {
+        return downloadedBytes;
+    }
+
+    /**
+     * 获取下载失败的资源数量。
+     *
+     * @return 失败次数。
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * 获取缓存中当前文件的大小。
+     *
+     * @return 缓存大小（字节）。
+     */
+    public long getCacheBytes() {
+        return cacheBytes;
+    }
+
+    /**
+     * 获取最近浏览的每个页面的资源就绪耗时。
+     *
+     * 耗时从翻页开始计算，直到该页面的最后一个资源下载完成；如果资源已预加载，耗时为 0。没有需要下载的资源的页面，耗时也为 0。
+     *
+     * @return 每个页面最近一次浏览的耗时（毫秒），以场景路径为键。
+     */
+    public Map<String, Long> getPageReadyTimes() {
+        return pageReadyTimes;
+    }
+}
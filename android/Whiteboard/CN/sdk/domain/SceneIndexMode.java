@@ -0,0 +1,23 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 场景查询使用本地场景索引的方式，详见 {@link com.herewhite.sdk.Displayer#setSceneIndexMode(SceneIndexMode) setSceneIndexMode}。
+ *
+ * @since 2.16.101
+ */
+public enum SceneIndexMode {
+    /**
+     * `DISABLED`：（默认）所有场景查询均向白板查询。
+     */
+    DISABLED,
+    /**
+     * `LOCAL`：尽可能通过本地场景索引回答场景查询，不向白板查询。
+     */
+    LOCAL,
+    /**
+     * `VERIFY`：场景查询同时向白板查询，并将白板的结果与本地场景索引比较。不一致时会打印日志，并计入
+     * {@link com.herewhite.sdk.Displayer#getSceneIndexMismatchCount() getSceneIndexMismatchCount}。通过 promise 返回结果的查询方法会返回白板的结果。
+     * 该模式用于测试。
+     */
+    VERIFY
+}
@@ -0,0 +1,70 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 场景预览图缓存的配置，详见 {@link com.herewhite.sdk.Displayer#setScenePreviewCacheOptions(ScenePreviewCacheOptions) setScenePreviewCacheOptions}。
+ *
+ * @since 2.16.101
+ */
+public class ScenePreviewCacheOptions extends WhiteObject {
+
+    private int memoryCacheSize = 16 * 1024 * 1024;
+    private String diskCacheDirectory;
+    private long diskCacheSize = 64L * 1024 * 1024;
+
+    /**
+     * 获取内存中缓存的解码后预览图的最大大小。
+     *
+     * @return 内存缓存大小（字节）。
+     */
+    public int getMemoryCacheSize() {
+        return memoryCacheSize;
+    }
+
+    /**
+     * 设置内存中缓存的解码后预览图的最大大小。
+     *
+     * @param memoryCacheSize 内存缓存大小（字节），默认值为 16 MB。
+     */
+    public void setMemoryCacheSize(int memoryCacheSize) {
+        this.memoryCacheSize = memoryCacheSize;
+    }
+
+    /**
+     * 获取磁盘缓存的目录。
+     *
+     * @return 目录的绝对路径。如果预览图不缓存到磁盘，返回 `null`。
+     */
+    public String getDiskCacheDirectory() {
+        return diskCacheDirectory;
+    }
+
+    /**
+     * 设置磁盘缓存的目录。
+     *
+     * SDK 会将预览图保存在该目录中，内存缓存淘汰或 app 重启后仍可使用。SDK 会删除该目录中的文件，使缓存不超过 {@link #setDiskCacheSize(long) diskCacheSize}，
+     * 因此请使用缓存专用的目录，例如 `Context.getCacheDir()` 下的子目录。
+     *
+     * @param diskCacheDirectory 目录的绝对路径，默认值为 `null`，表示预览图仅缓存在内存中。
+     */
+    public void setDiskCacheDirectory(String diskCacheDirectory) {
+        this.diskCacheDirectory = diskCacheDirectory;
+    }
+
+    /**
+     * 获取磁盘缓存的最大大小。
+     *
+     * @return 磁盘缓存大小（字节）。
+     */
+    public long getDiskCacheSize() {
+        return diskCacheSize;
+    }
+
+    /**
+     * 设置磁盘缓存的最大大小。
+     *
+     * @param diskCacheSize 磁盘缓存大小（字节），默认值为 64 MB。
+     */
+    public void setDiskCacheSize(long diskCacheSize) {
+        this.diskCacheSize = diskCacheSize;
+    }
+}
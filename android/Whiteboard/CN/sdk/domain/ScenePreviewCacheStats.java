@@ -0,0 +1,96 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 场景预览图缓存的统计数据，详见 {@link com.herewhite.sdk.Displayer#getScenePreviewCacheStats() getScenePreviewCacheStats}。
+ *
+ * @since 2.16.101
+ */
+public class ScenePreviewCacheStats extends WhiteObject {
+
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+    private long memoryEvictions;
+    private long diskEvictions;
+    private long memoryCacheBytes;
+    private long diskCacheBytes;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public ScenePreviewCacheStats(long memoryHits, long diskHits, long misses, long memoryEvictions, long diskEvictions,
+                                  long memoryCacheBytes, long diskCacheBytes) {
+        this.memoryHits = memoryHits;
+        this.diskHits = diskHits;
+        this.misses = misses;
+        this.memoryEvictions = memoryEvictions;
+        this.diskEvictions = diskEvictions;
+        this.memoryCacheBytes = memoryCacheBytes;
+        this.diskCacheBytes = diskCacheBytes;
+    }
+    /// @endcond
+
+    /**
+     * 获取从内存返回的预览图数量。
+     *
+     * @return 内存命中次数。
+     */
+    public long getMemoryHits() {
+        return memoryHits;
+    }
+
+    /**
+     * 获取从磁盘缓存读取的预览图数量。
+     *
+     * @return 磁盘命中次数。
+     */
+    public long getDiskHits() {
+        return diskHits;
+    }
+
+    /**
+     * 获取因未缓存而由白板渲染的预览图数量。
+     *
+     * @return 未命中次数。
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 获取为使内存缓存不超过上限而移除的预览图数量。
+     *
+     * @return 内存淘汰次数。
+     */
+    public long getMemoryEvictions() {
+        return memoryEvictions;
+    }
+
+    /**
+     * 获取为使磁盘缓存不超过上限而删除的文件数量。
+     *
+     * @return 磁盘淘汰次数。
+     */
+    public long getDiskEvictions() {
+        return diskEvictions;
+    }
+
+    /**
+     * 获取当前内存中缓存的预览图大小。
+     *
+     * @return 内存缓存大小（字节）。
+     */
+    public long getMemoryCacheBytes() {
+        return memoryCacheBytes;
+    }
+
+    /**
+     * 获取当前磁盘缓存中的文件大小。
+     *
+     * @return 磁盘缓存大小（字节）。
+     */
+    public long getDiskCacheBytes() {
+        return diskCacheBytes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 课件资源缓存的配置，详见 {@link com.herewhite.sdk.WhiteSdk#setSlideResourceCacheOptions(SlideResourceCacheOptions) setSlideResourceCacheOptions}。
+ *
+ * @since 2.16.101
+ */
+public class SlideResourceCacheOptions extends WhiteObject {
+
+    private String cacheDirectory;
+    private long cacheSize = 256L * 1024 * 1024;
+
+    /**
+     * 获取缓存的目录。
+     *
+     * @return 目录的绝对路径。
+     */
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * 设置缓存的目录。
+     *
+     * SDK 会删除该目录中的文件，使缓存不超过 {@link #setCacheSize(long) cacheSize}，因此请使用缓存专用的目录，例如 `Context.getCacheDir()` 下的子目录。
+     *
+     * @param cacheDirectory 目录的绝对路径，默认值为 `null`。如果为 `null`，缓存不会开启。
+     */
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * 获取缓存的最大大小。
+     *
+     * @return 缓存大小（字节）。
+     */
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * 设置缓存的最大大小。
+     *
+     * @param cacheSize 缓存大小（字节），默认值为 256 MB。
+     */
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
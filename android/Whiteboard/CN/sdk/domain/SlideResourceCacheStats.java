@@ -0,0 +1,107 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 课件资源缓存的统计数据，详见 {@link com.herewhite.sdk.WhiteSdk#getSlideResourceCacheStats() getSlideResourceCacheStats}。
+ *
+ * @since 2.16.101
+ */
+public class SlideResourceCacheStats extends WhiteObject {
+
+    private long hits;
+    private long misses;
+    private long bytesSaved;
+    private long downloads;
+    private long downloadedBytes;
+    private long failures;
+    private long evictions;
+    private long cacheBytes;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public SlideResourceCacheStats(long hits, long misses, long bytesSaved, long downloads, long downloadedBytes,
+                                   long failures, long evictions, long cacheBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.bytesSaved = bytesSaved;
+        this.downloads = downloads;
+        this.downloadedBytes = downloadedBytes;
+        this.failures = failures;
+        this.evictions = evictions;
+        this.cacheBytes = cacheBytes;
+    }
+    /// @endcond
+
+    /**
+     * 获取从缓存提供的资源数量。
+     *
+     * @return 命中次数。
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * 获取因未缓存而从网络加载的资源数量。
+     *
+     * @return 未命中次数。
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * 获取从缓存而非网络提供的资源大小。
+     *
+     * @return 节省的大小（字节）。
+     */
+    public long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    /**
+     * 获取下载到缓存中的资源数量。
+     *
+     * @return 下载次数。
+     */
+    public long getDownloads() {
+        return downloads;
+    }
+
+    /**
+     * 获取下载到缓存中的资源大小。
+     *
+     * @return 下载大小（字节）。
+     */
+    public long getDownloadedBytes() {
+        return downloadedBytes;
+    }
+
+    /**
+     * 获取下载失败的资源数量。
+     *
+     * @return 失败次数。
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * 获取为使缓存不超过其大小而删除的文件数量。
+     *
+     * @return 淘汰次数。
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * 获取缓存中当前文件的大小。
+     *
+     * @return 缓存大小（字节）。
+     */
+    public long getCacheBytes() {
+        return cacheBytes;
+    }
+}
@@ -0,0 +1,68 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * {@link RoomState} 中可以通过 {@link com.herewhite.sdk.Room#addStateFieldListener addStateFieldListener} 监听的字段。
+ *
+ * @since 2.16.101
+ *
+ * @param <V> 字段值的类型。
+ */
+public final class StateField<V> {
+
+    /**
+     * 白板工具状态，详见 {@link MemberState}。
+     */
+    public static final StateField<MemberState> MEMBER_STATE = new StateField<>("memberState");
+    /**
+     * 当前场景目录下的场景状态，详见 {@link SceneState}。
+     */
+    public static final StateField<SceneState> SCENE_STATE = new StateField<>("sceneState");
+    /**
+     * 房间的用户列表，详见 {@link RoomMember}。
+     */
+    public static final StateField<RoomMember[]> ROOM_MEMBERS = new StateField<>("roomMembers");
+    /**
+     * 视角状态，详见 {@link CameraState}。
+     */
+    public static final StateField<CameraState> CAMERA_STATE = new StateField<>("cameraState");
+    /**
+     * 房间的视角状态，详见 {@link BroadcastState}。
+     */
+    public static final StateField<BroadcastState> BROADCAST_STATE = new StateField<>("broadcastState");
+    /**
+     * 房间的全局状态，类型为 {@link WhiteDisplayerState#setCustomGlobalStateClass setCustomGlobalStateClass} 设置的类。
+     */
+    public static final StateField<GlobalState> GLOBAL_STATE = new StateField<>("globalState");
+    /**
+     * 视角的缩放比例。
+     */
+    public static final StateField<Double> ZOOM_SCALE = new StateField<>("zoomScale");
+
+    private final String key;
+
+    private StateField(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 获取字段在房间状态中的键名。
+     *
+     * @return 字段的键名，例如 `"memberState"`。
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    @SuppressWarnings("unchecked")
+    public V valueOf(Object rawValue) {
+        if (this == GLOBAL_STATE) {
+            return (V) WhiteDisplayerState.toGlobalState(rawValue, WhiteDisplayerState.customClass);
+        }
+        return (V) rawValue;
+    }
+    /// @endcond
+}
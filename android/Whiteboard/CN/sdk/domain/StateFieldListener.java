@@ -0,0 +1,17 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * `StateFieldListener` 接口类，用于监听房间状态中单个字段的变化。
+ *
+ * @since 2.16.101
+ *
+ * @param <V> 字段值的类型，详见 {@link StateField}。
+ */
+public interface StateFieldListener<V> {
+    /**
+     * 监听的字段值发生变化回调。
+     *
+     * @param value 字段的新值。
+     */
+    void onStateFieldChanged(V value);
+}
@@ -0,0 +1,91 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 异步 URL 拦截器的配置，详见
+ * {@link com.herewhite.sdk.WhiteSdk#setAsyncUrlInterrupter(com.herewhite.sdk.AsyncUrlInterrupter, UrlInterrupterOptions) setAsyncUrlInterrupter}。
+ *
+ * @since 2.16.101
+ */
+public class UrlInterrupterOptions extends WhiteObject {
+
+    private int threadCount = 4;
+    private int cacheSize = 1024;
+    private long cacheTtl = 10 * 60 * 1000L;
+    private long timeout = 5000L;
+
+    /**
+     * 获取调用拦截器的线程数量。
+     *
+     * @return 线程数量。
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * 设置调用拦截器的线程数量。
+     *
+     * @param threadCount 线程数量，默认值为 4。
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * 获取缓存中替换后 URL 的最大数量。
+     *
+     * @return URL 数量。
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * 设置缓存中替换后 URL 的最大数量。优先移除最久未使用的 URL。
+     *
+     * @param cacheSize URL 数量，默认值为 1024。传入 0 关闭缓存。
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * 获取替换后的 URL 在缓存中保留的时间。
+     *
+     * @return 时间（毫秒）。
+     */
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * 设置替换后的 URL 在缓存中保留的时间。
+     *
+     * 请设置为短于拦截器返回的 URL（例如签名 URL）有效期的时间。
+     *
+     * @param cacheTtl 时间（毫秒），默认值为 10 分钟。
+     */
+    public void setCacheTtl(long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * 获取白板等待拦截器的时间。
+     *
+     * @return 时间（毫秒）。
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * 设置白板等待拦截器的时间。
+     *
+     * 如果拦截器未及时返回 URL，白板会加载原始 URL。之后返回的 URL 仍会被缓存。
+     *
+     * @param timeout 时间（毫秒），默认值为 5000。
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,87 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 异步 URL 拦截器的统计数据，详见 {@link com.herewhite.sdk.WhiteSdk#getUrlInterrupterStats() getUrlInterrupterStats}。
+ *
+ * 每次调用的延迟记录在桥接指标中，详见 {@link com.herewhite.sdk.WhiteSdk#getBridgeMetrics() getBridgeMetrics}：
+ * `"sdk.urlInterrupter"` 为白板等待 URL 的时间，`"sdk.urlInterrupter.async"` 为拦截器返回 URL 所用的时间。
+ *
+ * @since 2.16.101
+ */
+public class UrlInterrupterStats extends WhiteObject {
+
+    private long calls;
+    private long cacheHits;
+    private long sharedCalls;
+    private long timeouts;
+    private long failures;
+    private long cachedUrls;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public UrlInterrupterStats(long calls, long cacheHits, long sharedCalls, long timeouts, long failures, long cachedUrls) {
+        this.calls = calls;
+        this.cacheHits = cacheHits;
+        this.sharedCalls = sharedCalls;
+        this.timeouts = timeouts;
+        this.failures = failures;
+        this.cachedUrls = cachedUrls;
+    }
+    /// @endcond
+
+    /**
+     * 获取白板请求的 URL 数量。
+     *
+     * @return 调用次数。
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * 获取未调用拦截器、直接从缓存返回的 URL 数量。
+     *
+     * @return 缓存命中次数。
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * 获取等待同一 URL 正在进行的拦截器调用的请求数量。
+     *
+     * @return 共用调用次数。
+     */
+    public long getSharedCalls() {
+        return sharedCalls;
+    }
+
+    /**
+     * 获取白板停止等待并加载原始 URL 的次数。
+     *
+     * @return 超时次数。
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * 获取拦截器调用抛出异常或返回 `null` 的次数。
+     *
+     * @return 失败次数。
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * 获取缓存中当前替换后 URL 的数量。
+     *
+     * @return URL 数量。
+     */
+    public long getCachedUrls() {
+        return cachedUrls;
+    }
+}
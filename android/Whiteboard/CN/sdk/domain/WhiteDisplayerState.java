@@ -13,7 +13,7 @@ import com.google.gson.JsonSyntaxException;
 public class WhiteDisplayerState extends WhiteObject {
 
     static Gson gson = new Gson();
-    static Class<?> customClass = GlobalState.class;
+    static volatile Class<?> customClass = GlobalState.class;
 
     /**
      * 设置自定义 `GlobalState`类。
@@ -34,20 +34,52 @@ public class WhiteDisplayerState extends WhiteObject {
      *
      * @return 房间的全局状态。
      */
-    public GlobalState getGlobalState() {
-        String str = gson.toJson(globalState);
+    public synchronized GlobalState getGlobalState() {
+        // 仅在原始状态或自定义类变化时重新生成类型化实例
+        Class<?> clazz = customClass;
+        if (typedGlobalStateSource != globalState || typedGlobalStateClass != clazz) {
+            typedGlobalState = toGlobalState(globalState, clazz);
+            typedGlobalStateSource = globalState;
+            typedGlobalStateClass = clazz;
+        }
+        // 与保留类型化实例之前一样，每次调用返回各自的实例
+        return typedGlobalState != null ? WhiteObjectFields.of(typedGlobalState.getClass()).deepCopy(typedGlobalState) : null;
+    }
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     *
+     * 设置已使用 `clazz` 从该实例的全局状态转换得到的类型化全局状态，{@link #getGlobalState()} 不会再次转换。
+     */
+    public synchronized void presetGlobalState(GlobalState typedGlobalState, Class<?> clazz) {
+        this.typedGlobalState = typedGlobalState;
+        this.typedGlobalStateSource = globalState;
+        this.typedGlobalStateClass = clazz;
+    }
+
+    /**
+     * 文档中隐藏
+     */
+    public static Class<?> getCustomGlobalStateClass() {
+        return customClass;
+    }
+
+    /**
+     * 文档中隐藏
+     *
+     * 将原始全局状态转换为 `clazz`。转换失败时返回 `null`。
+     */
+    public static GlobalState toGlobalState(Object globalState, Class<?> clazz) {
         Object customInstance = null;
         try {
-            customInstance = gson.fromJson(str, customClass);
+            customInstance = gson.fromJson(gson.toJsonTree(globalState), clazz);
         } catch (JsonSyntaxException e) {
             Log.e("getGlobalState error", e.getMessage());
         }
-        if (customClass.isInstance(customInstance)) {
-            return ((GlobalState) customInstance);
-        } else {
-            return null;
-        }
+        return clazz.isInstance(customInstance) ? (GlobalState) customInstance : null;
     }
+    /// @endcond
 
     /**
      * 获取房间的用户列表。
@@ -71,6 +103,9 @@ public class WhiteDisplayerState extends WhiteObject {
     }
 
     private Object globalState;
+    private transient GlobalState typedGlobalState;
+    private transient Object typedGlobalStateSource;
+    private transient Class<?> typedGlobalStateClass;
     private RoomMember[] roomMembers;
     private SceneState sceneState;
 
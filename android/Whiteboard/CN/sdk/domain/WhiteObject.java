@@ -15,8 +15,7 @@ public class WhiteObject {
 
     public JSONObject toJSON() {
         try {
-            JSONObject jsonObject = new JSONObject(this.toString());
-            return jsonObject;
+            return WhiteObjectFields.of(getClass()).toJSON(this);
         } catch (Exception e) {
             return new JSONObject();
         }
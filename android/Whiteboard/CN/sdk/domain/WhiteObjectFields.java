@@ -0,0 +1,372 @@
+package com.herewhite.sdk.domain;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.annotations.SerializedName;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/// @cond test
+/**
+ * 文档中隐藏
+ *
+ * 按类缓存 Gson 会序列化的字段，复制、合并和转换 {@link WhiteObject} 实例时无需每次重复反射查找。
+ * 转换规则与 Gson 默认规则一致：省略 `null` 字段，并遵循 {@link SerializedName}。
+ */
+public final class WhiteObjectFields {
+    private static final Gson gson = new Gson();
+    private static final ConcurrentHashMap<Class<?>, WhiteObjectFields> cache = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Enum<?>, String> enumNames = new ConcurrentHashMap<>();
+
+    private final Class<?> clazz;
+    private final Field[] fields;
+    private final String[] names;
+    private final Map<String, Field> fieldsByName;
+    private final Constructor<?> constructor;
+
+    /**
+     * 获取该类缓存的字段信息。
+     */
+    public static WhiteObjectFields of(Class<?> clazz) {
+        WhiteObjectFields fields = cache.get(clazz);
+        if (fields == null) {
+            fields = new WhiteObjectFields(clazz);
+            WhiteObjectFields previous = cache.putIfAbsent(clazz, fields);
+            if (previous != null) {
+                fields = previous;
+            }
+        }
+        return fields;
+    }
+
+    private WhiteObjectFields(Class<?> clazz) {
+        this.clazz = clazz;
+
+        List<Field> fieldList = new ArrayList<>();
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fieldList.add(field);
+            }
+        }
+        this.fields = fieldList.toArray(new Field[0]);
+        this.names = new String[fields.length];
+
+        Map<String, Field> byName = new HashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            names[i] = serializedName(fields[i]);
+            byName.put(names[i], fields[i]);
+        }
+        this.fieldsByName = Collections.unmodifiableMap(byName);
+
+        Constructor<?> noArgs = null;
+        try {
+            noArgs = clazz.getDeclaredConstructor();
+            noArgs.setAccessible(true);
+        } catch (Exception e) {
+            // 没有无参构造函数，改用 Gson 创建实例
+        }
+        this.constructor = noArgs;
+    }
+
+    private static String serializedName(Field field) {
+        SerializedName annotation = field.getAnnotation(SerializedName.class);
+        return annotation != null ? annotation.value() : field.getName();
+    }
+
+    /**
+     * 可序列化的字段，包括父类中声明的字段。
+     */
+    public Field[] fields() {
+        return fields;
+    }
+
+    /**
+     * {@link #fields()} 中相同下标字段对应的 JSON 键名。
+     */
+    public String[] names() {
+        return names;
+    }
+
+    /**
+     * 按 JSON 键名查找字段，不存在时返回 `null`。
+     */
+    public Field field(String name) {
+        return fieldsByName.get(name);
+    }
+
+    /**
+     * 创建该类的空实例。
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T newInstance() {
+        if (constructor != null) {
+            try {
+                return (T) constructor.newInstance();
+            } catch (Exception e) {
+                // 构造函数调用失败时改用 Gson 创建实例
+            }
+        }
+        return (T) gson.fromJson("{}", clazz);
+    }
+
+    /**
+     * 返回 `source` 的浅拷贝。
+     */
+    public <T> T copy(T source) {
+        T target = newInstance();
+        try {
+            for (Field field : fields) {
+                field.set(target, field.get(source));
+            }
+        } catch (IllegalAccessException e) {
+            return source;
+        }
+        return target;
+    }
+
+    /**
+     * 返回 `source` 的深拷贝：数组、列表、映射、JSON 树和嵌套的普通对象也会被复制。
+     */
+    public <T> T deepCopy(T source) {
+        T target = newInstance();
+        try {
+            for (Field field : fields) {
+                field.set(target, deepCopyValue(field.get(source)));
+            }
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            return source;
+        }
+        return target;
+    }
+
+    /**
+     * 返回任意值的深拷贝，详见 {@link #deepCopy(Object)}。不可变的值直接返回。
+     */
+    @SuppressWarnings("unchecked")
+    public static Object deepCopyValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum) {
+            return value;
+        }
+        if (value instanceof JsonElement) {
+            return ((JsonElement) value).deepCopy();
+        }
+        Class<?> clazz = value.getClass();
+        if (clazz.isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(clazz.getComponentType(), length);
+            for (int i = 0; i < length; i++) {
+                Array.set(copy, i, deepCopyValue(Array.get(value, i)));
+            }
+            return copy;
+        }
+        // 只复制标准集合，保证副本可以赋值给字段声明的类型。
+        if (clazz == ArrayList.class) {
+            ArrayList<Object> copy = new ArrayList<>();
+            for (Object item : (ArrayList<Object>) value) {
+                copy.add(deepCopyValue(item));
+            }
+            return copy;
+        }
+        if (clazz == HashMap.class) {
+            HashMap<Object, Object> copy = new HashMap<>();
+            for (Map.Entry<Object, Object> entry : ((HashMap<Object, Object>) value).entrySet()) {
+                copy.put(entry.getKey(), deepCopyValue(entry.getValue()));
+            }
+            return copy;
+        }
+        if (value instanceof Collection || value instanceof Map || !isPlainObject(clazz)) {
+            return value;
+        }
+        return of(clazz).deepCopy(value);
+    }
+
+    /**
+     * 返回一个新实例，字段取自 `base`，并由 `update` 中所有非 `null` 的字段覆盖。
+     * 不会修改两个参数。
+     */
+    public <T> T overlay(T base, T update) {
+        T target = newInstance();
+        try {
+            for (Field field : fields) {
+                Object value = field.get(update);
+                field.set(target, value != null ? value : field.get(base));
+            }
+        } catch (IllegalAccessException e) {
+            return update;
+        }
+        return target;
+    }
+
+    /**
+     * 将 `source` 转换为 `JSONObject`，内容与 `new JSONObject(gson.toJson(source))` 相同，
+     * 但无需先输出 JSON 字符串再重新解析。
+     */
+    public JSONObject toJSON(Object source) throws JSONException {
+        JSONObject json = new JSONObject();
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                Object value = fields[i].get(source);
+                if (value != null) {
+                    json.put(names[i], toJSONValue(value));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new JSONException(e.getMessage());
+        }
+        return json;
+    }
+
+    private static Object toJSONValue(Object value) throws JSONException {
+        if (value == null) {
+            return JSONObject.NULL;
+        }
+        if (value instanceof String || value instanceof Boolean || value instanceof Number) {
+            return value;
+        }
+        if (value instanceof Character) {
+            return value.toString();
+        }
+        if (value instanceof Enum) {
+            return enumName((Enum<?>) value);
+        }
+        if (value instanceof JsonElement) {
+            return fromJsonElement((JsonElement) value);
+        }
+        if (value.getClass().isArray()) {
+            JSONArray array = new JSONArray();
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                array.put(toJSONValue(Array.get(value, i)));
+            }
+            return array;
+        }
+        if (value instanceof Collection) {
+            JSONArray array = new JSONArray();
+            for (Object item : (Collection<?>) value) {
+                array.put(toJSONValue(item));
+            }
+            return array;
+        }
+        if (value instanceof Map) {
+            JSONObject object = new JSONObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (entry.getValue() != null) {
+                    object.put(String.valueOf(entry.getKey()), toJSONValue(entry.getValue()));
+                }
+            }
+            return object;
+        }
+        if (isPlainObject(value.getClass())) {
+            return of(value.getClass()).toJSON(value);
+        }
+        // 平台类型可能有专门的 Gson 适配器，由 Gson 决定其表示形式
+        return fromJsonElement(gson.toJsonTree(value));
+    }
+
+    /**
+     * 逐字段比较两个值，数组和普通对象会递归比较，其他值使用 `equals` 比较。
+     */
+    public static boolean deepEquals(Object a, Object b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a.getClass() != b.getClass()) {
+            return false;
+        }
+        Class<?> clazz = a.getClass();
+        if (clazz.isArray()) {
+            int length = Array.getLength(a);
+            if (length != Array.getLength(b)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (!deepEquals(Array.get(a, i), Array.get(b, i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof Enum || a instanceof Collection || a instanceof Map || !isPlainObject(clazz)) {
+            return a.equals(b);
+        }
+        try {
+            for (Field field : of(clazz).fields) {
+                if (!deepEquals(field.get(a), field.get(b))) {
+                    return false;
+                }
+            }
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isPlainObject(Class<?> clazz) {
+        String name = clazz.getName();
+        return !(name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("android.") || name.startsWith("org.json."));
+    }
+
+    private static String enumName(Enum<?> value) {
+        String name = enumNames.get(value);
+        if (name == null) {
+            // 与 Gson 一致，遵循枚举常量上的 @SerializedName
+            name = gson.toJsonTree(value).getAsString();
+            enumNames.put(value, name);
+        }
+        return name;
+    }
+
+    private static Object fromJsonElement(JsonElement element) throws JSONException {
+        if (element == null || element.isJsonNull()) {
+            return JSONObject.NULL;
+        }
+        if (element.isJsonObject()) {
+            JSONObject object = new JSONObject();
+            for (Map.Entry<String, JsonElement> entry : ((JsonObject) element).entrySet()) {
+                if (!entry.getValue().isJsonNull()) {
+                    object.put(entry.getKey(), fromJsonElement(entry.getValue()));
+                }
+            }
+            return object;
+        }
+        if (element.isJsonArray()) {
+            JSONArray array = new JSONArray();
+            for (JsonElement item : (JsonArray) element) {
+                array.put(fromJsonElement(item));
+            }
+            return array;
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isNumber()) {
+            return primitive.getAsNumber();
+        }
+        return primitive.getAsString();
+    }
+}
+/// @endcond
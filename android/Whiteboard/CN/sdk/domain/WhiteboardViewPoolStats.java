@@ -0,0 +1,99 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * 白板视图池的统计数据，详见 {@link com.herewhite.sdk.WhiteboardViewPool#getStats() getStats}。
+ *
+ * 视图的启动时间为从取出视图到白板页面加载完成的时间。
+ * 热启动取出的是视图池提前创建的视图，其页面通常已加载完成。冷启动在取出时创建视图，因为视图池为空。
+ *
+ * @since 2.16.101
+ */
+public class WhiteboardViewPoolStats extends WhiteObject {
+
+    private long warmStarts;
+    private long warmStartupTime;
+    private long coldStarts;
+    private long coldStartupTime;
+    private long idleViews;
+    private long createdViews;
+    private long trimmedViews;
+
+    /// @cond test
+    /**
+     * 文档中隐藏
+     */
+    public WhiteboardViewPoolStats(long warmStarts, long warmStartupTime, long coldStarts, long coldStartupTime,
+                                   long idleViews, long createdViews, long trimmedViews) {
+        this.warmStarts = warmStarts;
+        this.warmStartupTime = warmStartupTime;
+        this.coldStarts = coldStarts;
+        this.coldStartupTime = coldStartupTime;
+        this.idleViews = idleViews;
+        this.createdViews = createdViews;
+        this.trimmedViews = trimmedViews;
+    }
+    /// @endcond
+
+    /**
+     * 获取从提前创建的视图中取出的视图数量。
+     *
+     * @return 热启动次数。
+     */
+    public long getWarmStarts() {
+        return warmStarts;
+    }
+
+    /**
+     * 获取热启动的平均启动时间。
+     *
+     * @return 平均启动时间，单位为毫秒。取出时页面已加载完成的视图计为 0。
+     */
+    public long getWarmStartupTime() {
+        return warmStartupTime;
+    }
+
+    /**
+     * 获取取出时才创建的视图数量。
+     *
+     * @return 冷启动次数。
+     */
+    public long getColdStarts() {
+        return coldStarts;
+    }
+
+    /**
+     * 获取冷启动的平均启动时间。
+     *
+     * @return 平均启动时间，单位为毫秒。
+     */
+    public long getColdStartupTime() {
+        return coldStartupTime;
+    }
+
+    /**
+     * 获取当前在视图池中等待的视图数量。
+     *
+     * @return 空闲视图数量。
+     */
+    public long getIdleViews() {
+        return idleViews;
+    }
+
+    /**
+     * 获取视图池创建的视图数量。
+     *
+     * @return 创建的视图数量。
+     */
+    public long getCreatedViews() {
+        return createdViews;
+    }
+
+    /**
+     * 获取为释放内存而销毁的空闲视图数量。
+     *
+     * @return 被回收的视图数量。
+     */
+    public long getTrimmedViews() {
+        return trimmedViews;
+    }
+}
@@ -0,0 +1,22 @@
+package com.herewhite.sdk;
+
+/**
+ * The asynchronous interface for replacing the URLs of the resources loaded by the whiteboard. See
+ * {@link WhiteSdk#setAsyncUrlInterrupter(AsyncUrlInterrupter, com.herewhite.sdk.domain.UrlInterrupterOptions) setAsyncUrlInterrupter}.
+ *
+ * @since 2.16.101
+ */
+public interface AsyncUrlInterrupter {
+
+    /**
+     * Replaces the URL of a resource.
+     *
+     * @note This method is called on a thread of the SDK, not on the thread of the whiteboard. It can do slow work such
+     * as signing the URL, or pass `resultCaller` to another thread and return immediately.
+     *
+     * @param sourceUrl    The original URL of the resource.
+     * @param resultCaller Pass the URL to replace `sourceUrl` with to `resultCaller.invoke`. Pass `null` to keep `sourceUrl`,
+     *                     in which case the result is not cached.
+     */
+    void urlInterrupter(String sourceUrl, ResultCaller<String> resultCaller);
+}
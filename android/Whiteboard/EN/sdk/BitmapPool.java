@@ -0,0 +1,102 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps released bitmaps so that later decodes can reuse their memory through `BitmapFactory.Options.inBitmap`.
+ * <p>
+ * Bitmaps are bucketed by allocation size in powers of two, so a lookup only scans the buckets that can hold the
+ * requested size. The pool keeps at most {@link #MAX_BITMAPS_PER_BUCKET} bitmaps per bucket and
+ * {@link #MAX_POOL_BYTES} in total, a bitmap released beyond these limits is recycled.
+ */
+class BitmapPool {
+    private static final int MAX_BITMAPS_PER_BUCKET = 2;
+    private static final long MAX_POOL_BYTES = 32L * 1024 * 1024;
+
+    private final Map<Integer, ArrayDeque<Bitmap>> buckets = new HashMap<>();
+    private long pooledBytes;
+
+    /**
+     * Takes a bitmap whose allocation can hold `byteCount` bytes, or returns `null` if the pool has none.
+     */
+    synchronized Bitmap acquire(int byteCount) {
+        if (byteCount <= 0) {
+            return null;
+        }
+        int floor = bucket(byteCount);
+        // Bitmaps in the floor bucket may be smaller than requested, bitmaps in the next one are always large enough.
+        Bitmap bitmap = take(floor, byteCount);
+        if (bitmap == null) {
+            bitmap = take(floor + 1, byteCount);
+        }
+        return bitmap;
+    }
+
+    private Bitmap take(int bucket, int byteCount) {
+        ArrayDeque<Bitmap> bitmaps = buckets.get(bucket);
+        if (bitmaps == null) {
+            return null;
+        }
+        for (Bitmap bitmap : bitmaps) {
+            if (bitmap.getAllocationByteCount() >= byteCount) {
+                bitmaps.remove(bitmap);
+                pooledBytes -= bitmap.getAllocationByteCount();
+                return bitmap;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a bitmap that is no longer used. Only mutable bitmaps can be reused by the decoder.
+     */
+    void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        if (!bitmap.isMutable() || !offer(bitmap)) {
+            bitmap.recycle();
+        }
+    }
+
+    private synchronized boolean offer(Bitmap bitmap) {
+        int byteCount = bitmap.getAllocationByteCount();
+        int bucket = bucket(byteCount);
+        ArrayDeque<Bitmap> bitmaps = buckets.get(bucket);
+        if (bitmaps == null) {
+            bitmaps = new ArrayDeque<>();
+            buckets.put(bucket, bitmaps);
+        }
+        if (bitmaps.contains(bitmap)) {
+            // Released twice, it is already pooled.
+            return true;
+        }
+        if (bitmaps.size() >= MAX_BITMAPS_PER_BUCKET || pooledBytes + byteCount > MAX_POOL_BYTES) {
+            return false;
+        }
+        bitmaps.add(bitmap);
+        pooledBytes += byteCount;
+        return true;
+    }
+
+    /**
+     * Recycles every pooled bitmap.
+     */
+    synchronized void clear() {
+        for (ArrayDeque<Bitmap> bitmaps : buckets.values()) {
+            for (Bitmap bitmap : bitmaps) {
+                bitmap.recycle();
+            }
+        }
+        buckets.clear();
+        pooledBytes = 0;
+    }
+
+    private static int bucket(int byteCount) {
+        return 31 - Integer.numberOfLeadingZeros(byteCount);
+    }
+}
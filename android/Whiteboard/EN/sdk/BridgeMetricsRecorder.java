@@ -0,0 +1,170 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.BridgeMethodMetrics;
+
+import org.json.JSONArray;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import wendu.dsbridge.OnReturnValue;
+
+/**
+ * Records per-method call counts, payload sizes and send-to-return latency of bridge calls.
+ * Recording is lock-free; the payload size is only measured on sampled calls, as it needs an extra serialization.
+ */
+class BridgeMetricsRecorder {
+    private static final int PAYLOAD_SAMPLE_INTERVAL = 16;
+
+    /**
+     * Upper bounds (µs) of the latency buckets, growing by a factor of √2 from 50 µs to about 40 s.
+     */
+    private static final long[] BUCKET_BOUNDS_MICROS = new long[40];
+
+    static {
+        double bound = 50;
+        for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+            BUCKET_BOUNDS_MICROS[i] = Math.round(bound);
+            bound *= Math.sqrt(2);
+        }
+    }
+
+    private final ConcurrentHashMap<String, MethodRecord> records = new ConcurrentHashMap<>();
+
+    private static class MethodRecord {
+        final AtomicLong calls = new AtomicLong();
+        final AtomicLong sampledCalls = new AtomicLong();
+        final AtomicLong sampledBytes = new AtomicLong();
+        final AtomicLong maxBytes = new AtomicLong();
+        final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKET_BOUNDS_MICROS.length + 1);
+    }
+
+    private MethodRecord record(String method) {
+        MethodRecord record = records.get(method);
+        if (record == null) {
+            record = new MethodRecord();
+            MethodRecord previous = records.putIfAbsent(method, record);
+            if (previous != null) {
+                record = previous;
+            }
+        }
+        return record;
+    }
+
+    /**
+     * Records a call whose arguments are already converted to bridge maps, and returns the handler to pass to the bridge.
+     * The returned handler records the latency when the WebView answers.
+     */
+    <T> OnReturnValue<T> onCall(String method, Object[] bridgeArgs, OnReturnValue<T> handler) {
+        MethodRecord record = record(method);
+        long calls = record.calls.incrementAndGet();
+        if ((calls - 1) % PAYLOAD_SAMPLE_INTERVAL == 0) {
+            long bytes = payloadBytes(bridgeArgs);
+            record.sampledCalls.incrementAndGet();
+            record.sampledBytes.addAndGet(bytes);
+            long max;
+            while (bytes > (max = record.maxBytes.get()) && !record.maxBytes.compareAndSet(max, bytes)) {
+                // retry until the max is updated or a larger value wins
+            }
+        }
+
+        if (handler == null) {
+            return null;
+        }
+        final long start = System.nanoTime();
+        return value -> {
+            recordLatency(record, (System.nanoTime() - start) / 1000);
+            handler.onValue(value);
+        };
+    }
+
+    /**
+     * Records a call from the WebView handled by the SDK, with the time it took to handle it.
+     */
+    void onHandled(String method, long micros) {
+        MethodRecord record = record(method);
+        record.calls.incrementAndGet();
+        recordLatency(record, micros);
+    }
+
+    private static void recordLatency(MethodRecord record, long micros) {
+        int index = Arrays.binarySearch(BUCKET_BOUNDS_MICROS, micros);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        record.latencyBuckets.incrementAndGet(index);
+    }
+
+    private static long payloadBytes(Object[] bridgeArgs) {
+        if (bridgeArgs == null) {
+            return 0;
+        }
+        String json = new JSONArray(Arrays.asList(bridgeArgs)).toString();
+        long bytes = 0;
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    Map<String, BridgeMethodMetrics> snapshot() {
+        Map<String, BridgeMethodMetrics> result = new HashMap<>();
+        for (Map.Entry<String, MethodRecord> entry : records.entrySet()) {
+            MethodRecord record = entry.getValue();
+            long[] buckets = new long[record.latencyBuckets.length()];
+            long latencyCount = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = record.latencyBuckets.get(i);
+                latencyCount += buckets[i];
+            }
+            long sampledCalls = record.sampledCalls.get();
+            long averageBytes = sampledCalls == 0 ? 0 : record.sampledBytes.get() / sampledCalls;
+            result.put(entry.getKey(), new BridgeMethodMetrics(
+                    record.calls.get(),
+                    averageBytes,
+                    record.maxBytes.get(),
+                    latencyCount,
+                    percentileMillis(buckets, latencyCount, 0.50),
+                    percentileMillis(buckets, latencyCount, 0.95),
+                    percentileMillis(buckets, latencyCount, 0.99)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the upper bound of the bucket containing the percentile, so the value does not under-report the latency
+     * (latencies beyond the last bucket are reported as the last bound).
+     */
+    private static double percentileMillis(long[] buckets, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile);
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += buckets[i];
+            if (cumulative >= threshold) {
+                return BUCKET_BOUNDS_MICROS[Math.min(i, BUCKET_BOUNDS_MICROS.length - 1)] / 1000.0;
+            }
+        }
+        return BUCKET_BOUNDS_MICROS[BUCKET_BOUNDS_MICROS.length - 1] / 1000.0;
+    }
+
+    void reset() {
+        records.clear();
+    }
+}
@@ -0,0 +1,45 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.SlideErrorType;
+import com.herewhite.sdk.window.SlideListener;
+
+/**
+ * Downloads the slide resources into the {@link SlideResourceCache}, and forwards the resources and the events to the
+ * listener of the app. The WebView reads the cached resources through {@link SlideResourceCache#resolve(String)}.
+ */
+class CachingSlideListener implements SlideListener {
+    private final SlideResourceCache cache;
+    private final SlideListener delegate;
+
+    CachingSlideListener(SlideResourceCache cache, SlideListener delegate) {
+        this.cache = cache;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void slideUrlInterrupter(final String sourceUrl, final ResultCaller<String> resultCaller) {
+        // The URL is kept: a cached resource is served when the WebView requests it, see SlideResourceCache#resolve.
+        final boolean cached = cache.contains(sourceUrl);
+        if (delegate == null) {
+            if (!cached) {
+                cache.fetch(sourceUrl, sourceUrl);
+            }
+            resultCaller.invoke(sourceUrl);
+            return;
+        }
+        // Download from the URL of the app, which may be signed, but cache it under the source URL.
+        delegate.slideUrlInterrupter(sourceUrl, url -> {
+            if (!cached) {
+                cache.fetch(sourceUrl, url);
+            }
+            resultCaller.invoke(url);
+        });
+    }
+
+    @Override
+    public void onSlideError(SlideErrorType errorType, String errorMsg, String slideId, int slideIndex) {
+        if (delegate != null) {
+            delegate.onSlideError(errorType, errorMsg, slideId, slideIndex);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executors for {@link Displayer#setCallbackExecutor setCallbackExecutor} and {@link Displayer#setEventCallbackExecutor setEventCallbackExecutor}.
+ *
+ * @since 2.16.101
+ */
+public final class CallbackExecutors {
+    private static final Executor MAIN = new Executor() {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+    };
+    private static final Executor DIRECT = Runnable::run;
+
+    private CallbackExecutors() {
+    }
+
+    /**
+     * Gets the executor that triggers callbacks on the main thread.
+     *
+     * @return The main thread executor.
+     */
+    public static Executor main() {
+        return MAIN;
+    }
+
+    /**
+     * Gets the executor that triggers callbacks directly on the thread that receives them from the whiteboard.
+     *
+     * @note The callbacks must return quickly, as they delay the other messages from the whiteboard.
+     *
+     * @return The direct executor.
+     */
+    public static Executor direct() {
+        return DIRECT;
+    }
+}
@@ -0,0 +1,192 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A directory of cache files bounded by total size, evicting the least recently used files first.
+ * <p>
+ * The index is loaded from the directory on first use. The read time of a file is kept in its last modified time, so the
+ * eviction order survives app restarts. Methods do file I/O and should not be called on the main thread.
+ */
+class DiskLruFiles {
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean loaded;
+    /**
+     * Set once the index is loaded, so that {@link #peek(String)} never waits for the loading.
+     */
+    private volatile boolean ready;
+    private volatile long bytes;
+    private volatile long evictions;
+
+    DiskLruFiles(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets a cached file and marks it as recently used, or returns `null` if it is not cached.
+     */
+    synchronized File get(String name) {
+        load();
+        if (entries.get(name) == null) {
+            return null;
+        }
+        File file = new File(directory, name);
+        if (!file.isFile()) {
+            removeEntry(name);
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * Gets the path of a file in the cache directory, without checking that it is cached.
+     */
+    File file(String name) {
+        return new File(directory, name);
+    }
+
+    synchronized boolean contains(String name) {
+        load();
+        return entries.containsKey(name);
+    }
+
+    /**
+     * Checks whether a file is cached from the index in memory, without file I/O. Returns `false` until the index is
+     * loaded, see {@link #preload()}.
+     */
+    boolean peek(String name) {
+        if (!ready) {
+            return false;
+        }
+        synchronized (this) {
+            return entries.get(name) != null;
+        }
+    }
+
+    /**
+     * Loads the index, so that later calls do not list the directory.
+     */
+    synchronized void preload() {
+        load();
+    }
+
+    /**
+     * Gets the file to write before {@link #commit}, so that readers never see a partial file.
+     */
+    synchronized File tempFile(String name) {
+        load();
+        return new File(directory, name + TMP_SUFFIX);
+    }
+
+    synchronized void commit(String name, File tempFile) throws IOException {
+        load();
+        File file = new File(directory, name);
+        if (!tempFile.renameTo(file)) {
+            tempFile.delete();
+            throw new IOException("rename failed: " + file);
+        }
+        removeEntry(name);
+        entries.put(name, file.length());
+        bytes += file.length();
+        trim();
+    }
+
+    synchronized void remove(String name) {
+        load();
+        if (removeEntry(name)) {
+            new File(directory, name).delete();
+        }
+    }
+
+    long size() {
+        return bytes;
+    }
+
+    long evictionCount() {
+        return evictions;
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        loadEntries();
+        ready = true;
+    }
+
+    private void loadEntries() {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Logger.error("An exception occurred while create cache directory", new IOException("mkdirs failed: " + directory));
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : files) {
+            if (file.getName().endsWith(TMP_SUFFIX)) {
+                // Left by an interrupted write.
+                file.delete();
+            } else if (file.isFile()) {
+                entries.put(file.getName(), file.length());
+                bytes += file.length();
+            }
+        }
+        trim();
+    }
+
+    private boolean removeEntry(String name) {
+        Long length = entries.remove(name);
+        if (length == null) {
+            return false;
+        }
+        bytes -= length;
+        return true;
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            iterator.remove();
+            bytes -= entry.getValue();
+            new File(directory, entry.getKey()).delete();
+            evictions++;
+        }
+    }
+
+    /**
+     * Derives a file name from a cache key. The suffix is kept, so that the file type can be told from the name.
+     */
+    static String fileName(String key, String suffix) {
+        StringBuilder name = new StringBuilder();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(UTF_8));
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+        } catch (NoSuchAlgorithmException e) {
+            name.append(Integer.toHexString(key.hashCode()));
+        }
+        return name.append(suffix).toString();
+    }
+}
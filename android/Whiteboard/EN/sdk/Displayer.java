@@ -1,25 +1,30 @@
 package com.herewhite.sdk;
 
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Color;
-import android.os.Handler;
-import android.os.Looper;
-import android.util.Base64;
+import android.util.Size;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
 import com.herewhite.sdk.domain.AnimationMode;
 import com.herewhite.sdk.domain.CameraBound;
+import com.herewhite.sdk.domain.CallbackDispatchStats;
 import com.herewhite.sdk.domain.CameraConfig;
+import com.herewhite.sdk.domain.EventBufferOptions;
+import com.herewhite.sdk.domain.EventEntry;
 import com.herewhite.sdk.domain.EventListener;
+import com.herewhite.sdk.domain.EventPayloadCodec;
 import com.herewhite.sdk.domain.FrequencyEventListener;
 import com.herewhite.sdk.domain.Point;
 import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.RectangleConfig;
 import com.herewhite.sdk.domain.SDKError;
 import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.SceneIndexMode;
+import com.herewhite.sdk.domain.ScenePreviewCacheOptions;
+import com.herewhite.sdk.domain.ScenePreviewCacheStats;
+import com.herewhite.sdk.domain.SceneState;
 import com.herewhite.sdk.domain.WhiteObject;
 import com.herewhite.sdk.domain.WhiteScenePathType;
 import com.herewhite.sdk.internal.Logger;
@@ -27,8 +32,14 @@ import com.herewhite.sdk.internal.Logger;
 import org.json.JSONObject;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.VisibleForTesting;
@@ -40,39 +51,122 @@ import wendu.dsbridge.OnReturnValue;
  */
 public class Displayer {
     protected final static Gson gson = new Gson();
+    private static final int MAX_BUFFERED_EVENT_THREADS = 4;
+    /**
+     * Runs the buffered high-frequency event listeners, off the thread that receives the events.
+     */
+    private static final Executor bufferedEventExecutor = Executors.newFixedThreadPool(MAX_BUFFERED_EVENT_THREADS);
     @ColorInt
     private int backgroundColor = Color.WHITE;
 
     protected final JsBridgeInterface bridge;
     protected String uuid;
     protected int densityDpi;
-    private Handler handler;
+    private volatile MeasuredExecutor callbackExecutor = new MeasuredExecutor(CallbackExecutors.main());
+    private final Executor defaultEventCallbackExecutor;
+    private volatile MeasuredExecutor eventCallbackExecutor;
 
     @VisibleForTesting
     ConcurrentHashMap<String, EventListener> eventListenerMap = new ConcurrentHashMap<>();
     @VisibleForTesting
     ConcurrentHashMap<String, FrequencyEventListener> frequencyEventListenerMap = new ConcurrentHashMap<>();
+    @VisibleForTesting
+    ConcurrentHashMap<String, EventRingBuffer> frequencyEventBufferMap = new ConcurrentHashMap<>();
+    @VisibleForTesting
+    final MagixEventDispatcher magixEventDispatcher = new MagixEventDispatcher();
+    @VisibleForTesting
+    ConcurrentHashMap<String, EventPayloadCodec<?>> payloadCodecMap = new ConcurrentHashMap<>();
+    private final SceneImageDecoder sceneImageDecoder;
+    private final Object scenePreviewLock = new Object();
+    private volatile ScenePreviewCache scenePreviewCache;
+    private SceneState previewSceneState;
+    @VisibleForTesting
+    final SceneIndex sceneIndex = new SceneIndex();
+    private volatile SceneIndexMode sceneIndexMode = SceneIndexMode.DISABLED;
+    private final AtomicLong sceneIndexMismatches = new AtomicLong();
 
     /// @cond test
     /**
      *Hidden in documentation
      */
     public Displayer(String uuid, JsBridgeInterface bridge, int densityDpi) {
+        this(uuid, bridge, densityDpi, CallbackExecutors.direct());
+    }
+    /// @endcond
+
+    /**
+     * @param defaultEventCallbackExecutor The executor of the customized event callbacks when the app sets none.
+     */
+    Displayer(String uuid, JsBridgeInterface bridge, int densityDpi, Executor defaultEventCallbackExecutor) {
         this.uuid = uuid;
         this.bridge = bridge;
         this.densityDpi = densityDpi;
+        this.sceneImageDecoder = new SceneImageDecoder(densityDpi);
+        this.defaultEventCallbackExecutor = defaultEventCallbackExecutor;
+        this.eventCallbackExecutor = new MeasuredExecutor(defaultEventCallbackExecutor);
     }
-    /// @endcond
 
-    private Handler getHandler() {
-        if (handler == null) {
-            handler = new Handler(Looper.getMainLooper());
-        }
-        return handler;
+    protected void post(Runnable runnable) {
+        callbackExecutor.execute(runnable);
     }
 
-    protected void post(Runnable runnable) {
-        getHandler().post(runnable);
+    void postEvent(Runnable runnable) {
+        eventCallbackExecutor.execute(runnable);
+    }
+
+    private void postBufferedEvent(Runnable runnable) {
+        eventCallbackExecutor.execute(bufferedEventExecutor, runnable);
+    }
+
+    /**
+     * Sets the executor that triggers the state callbacks, such as {@link RoomListener} callbacks.
+     *
+     * @since 2.16.101
+     *
+     * By default, the SDK triggers these callbacks on the main thread. If your callbacks do not update the UI, such as analytics or
+     * recording code, you can trigger them on a background executor so that they do not compete with rendering.
+     *
+     * @param executor The executor. See {@link CallbackExecutors}. Pass `null` to use the main thread again.
+     */
+    public void setCallbackExecutor(Executor executor) {
+        callbackExecutor = new MeasuredExecutor(executor != null ? executor : CallbackExecutors.main());
+    }
+
+    /**
+     * Sets the executor that triggers the customized event callbacks, such as {@link com.herewhite.sdk.domain.EventListener EventListener} callbacks.
+     *
+     * @since 2.16.101
+     *
+     * By default, the SDK triggers the customized event callbacks of a {@link Room} on the thread that receives them from the whiteboard.
+     *
+     * @param executor The executor. See {@link CallbackExecutors}. Pass `null` to use the default thread again.
+     */
+    public void setEventCallbackExecutor(Executor executor) {
+        eventCallbackExecutor = new MeasuredExecutor(executor != null ? executor : defaultEventCallbackExecutor);
+    }
+
+    /**
+     * Gets the statistics of the state callbacks triggered through the executor set with {@link #setCallbackExecutor setCallbackExecutor}.
+     *
+     * @since 2.16.101
+     *
+     * @return The statistics, including the queue depth and the dispatch latency. See {@link com.herewhite.sdk.domain.CallbackDispatchStats CallbackDispatchStats}.
+     */
+    public CallbackDispatchStats getCallbackDispatchStats() {
+        return callbackExecutor.getStats();
+    }
+
+    /**
+     * Gets the statistics of the customized event callbacks triggered through the executor set with {@link #setEventCallbackExecutor setEventCallbackExecutor}.
+     *
+     * @since 2.16.101
+     *
+     * The statistics also include the callbacks of buffered high-frequency event listeners, which are always triggered on a background thread.
+     *
+     * @return The statistics, including the queue depth and the dispatch latency. See {@link com.herewhite.sdk.domain.CallbackDispatchStats CallbackDispatchStats}.
+     */
+    public CallbackDispatchStats getEventCallbackDispatchStats() {
+        return eventCallbackExecutor.getStats();
     }
 
     /**
@@ -110,11 +204,20 @@ public class Displayer {
      * - An error message, if the method call fails.
      *
      */
-    public void getScenePathType(String path, final Promise<WhiteScenePathType> promise) {
+    public void getScenePathType(final String path, final Promise<WhiteScenePathType> promise) {
+        final SceneIndexMode mode = sceneIndexMode;
+        final WhiteScenePathType local = mode != SceneIndexMode.DISABLED ? sceneIndex.pathType(path) : null;
+        if (local != null && mode == SceneIndexMode.LOCAL) {
+            promise.then(local);
+            return;
+        }
         bridge.callHandler("displayer.scenePathType", new Object[]{path}, new OnReturnValue<String>() {
             @Override
             public void onValue(String retValue) {
                 WhiteScenePathType type = gson.fromJson(retValue, WhiteScenePathType.class);
+                if (local != null) {
+                    verifySceneIndex("scenePathType " + path, local, type);
+                }
                 promise.then(type);
             }
         });
@@ -129,11 +232,21 @@ public class Displayer {
      * - The information about the specified scene, if the method call succeeds. See {@link com.herewhite.sdk.domain.Scene Scene}.
      * - An error message, if the method call fails.
      */
-    public void getScene(String path, final Promise<Scene> promise) {
+    public void getScene(final String path, final Promise<Scene> promise) {
+        final SceneIndexMode mode = sceneIndexMode;
+        final boolean indexed = mode != SceneIndexMode.DISABLED && sceneIndex.knowsScene(path);
+        final Scene local = indexed ? sceneIndex.scene(path) : null;
+        if (indexed && mode == SceneIndexMode.LOCAL) {
+            promise.then(local);
+            return;
+        }
         bridge.callHandler("displayer.getScene", new Object[]{path}, new OnReturnValue<String>() {
             @Override
             public void onValue(String retValue) {
                 Scene scene = gson.fromJson(retValue, Scene.class);
+                if (indexed) {
+                    verifySceneIndex("getScene " + path, local, scene);
+                }
                 promise.then(scene);
             }
         });
@@ -148,17 +261,164 @@ public class Displayer {
      * - An error message, if the method call fails.
      */
     public void getEntireScenes(final Promise<Map<String, Scene[]>> promise) {
+        final Map<String, Scene[]> local = sceneIndexMode == SceneIndexMode.VERIFY ? sceneIndex.entireScenes() : null;
+        final long revision = sceneIndex.getRevision();
         bridge.callHandler("displayer.entireScenes", new OnReturnValue<JSONObject>() {
             @Override
             public void onValue(JSONObject retValue) {
-                Type type = new TypeToken<Map<String, Scene[]>>() {
-                }.getType();
-                Map<String, Scene[]> map = gson.fromJson(String.valueOf(retValue), type);
+                Map<String, Scene[]> map = parseEntireScenes(retValue);
+                if (local != null) {
+                    verifySceneIndex("entireScenes", local, map);
+                }
+                if (map != null && sceneIndexMode != SceneIndexMode.DISABLED) {
+                    sceneIndex.reset(map, revision);
+                }
                 promise.then(map);
             }
         });
     }
 
+    private static Map<String, Scene[]> parseEntireScenes(JSONObject retValue) {
+        Type type = new TypeToken<Map<String, Scene[]>>() {
+        }.getType();
+        return gson.fromJson(String.valueOf(retValue), type);
+    }
+
+    /**
+     * Sets how scene lookups use the local scene index.
+     *
+     * @since 2.16.101
+     *
+     * The SDK keeps a local index of the scene tree, updated from the scene state of the room and from the scene operations of
+     * this client, such as {@link Room#putScenes(String, Scene[], int) putScenes}, {@link Room#moveScene(String, String) moveScene}
+     * and {@link Room#removeScenes(String) removeScenes}. When the index is enabled, {@link #getScenePathType(String) getScenePathType},
+     * {@link #getScene(String) getScene} and {@link #getEntireScenes() getEntireScenes} answer synchronously from the index, and
+     * the promise-based lookups skip the round trip to the whiteboard when the index can answer, except
+     * {@link #getEntireScenes(Promise) getEntireScenes}, which always queries the whiteboard and refreshes the index with the result.
+     *
+     * @note
+     * - Enabling the index queries all scenes once. Until the result arrives, only scenes in the current directory are indexed.
+     * - Scenes changed by other users outside the current directory are only updated when that directory becomes the current
+     * one, or when {@link #getEntireScenes(Promise) getEntireScenes} is called.
+     *
+     * @param mode The lookup mode. See {@link SceneIndexMode}. The default value is `DISABLED`.
+     */
+    public void setSceneIndexMode(SceneIndexMode mode) {
+        sceneIndex.setEnabled(mode != null && mode != SceneIndexMode.DISABLED);
+        sceneIndexMode = mode != null ? mode : SceneIndexMode.DISABLED;
+        ensureSceneIndex();
+    }
+
+    /**
+     * Gets the number of lookups in which the local scene index did not match the whiteboard, in the `VERIFY` mode.
+     *
+     * @since 2.16.101
+     *
+     * @return The number of mismatches.
+     */
+    public long getSceneIndexMismatchCount() {
+        return sceneIndexMismatches.get();
+    }
+
+    /**
+     * Gets the type of the scene path from the local scene index.
+     *
+     * @since 2.16.101
+     *
+     * @param path The path of the scene.
+     * @return The type of the scene path. See {@link com.herewhite.sdk.domain.WhiteScenePathType WhiteScenePathType}.
+     * Returns `null` if the local scene index is disabled, or cannot answer yet. See {@link #setSceneIndexMode(SceneIndexMode) setSceneIndexMode}.
+     */
+    public WhiteScenePathType getScenePathType(String path) {
+        if (sceneIndexMode == SceneIndexMode.DISABLED) {
+            return null;
+        }
+        WhiteScenePathType local = sceneIndex.pathType(path);
+        if (local != null && sceneIndexMode == SceneIndexMode.VERIFY) {
+            getScenePathType(path, ignoredPromise());
+        }
+        return local;
+    }
+
+    /**
+     * Gets the information about a specified scene from the local scene index.
+     *
+     * @since 2.16.101
+     *
+     * @param path The path of a scene. For example, `/math/classA`.
+     * @return The information about the scene. See {@link com.herewhite.sdk.domain.Scene Scene}. The `componentsCount` of a scene
+     * outside the current directory may be out of date. Returns `null` if the scene does not exist, or if the local scene index is
+     * disabled or cannot answer yet. See {@link #setSceneIndexMode(SceneIndexMode) setSceneIndexMode}.
+     */
+    public Scene getScene(String path) {
+        if (sceneIndexMode == SceneIndexMode.DISABLED || !sceneIndex.knowsScene(path)) {
+            return null;
+        }
+        if (sceneIndexMode == SceneIndexMode.VERIFY) {
+            getScene(path, ignoredPromise());
+        }
+        return sceneIndex.scene(path);
+    }
+
+    /**
+     * Gets information about all scenes in the room from the local scene index.
+     *
+     * @since 2.16.101
+     *
+     * @return The scenes of each scene directory, keyed by the path of the directory. Returns `null` if the local scene index is
+     * disabled or cannot answer yet. See {@link #setSceneIndexMode(SceneIndexMode) setSceneIndexMode}.
+     */
+    public Map<String, Scene[]> getEntireScenes() {
+        if (sceneIndexMode == SceneIndexMode.DISABLED) {
+            return null;
+        }
+        Map<String, Scene[]> local = sceneIndex.entireScenes();
+        if (local != null && sceneIndexMode == SceneIndexMode.VERIFY) {
+            getEntireScenes(ignoredPromise());
+        }
+        return local;
+    }
+
+    /**
+     * Seeds the local scene index if it is enabled and not complete. Called after scene operations that may invalidate it.
+     */
+    void ensureSceneIndex() {
+        if (sceneIndexMode == SceneIndexMode.DISABLED || sceneIndex.isComplete()) {
+            return;
+        }
+        final long revision = sceneIndex.getRevision();
+        bridge.callHandler("displayer.entireScenes", new OnReturnValue<JSONObject>() {
+            @Override
+            public void onValue(JSONObject retValue) {
+                Map<String, Scene[]> map = parseEntireScenes(retValue);
+                if (map != null && sceneIndexMode != SceneIndexMode.DISABLED && !sceneIndex.reset(map, revision)) {
+                    // A scene operation was sent meanwhile, the result may not include it.
+                    ensureSceneIndex();
+                }
+            }
+        });
+    }
+
+    private void verifySceneIndex(String query, Object local, Object remote) {
+        if (!SceneIndex.sameScenes(local, remote)) {
+            sceneIndexMismatches.incrementAndGet();
+            Logger.error("The local scene index does not match the whiteboard: " + query,
+                    new IllegalStateException("local: " + gson.toJson(local) + ", whiteboard: " + gson.toJson(remote)));
+        }
+    }
+
+    private static <T> Promise<T> ignoredPromise() {
+        return new Promise<T>() {
+            @Override
+            public void then(T t) {
+            }
+
+            @Override
+            public void catchEx(SDKError t) {
+            }
+        };
+    }
+
     /**
      * Refreshes the whiteboard view.
      *
@@ -236,6 +496,135 @@ public class Displayer {
         bridge.callHandler("displayer.addHighFrequencyEventListener", new Object[]{eventName, fireInterval});
     }
 
+    /**
+     * Adds a buffered listener for a customized high-frequency event.
+     *
+     * @since 2.16.101
+     *
+     * Unlike {@link #addHighFrequencyEventListener(String, FrequencyEventListener, Integer) addHighFrequencyEventListener}[1/2],
+     * you can add multiple listeners for the same event. The SDK buffers the events of each listener in a bounded buffer and triggers
+     * the callbacks on a background thread, with all the events received since the last callback. A slow listener does not delay
+     * the other listeners or the event reception of the room. Up to 4 listeners are triggered at the same time, and the callbacks
+     * are counted in {@link #getEventCallbackDispatchStats() getEventCallbackDispatchStats}.
+     *
+     * @note
+     * - The buffer options of the first listener added for an event apply to all the listeners of the event.
+     * - Call {@link #removeHighFrequencyEventListener(String, FrequencyEventListener) removeHighFrequencyEventListener} to remove one listener.
+     * - With {@link com.herewhite.sdk.domain.EventOverflowPolicy#BLOCK BLOCK}, a slow listener stalls every message from the whiteboard to the SDK, not only the events. See {@link com.herewhite.sdk.domain.EventOverflowPolicy EventOverflowPolicy}.
+     *
+     * @param eventName     The name of the event.
+     * @param eventListener The customized event callback. See {@link com.herewhite.sdk.domain.FrequencyEventListener FrequencyEventListener}.
+     * @param fireInterval  The interval (ms) at which the SDK receives the events. The minimum interval is 500 ms. The SDK automatically adjusts values smaller than 500 to 500.
+     * @param options       The buffer options. See {@link com.herewhite.sdk.domain.EventBufferOptions EventBufferOptions}. Pass `null` to use the default options.
+     */
+    public void addHighFrequencyEventListener(String eventName, FrequencyEventListener eventListener, Integer fireInterval, EventBufferOptions options) {
+        if (fireInterval < 500) {
+            fireInterval = 500;
+        }
+        if (options == null) {
+            options = new EventBufferOptions();
+        }
+        EventRingBuffer buffer = frequencyEventBufferMap.get(eventName);
+        if (buffer == null) {
+            buffer = new EventRingBuffer(options.getCapacity(), options.getOverflowPolicy(), this::postBufferedEvent);
+            EventRingBuffer previous = frequencyEventBufferMap.putIfAbsent(eventName, buffer);
+            if (previous != null) {
+                buffer = previous;
+            }
+        }
+        buffer.addListener(eventListener);
+        bridge.callHandler("displayer.addHighFrequencyEventListener", new Object[]{eventName, fireInterval});
+    }
+
+    /**
+     * Removes a buffered listener for a customized high-frequency event.
+     *
+     * @since 2.16.101
+     *
+     * The other listeners of the event are kept. When the last listener of the event is removed, the SDK stops receiving the event,
+     * unless a listener was also added by another method.
+     *
+     * @param eventName     The name of the event.
+     * @param eventListener The listener added by {@link #addHighFrequencyEventListener(String, FrequencyEventListener, Integer, EventBufferOptions) addHighFrequencyEventListener}[2/2].
+     */
+    public void removeHighFrequencyEventListener(String eventName, FrequencyEventListener eventListener) {
+        EventRingBuffer buffer = frequencyEventBufferMap.get(eventName);
+        if (buffer == null || !buffer.removeListener(eventListener)) {
+            return;
+        }
+        if (frequencyEventBufferMap.remove(eventName, buffer)) {
+            buffer.close();
+            if (!hasMagixEventListener(eventName)) {
+                bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventName});
+            }
+        }
+    }
+
+    /**
+     * Gets the number of events dropped because the buffered listeners of a high-frequency event were too slow.
+     *
+     * @since 2.16.101
+     *
+     * @param eventName The name of the event.
+     * @return The number of dropped events. An event dropped for several listeners is counted once for each listener.
+     */
+    public long getDroppedHighFrequencyEventCount(String eventName) {
+        EventRingBuffer buffer = frequencyEventBufferMap.get(eventName);
+        return buffer != null ? buffer.getDroppedEvents() : 0;
+    }
+
+    /**
+     * Sets the codec that decodes the payload of a customized event.
+     *
+     * @since 2.16.101
+     *
+     * After a successful call, {@link com.herewhite.sdk.domain.EventEntry#getPayload() EventEntry.getPayload} returns the value decoded by the codec.
+     * The payload is only decoded when the listener reads it.
+     *
+     * @param eventName The name of the event.
+     * @param codec     The payload codec. See {@link com.herewhite.sdk.domain.EventPayloadCodec EventPayloadCodec}. Pass `null` to remove the codec.
+     * @param <T>       The type of the decoded payload.
+     */
+    public <T> void setMagixEventPayloadCodec(String eventName, EventPayloadCodec<T> codec) {
+        if (codec == null) {
+            payloadCodecMap.remove(eventName);
+        } else {
+            payloadCodecMap.put(eventName, codec);
+        }
+    }
+
+    /**
+     * Sets the class that the payload of a customized event is decoded into.
+     *
+     * @since 2.16.101
+     *
+     * This is a shortcut for {@link #setMagixEventPayloadCodec setMagixEventPayloadCodec} with a codec that decodes the payload with Gson.
+     *
+     * @param eventName The name of the event.
+     * @param classOfT  The class of the payload, such as a POJO, `String` or `Double`.
+     * @param <T>       The type of the payload.
+     */
+    public <T> void setMagixEventPayloadClass(String eventName, Class<T> classOfT) {
+        setMagixEventPayloadCodec(eventName, payload -> gson.fromJson(payload, classOfT));
+    }
+
+    void attachPayloadCodec(EventEntry eventEntry) {
+        if (payloadCodecMap.isEmpty()) {
+            return;
+        }
+        EventPayloadCodec<?> codec = payloadCodecMap.get(eventEntry.getEventName());
+        if (codec != null) {
+            eventEntry.setPayloadCodec(codec);
+        }
+    }
+
+    void publishHighFrequencyEvent(EventEntry[] eventEntries) {
+        EventRingBuffer buffer = frequencyEventBufferMap.get(eventEntries[0].getEventName());
+        if (buffer != null) {
+            buffer.publish(eventEntries);
+        }
+    }
+
     /**
      * Removes a listener for a customized event.
      *
@@ -244,7 +633,55 @@ public class Displayer {
     public void removeMagixEventListener(String eventName) {
         this.eventListenerMap.remove(eventName);
         this.frequencyEventListenerMap.remove(eventName);
-        bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventName});
+        EventRingBuffer buffer = this.frequencyEventBufferMap.remove(eventName);
+        if (buffer != null) {
+            buffer.close();
+        }
+        if (!hasMagixEventListener(eventName)) {
+            bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventName});
+        }
+    }
+
+    private boolean hasMagixEventListener(String eventName) {
+        return eventListenerMap.containsKey(eventName)
+                || frequencyEventListenerMap.containsKey(eventName)
+                || frequencyEventBufferMap.containsKey(eventName)
+                || magixEventDispatcher.contains(eventName);
+    }
+
+    /**
+     * Subscribes to a customized event, or to all customized events whose names share a prefix.
+     *
+     * @since 2.16.101
+     *
+     * Unlike {@link #addMagixEventListener addMagixEventListener}, you can add multiple listeners for the same event, and the SDK
+     * only registers the event with the whiteboard once, when the first listener of the event name or prefix is added.
+     *
+     * @param eventPattern The name of the event, or a prefix pattern ending with `*`:
+     * - `"quiz.*"`: All the events whose names start with `"quiz."`.
+     * - `"*"`: All the events.
+     * @param eventListener The customized event callback. See {@link com.herewhite.sdk.domain.EventListener EventListener}.
+     */
+    public void subscribeMagixEvent(String eventPattern, EventListener eventListener) {
+        if (magixEventDispatcher.add(eventPattern, eventListener)) {
+            bridge.callHandler("displayer.addMagixEventListener", new Object[]{eventPattern});
+        }
+    }
+
+    /**
+     * Unsubscribes a listener added by {@link #subscribeMagixEvent subscribeMagixEvent}.
+     *
+     * @since 2.16.101
+     *
+     * The SDK unregisters the event from the whiteboard when the last listener of the event name or prefix is removed.
+     *
+     * @param eventPattern The event name or prefix pattern passed to {@link #subscribeMagixEvent subscribeMagixEvent}.
+     * @param eventListener The callback to remove.
+     */
+    public void unsubscribeMagixEvent(String eventPattern, EventListener eventListener) {
+        if (magixEventDispatcher.remove(eventPattern, eventListener) && !hasMagixEventListener(eventPattern)) {
+            bridge.callHandler("displayer.removeMagixEventListener", new Object[]{eventPattern});
+        }
     }
 
     /**
@@ -341,22 +778,105 @@ public class Displayer {
      * - An error message, if the method call fails.
      */
     public void getScenePreviewImage(String scenePath, final Promise<Bitmap> promise) {
+        getScenePreviewImage(scenePath, 0, 0, promise);
+    }
+
+    /**
+     * Gets the preview of the specified scene, downsampled to the requested size.
+     *
+     * @since 2.16.101
+     *
+     * The image is downsampled by a power of two while both sides stay no smaller than `width` and `height`, which
+     * saves memory and decoding time when the preview is shown as a thumbnail. Pass bitmaps you no longer use to
+     * {@link #releaseSceneImage(Bitmap)}, so that later previews and snapshots can reuse their memory.
+     *
+     * If the scene preview cache is enabled with {@link #setScenePreviewCacheOptions(ScenePreviewCacheOptions)}, a cached
+     * preview is returned without rendering the scene again. Cached bitmaps are shared between calls, do not modify or recycle them.
+     *
+     * @param scenePath The path of the scene.
+     * @param width     The minimum width (px) of the returned bitmap. Pass 0 to keep the original width.
+     * @param height    The minimum height (px) of the returned bitmap. Pass 0 to keep the original height.
+     * @param promise   The `Promise<Bitmap>` interface instance. See {@link com.herewhite.sdk.domain.Promise Promise}.
+     * You can get the call result of `getScenePreviewImage` through this interface:
+     * - The preview of the specified scene, if the method call succeeds.
+     * - An error message, if the method call fails.
+     */
+    public void getScenePreviewImage(final String scenePath, final int width, final int height, final Promise<Bitmap> promise) {
+        final ScenePreviewCache cache = scenePreviewCache;
+        final String versionKey = cache != null ? cache.versionKey(scenePath) : null;
+        if (versionKey == null) {
+            this.bridge.callHandler("displayerAsync.scenePreview", new Object[]{scenePath}, new OnReturnValue<String>() {
+                @Override
+                public void onValue(String retValue) {
+                    Bitmap bitmap;
+                    try {
+                        bitmap = sceneImageDecoder.decode(retValue, width, height);
+                    } catch (Exception e) {
+                        promise.catchEx(new SDKError(e.getMessage()));
+                        return;
+                    }
+                    if (bitmap != null) {
+                        promise.then(bitmap);
+                    } else {
+                        promise.catchEx(new SDKError("Failed to decode the scene image"));
+                    }
+                }
+            });
+            return;
+        }
+
+        Bitmap cached = cache.getFromMemory(versionKey, width, height);
+        if (cached != null) {
+            promise.then(cached);
+            return;
+        }
+        if (!cache.addPending(versionKey, width, height, promise)) {
+            // The same preview is being loaded, the promise is settled with it.
+            return;
+        }
+        cache.getFromDisk(versionKey, width, height, sceneImageDecoder, bitmap -> {
+            if (bitmap != null) {
+                final List<Promise<Bitmap>> promises = cache.takePending(versionKey, width, height);
+                post(() -> settleScenePreview(promises, bitmap, null));
+                return;
+            }
+            CallbackExecutors.main().execute(() -> renderScenePreview(cache, scenePath, versionKey, width, height));
+        });
+    }
+
+    private void renderScenePreview(final ScenePreviewCache cache, String scenePath, final String versionKey, final int width, final int height) {
         this.bridge.callHandler("displayerAsync.scenePreview", new Object[]{scenePath}, new OnReturnValue<String>() {
             @Override
             public void onValue(String retValue) {
                 Bitmap bitmap = null;
+                SDKError error = null;
                 try {
-                    bitmap = transformBase64toBitmap(retValue);
+                    bitmap = sceneImageDecoder.decode(retValue, width, height);
                 } catch (Exception e) {
-                    promise.catchEx(new SDKError(e.getMessage()));
+                    error = new SDKError(e.getMessage());
                 }
                 if (bitmap != null) {
-                    promise.then(bitmap);
+                    // The cached bitmap is handed out to every caller of this preview.
+                    sceneImageDecoder.share(bitmap);
+                    cache.put(versionKey, width, height, bitmap, retValue);
+                } else if (error == null) {
+                    error = new SDKError("Failed to decode the scene image");
                 }
+                settleScenePreview(cache.takePending(versionKey, width, height), bitmap, error);
             }
         });
     }
 
+    private static void settleScenePreview(List<Promise<Bitmap>> promises, Bitmap bitmap, SDKError error) {
+        for (Promise<Bitmap> promise : promises) {
+            if (error != null) {
+                promise.catchEx(error);
+            } else {
+                promise.then(bitmap);
+            }
+        }
+    }
+
     /**
      * Gets the screenshot of the specified scene.
      *
@@ -372,28 +892,208 @@ public class Displayer {
      * - An error message, if the method call fails.
      */
     public void getSceneSnapshotImage(String scenePath, final Promise<Bitmap> promise) {
+        getSceneSnapshotImage(scenePath, 0, 0, promise);
+    }
+
+    /**
+     * Gets the snapshot of the specified scene, downsampled to the requested size.
+     *
+     * @since 2.16.101
+     *
+     * The image is downsampled by a power of two while both sides stay no smaller than `width` and `height`.
+     * Pass bitmaps you no longer use to {@link #releaseSceneImage(Bitmap)}, so that later previews and snapshots
+     * can reuse their memory.
+     *
+     * @param scenePath The path of the scene.
+     * @param width     The minimum width (px) of the returned bitmap. Pass 0 to keep the original width.
+     * @param height    The minimum height (px) of the returned bitmap. Pass 0 to keep the original height.
+     * @param promise   The `Promise<Bitmap>` interface instance. See {@link com.herewhite.sdk.domain.Promise Promise}.
+     * You can get the call result of `getSceneSnapshotImage` through this interface:
+     * - The snapshot of the specified scene, if the method call succeeds.
+     * - An error message, if the method call fails.
+     */
+    public void getSceneSnapshotImage(String scenePath, final int width, final int height, final Promise<Bitmap> promise) {
         this.bridge.callHandler("displayerAsync.sceneSnapshot", new Object[]{scenePath}, new OnReturnValue<String>() {
             @Override
             public void onValue(String retValue) {
-                Bitmap bitmap = null;
+                Bitmap bitmap;
                 try {
-                    bitmap = transformBase64toBitmap(retValue);
+                    bitmap = sceneImageDecoder.decode(retValue, width, height);
                 } catch (Exception e) {
                     promise.catchEx(new SDKError(e.getMessage()));
+                    return;
                 }
                 if (bitmap != null) {
                     promise.then(bitmap);
+                } else {
+                    promise.catchEx(new SDKError("Failed to decode the scene image"));
                 }
             }
         });
     }
 
-    private Bitmap transformBase64toBitmap(String base64String) {
-        final String pureBase64Encoded = base64String.substring(base64String.indexOf(",") + 1);
-        final byte[] decodedBytes = Base64.decode(pureBase64Encoded, Base64.DEFAULT);
-        BitmapFactory.Options opts = new BitmapFactory.Options();
-        opts.inDensity = densityDpi;
-        return BitmapFactory.decodeByteArray(decodedBytes, 0, decodedBytes.length, opts);
+    /**
+     * Releases a bitmap returned by `getScenePreviewImage` or `getSceneSnapshotImage`.
+     *
+     * @since 2.16.101
+     *
+     * The SDK decodes later previews and snapshots into released bitmaps instead of allocating new ones.
+     * Do not use the bitmap after releasing it.
+     * Previews returned by the preview cache are shared between callers, so they are never reused and releasing them has no effect.
+     *
+     * @param bitmap The bitmap that is no longer used.
+     */
+    public void releaseSceneImage(Bitmap bitmap) {
+        // Bitmaps handed out by the preview cache are ignored, even after the cache has evicted them.
+        sceneImageDecoder.release(bitmap);
+    }
+
+    /**
+     * Enables or disables the scene preview cache.
+     *
+     * @since 2.16.101
+     *
+     * When the cache is enabled, {@link #getScenePreviewImage(String, int, int, Promise)} returns previews from a memory
+     * cache bounded by bytes, or from an optional disk cache bounded by size, instead of rendering the scene again.
+     * An entry is used only while the scene is unchanged: the SDK derives a content version of each scene of the current
+     * directory from the scene state, and previews of the other scenes are not cached.
+     *
+     * @note
+     * - Cached bitmaps are shared between calls, do not modify or recycle them.
+     * - The cache only works in a room, as the content version is derived from the scene state of the room.
+     *
+     * @param options The cache options. See {@link ScenePreviewCacheOptions}. Pass `null` to disable the cache. The cache is disabled by default.
+     */
+    public void setScenePreviewCacheOptions(ScenePreviewCacheOptions options) {
+        synchronized (scenePreviewLock) {
+            ScenePreviewCache previous = scenePreviewCache;
+            ScenePreviewCache cache = null;
+            if (options != null) {
+                cache = new ScenePreviewCache(options);
+                cache.updateVersions(previewSceneState);
+            }
+            scenePreviewCache = cache;
+            if (previous != null) {
+                previous.clearMemory();
+            }
+        }
+    }
+
+    /**
+     * Gets the statistics of the scene preview cache.
+     *
+     * @since 2.16.101
+     *
+     * @return The statistics, including the hits, misses and evictions since the cache was enabled. See {@link ScenePreviewCacheStats}.
+     * Returns `null` if the cache is disabled.
+     */
+    public ScenePreviewCacheStats getScenePreviewCacheStats() {
+        ScenePreviewCache cache = scenePreviewCache;
+        return cache != null ? cache.stats() : null;
+    }
+
+    /**
+     * Loads the previews of the specified scenes into the scene preview cache.
+     *
+     * @since 2.16.101
+     *
+     * Call this method with the pages next to the visible ones, so that they are cached before they are scrolled into view.
+     * This method does nothing if the scene preview cache is disabled.
+     *
+     * @param scenePaths The paths of the scenes.
+     * @param width      The minimum width (px) of the previews, the same as the one passed to {@link #getScenePreviewImage(String, int, int, Promise)}.
+     * @param height     The minimum height (px) of the previews, the same as the one passed to {@link #getScenePreviewImage(String, int, int, Promise)}.
+     */
+    public void prefetchScenePreviews(String[] scenePaths, int width, int height) {
+        ScenePreviewCache cache = scenePreviewCache;
+        if (cache == null) {
+            return;
+        }
+        for (String scenePath : scenePaths) {
+            if (cache.versionKey(scenePath) != null) {
+                getScenePreviewImage(scenePath, width, height, new Promise<Bitmap>() {
+                    @Override
+                    public void then(Bitmap bitmap) {
+                    }
+
+                    @Override
+                    public void catchEx(SDKError t) {
+                        Logger.error("An exception occurred while prefetch scene preview", t);
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Generates the previews of all scenes in a directory and its subdirectories.
+     *
+     * @since 2.16.101
+     *
+     * Instead of rendering every scene in one go, the SDK keeps at most `parallelism` previews being rendered, and reports each
+     * preview as soon as it is rendered. This keeps the whiteboard responsive, and lets an overview grid fill progressively.
+     * If the scene preview cache is enabled with {@link #setScenePreviewCacheOptions(ScenePreviewCacheOptions) setScenePreviewCacheOptions},
+     * cached previews are returned without rendering.
+     *
+     * @param dir         The path of the scene directory, such as `"/"` for all scenes.
+     * @param size        The minimum size (px) of the previews. See {@link #getScenePreviewImage(String, int, int, Promise) getScenePreviewImage}.
+     * @param parallelism The maximum number of previews being rendered at the same time. Values smaller than 1 are treated as 1.
+     * @param callback    The callback for the generated previews. See {@link ScenePreviewsCallback}.
+     * @return The handle of the generation, which you can use to cancel it. See {@link ScenePreviewTask}.
+     */
+    public ScenePreviewTask generatePreviews(final String dir, Size size, int parallelism, ScenePreviewsCallback callback) {
+        final ScenePreviewTask task = new ScenePreviewTask(this, size.getWidth(), size.getHeight(), parallelism, callback);
+        getEntireScenes(new Promise<Map<String, Scene[]>>() {
+            @Override
+            public void then(Map<String, Scene[]> entireScenes) {
+                task.start(scenePaths(entireScenes, dir));
+            }
+
+            @Override
+            public void catchEx(SDKError t) {
+                task.start(Collections.<String>emptyList());
+            }
+        });
+        return task;
+    }
+
+    private static List<String> scenePaths(Map<String, Scene[]> entireScenes, String dir) {
+        String prefix = dir.endsWith("/") ? dir : dir + "/";
+        List<String> scenePaths = new ArrayList<>();
+        if (entireScenes == null) {
+            return scenePaths;
+        }
+        for (Map.Entry<String, Scene[]> entry : entireScenes.entrySet()) {
+            String sceneDir = entry.getKey().endsWith("/") ? entry.getKey() : entry.getKey() + "/";
+            if (!sceneDir.startsWith(prefix) || entry.getValue() == null) {
+                continue;
+            }
+            for (Scene scene : entry.getValue()) {
+                scenePaths.add(sceneDir + scene.getName());
+            }
+        }
+        return scenePaths;
+    }
+
+    /**
+     * Updates the local scene index and the scene preview cache with the latest scene state.
+     */
+    void onSceneStateChanged(SceneState sceneState) {
+        sceneIndex.updateSceneState(sceneState);
+        updateScenePreviewVersions(sceneState);
+    }
+
+    /**
+     * Updates the content versions used by the scene preview cache.
+     */
+    private void updateScenePreviewVersions(SceneState sceneState) {
+        synchronized (scenePreviewLock) {
+            previewSceneState = sceneState;
+            ScenePreviewCache cache = scenePreviewCache;
+            if (cache != null) {
+                cache.updateVersions(sceneState);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,190 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.EventOverflowPolicy;
+import com.herewhite.sdk.domain.FrequencyEventListener;
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded ring buffer between the bridge thread, the single producer, and the listeners of one high-frequency event.
+ * <p>
+ * Every listener reads with its own cursor on the executor passed by the displayer, and receives all events available since its last
+ * delivery as one batch, so a slow listener neither blocks the bridge nor the other listeners. When the slowest
+ * listener is a full buffer behind, the {@link EventOverflowPolicy} decides which event is dropped.
+ */
+class EventRingBuffer {
+    private static final long BLOCK_WAIT_MILLIS = 10;
+
+    private final EventEntry[] slots;
+    private final int mask;
+    private final EventOverflowPolicy policy;
+    private final Executor executor;
+    /**
+     * The sequence of the next event to publish. Only the producer writes it.
+     */
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final CopyOnWriteArrayList<Consumer> consumers = new CopyOnWriteArrayList<>();
+    private final Object spaceLock = new Object();
+    private volatile boolean closed;
+
+    EventRingBuffer(int capacity, EventOverflowPolicy policy, Executor executor) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new EventEntry[size];
+        this.mask = size - 1;
+        this.policy = policy != null ? policy : EventOverflowPolicy.DROP_OLDEST;
+        this.executor = executor;
+    }
+
+    void addListener(FrequencyEventListener listener) {
+        consumers.add(new Consumer(listener, published.get()));
+    }
+
+    /**
+     * Removes a listener. Returns `true` if it was the last listener of the buffer.
+     */
+    boolean removeListener(FrequencyEventListener listener) {
+        for (Consumer consumer : consumers) {
+            if (consumer.listener == listener && consumers.remove(consumer)) {
+                consumer.removed = true;
+                break;
+            }
+        }
+        if (policy == EventOverflowPolicy.BLOCK) {
+            // The producer may be waiting for the removed listener.
+            synchronized (spaceLock) {
+                spaceLock.notifyAll();
+            }
+        }
+        return consumers.isEmpty();
+    }
+
+    /**
+     * Stops delivering events, and releases the producer if it waits for space.
+     */
+    void close() {
+        closed = true;
+        consumers.clear();
+    }
+
+    long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Must only be called from the producer thread.
+     */
+    void publish(EventEntry[] entries) {
+        for (EventEntry entry : entries) {
+            long sequence = published.get();
+            if (!claim(sequence)) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            slots[(int) (sequence & mask)] = entry;
+            published.set(sequence + 1);
+        }
+        for (Consumer consumer : consumers) {
+            consumer.schedule();
+        }
+    }
+
+    /**
+     * Makes sure no consumer still has to read the slot of `sequence`. Returns `false` if the event must be dropped.
+     */
+    private boolean claim(long sequence) {
+        long wrapPoint = sequence - slots.length;
+        for (Consumer consumer : consumers) {
+            long cursor;
+            while (!consumer.removed && (cursor = consumer.cursor.get()) <= wrapPoint) {
+                switch (policy) {
+                    case DROP_NEWEST:
+                        return false;
+                    case DROP_OLDEST:
+                        // A failed CAS means the consumer moved on meanwhile, check again.
+                        if (consumer.cursor.compareAndSet(cursor, cursor + 1)) {
+                            dropped.incrementAndGet();
+                        }
+                        break;
+                    case BLOCK:
+                        if (closed) {
+                            return false;
+                        }
+                        consumer.schedule();
+                        synchronized (spaceLock) {
+                            try {
+                                spaceLock.wait(BLOCK_WAIT_MILLIS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                return false;
+                            }
+                        }
+                        break;
+                }
+            }
+        }
+        return true;
+    }
+
+    private class Consumer implements Runnable {
+        final FrequencyEventListener listener;
+        /**
+         * The sequence of the next event to deliver. The producer may advance it to drop the oldest event.
+         */
+        final AtomicLong cursor;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean removed;
+
+        Consumer(FrequencyEventListener listener, long cursor) {
+            this.listener = listener;
+            this.cursor = new AtomicLong(cursor);
+        }
+
+        void schedule() {
+            if (cursor.get() < published.get() && scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                drain();
+                scheduled.set(false);
+            } while (cursor.get() < published.get() && scheduled.compareAndSet(false, true));
+        }
+
+        private void drain() {
+            while (true) {
+                long from = cursor.get();
+                long to = published.get();
+                if (from >= to) {
+                    return;
+                }
+                EventEntry[] batch = new EventEntry[(int) (to - from)];
+                for (int i = 0; i < batch.length; i++) {
+                    batch[i] = slots[(int) ((from + i) & mask)];
+                }
+                // If the producer dropped the oldest event meanwhile, the slots may be overwritten, read again.
+                if (!cursor.compareAndSet(from, to)) {
+                    continue;
+                }
+                if (policy == EventOverflowPolicy.BLOCK) {
+                    synchronized (spaceLock) {
+                        spaceLock.notifyAll();
+                    }
+                }
+                try {
+                    listener.onEvent(batch);
+                } catch (Throwable e) {
+                    Logger.error("An exception occurred in high frequency event listener", e);
+                }
+            }
+        }
+    }
+}
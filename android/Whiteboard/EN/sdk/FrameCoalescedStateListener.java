@@ -0,0 +1,55 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import com.herewhite.sdk.domain.WhiteObjectFields;
+
+/**
+ * Merges the state modifications reported within one display frame and passes them to the target as one modification,
+ * at the frame on the main thread. The target is expected to hand the modification to the callback executor.
+ * Non-null fields of a newer modification override the older ones, so that no changed field is lost.
+ */
+class FrameCoalescedStateListener<T> implements SyncDisplayerState.Listener<T>, Choreographer.FrameCallback {
+    private final WhiteObjectFields fields;
+    private final SyncDisplayerState.Listener<T> target;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private T pending;
+    private long mergedStates;
+
+    FrameCoalescedStateListener(Class<T> clazz, SyncDisplayerState.Listener<T> target) {
+        this.fields = WhiteObjectFields.of(clazz);
+        this.target = target;
+    }
+
+    @Override
+    public void onDisplayerStateChanged(T modifyState) {
+        synchronized (this) {
+            if (pending != null) {
+                pending = fields.overlay(pending, modifyState);
+                mergedStates++;
+                return;
+            }
+            pending = modifyState;
+        }
+        // Choreographer is bound to the looper of the calling thread, the state is reported on the bridge thread.
+        mainHandler.post(() -> Choreographer.getInstance().postFrameCallback(this));
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        T modifyState;
+        synchronized (this) {
+            modifyState = pending;
+            pending = null;
+        }
+        if (modifyState != null) {
+            target.onDisplayerStateChanged(modifyState);
+        }
+    }
+
+    synchronized long getMergedStates() {
+        return mergedStates;
+    }
+}
@@ -0,0 +1,87 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.EventEntry;
+import com.herewhite.sdk.domain.EventListener;
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Dispatch index of Magix events to any number of listeners per subscription.
+ * <p>
+ * A subscription is either an exact event name, or a prefix pattern such as `"quiz.*"` that matches every event whose
+ * name starts with `"quiz."`. `"*"` matches all events. Dispatching looks up the exact name, then one key per `.` in the
+ * event name, and the prefix lookups are skipped entirely while there is no prefix subscription.
+ */
+class MagixEventDispatcher {
+    static final String WILDCARD = "*";
+
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<EventListener>> listeners = new ConcurrentHashMap<>();
+    private volatile int prefixSubscriptions;
+
+    static boolean isPrefixPattern(String pattern) {
+        return pattern.endsWith(WILDCARD);
+    }
+
+    /**
+     * Returns `true` if this is the first listener of the pattern, so that the caller subscribes it on the JS side.
+     */
+    synchronized boolean add(String pattern, EventListener listener) {
+        CopyOnWriteArrayList<EventListener> list = listeners.get(pattern);
+        if (list == null) {
+            list = new CopyOnWriteArrayList<>();
+            listeners.put(pattern, list);
+            if (isPrefixPattern(pattern)) {
+                prefixSubscriptions++;
+            }
+        }
+        list.addIfAbsent(listener);
+        return list.size() == 1;
+    }
+
+    /**
+     * Returns `true` if the last listener of the pattern was removed, so that the caller unsubscribes it on the JS side.
+     */
+    synchronized boolean remove(String pattern, EventListener listener) {
+        CopyOnWriteArrayList<EventListener> list = listeners.get(pattern);
+        if (list == null || !list.remove(listener) || !list.isEmpty()) {
+            return false;
+        }
+        listeners.remove(pattern);
+        if (isPrefixPattern(pattern)) {
+            prefixSubscriptions--;
+        }
+        return true;
+    }
+
+    boolean contains(String pattern) {
+        return listeners.containsKey(pattern);
+    }
+
+    void dispatch(EventEntry eventEntry) {
+        String eventName = eventEntry.getEventName();
+        deliver(listeners.get(eventName), eventEntry);
+        if (prefixSubscriptions == 0) {
+            return;
+        }
+        deliver(listeners.get(WILDCARD), eventEntry);
+        for (int i = eventName.indexOf('.'); i >= 0; i = eventName.indexOf('.', i + 1)) {
+            deliver(listeners.get(eventName.substring(0, i + 1) + WILDCARD), eventEntry);
+        }
+    }
+
+    private static void deliver(List<EventListener> list, EventEntry eventEntry) {
+        if (list == null) {
+            return;
+        }
+        for (EventListener listener : list) {
+            try {
+                listener.onEvent(eventEntry);
+            } catch (Throwable e) {
+                Logger.error("An exception occurred in magix event listener", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.herewhite.sdk;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.herewhite.sdk.domain.AkkoEvent;
+import com.herewhite.sdk.domain.EventOverflowPolicy;
+import com.herewhite.sdk.domain.MagixEventSendOptions;
+import com.herewhite.sdk.domain.MagixEventSendPolicy;
+import com.herewhite.sdk.domain.MagixEventSendStats;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Outbound pipeline of the customized events whose name has {@link MagixEventSendOptions}.
+ * Events of other names are not handled here and are sent directly.
+ */
+class MagixEventSender {
+
+    interface Sink {
+        void send(AkkoEvent event);
+    }
+
+    private final Sink sink;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Map<String, Channel> channels = new HashMap<>();
+    /**
+     * Events taken from the channels, sent to the sink outside the lock by a single thread at a time, in order.
+     */
+    private final ConcurrentLinkedQueue<AkkoEvent> outbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private long queuedEvents;
+    private long sentEvents;
+    private long mergedEvents;
+    private long droppedEvents;
+
+    MagixEventSender(Sink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Replaces the options of an event name, `null` removes them. Events still pending under the old options are sent first.
+     */
+    void setOptions(String eventName, MagixEventSendOptions options) {
+        synchronized (this) {
+            Channel previous = channels.remove(eventName);
+            if (previous != null) {
+                handler.removeCallbacks(previous);
+                previous.flushAll();
+            }
+            if (options != null) {
+                channels.put(eventName, new Channel(eventName, options));
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Returns `false` if the event name has no options, in which case the caller sends the event itself.
+     */
+    boolean offer(AkkoEvent event) {
+        synchronized (this) {
+            Channel channel = channels.get(event.getEventName());
+            if (channel == null) {
+                return false;
+            }
+            queuedEvents++;
+            channel.enqueue(event);
+        }
+        drain();
+        return true;
+    }
+
+    synchronized MagixEventSendStats getStats() {
+        return new MagixEventSendStats(queuedEvents, sentEvents, mergedEvents, droppedEvents);
+    }
+
+    private void send(AkkoEvent event) {
+        sentEvents++;
+        outbox.add(event);
+    }
+
+    /**
+     * Sends the events of the outbox. If another thread is already sending, it sends them instead.
+     */
+    private void drain() {
+        // Check again after releasing the flag, an event may have been added meanwhile.
+        while (!outbox.isEmpty() && draining.compareAndSet(false, true)) {
+            try {
+                AkkoEvent event;
+                while ((event = outbox.poll()) != null) {
+                    sink.send(event);
+                }
+            } finally {
+                draining.set(false);
+            }
+        }
+    }
+
+    /**
+     * Token bucket holding up to one second of events.
+     */
+    private static class TokenBucket {
+        final double tokensPerMillis;
+        final double capacity;
+        double tokens;
+        long lastRefill;
+
+        TokenBucket(double eventsPerSecond) {
+            this.tokensPerMillis = eventsPerSecond / 1000;
+            this.capacity = Math.max(1, eventsPerSecond);
+            this.tokens = capacity;
+            this.lastRefill = SystemClock.uptimeMillis();
+        }
+
+        boolean tryAcquire() {
+            long now = SystemClock.uptimeMillis();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMillis);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        long millisUntilToken() {
+            return (long) Math.ceil((1 - tokens) / tokensPerMillis);
+        }
+    }
+
+    private class Channel implements Runnable {
+        final String eventName;
+        final MagixEventSendPolicy policy;
+        final long flushInterval;
+        final TokenBucket bucket;
+        final int maxQueuedEvents;
+        final EventOverflowPolicy overflowPolicy;
+
+        final ArrayDeque<AkkoEvent> queue = new ArrayDeque<>();
+        AkkoEvent latest;
+        final List<Object> payloads = new ArrayList<>();
+        boolean scheduled;
+
+        Channel(String eventName, MagixEventSendOptions options) {
+            this.eventName = eventName;
+            this.policy = options.getPolicy() != null ? options.getPolicy() : MagixEventSendPolicy.IMMEDIATE;
+            this.flushInterval = Math.max(0, options.getFlushInterval());
+            this.bucket = options.getMaxEventsPerSecond() > 0 ? new TokenBucket(options.getMaxEventsPerSecond()) : null;
+            this.maxQueuedEvents = Math.max(1, options.getMaxQueuedEvents());
+            this.overflowPolicy = options.getQueueOverflowPolicy() != null ? options.getQueueOverflowPolicy() : EventOverflowPolicy.DROP_OLDEST;
+        }
+
+        void enqueue(AkkoEvent event) {
+            switch (policy) {
+                case IMMEDIATE:
+                    if (queue.size() >= maxQueuedEvents) {
+                        switch (overflowPolicy) {
+                            case DROP_NEWEST:
+                                droppedEvents++;
+                                return;
+                            case DROP_OLDEST:
+                                droppedEvents++;
+                                queue.poll();
+                                break;
+                            case BLOCK:
+                                // Never block the caller, send the oldest event over the rate limit instead.
+                                send(queue.poll());
+                                break;
+                        }
+                    }
+                    queue.add(event);
+                    flush();
+                    break;
+                case COALESCE:
+                    if (latest != null) {
+                        mergedEvents++;
+                    }
+                    latest = event;
+                    schedule(flushInterval);
+                    break;
+                case ACCUMULATE:
+                    if (!payloads.isEmpty()) {
+                        mergedEvents++;
+                    }
+                    payloads.add(event.getPayload());
+                    schedule(flushInterval);
+                    break;
+            }
+        }
+
+        @Override
+        public void run() {
+            synchronized (MagixEventSender.this) {
+                scheduled = false;
+                flush();
+            }
+            drain();
+        }
+
+        /**
+         * Sends what the rate limit allows, and schedules another flush for the rest.
+         */
+        void flush() {
+            while (hasPending()) {
+                if (bucket != null && !bucket.tryAcquire()) {
+                    schedule(bucket.millisUntilToken());
+                    return;
+                }
+                send(take());
+            }
+        }
+
+        /**
+         * Sends everything pending, ignoring the rate limit.
+         */
+        void flushAll() {
+            while (hasPending()) {
+                send(take());
+            }
+        }
+
+        private boolean hasPending() {
+            switch (policy) {
+                case COALESCE:
+                    return latest != null;
+                case ACCUMULATE:
+                    return !payloads.isEmpty();
+                default:
+                    return !queue.isEmpty();
+            }
+        }
+
+        private AkkoEvent take() {
+            switch (policy) {
+                case COALESCE:
+                    AkkoEvent event = latest;
+                    latest = null;
+                    return event;
+                case ACCUMULATE:
+                    AkkoEvent accumulated = new AkkoEvent(eventName, new ArrayList<>(payloads));
+                    payloads.clear();
+                    return accumulated;
+                default:
+                    return queue.poll();
+            }
+        }
+
+        private void schedule(long delay) {
+            if (!scheduled) {
+                scheduled = true;
+                handler.postDelayed(this, delay);
+            }
+        }
+    }
+}
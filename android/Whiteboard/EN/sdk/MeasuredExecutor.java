@@ -0,0 +1,62 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.CallbackDispatchStats;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor wrapper that records the queue depth and the latency from submission to execution of callbacks.
+ */
+class MeasuredExecutor implements Executor {
+    private final Executor delegate;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    MeasuredExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        execute(delegate, command);
+    }
+
+    /**
+     * Runs `command` on `executor` instead of the delegate, and records it in the same statistics.
+     */
+    void execute(Executor executor, Runnable command) {
+        final long submitted = System.nanoTime();
+        int depth = queueDepth.incrementAndGet();
+        int max;
+        while (depth > (max = maxQueueDepth.get()) && !maxQueueDepth.compareAndSet(max, depth)) {
+            // retry until the max is updated or a larger value wins
+        }
+        try {
+            executor.execute(() -> {
+                queueDepth.decrementAndGet();
+                long latency = System.nanoTime() - submitted;
+                dispatched.incrementAndGet();
+                totalLatencyNanos.addAndGet(latency);
+                long maxLatency;
+                while (latency > (maxLatency = maxLatencyNanos.get()) && !maxLatencyNanos.compareAndSet(maxLatency, latency)) {
+                    // retry until the max is updated or a larger value wins
+                }
+                command.run();
+            });
+        } catch (RuntimeException e) {
+            queueDepth.decrementAndGet();
+            throw e;
+        }
+    }
+
+    CallbackDispatchStats getStats() {
+        long count = dispatched.get();
+        double averageLatencyMs = count == 0 ? 0 : totalLatencyNanos.get() / (double) count / 1e6;
+        return new CallbackDispatchStats(count, queueDepth.get(), maxQueueDepth.get(), averageLatencyMs, maxLatencyNanos.get() / 1e6);
+    }
+}
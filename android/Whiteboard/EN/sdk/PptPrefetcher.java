@@ -0,0 +1,244 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.PptPage;
+import com.herewhite.sdk.domain.PptPrefetchOptions;
+import com.herewhite.sdk.domain.PptPrefetchStats;
+import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Downloads the PPT resources of the scenes around the current scene into a disk cache, following the scene navigation.
+ * <p>
+ * On each page change, the pages in the direction of travel are queued first, then the pages behind. Queued downloads of
+ * the previous window are dropped. Only `http` and `https` resources are downloaded.
+ */
+class PptPrefetcher {
+    private static final int MAX_DOWNLOADS = 2;
+    private static final int MAX_RECORDED_PAGES = 64;
+    /**
+     * Shared by all rooms, every prefetcher runs at most {@link #MAX_DOWNLOADS} downloads on it.
+     */
+    private static final Executor downloadExecutor = Executors.newFixedThreadPool(MAX_DOWNLOADS);
+    /**
+     * Scene changes are handled on this thread, in order, as they read the disk cache.
+     */
+    private static final Executor sceneExecutor = Executors.newSingleThreadExecutor();
+
+    private final DiskLruFiles files;
+    private final int pageCount;
+
+    private final ArrayDeque<String> queue = new ArrayDeque<>();
+    private final Set<String> downloading = new HashSet<>();
+    private int workers;
+    private boolean closed;
+
+    private String scenePath;
+    private String dir;
+    private int index = -1;
+    private int direction = 1;
+
+    /**
+     * The page being waited for: the scene path, the resources not yet downloaded, and the time of the page change.
+     */
+    private String waitingPage;
+    private final Set<String> waitingUrls = new HashSet<>();
+    private long waitingSince;
+
+    private long pageViews;
+    private long pageHits;
+    private long downloads;
+    private long downloadedBytes;
+    private long failures;
+    private final LinkedHashMap<String, Long> readyTimes = new LinkedHashMap<String, Long>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_RECORDED_PAGES;
+        }
+    };
+
+    PptPrefetcher(PptPrefetchOptions options) {
+        this.files = new DiskLruFiles(new File(options.getCacheDirectory()), options.getCacheSize());
+        this.pageCount = Math.max(0, options.getPageCount());
+        // Lookups from the resource resolver only read the index in memory, see getCachedUrl().
+        downloadExecutor.execute(files::preload);
+    }
+
+    /**
+     * Gets the local URL of a downloaded resource, or `null` if it is not cached.
+     */
+    String getCachedUrl(String url) {
+        if (!ResourceDownloader.isDownloadable(url)) {
+            return null;
+        }
+        final String name = fileName(url);
+        if (!files.peek(name)) {
+            return null;
+        }
+        // Marks the file as recently used without file I/O on the calling thread. If the file is evicted meanwhile,
+        // the resource server falls back to the original URL.
+        sceneExecutor.execute(() -> files.get(name));
+        return "file://" + files.file(name).getAbsolutePath();
+    }
+
+    /**
+     * Queues a scene change. The calling thread, such as the main thread or the bridge thread, does no file I/O.
+     */
+    void onSceneStateChanged(final SceneState sceneState) {
+        sceneExecutor.execute(() -> update(sceneState));
+    }
+
+    private synchronized void update(SceneState sceneState) {
+        if (closed || sceneState == null || sceneState.getScenes() == null || sceneState.getScenePath() == null) {
+            return;
+        }
+        if (sceneState.getScenePath().equals(scenePath)) {
+            return;
+        }
+        String scenePath = sceneState.getScenePath();
+        String dir = scenePath.substring(0, Math.max(scenePath.lastIndexOf('/'), 0));
+        int index = sceneState.getIndex();
+        if (dir.equals(this.dir) && index != this.index) {
+            direction = index > this.index ? 1 : -1;
+        } else {
+            direction = 1;
+        }
+        this.scenePath = scenePath;
+        this.dir = dir;
+        this.index = index;
+
+        Scene[] scenes = sceneState.getScenes();
+        recordPageView(scenePath, index >= 0 && index < scenes.length ? scenes[index] : null);
+
+        // The current page first, then the pages ahead, then the pages behind.
+        Set<String> urls = new LinkedHashSet<>(waitingUrls);
+        for (int offset = 1; offset <= pageCount; offset++) {
+            addUrls(urls, scenes, index + direction * offset);
+        }
+        for (int offset = 1; offset <= pageCount; offset++) {
+            addUrls(urls, scenes, index - direction * offset);
+        }
+        queue.clear();
+        for (String url : urls) {
+            if (!downloading.contains(url) && !files.contains(fileName(url))) {
+                queue.add(url);
+            }
+        }
+        while (workers < MAX_DOWNLOADS && workers < queue.size()) {
+            workers++;
+            downloadExecutor.execute(this::drain);
+        }
+    }
+
+    private void recordPageView(String scenePath, Scene scene) {
+        pageViews++;
+        waitingPage = scenePath;
+        waitingUrls.clear();
+        waitingSince = System.currentTimeMillis();
+        List<String> urls = new ArrayList<>();
+        addUrls(urls, new Scene[]{scene}, 0);
+        for (String url : urls) {
+            if (!files.contains(fileName(url))) {
+                waitingUrls.add(url);
+            }
+        }
+        if (waitingUrls.isEmpty()) {
+            pageHits++;
+            onPageReady();
+        }
+    }
+
+    private void onPageReady() {
+        readyTimes.remove(waitingPage);
+        readyTimes.put(waitingPage, System.currentTimeMillis() - waitingSince);
+        waitingPage = null;
+    }
+
+    private static void addUrls(Collection<String> urls, Scene[] scenes, int index) {
+        if (index < 0 || index >= scenes.length || scenes[index] == null || scenes[index].getPpt() == null) {
+            return;
+        }
+        PptPage ppt = scenes[index].getPpt();
+        for (String url : new String[]{ppt.getSrc(), ppt.getPreview()}) {
+            if (ResourceDownloader.isDownloadable(url)) {
+                urls.add(url);
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            String url;
+            synchronized (this) {
+                url = closed ? null : queue.poll();
+                if (url == null) {
+                    workers--;
+                    return;
+                }
+                downloading.add(url);
+            }
+            long bytes = download(url);
+            synchronized (this) {
+                downloading.remove(url);
+                if (bytes >= 0) {
+                    downloads++;
+                    downloadedBytes += bytes;
+                } else {
+                    failures++;
+                }
+                if (waitingPage != null && waitingUrls.remove(url) && waitingUrls.isEmpty()) {
+                    onPageReady();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes downloaded, or -1 if the download failed.
+     */
+    private long download(String url) {
+        String name = fileName(url);
+        File tmp = files.tempFile(name);
+        try {
+            long bytes = ResourceDownloader.download(url, tmp);
+            files.commit(name, tmp);
+            return bytes;
+        } catch (IOException | RuntimeException e) {
+            Logger.error("An exception occurred while prefetch ppt resource", e);
+            tmp.delete();
+            return -1;
+        }
+    }
+
+    /**
+     * Stops scheduling downloads. Downloads in progress complete, files on disk are kept for later sessions.
+     */
+    synchronized void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    synchronized PptPrefetchStats stats() {
+        return new PptPrefetchStats(pageViews, pageHits, downloads, downloadedBytes, failures, files.size(),
+                new HashMap<>(readyTimes));
+    }
+
+    private static String fileName(String url) {
+        return DiskLruFiles.fileName(url, ResourceDownloader.extension(url));
+    }
+}
@@ -0,0 +1,34 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.SDKError;
+
+/**
+ * The callback interface for the progress of {@link Room#putScenes(String, java.util.Iterator, int, int, PutScenesCallback) putScenes} in chunks.
+ *
+ * @since 2.16.101
+ */
+public interface PutScenesCallback {
+
+    /**
+     * Occurs when a chunk of scenes is inserted.
+     *
+     * @param putCount The number of scenes inserted so far.
+     */
+    void onProgress(int putCount);
+
+    /**
+     * Occurs when all scenes are inserted.
+     *
+     * @param putCount The total number of inserted scenes.
+     */
+    void onCompleted(int putCount);
+
+    /**
+     * Occurs when reading the scenes fails, or when the whiteboard fails to insert a chunk or does not confirm it within 30 seconds.
+     * The remaining scenes are not inserted.
+     *
+     * @param error    The error message. See {@link SDKError}.
+     * @param putCount The number of scenes inserted before the failure.
+     */
+    void onFailure(SDKError error, int putCount);
+}
@@ -0,0 +1,74 @@
+package com.herewhite.sdk;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Downloads the resources kept by the disk caches of the SDK.
+ */
+final class ResourceDownloader {
+    private static final int TIMEOUT = 15 * 1000;
+
+    private ResourceDownloader() {
+    }
+
+    static boolean isDownloadable(String url) {
+        return url != null && (url.startsWith("http://") || url.startsWith("https://"));
+    }
+
+    /**
+     * Downloads `url` into `file`. Returns the number of bytes downloaded.
+     */
+    static long download(String url, File file) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setConnectTimeout(TIMEOUT);
+            connection.setReadTimeout(TIMEOUT);
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + connection.getResponseCode() + ": " + url);
+            }
+            long bytes = 0;
+            try (InputStream in = connection.getInputStream(); OutputStream out = new FileOutputStream(file)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                    bytes += read;
+                }
+            }
+            return bytes;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Removes the query and the fragment of `url`.
+     */
+    static String stripQuery(String url) {
+        int end = url.length();
+        for (char c : new char[]{'?', '#'}) {
+            int i = url.indexOf(c);
+            if (i >= 0 && i < end) {
+                end = i;
+            }
+        }
+        return url.substring(0, end);
+    }
+
+    /**
+     * Gets the extension of the path of `url`, such as `.png`, or an empty string. Cached files keep the extension, so
+     * that the WebView can tell the content type of the file.
+     */
+    static String extension(String url) {
+        String path = stripQuery(url);
+        int dot = path.lastIndexOf('.');
+        String extension = dot > path.lastIndexOf('/') ? path.substring(dot) : "";
+        return extension.length() <= 6 && extension.matches("(\\.[A-Za-z0-9]*)?") ? extension : "";
+    }
+}
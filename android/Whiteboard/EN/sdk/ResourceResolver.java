@@ -0,0 +1,26 @@
+package com.herewhite.sdk;
+
+/**
+ * The interface for serving the resources of the whiteboard from local files. See {@link WhiteboardView#setResourceResolver(ResourceResolver) setResourceResolver}.
+ *
+ * The whiteboard loads resources such as the `src` of a {@link com.herewhite.sdk.domain.PptPage PptPage}, the `src` of a
+ * {@link com.herewhite.sdk.domain.FontFace FontFace} and the `url` of an {@link com.herewhite.sdk.domain.ImageInformationWithUrl ImageInformationWithUrl}
+ * by their URL. The resolver maps such a URL to a local file, which the SDK streams to the WebView instead of loading the URL.
+ *
+ * @since 2.16.101
+ */
+public interface ResourceResolver {
+
+    /**
+     * Resolves the URL of a resource.
+     *
+     * @note This method is called on a background thread of the WebView, and blocks the loading of the resource until it returns.
+     *
+     * @param url The URL requested by the whiteboard.
+     * @return The local resource, in one of the following formats:
+     * - `file:///android_asset/<path>`: A file in the assets of the app.
+     * - `file://<absolute path>`: A file on the device, such as a file downloaded by {@link Room#getPrefetchedUrl(String) getPrefetchedUrl}.
+     * - `null` or any other URL: The resource is loaded from `url` as usual.
+     */
+    String resolve(String url);
+}
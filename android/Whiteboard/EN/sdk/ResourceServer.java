@@ -0,0 +1,100 @@
+package com.herewhite.sdk;
+
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.os.ParcelFileDescriptor;
+import android.webkit.MimeTypeMap;
+import android.webkit.WebResourceResponse;
+
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serves the resources mapped by a {@link ResourceResolver} to the WebView.
+ * <p>
+ * The WebView reads the response from a stream over the file descriptor of the file, so the content is never buffered in
+ * the Java heap.
+ */
+class ResourceServer {
+    private static final String FILE_SCHEME = "file://";
+    private static final String ASSET_PREFIX = "file:///android_asset/";
+    private static final String DEFAULT_MIME_TYPE = "application/octet-stream";
+
+    private final AssetManager assets;
+    private final ResourceResolver resolver;
+
+    ResourceServer(AssetManager assets, ResourceResolver resolver) {
+        this.assets = assets;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns the response for `url`, or `null` to let the WebView load it from the network.
+     */
+    WebResourceResponse serve(String url) {
+        if (url == null || url.startsWith(FILE_SCHEME)) {
+            return null;
+        }
+        String localUrl;
+        try {
+            localUrl = resolver.resolve(url);
+        } catch (RuntimeException e) {
+            Logger.error("An exception occurred while resolve resource: " + url, e);
+            return null;
+        }
+        if (localUrl == null || !localUrl.startsWith(FILE_SCHEME)) {
+            return null;
+        }
+        try {
+            InputStream stream = localUrl.startsWith(ASSET_PREFIX)
+                    ? openAsset(localUrl.substring(ASSET_PREFIX.length()))
+                    : openFile(new File(localUrl.substring(FILE_SCHEME.length())));
+            return response(mimeType(url, localUrl), stream);
+        } catch (IOException e) {
+            // The file may have been evicted since it was resolved, the network still has it.
+            Logger.error("An exception occurred while open resource: " + localUrl, e);
+            return null;
+        }
+    }
+
+    private static InputStream openFile(File file) throws FileNotFoundException {
+        return new ParcelFileDescriptor.AutoCloseInputStream(ParcelFileDescriptor.open(file, ParcelFileDescriptor.MODE_READ_ONLY));
+    }
+
+    private InputStream openAsset(String path) throws IOException {
+        try {
+            AssetFileDescriptor descriptor = assets.openFd(path);
+            return descriptor.createInputStream();
+        } catch (FileNotFoundException e) {
+            // Compressed assets have no file descriptor.
+            return assets.open(path);
+        }
+    }
+
+    private static WebResourceResponse response(String mimeType, InputStream stream) {
+        Map<String, String> headers = new HashMap<>();
+        // The page is loaded from a file URL, resources drawn on a canvas must allow any origin.
+        headers.put("Access-Control-Allow-Origin", "*");
+        return new WebResourceResponse(mimeType, null, 200, "OK", headers, stream);
+    }
+
+    private static String mimeType(String url, String localUrl) {
+        String mimeType = null;
+        for (String candidate : new String[]{localUrl, url}) {
+            String extension = ResourceDownloader.extension(candidate);
+            if (!extension.isEmpty()) {
+                mimeType = MimeTypeMap.getSingleton().getMimeTypeFromExtension(extension.substring(1).toLowerCase());
+            }
+            if (mimeType != null) {
+                return mimeType;
+            }
+        }
+        return DEFAULT_MIME_TYPE;
+    }
+}
@@ -1,5 +1,8 @@
 package com.herewhite.sdk;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.Nullable;
 
 import com.google.gson.JsonObject;
@@ -14,21 +17,36 @@ import com.herewhite.sdk.domain.FrequencyEventListener;
 import com.herewhite.sdk.domain.GlobalState;
 import com.herewhite.sdk.domain.ImageInformation;
 import com.herewhite.sdk.domain.ImageInformationWithUrl;
+import com.herewhite.sdk.domain.MagixEventSendOptions;
+import com.herewhite.sdk.domain.MagixEventSendStats;
 import com.herewhite.sdk.domain.MemberState;
+import com.herewhite.sdk.domain.PptPage;
+import com.herewhite.sdk.domain.PptPrefetchOptions;
+import com.herewhite.sdk.domain.PptPrefetchStats;
 import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.RoomMember;
 import com.herewhite.sdk.domain.RoomPhase;
 import com.herewhite.sdk.domain.RoomState;
 import com.herewhite.sdk.domain.SDKError;
 import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.ScenePreviewCacheOptions;
 import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.domain.StateField;
+import com.herewhite.sdk.domain.StateFieldListener;
 import com.herewhite.sdk.domain.ViewMode;
 import com.herewhite.sdk.internal.Logger;
 import com.herewhite.sdk.internal.RoomDelegate;
 
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import wendu.dsbridge.OnReturnValue;
 
@@ -70,8 +88,13 @@ public class Room extends Displayer {
     }
 
     private Boolean writable;
+    private final MagixEventSender magixEventSender = new MagixEventSender(event -> bridge.callHandler("room.dispatchMagixEvent", new Object[]{event}));
     private Double timeDelay;
     private Long observerId;
+    private final Object pptPrefetchLock = new Object();
+    private static final long PUT_SCENES_CHUNK_TIMEOUT = 30_000;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile PptPrefetcher pptPrefetcher;
 
     /// @cond test
     /**
@@ -82,6 +105,7 @@ public class Room extends Displayer {
         this.timeDelay = 0.0;
         this.syncRoomState = new SyncDisplayerState<>(RoomState.class, disableCallbackWhilePutting);
         this.syncRoomState.setListener(localRoomStateListener);
+        this.syncRoomState.setFieldsListener(localRoomFieldsListener);
     }
     /// @endcond
 
@@ -423,7 +447,7 @@ public class Room extends Displayer {
      *
      */
     public GlobalState getGlobalState() {
-        return syncRoomState.getDisplayerState().getGlobalState();
+        return syncRoomState.getGlobalState();
     }
 
     /**
@@ -490,7 +514,7 @@ public class Room extends Displayer {
      *
      */
     public MemberState getMemberState() {
-        return syncRoomState.getDisplayerState().getMemberState();
+        return getStateValue(StateField.MEMBER_STATE);
     }
 
     /**
@@ -532,7 +556,7 @@ public class Room extends Displayer {
      *
      */
     public RoomMember[] getRoomMembers() {
-        return syncRoomState.getDisplayerState().getRoomMembers();
+        return getStateValue(StateField.ROOM_MEMBERS);
     }
 
     /**
@@ -565,6 +589,58 @@ public class Room extends Displayer {
         });
     }
 
+    /**
+     * Gets a room member by member ID.
+     *
+     * @since 2.16.101
+     *
+     * @note This method call is synchronous, and does not scan the member list.
+     *
+     * @param memberId The member ID of the member.
+     * @return The room member, or `null` if no member in the room has the member ID. See {@link com.herewhite.sdk.domain.RoomMember RoomMember}.
+     */
+    public RoomMember getRoomMember(long memberId) {
+        return memberRegistry.getByMemberId(memberId);
+    }
+
+    /**
+     * Gets a room member by the user ID set in {@link com.herewhite.sdk.domain.MemberInformation MemberInformation}.
+     *
+     * @since 2.16.101
+     *
+     * @note
+     * - This method call is synchronous, and does not scan the member list.
+     * - If the user joins the room from more than one device, this method returns one of the members.
+     *
+     * @param userId The user ID.
+     * @return The room member, or `null` if no member in the room has the user ID. See {@link com.herewhite.sdk.domain.RoomMember RoomMember}.
+     */
+    public RoomMember getRoomMemberByUserId(String userId) {
+        return memberRegistry.getByUserId(userId);
+    }
+
+    /**
+     * Adds a listener for changes in the member list of the room.
+     *
+     * @since 2.16.101
+     *
+     * @param listener The callback for member list changes. See {@link RoomMemberListener}.
+     */
+    public void addRoomMemberListener(RoomMemberListener listener) {
+        roomMemberListeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Removes a listener for changes in the member list of the room.
+     *
+     * @since 2.16.101
+     *
+     * @param listener The callback to remove.
+     */
+    public void removeRoomMemberListener(RoomMemberListener listener) {
+        roomMemberListeners.remove(listener);
+    }
+
     /**
      * Gets the view state of the user.
      *
@@ -579,7 +655,7 @@ public class Room extends Displayer {
      *
      */
     public BroadcastState getBroadcastState() {
-        return syncRoomState.getDisplayerState().getBroadcastState();
+        return getStateValue(StateField.BROADCAST_STATE);
     }
 
     /**
@@ -630,7 +706,7 @@ public class Room extends Displayer {
      * @return The state of the scenes under the current scene directory. See {@link com.herewhite.sdk.domain.SceneState SceneState}.
      */
     public SceneState getSceneState() {
-        return syncRoomState.getDisplayerState().getSceneState();
+        return getStateValue(StateField.SCENE_STATE);
     }
 
     /**
@@ -721,6 +797,102 @@ public class Room extends Displayer {
     }
 
 
+    /**
+     * Loads the previews of the scenes next to the current scene into the scene preview cache.
+     *
+     * @since 2.16.101
+     *
+     * This method loads up to `count` scenes before and after the current scene in the current directory.
+     * It does nothing if the scene preview cache is disabled. See {@link #setScenePreviewCacheOptions(ScenePreviewCacheOptions) setScenePreviewCacheOptions}.
+     *
+     * @param count  The number of scenes to load on each side of the current scene.
+     * @param width  The minimum width (px) of the previews, the same as the one passed to {@link #getScenePreviewImage(String, int, int, Promise) getScenePreviewImage}.
+     * @param height The minimum height (px) of the previews, the same as the one passed to {@link #getScenePreviewImage(String, int, int, Promise) getScenePreviewImage}.
+     */
+    public void prefetchAdjacentScenePreviews(int count, int width, int height) {
+        SceneState sceneState = getSceneState();
+        if (sceneState == null || sceneState.getScenes() == null || sceneState.getScenePath() == null) {
+            return;
+        }
+        Scene[] scenes = sceneState.getScenes();
+        String scenePath = sceneState.getScenePath();
+        String dir = scenePath.substring(0, Math.max(scenePath.lastIndexOf('/'), 0));
+        List<String> scenePaths = new ArrayList<>();
+        for (int offset = 1; offset <= count; offset++) {
+            for (int index : new int[]{sceneState.getIndex() + offset, sceneState.getIndex() - offset}) {
+                if (index >= 0 && index < scenes.length) {
+                    scenePaths.add(dir + "/" + scenes[index].getName());
+                }
+            }
+        }
+        prefetchScenePreviews(scenePaths.toArray(new String[0]), width, height);
+    }
+
+    /**
+     * Enables or disables the PPT prefetcher.
+     *
+     * @since 2.16.101
+     *
+     * When the prefetcher is enabled, each time the current scene changes, the SDK downloads the {@link PptPage#getSrc() src}
+     * and {@link PptPage#getPreview() preview} resources of the pages around the current page into the cache directory.
+     * The pages in the direction of travel are downloaded first, and the downloads for pages the user has moved away from
+     * are dropped. To load the downloaded files, set `room::getPrefetchedUrl` as the resolver of
+     * {@link WhiteboardView#setResourceResolver(ResourceResolver) setResourceResolver}, which streams the files to the whiteboard.
+     *
+     * @note
+     * - Only `http` and `https` resources are downloaded. Resources of dynamic PPT slides using the `pptx://` scheme are skipped.
+     * - The files are kept after the room is left, so that later sessions can use them.
+     *
+     * @param options The prefetcher options. See {@link PptPrefetchOptions}. Pass `null` to disable the prefetcher. The prefetcher is disabled by default.
+     */
+    public void setPptPrefetchOptions(PptPrefetchOptions options) {
+        PptPrefetcher prefetcher = null;
+        if (options != null && options.getCacheDirectory() != null) {
+            prefetcher = new PptPrefetcher(options);
+        }
+        PptPrefetcher previous;
+        synchronized (pptPrefetchLock) {
+            previous = pptPrefetcher;
+            pptPrefetcher = prefetcher;
+        }
+        if (previous != null) {
+            previous.close();
+        }
+        if (prefetcher != null) {
+            prefetcher.onSceneStateChanged(getSceneState());
+        }
+    }
+
+    /**
+     * Gets the URL to load a resource from.
+     *
+     * @since 2.16.101
+     *
+     * This method only reads the index of the downloaded files in memory, and can be called on any thread. Until the index is
+     * loaded after the prefetcher is enabled, it returns `sourceUrl`.
+     *
+     * @param sourceUrl The original URL of the resource.
+     * @return The `file://` URL of the downloaded file if the PPT prefetcher has downloaded the resource, otherwise `sourceUrl`.
+     */
+    public String getPrefetchedUrl(String sourceUrl) {
+        PptPrefetcher prefetcher = pptPrefetcher;
+        String url = prefetcher != null ? prefetcher.getCachedUrl(sourceUrl) : null;
+        return url != null ? url : sourceUrl;
+    }
+
+    /**
+     * Gets the statistics of the PPT prefetcher.
+     *
+     * @since 2.16.101
+     *
+     * @return The statistics, including the page hits and the time for the pages to be ready since the prefetcher was enabled.
+     * See {@link PptPrefetchStats}. Returns `null` if the prefetcher is disabled.
+     */
+    public PptPrefetchStats getPptPrefetchStats() {
+        PptPrefetcher prefetcher = pptPrefetcher;
+        return prefetcher != null ? prefetcher.stats() : null;
+    }
+
     /**
      * Gets the scale of the view.
      *
@@ -736,7 +908,7 @@ public class Room extends Displayer {
      * @return The scale of the view.
      */
     public double getZoomScale() {
-        return syncRoomState.getDisplayerState().getZoomScale();
+        return getStateValue(StateField.ZOOM_SCALE);
     }
 
     /**
@@ -868,6 +1040,88 @@ public class Room extends Displayer {
             }
         });
     }
+    /**
+     * Adds a listener for a single field of the room state.
+     *
+     * @since 2.16.101
+     *
+     * The SDK triggers the callback on the main thread only when the value of the listened field changes, and only deserializes
+     * the fields that have listeners. This is cheaper than comparing every field in {@link RoomListener#onRoomStateChanged onRoomStateChanged}.
+     *
+     * @param field    The field to listen to. See {@link com.herewhite.sdk.domain.StateField StateField}.
+     * @param listener The field change callback. See {@link com.herewhite.sdk.domain.StateFieldListener StateFieldListener}.
+     * @param <V>      The type of the field value.
+     */
+    public <V> void addStateFieldListener(StateField<V> field, StateFieldListener<V> listener) {
+        CopyOnWriteArrayList<StateFieldListener<?>> listeners = stateFieldListeners.get(field);
+        if (listeners == null) {
+            listeners = new CopyOnWriteArrayList<>();
+            CopyOnWriteArrayList<StateFieldListener<?>> previous = stateFieldListeners.putIfAbsent(field, listeners);
+            if (previous != null) {
+                listeners = previous;
+            }
+        }
+        listeners.addIfAbsent(listener);
+    }
+
+    /**
+     * Removes a listener for a single field of the room state.
+     *
+     * @since 2.16.101
+     *
+     * @param field    The listened field. See {@link com.herewhite.sdk.domain.StateField StateField}.
+     * @param listener The callback to remove.
+     * @param <V>      The type of the field value.
+     */
+    public <V> void removeStateFieldListener(StateField<V> field, StateFieldListener<V> listener) {
+        CopyOnWriteArrayList<StateFieldListener<?>> listeners = stateFieldListeners.get(field);
+        if (listeners != null) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Sets whether to merge room state changes and report them at most once per display frame.
+     *
+     * @since 2.16.101
+     *
+     * When enabled, the room state changes reported within one display frame are merged into one
+     * {@link RoomListener#onRoomStateChanged onRoomStateChanged} callback, in which each field holds its latest value.
+     * This avoids queuing intermediate states on the main thread when the state changes frequently, for example when
+     * many users draw at the same time.
+     *
+     * The merged callback is delivered through the executor set by {@link #setCallbackExecutor(java.util.concurrent.Executor) setCallbackExecutor}, like every other callback.
+     *
+     * @param enabled Whether to merge room state changes:
+     * - `true`: Merge room state changes within a display frame.
+     * - `false`: (Default) Report every room state change.
+     */
+    public void setCoalesceRoomStateChanged(boolean enabled) {
+        this.coalesceRoomStateChanged = enabled;
+    }
+
+    /**
+     * Gets whether room state changes are merged and reported at most once per display frame.
+     *
+     * @since 2.16.101
+     *
+     * @return Whether room state changes are merged.
+     */
+    public boolean isCoalesceRoomStateChanged() {
+        return coalesceRoomStateChanged;
+    }
+
+    /**
+     * Gets the number of intermediate room state changes merged into a later one since merging was enabled.
+     *
+     * @since 2.16.101
+     *
+     * @return The number of merged room state changes.
+     */
+    public long getMergedRoomStateCount() {
+        return frameRoomStateListener.getMergedStates();
+    }
+
     //endregion
 
     //region Scene API
@@ -976,6 +1230,86 @@ public class Room extends Displayer {
      */
     public void putScenes(String dir, Scene[] scenes, int index) {
         bridge.callHandler("room.putScenes", new Object[]{dir, scenes, index});
+        sceneIndex.putScenes(dir, scenes, index);
+        ensureSceneIndex();
+    }
+
+    /**
+     * Inserts scenes under the specified scene directory in chunks.
+     *
+     * @since 2.16.101
+     *
+     * Inserting thousands of scenes with {@link #putScenes(String, Scene[], int) putScenes} sends them in a single message, which
+     * blocks both the app and the whiteboard while the message is converted. This method reads `chunkSize` scenes at a time from
+     * `scenes`, and sends the next chunk only after the whiteboard has inserted the previous one. The scenes end up in the same
+     * order as with a single `putScenes` call, provided the scene directory is not modified until the insertion completes.
+     *
+     * @param dir       The path of the scene directory, which must start with `/` and cannot be the path of a scene. For example, `"/math"`.
+     * @param scenes    The scenes to insert. The iterator is read on the main thread, chunk by chunk, so the scenes can be created lazily.
+     * @param index     The index of the first scene to be inserted. See {@link #putScenes(String, Scene[], int) putScenes}.
+     * @param chunkSize The maximum number of scenes sent in a chunk, such as 50. Values smaller than 1 are treated as 1.
+     * @param callback  The progress callback, which can be `null`. See {@link PutScenesCallback}.
+     */
+    public void putScenes(String dir, Iterator<Scene> scenes, int index, int chunkSize, PutScenesCallback callback) {
+        final int size = Math.max(1, chunkSize);
+        mainHandler.post(() -> putSceneChunk(dir, scenes, index, size, 0, callback));
+    }
+
+    private void putSceneChunk(final String dir, final Iterator<Scene> scenes, final int index, final int chunkSize,
+                               final int putCount, final PutScenesCallback callback) {
+        final List<Scene> chunk = new ArrayList<>();
+        try {
+            while (chunk.size() < chunkSize && scenes.hasNext()) {
+                chunk.add(scenes.next());
+            }
+        } catch (RuntimeException e) {
+            Logger.error("An exception occurred while read scenes to put", e);
+            if (callback != null) {
+                post(() -> callback.onFailure(new SDKError(e.getMessage()), putCount));
+            }
+            return;
+        }
+        if (chunk.isEmpty()) {
+            if (callback != null) {
+                post(() -> callback.onCompleted(putCount));
+            }
+            return;
+        }
+        // Each chunk is inserted right after the previous one, so the result is the same as inserting all scenes at `index`.
+        final Scene[] chunkScenes = chunk.toArray(new Scene[0]);
+        final AtomicBoolean settled = new AtomicBoolean();
+        // If the whiteboard throws, no value is returned, so the insertion stops after a timeout.
+        final Runnable timeout = () -> {
+            if (settled.compareAndSet(false, true) && callback != null) {
+                post(() -> callback.onFailure(new SDKError("Timed out waiting for the whiteboard to insert the scenes"), putCount));
+            }
+        };
+        mainHandler.postDelayed(timeout, PUT_SCENES_CHUNK_TIMEOUT);
+        bridge.callHandler("room.putScenes", new Object[]{dir, chunkScenes, index + putCount}, new OnReturnValue<String>() {
+            @Override
+            public void onValue(String retValue) {
+                mainHandler.removeCallbacks(timeout);
+                final SDKError error = SDKError.promiseError(retValue);
+                if (error != null) {
+                    if (settled.compareAndSet(false, true) && callback != null) {
+                        post(() -> callback.onFailure(error, putCount));
+                    }
+                    return;
+                }
+                // Only the chunks confirmed by the whiteboard are added to the local scene tree. A late confirmation is still recorded.
+                sceneIndex.putScenes(dir, chunkScenes, index + putCount);
+                ensureSceneIndex();
+                if (!settled.compareAndSet(false, true)) {
+                    return;
+                }
+                final int count = putCount + chunk.size();
+                if (callback != null) {
+                    post(() -> callback.onProgress(count));
+                }
+                // The value is returned on the bridge thread, the iterator is only read on the main thread.
+                mainHandler.post(() -> putSceneChunk(dir, scenes, index, chunkSize, count, callback));
+            }
+        });
     }
 
     /**
@@ -995,6 +1329,8 @@ public class Room extends Displayer {
      */
     public void moveScene(String sourcePath, String targetDirOrPath) {
         bridge.callHandler("room.moveScene", new Object[]{sourcePath, targetDirOrPath});
+        sceneIndex.moveScene(sourcePath, targetDirOrPath);
+        ensureSceneIndex();
     }
 
     /**
@@ -1018,6 +1354,8 @@ public class Room extends Displayer {
      */
     public void removeScenes(String dirOrPath) {
         bridge.callHandler("room.removeScenes", new Object[]{dirOrPath});
+        sceneIndex.removeScenes(dirOrPath);
+        ensureSceneIndex();
     }
 
     /**
@@ -1253,12 +1591,43 @@ public class Room extends Displayer {
     /**
      * Send a custom event.
      *
-     * @note All users that listen for this event receive the notification.
+     * @note
+     * - All users that listen for this event receive the notification.
+     * - If send options are set for the event name with {@link #setMagixEventSendOptions setMagixEventSendOptions}, the event is sent accordingly.
      *
      * @param eventEntry The custom event. See {@link com.herewhite.sdk.domain.AkkoEvent AkkoEvent}.
      */
     public void dispatchMagixEvent(AkkoEvent eventEntry) {
-        bridge.callHandler("room.dispatchMagixEvent", new Object[]{eventEntry});
+        if (!magixEventSender.offer(eventEntry)) {
+            bridge.callHandler("room.dispatchMagixEvent", new Object[]{eventEntry});
+        }
+    }
+
+    /**
+     * Sets how the custom events of an event name are sent.
+     *
+     * @since 2.16.101
+     *
+     * Use this method for events dispatched at a high rate, such as the position of a laser pointer, to send fewer messages:
+     * keep only the latest event, or accumulate the events into one, within a flush interval, and limit the sending rate.
+     *
+     * @param eventName The name of the event.
+     * @param options   The send options. See {@link com.herewhite.sdk.domain.MagixEventSendOptions MagixEventSendOptions}.
+     * Pass `null` to send the events of this name directly again. Pending events are sent immediately.
+     */
+    public void setMagixEventSendOptions(String eventName, MagixEventSendOptions options) {
+        magixEventSender.setOptions(eventName, options);
+    }
+
+    /**
+     * Gets the statistics of the custom events sent with send options.
+     *
+     * @since 2.16.101
+     *
+     * @return The statistics. See {@link com.herewhite.sdk.domain.MagixEventSendStats MagixEventSendStats}.
+     */
+    public MagixEventSendStats getMagixEventSendStats() {
+        return magixEventSender.getStats();
     }
 
 
@@ -1412,13 +1781,90 @@ public class Room extends Displayer {
         this.roomListener = roomCallbacks;
     }
 
+    private volatile boolean coalesceRoomStateChanged = false;
+
+    private final FrameCoalescedStateListener<RoomState> frameRoomStateListener = new FrameCoalescedStateListener<>(RoomState.class,
+            modifyState -> post(() -> notifyRoomStateChanged(modifyState)));
+
     private SyncDisplayerState.Listener<RoomState> localRoomStateListener = modifyState -> {
+        if (coalesceRoomStateChanged) {
+            frameRoomStateListener.onDisplayerStateChanged(modifyState);
+        } else {
+            post(() -> notifyRoomStateChanged(modifyState));
+        }
+    };
+
+    private void notifyRoomStateChanged(RoomState modifyState) {
+        if (roomListener != null) {
+            roomListener.onRoomStateChanged(modifyState);
+        }
+    }
+
+    private final ConcurrentHashMap<StateField<?>, CopyOnWriteArrayList<StateFieldListener<?>>> stateFieldListeners = new ConcurrentHashMap<>();
+
+    private final RoomMemberRegistry memberRegistry = new RoomMemberRegistry();
+    private final CopyOnWriteArrayList<RoomMemberListener> roomMemberListeners = new CopyOnWriteArrayList<>();
+
+    private SyncDisplayerState.FieldsListener localRoomFieldsListener = keys -> {
+        if (keys.contains(StateField.ROOM_MEMBERS.getKey())) {
+            updateRoomMembers();
+        }
+        if (keys.contains(StateField.SCENE_STATE.getKey())) {
+            onSceneStateChanged(getStateValue(StateField.SCENE_STATE));
+        }
+        for (Map.Entry<StateField<?>, CopyOnWriteArrayList<StateFieldListener<?>>> entry : stateFieldListeners.entrySet()) {
+            if (!entry.getValue().isEmpty() && keys.contains(entry.getKey().getKey())) {
+                fireStateFieldChanged(entry.getKey(), entry.getValue());
+            }
+        }
+    };
+
+    @Override
+    void onSceneStateChanged(SceneState sceneState) {
+        super.onSceneStateChanged(sceneState);
+        PptPrefetcher prefetcher = pptPrefetcher;
+        if (prefetcher != null) {
+            prefetcher.onSceneStateChanged(sceneState);
+        }
+    }
+
+    private void updateRoomMembers() {
+        RoomMember[] members = getStateValue(StateField.ROOM_MEMBERS);
+        RoomMemberRegistry.Delta delta = memberRegistry.update(members);
+        if (delta.isEmpty() || roomMemberListeners.isEmpty()) {
+            return;
+        }
         post(() -> {
-            if (roomListener != null) {
-                roomListener.onRoomStateChanged(modifyState);
+            for (RoomMemberListener listener : roomMemberListeners) {
+                for (RoomMember member : delta.left) {
+                    listener.onMemberLeft(member);
+                }
+                for (RoomMember member : delta.joined) {
+                    listener.onMemberJoined(member);
+                }
+                for (RoomMember member : delta.stateChanged) {
+                    listener.onMemberStateChanged(member);
+                }
             }
         });
-    };
+    }
+
+    /**
+     * Gets a copy of a single field of the room state, without copying the full state.
+     */
+    private <V> V getStateValue(StateField<V> field) {
+        return field.valueOf(syncRoomState.getValue(field.getKey()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> void fireStateFieldChanged(StateField<V> field, CopyOnWriteArrayList<StateFieldListener<?>> listeners) {
+        V value = getStateValue(field);
+        post(() -> {
+            for (StateFieldListener<?> listener : listeners) {
+                ((StateFieldListener<V>) listener).onStateFieldChanged(value);
+            }
+        });
+    }
 
     //endregion
     private RoomDelegate roomDelegate;
@@ -1439,10 +1885,14 @@ public class Room extends Displayer {
          */
         @Override
         public void fireMagixEvent(EventEntry eventEntry) {
-            EventListener eventListener = eventListenerMap.get(eventEntry.getEventName());
-            if (eventListener != null) {
-                eventListener.onEvent(eventEntry);
-            }
+            attachPayloadCodec(eventEntry);
+            postEvent(() -> {
+                EventListener eventListener = eventListenerMap.get(eventEntry.getEventName());
+                if (eventListener != null) {
+                    eventListener.onEvent(eventEntry);
+                }
+                magixEventDispatcher.dispatch(eventEntry);
+            });
         }
 
         /// @cond test
@@ -1453,10 +1903,16 @@ public class Room extends Displayer {
          */
         @Override
         public void fireHighFrequencyEvent(EventEntry[] eventEntries) {
-            FrequencyEventListener eventListener = frequencyEventListenerMap.get(eventEntries[0].getEventName());
-            if (eventListener != null) {
-                eventListener.onEvent(eventEntries);
+            for (EventEntry eventEntry : eventEntries) {
+                attachPayloadCodec(eventEntry);
             }
+            publishHighFrequencyEvent(eventEntries);
+            postEvent(() -> {
+                FrequencyEventListener eventListener = frequencyEventListenerMap.get(eventEntries[0].getEventName());
+                if (eventListener != null) {
+                    eventListener.onEvent(eventEntries);
+                }
+            });
         }
         /// @endcond
 
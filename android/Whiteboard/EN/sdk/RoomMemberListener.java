@@ -0,0 +1,35 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.RoomMember;
+
+/**
+ * The callback interface for changes in the member list of a {@link Room} instance.
+ *
+ * The SDK computes the changes by comparing consecutive member lists, so you can update the member list of your UI incrementally.
+ * Members already in the room when you add the listener are not reported, you can get them with {@link Room#getRoomMembers() getRoomMembers}.
+ *
+ * @since 2.16.101
+ */
+public interface RoomMemberListener {
+
+    /**
+     * Occurs when a member joins the room.
+     *
+     * @param member The member that joins the room. See {@link RoomMember}.
+     */
+    void onMemberJoined(RoomMember member);
+
+    /**
+     * Occurs when a member leaves the room.
+     *
+     * @param member The member that leaves the room, as last reported. See {@link RoomMember}.
+     */
+    void onMemberLeft(RoomMember member);
+
+    /**
+     * Occurs when the state of the whiteboard tool of a member changes.
+     *
+     * @param member The member whose state changes. See {@link RoomMember}.
+     */
+    void onMemberStateChanged(RoomMember member);
+}
@@ -0,0 +1,80 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.MemberInformation;
+import com.herewhite.sdk.domain.RoomMember;
+import com.herewhite.sdk.domain.WhiteObjectFields;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the latest room members by `memberId` and `userId`, and computes the joined, left and changed members
+ * between consecutive member lists.
+ */
+class RoomMemberRegistry {
+
+    static class Delta {
+        final List<RoomMember> joined = new ArrayList<>();
+        final List<RoomMember> left = new ArrayList<>();
+        final List<RoomMember> stateChanged = new ArrayList<>();
+
+        boolean isEmpty() {
+            return joined.isEmpty() && left.isEmpty() && stateChanged.isEmpty();
+        }
+    }
+
+    private volatile Map<Long, RoomMember> byMemberId = Collections.emptyMap();
+    private volatile Map<String, RoomMember> byUserId = Collections.emptyMap();
+
+    /**
+     * Replaces the indexed members with a new member list, and returns the changes from the previous one.
+     * The maps are replaced rather than modified, so that lookups from other threads never need the lock.
+     */
+    synchronized Delta update(RoomMember[] members) {
+        Map<Long, RoomMember> previous = byMemberId;
+        int capacity = members == null ? 0 : members.length * 4 / 3 + 1;
+        Map<Long, RoomMember> nextByMemberId = new HashMap<>(capacity);
+        Map<String, RoomMember> nextByUserId = new HashMap<>(capacity);
+        Delta delta = new Delta();
+
+        if (members != null) {
+            for (RoomMember member : members) {
+                if (member == null || member.getMemberId() == null) {
+                    continue;
+                }
+                nextByMemberId.put(member.getMemberId(), member);
+                MemberInformation information = member.getInformation();
+                if (information != null && information.getUserId() != null) {
+                    nextByUserId.put(information.getUserId(), member);
+                }
+
+                RoomMember old = previous.get(member.getMemberId());
+                if (old == null) {
+                    delta.joined.add(member);
+                } else if (!WhiteObjectFields.deepEquals(old.getMemberState(), member.getMemberState())) {
+                    delta.stateChanged.add(member);
+                }
+            }
+        }
+        for (RoomMember old : previous.values()) {
+            if (!nextByMemberId.containsKey(old.getMemberId())) {
+                delta.left.add(old);
+            }
+        }
+
+        byMemberId = nextByMemberId;
+        byUserId = nextByUserId;
+        return delta;
+    }
+
+    RoomMember getByMemberId(long memberId) {
+        return byMemberId.get(memberId);
+    }
+
+    RoomMember getByUserId(String userId) {
+        return byUserId.get(userId);
+    }
+}
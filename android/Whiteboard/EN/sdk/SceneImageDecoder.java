@@ -0,0 +1,179 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Base64;
+import android.util.Base64InputStream;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Decodes the data URL of a scene preview or snapshot into a bitmap.
+ * <p>
+ * The base64 text is decoded while it streams into `BitmapFactory`, so neither a substring of the data URL nor the
+ * decoded image bytes are copied into intermediate arrays. The image is downsampled with `inSampleSize` when a target
+ * size is given, and decoded into a bitmap taken from a {@link BitmapPool} when one is large enough.
+ */
+class SceneImageDecoder {
+
+    interface Source {
+        InputStream open() throws IOException;
+    }
+
+    private final BitmapPool bitmapPool = new BitmapPool();
+    /**
+     * Bitmaps handed out to more than one caller, such as the ones of the preview cache. They stay here after leaving
+     * the cache, as callers may still display them, and are never decoded into again.
+     */
+    private final Set<Bitmap> shared = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Bitmap, Boolean>()));
+    private final int densityDpi;
+
+    SceneImageDecoder(int densityDpi) {
+        this.densityDpi = densityDpi;
+    }
+
+    /**
+     * @param reqWidth  The minimum width of the decoded bitmap, or 0 to keep the original width.
+     * @param reqHeight The minimum height of the decoded bitmap, or 0 to keep the original height.
+     */
+    Bitmap decode(final String dataUrl, int reqWidth, int reqHeight) throws IOException {
+        final int start = dataUrl.indexOf(',') + 1;
+        return decode(() -> open(dataUrl, start), reqWidth, reqHeight);
+    }
+
+    /**
+     * Decodes an image file, such as one written by {@link #write(String, File)}.
+     */
+    Bitmap decode(final File file, int reqWidth, int reqHeight) throws IOException {
+        return decode(() -> new BufferedInputStream(new FileInputStream(file)), reqWidth, reqHeight);
+    }
+
+    /**
+     * Writes the image bytes of a data URL to a file, decoding the base64 text on the way.
+     */
+    static void write(String dataUrl, File file) throws IOException {
+        try (InputStream in = open(dataUrl, dataUrl.indexOf(',') + 1);
+             OutputStream out = new FileOutputStream(file)) {
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = in.read(buffer)) != -1) {
+                out.write(buffer, 0, count);
+            }
+        }
+    }
+
+    private Bitmap decode(Source source, int reqWidth, int reqHeight) throws IOException {
+        BitmapFactory.Options opts = new BitmapFactory.Options();
+        opts.inJustDecodeBounds = true;
+        decodeStream(source, opts);
+        if (opts.outWidth <= 0 || opts.outHeight <= 0) {
+            return null;
+        }
+
+        opts.inJustDecodeBounds = false;
+        opts.inSampleSize = sampleSize(opts.outWidth, opts.outHeight, reqWidth, reqHeight);
+        opts.inDensity = densityDpi;
+        opts.inMutable = true;
+        int width = (opts.outWidth + opts.inSampleSize - 1) / opts.inSampleSize;
+        int height = (opts.outHeight + opts.inSampleSize - 1) / opts.inSampleSize;
+        // 4 bytes per pixel for ARGB_8888, the default config.
+        opts.inBitmap = bitmapPool.acquire(width * height * 4);
+        try {
+            return decodeStream(source, opts);
+        } catch (IllegalArgumentException e) {
+            // The decoder rejected the pooled bitmap, decode into a new one instead.
+            bitmapPool.release(opts.inBitmap);
+            opts.inBitmap = null;
+            return decodeStream(source, opts);
+        }
+    }
+
+    private static Bitmap decodeStream(Source source, BitmapFactory.Options opts) throws IOException {
+        try (InputStream in = source.open()) {
+            return BitmapFactory.decodeStream(in, null, opts);
+        }
+    }
+
+    /**
+     * Marks a bitmap as shared, {@link #release(Bitmap)} ignores it from now on.
+     */
+    void share(Bitmap bitmap) {
+        shared.add(bitmap);
+    }
+
+    void release(Bitmap bitmap) {
+        if (bitmap == null || shared.contains(bitmap)) {
+            return;
+        }
+        bitmapPool.release(bitmap);
+    }
+
+    void clear() {
+        bitmapPool.clear();
+    }
+
+    /**
+     * The largest power of two that keeps both sides no smaller than the requested size.
+     */
+    private static int sampleSize(int width, int height, int reqWidth, int reqHeight) {
+        int sampleSize = 1;
+        if (reqWidth <= 0 && reqHeight <= 0) {
+            return sampleSize;
+        }
+        while (width / (sampleSize * 2) >= Math.max(reqWidth, 1) && height / (sampleSize * 2) >= Math.max(reqHeight, 1)) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static InputStream open(String dataUrl, int start) {
+        return new Base64InputStream(new AsciiInputStream(dataUrl, start), Base64.DEFAULT);
+    }
+
+    /**
+     * Reads the characters of a base64 string as bytes, without copying the string.
+     */
+    private static class AsciiInputStream extends InputStream {
+        private final String source;
+        private int position;
+
+        AsciiInputStream(String source, int start) {
+            this.source = source;
+            this.position = start;
+        }
+
+        @Override
+        public int read() {
+            return position < source.length() ? source.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int count = Math.min(length, source.length() - position);
+            if (count <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) source.charAt(position++);
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return source.length() - position;
+        }
+    }
+}
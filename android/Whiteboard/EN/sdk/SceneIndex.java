@@ -0,0 +1,357 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.PptPage;
+import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.domain.WhiteObjectFields;
+import com.herewhite.sdk.domain.WhiteScenePathType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local copy of the scene tree, so that scene lookups can be answered without a bridge round trip.
+ * <p>
+ * The tree is seeded from `displayer.entireScenes`, then kept up to date from the scene state, which lists the scenes of
+ * the current directory, and from the scene operations of this client. Until the tree is seeded, only lookups of scenes
+ * in the current directory are answered. Lookups that cannot be answered return `null`.
+ */
+class SceneIndex {
+
+    private static class Dir {
+        final Map<String, Dir> dirs = new LinkedHashMap<>();
+        final List<Scene> scenes = new ArrayList<>();
+
+        boolean isEmpty() {
+            return dirs.isEmpty() && scenes.isEmpty();
+        }
+    }
+
+    private Dir root = new Dir();
+    private boolean enabled;
+    private boolean complete;
+    private SceneState sceneState;
+    /**
+     * Incremented by every local scene operation, see {@link #reset(Map, long)}.
+     */
+    private long revision;
+
+    synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * The tree is only maintained while the index is enabled. Disabling drops it, enabling starts again from the scene state.
+     */
+    synchronized void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+        this.enabled = enabled;
+        // Results of `displayer.entireScenes` queried before are no longer used.
+        revision++;
+        root = new Dir();
+        complete = false;
+        applySceneState();
+    }
+
+    synchronized long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Replaces the tree with the result of `displayer.entireScenes`. Returns `false` without changing the tree if a local
+     * operation was applied since `revision`, as the result may not include it.
+     */
+    synchronized boolean reset(Map<String, Scene[]> entireScenes, long revision) {
+        if (!enabled || revision != this.revision) {
+            return false;
+        }
+        root = new Dir();
+        for (Map.Entry<String, Scene[]> entry : entireScenes.entrySet()) {
+            if (entry.getValue() != null && entry.getValue().length > 0) {
+                Dir dir = dir(entry.getKey(), true);
+                for (Scene scene : entry.getValue()) {
+                    // The result is also passed to the caller, which may modify it.
+                    dir.scenes.add(copy(scene));
+                }
+            }
+        }
+        complete = true;
+        // The scene state may be newer than the result.
+        applySceneState();
+        return true;
+    }
+
+    synchronized void updateSceneState(SceneState sceneState) {
+        this.sceneState = sceneState;
+        applySceneState();
+    }
+
+    private void applySceneState() {
+        if (!enabled || sceneState == null || sceneState.getScenePath() == null || sceneState.getScenes() == null) {
+            return;
+        }
+        Dir dir = dir(parent(sceneState.getScenePath()), true);
+        dir.scenes.clear();
+        for (Scene scene : sceneState.getScenes()) {
+            dir.scenes.add(scene);
+        }
+    }
+
+    synchronized void putScenes(String dirPath, Scene[] scenes, int index) {
+        if (!enabled) {
+            return;
+        }
+        revision++;
+        for (Scene scene : scenes) {
+            if (scene.getName() == null) {
+                // The whiteboard generates the name, which is unknown here.
+                invalidate();
+                return;
+            }
+        }
+        Dir dir = dir(dirPath, true);
+        int position = Math.max(0, Math.min(index, dir.scenes.size()));
+        for (Scene scene : scenes) {
+            dir.scenes.add(position++, scene);
+        }
+    }
+
+    synchronized void moveScene(String sourcePath, String targetDirOrPath) {
+        if (!enabled) {
+            return;
+        }
+        revision++;
+        Dir sourceDir = dir(parent(sourcePath), false);
+        int sourceIndex = sourceDir != null ? indexOf(sourceDir, name(sourcePath)) : -1;
+        if (sourceIndex < 0) {
+            // The source is unknown, the tree no longer matches the whiteboard.
+            invalidate();
+            return;
+        }
+        Scene scene = sourceDir.scenes.remove(sourceIndex);
+        Dir targetDir = dir(targetDirOrPath, false);
+        if (targetDir == null) {
+            // Moved to a new path, the scene is renamed.
+            targetDir = dir(parent(targetDirOrPath), true);
+            Scene renamed = WhiteObjectFields.of(Scene.class).copy(scene);
+            renamed.setName(name(targetDirOrPath));
+            scene = renamed;
+        }
+        targetDir.scenes.add(scene);
+        prune(parent(sourcePath));
+    }
+
+    synchronized void removeScenes(String dirOrPath) {
+        if (!enabled) {
+            return;
+        }
+        revision++;
+        String path = normalize(dirOrPath);
+        if (path.equals("/")) {
+            // The whiteboard creates a new scene after removing all scenes.
+            invalidate();
+            return;
+        }
+        Dir parent = dir(parent(path), false);
+        if (parent == null) {
+            return;
+        }
+        if (parent.dirs.remove(name(path)) == null) {
+            int index = indexOf(parent, name(path));
+            if (index >= 0) {
+                parent.scenes.remove(index);
+            }
+        }
+        prune(parent(path));
+        if (root.isEmpty()) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        root = new Dir();
+        complete = false;
+        applySceneState();
+    }
+
+    synchronized WhiteScenePathType pathType(String path) {
+        path = normalize(path);
+        if (!path.equals("/")) {
+            Dir parent = dir(parent(path), false);
+            if (parent != null && indexOf(parent, name(path)) >= 0) {
+                return WhiteScenePathType.Page;
+            }
+        }
+        if (!complete) {
+            return null;
+        }
+        Dir dir = dir(path, false);
+        return dir != null && !dir.isEmpty() ? WhiteScenePathType.Dir : WhiteScenePathType.Empty;
+    }
+
+    /**
+     * Returns `true` if {@link #scene(String)} can tell whether the scene exists.
+     */
+    synchronized boolean knowsScene(String path) {
+        return complete || isCurrentDir(parent(normalize(path)));
+    }
+
+    synchronized Scene scene(String path) {
+        path = normalize(path);
+        Dir dir = dir(parent(path), false);
+        int index = dir != null ? indexOf(dir, name(path)) : -1;
+        return index >= 0 ? copy(dir.scenes.get(index)) : null;
+    }
+
+    synchronized Map<String, Scene[]> entireScenes() {
+        if (!complete) {
+            return null;
+        }
+        Map<String, Scene[]> result = new LinkedHashMap<>();
+        collect("/", root, result);
+        return result;
+    }
+
+    private static void collect(String path, Dir dir, Map<String, Scene[]> result) {
+        if (!dir.scenes.isEmpty()) {
+            Scene[] scenes = new Scene[dir.scenes.size()];
+            for (int i = 0; i < scenes.length; i++) {
+                scenes[i] = copy(dir.scenes.get(i));
+            }
+            result.put(path, scenes);
+        }
+        for (Map.Entry<String, Dir> entry : dir.dirs.entrySet()) {
+            collect(child(path, entry.getKey()), entry.getValue(), result);
+        }
+    }
+
+    private static Scene copy(Scene scene) {
+        return scene != null ? WhiteObjectFields.of(Scene.class).deepCopy(scene) : null;
+    }
+
+    private boolean isCurrentDir(String dirPath) {
+        return sceneState != null && sceneState.getScenePath() != null
+                && parent(sceneState.getScenePath()).equals(dirPath);
+    }
+
+    private Dir dir(String path, boolean create) {
+        Dir dir = root;
+        for (String name : normalize(path).split("/")) {
+            if (name.isEmpty()) {
+                continue;
+            }
+            Dir next = dir.dirs.get(name);
+            if (next == null) {
+                if (!create) {
+                    return null;
+                }
+                next = new Dir();
+                dir.dirs.put(name, next);
+            }
+            dir = next;
+        }
+        return dir;
+    }
+
+    /**
+     * Removes the empty directories from `path` up to the root, as the whiteboard does.
+     */
+    private void prune(String path) {
+        path = normalize(path);
+        while (!path.equals("/")) {
+            Dir parent = dir(parent(path), false);
+            Dir dir = parent != null ? parent.dirs.get(name(path)) : null;
+            if (dir == null || !dir.isEmpty()) {
+                return;
+            }
+            parent.dirs.remove(name(path));
+            path = parent(path);
+        }
+    }
+
+    private static int indexOf(Dir dir, String name) {
+        for (int i = 0; i < dir.scenes.size(); i++) {
+            if (name.equals(dir.scenes.get(i).getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        if (!path.startsWith("/")) {
+            path = "/" + path;
+        }
+        while (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    private static String parent(String path) {
+        path = normalize(path);
+        int index = path.lastIndexOf('/');
+        return index <= 0 ? "/" : path.substring(0, index);
+    }
+
+    private static String name(String path) {
+        path = normalize(path);
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String child(String dir, String name) {
+        return dir.endsWith("/") ? dir + name : dir + "/" + name;
+    }
+
+    /**
+     * Compares the structure of two scene lookups: scene names and PPT pages. The number of components is ignored, as
+     * it is only reported for the current directory.
+     */
+    static boolean sameScenes(Object a, Object b) {
+        if (a instanceof Map && b instanceof Map) {
+            Map<?, ?> mapA = (Map<?, ?>) a;
+            Map<?, ?> mapB = (Map<?, ?>) b;
+            if (!mapA.keySet().equals(mapB.keySet())) {
+                return false;
+            }
+            for (Map.Entry<?, ?> entry : mapA.entrySet()) {
+                if (!sameScenes(entry.getValue(), mapB.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof Scene[] && b instanceof Scene[]) {
+            Scene[] scenesA = (Scene[]) a;
+            Scene[] scenesB = (Scene[]) b;
+            if (scenesA.length != scenesB.length) {
+                return false;
+            }
+            for (int i = 0; i < scenesA.length; i++) {
+                if (!sameScenes(scenesA[i], scenesB[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (a instanceof Scene && b instanceof Scene) {
+            Scene sceneA = (Scene) a;
+            Scene sceneB = (Scene) b;
+            PptPage pptA = sceneA.getPpt();
+            PptPage pptB = sceneB.getPpt();
+            return equals(sceneA.getName(), sceneB.getName()) && WhiteObjectFields.deepEquals(pptA, pptB);
+        }
+        return equals(a, b);
+    }
+
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,246 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.Scene;
+import com.herewhite.sdk.domain.ScenePreviewCacheOptions;
+import com.herewhite.sdk.domain.ScenePreviewCacheStats;
+import com.herewhite.sdk.domain.SceneState;
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-level cache of scene previews: decoded bitmaps in a memory LRU bounded by bytes, and the original images in a
+ * disk LRU bounded by size.
+ * <p>
+ * Entries are keyed by the scene path and a content version derived from the {@link Scene} reported in the
+ * {@link SceneState}, so an entry is never returned once the scene has changed. Scenes whose version is unknown,
+ * such as the scenes outside the current directory, are not cached.
+ */
+class ScenePreviewCache {
+    private static final String FILE_SUFFIX = ".img";
+    /**
+     * Disk operations run on this thread, off the thread of the caller.
+     */
+    private static final Executor diskExecutor = Executors.newSingleThreadExecutor();
+
+    interface DiskCallback {
+        void onResult(Bitmap bitmap);
+    }
+
+    private final LruCache<String, Bitmap> memoryCache;
+    /**
+     * `null` if previews are only cached in memory.
+     */
+    private final DiskLruFiles diskCache;
+
+    /**
+     * Content version of each scene path listed in the latest scene state.
+     */
+    private final Map<String, String> versions = new HashMap<>();
+    private final Map<String, List<Promise<Bitmap>>> pending = new HashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    ScenePreviewCache(ScenePreviewCacheOptions options) {
+        this.memoryCache = new LruCache<String, Bitmap>(Math.max(1, options.getMemoryCacheSize())) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+        this.diskCache = options.getDiskCacheDirectory() != null
+                ? new DiskLruFiles(new File(options.getDiskCacheDirectory()), options.getDiskCacheSize()) : null;
+    }
+
+    /**
+     * Replaces the content versions with the ones of the scenes in `sceneState`. Entries of scenes whose version
+     * changed are dropped.
+     */
+    void updateVersions(SceneState sceneState) {
+        Map<String, String> latest = new HashMap<>();
+        if (sceneState != null && sceneState.getScenes() != null && sceneState.getScenePath() != null) {
+            String scenePath = sceneState.getScenePath();
+            String dir = scenePath.substring(0, Math.max(scenePath.lastIndexOf('/'), 0));
+            for (Scene scene : sceneState.getScenes()) {
+                String version = version(scene);
+                if (version != null) {
+                    latest.put(dir + "/" + scene.getName(), version);
+                }
+            }
+        }
+        List<String> changed = new ArrayList<>();
+        synchronized (versions) {
+            for (Map.Entry<String, String> entry : versions.entrySet()) {
+                String version = latest.get(entry.getKey());
+                if (version != null && !version.equals(entry.getValue())) {
+                    changed.add(versionKey(entry.getKey(), entry.getValue()));
+                }
+            }
+            // Scenes no longer listed keep their entries, they are reused if the scene is listed again unchanged.
+            versions.clear();
+            versions.putAll(latest);
+        }
+        for (String versionKey : changed) {
+            invalidate(versionKey);
+        }
+    }
+
+    /**
+     * The content of a scene changes its number of components, or its PPT page. Returns `null` if the whiteboard
+     * does not report the number of components.
+     */
+    private static String version(Scene scene) {
+        if (scene.getName() == null || scene.getComponentsCount() == null) {
+            return null;
+        }
+        String ppt = scene.getPpt() != null ? scene.getPpt().getSrc() : null;
+        return scene.getComponentsCount() + ":" + ppt;
+    }
+
+    private static String versionKey(String scenePath, String version) {
+        return scenePath + "#" + version;
+    }
+
+    private static String memoryKey(String versionKey, int width, int height) {
+        return versionKey + "@" + width + "x" + height;
+    }
+
+    /**
+     * Gets the key of the current content of a scene, or `null` if the scene cannot be cached.
+     */
+    String versionKey(String scenePath) {
+        synchronized (versions) {
+            String version = versions.get(scenePath);
+            return version != null ? versionKey(scenePath, version) : null;
+        }
+    }
+
+    Bitmap getFromMemory(String versionKey, int width, int height) {
+        Bitmap bitmap = memoryCache.get(memoryKey(versionKey, width, height));
+        if (bitmap != null) {
+            memoryHits.incrementAndGet();
+        }
+        return bitmap;
+    }
+
+    /**
+     * Registers a promise waiting for a preview. Returns `true` if no other load of the same preview is in progress,
+     * in which case the caller loads it and settles the promises returned by {@link #takePending}.
+     */
+    synchronized boolean addPending(String versionKey, int width, int height, Promise<Bitmap> promise) {
+        String key = memoryKey(versionKey, width, height);
+        List<Promise<Bitmap>> promises = pending.get(key);
+        if (promises != null) {
+            promises.add(promise);
+            return false;
+        }
+        promises = new ArrayList<>();
+        promises.add(promise);
+        pending.put(key, promises);
+        return true;
+    }
+
+    synchronized List<Promise<Bitmap>> takePending(String versionKey, int width, int height) {
+        List<Promise<Bitmap>> promises = pending.remove(memoryKey(versionKey, width, height));
+        return promises != null ? promises : Collections.<Promise<Bitmap>>emptyList();
+    }
+
+    /**
+     * Reads the preview from disk on the disk thread. The callback is called on the disk thread, with `null` if the
+     * preview is not on disk.
+     */
+    void getFromDisk(final String versionKey, final int width, final int height, final SceneImageDecoder decoder,
+                     final DiskCallback callback) {
+        if (diskCache == null) {
+            misses.incrementAndGet();
+            callback.onResult(null);
+            return;
+        }
+        diskExecutor.execute(() -> {
+            Bitmap bitmap = null;
+            String name = DiskLruFiles.fileName(versionKey, FILE_SUFFIX);
+            File file = diskCache.get(name);
+            if (file != null) {
+                try {
+                    bitmap = decoder.decode(file, width, height);
+                } catch (IOException | RuntimeException e) {
+                    Logger.error("An exception occurred while read scene preview cache", e);
+                    diskCache.remove(name);
+                }
+            }
+            if (bitmap != null) {
+                diskHits.incrementAndGet();
+                decoder.share(bitmap);
+                memoryCache.put(memoryKey(versionKey, width, height), bitmap);
+            } else {
+                misses.incrementAndGet();
+            }
+            callback.onResult(bitmap);
+        });
+    }
+
+    /**
+     * Caches a preview rendered by the whiteboard. `dataUrl` is the image returned by the whiteboard, it is written
+     * to disk as is, so that later reads can be decoded at any size.
+     */
+    void put(final String versionKey, int width, int height, Bitmap bitmap, final String dataUrl) {
+        memoryCache.put(memoryKey(versionKey, width, height), bitmap);
+        if (diskCache == null) {
+            return;
+        }
+        diskExecutor.execute(() -> {
+            String name = DiskLruFiles.fileName(versionKey, FILE_SUFFIX);
+            File tmp = diskCache.tempFile(name);
+            try {
+                SceneImageDecoder.write(dataUrl, tmp);
+                diskCache.commit(name, tmp);
+            } catch (IOException | RuntimeException e) {
+                Logger.error("An exception occurred while write scene preview cache", e);
+                tmp.delete();
+            }
+        });
+    }
+
+    private void invalidate(final String versionKey) {
+        String prefix = versionKey + "@";
+        for (String key : memoryCache.snapshot().keySet()) {
+            if (key.startsWith(prefix)) {
+                memoryCache.remove(key);
+            }
+        }
+        if (diskCache != null) {
+            diskExecutor.execute(() -> diskCache.remove(DiskLruFiles.fileName(versionKey, FILE_SUFFIX)));
+        }
+    }
+
+    /**
+     * Drops the memory cache. Files on disk are kept for later sessions.
+     */
+    void clearMemory() {
+        memoryCache.evictAll();
+    }
+
+    ScenePreviewCacheStats stats() {
+        long memoryBytes = 0;
+        for (Bitmap bitmap : memoryCache.snapshot().values()) {
+            memoryBytes += bitmap.getAllocationByteCount();
+        }
+        return new ScenePreviewCacheStats(memoryHits.get(), diskHits.get(), misses.get(), memoryCache.evictionCount(),
+                diskCache != null ? diskCache.evictionCount() : 0, memoryBytes, diskCache != null ? diskCache.size() : 0);
+    }
+}
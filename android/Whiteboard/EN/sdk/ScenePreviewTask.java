@@ -0,0 +1,150 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.SDKError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The handle of a preview generation started with {@link Displayer#generatePreviews(String, android.util.Size, int, ScenePreviewsCallback) generatePreviews}.
+ *
+ * @since 2.16.101
+ */
+public final class ScenePreviewTask {
+    private final Displayer displayer;
+    private final int width;
+    private final int height;
+    private final int parallelism;
+    private final ScenePreviewsCallback callback;
+
+    private List<String> scenePaths;
+    private int next;
+    private int inFlight;
+    private int completed;
+    private volatile boolean cancelled;
+
+    ScenePreviewTask(Displayer displayer, int width, int height, int parallelism, ScenePreviewsCallback callback) {
+        this.displayer = displayer;
+        this.width = width;
+        this.height = height;
+        this.parallelism = Math.max(1, parallelism);
+        this.callback = callback;
+    }
+
+    /**
+     * Cancels the generation.
+     *
+     * Previews being rendered are discarded, and no other scene is rendered. {@link ScenePreviewsCallback#onCompleted(boolean) onCompleted} is triggered with `true`.
+     */
+    public void cancel() {
+        synchronized (this) {
+            if (cancelled || isFinished()) {
+                return;
+            }
+            cancelled = true;
+        }
+        displayer.post(() -> callback.onCompleted(true));
+    }
+
+    /**
+     * Checks whether the generation is cancelled.
+     *
+     * @return Whether the generation is cancelled.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Gets the number of scenes to generate previews for.
+     *
+     * @return The number of scenes, or 0 if the scenes are still being listed.
+     */
+    public synchronized int getTotalCount() {
+        return scenePaths != null ? scenePaths.size() : 0;
+    }
+
+    /**
+     * Gets the number of scenes whose preview has been generated or has failed.
+     *
+     * @return The number of completed scenes.
+     */
+    public synchronized int getCompletedCount() {
+        return completed;
+    }
+
+    private boolean isFinished() {
+        return scenePaths != null && completed == scenePaths.size();
+    }
+
+    void start(List<String> scenePaths) {
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            this.scenePaths = scenePaths;
+        }
+        if (scenePaths.isEmpty()) {
+            displayer.post(() -> callback.onCompleted(false));
+            return;
+        }
+        renderNext();
+    }
+
+    /**
+     * Renders scenes until `parallelism` renders are in flight.
+     */
+    private void renderNext() {
+        List<String> launch = new ArrayList<>();
+        synchronized (this) {
+            while (!cancelled && inFlight < parallelism && next < scenePaths.size()) {
+                launch.add(scenePaths.get(next++));
+                inFlight++;
+            }
+        }
+        for (final String scenePath : launch) {
+            displayer.getScenePreviewImage(scenePath, width, height, new Promise<Bitmap>() {
+                @Override
+                public void then(Bitmap bitmap) {
+                    onRendered(scenePath, bitmap, null);
+                }
+
+                @Override
+                public void catchEx(SDKError t) {
+                    onRendered(scenePath, null, t);
+                }
+            });
+        }
+    }
+
+    private void onRendered(final String scenePath, final Bitmap bitmap, final SDKError error) {
+        final boolean finished;
+        synchronized (this) {
+            inFlight--;
+            completed++;
+            finished = isFinished();
+        }
+        if (cancelled) {
+            displayer.releaseSceneImage(bitmap);
+            return;
+        }
+        displayer.post(() -> {
+            if (cancelled) {
+                displayer.releaseSceneImage(bitmap);
+                return;
+            }
+            if (bitmap != null) {
+                callback.onScenePreview(scenePath, bitmap);
+            } else {
+                callback.onScenePreviewError(scenePath, error);
+            }
+            if (finished) {
+                callback.onCompleted(false);
+            }
+        });
+        renderNext();
+    }
+}
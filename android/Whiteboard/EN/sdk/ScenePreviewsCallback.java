@@ -0,0 +1,40 @@
+package com.herewhite.sdk;
+
+import android.graphics.Bitmap;
+
+import com.herewhite.sdk.domain.SDKError;
+
+/**
+ * The callback interface for the previews generated by {@link Displayer#generatePreviews(String, android.util.Size, int, ScenePreviewsCallback) generatePreviews}.
+ *
+ * Previews are reported as soon as each of them is rendered, so the order may differ from the order of the scenes.
+ *
+ * @since 2.16.101
+ */
+public interface ScenePreviewsCallback {
+
+    /**
+     * Occurs when the preview of a scene is generated.
+     *
+     * @param scenePath The path of the scene.
+     * @param bitmap    The preview of the scene. Pass it to {@link Displayer#releaseSceneImage(Bitmap) releaseSceneImage} when it is no longer used.
+     */
+    void onScenePreview(String scenePath, Bitmap bitmap);
+
+    /**
+     * Occurs when the preview of a scene fails to be generated.
+     *
+     * @param scenePath The path of the scene.
+     * @param error     The error message. See {@link SDKError}.
+     */
+    void onScenePreviewError(String scenePath, SDKError error);
+
+    /**
+     * Occurs when the generation ends.
+     *
+     * @param cancelled Whether the generation is cancelled:
+     *                  - `true`: The generation is cancelled with {@link ScenePreviewTask#cancel() cancel}, the remaining scenes are not reported.
+     *                  - `false`: Every scene has been reported.
+     */
+    void onCompleted(boolean cancelled);
+}
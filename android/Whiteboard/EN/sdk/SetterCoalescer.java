@@ -0,0 +1,54 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.WhiteObject;
+import com.herewhite.sdk.domain.WhiteObjectFields;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Bridge methods that only set a value, so a pending call can be replaced by a newer call of the same method.
+ */
+class SetterCoalescer {
+    private static final Set<String> coalescableMethods = new HashSet<>(Arrays.asList(
+            "displayer.moveCamera",
+            "displayer.setBackgroundColor",
+            "room.setMemberState"
+    ));
+
+    static boolean isCoalescable(String method) {
+        return coalescableMethods.contains(method);
+    }
+
+    /**
+     * Last write wins. Partial objects such as `CameraConfig` and `MemberState` only carry the fields that the caller set,
+     * so the fields of the superseded call that the newer call leaves `null` are kept.
+     */
+    static Object[] merge(Object[] previous, Object[] next) {
+        if (previous != null && next != null && previous.length == 1 && next.length == 1) {
+            Object older = previous[0];
+            Object newer = next[0];
+            if (older instanceof WhiteObject && newer != null && older.getClass() == newer.getClass()) {
+                return new Object[]{WhiteObjectFields.of(newer.getClass()).overlay(older, newer)};
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Takes a deep copy of the arguments, as they are serialized only when flushed and the caller may reuse its objects,
+     * including their nested arrays.
+     */
+    static Object[] snapshot(Object[] args) {
+        if (args == null) {
+            return null;
+        }
+        Object[] copy = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            copy[i] = arg instanceof WhiteObject ? WhiteObjectFields.of(arg.getClass()).deepCopy(arg) : arg;
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,323 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.Promise;
+import com.herewhite.sdk.domain.SlideResourceCacheOptions;
+import com.herewhite.sdk.domain.SlideResourceCacheStats;
+import com.herewhite.sdk.internal.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Disk cache of the resources of converted slide decks.
+ * <p>
+ * A resource is keyed by the `taskUuid` of its conversion task and its path in the deck, as the resources of a task never
+ * change. The same resource is therefore a hit whatever the host, the `prefixUrl` or the signed query of its URL.
+ * The paths of the resources downloaded for each deck are recorded in the `decks` subdirectory, so that a deck can be
+ * preloaded before a later class without knowing its content.
+ */
+class SlideResourceCache {
+    private static final Pattern TASK_UUID = Pattern.compile("/([0-9a-fA-F]{32})/(.+)$");
+    private static final String DECKS_DIRECTORY = "decks";
+    private static final Executor downloadExecutor = Executors.newFixedThreadPool(2);
+
+    private final File decksDirectory;
+    private final DiskLruFiles files;
+    /**
+     * Keys of the resources being downloaded.
+     */
+    private final Set<String> downloading = new HashSet<>();
+    /**
+     * Paths of the resources downloaded for each deck, keyed by `taskUuid`.
+     */
+    private final Map<String, Set<String>> deckPaths = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong downloads = new AtomicLong();
+    private final AtomicLong downloadedBytes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    SlideResourceCache(SlideResourceCacheOptions options) {
+        File directory = new File(options.getCacheDirectory());
+        this.files = new DiskLruFiles(directory, options.getCacheSize());
+        this.decksDirectory = new File(directory, DECKS_DIRECTORY);
+        // Lookups from the bridge thread only read the index in memory, see contains().
+        downloadExecutor.execute(files::preload);
+    }
+
+    /**
+     * Gets the cache key of a resource: `taskUuid/path` for a resource of a converted deck, or the URL without its query
+     * otherwise. Returns `null` if the resource cannot be cached.
+     */
+    static String key(String url) {
+        if (!ResourceDownloader.isDownloadable(url)) {
+            return null;
+        }
+        String path = ResourceDownloader.stripQuery(url);
+        Matcher matcher = TASK_UUID.matcher(path);
+        return matcher.find() ? matcher.group(1).toLowerCase() + "/" + matcher.group(2) : path;
+    }
+
+    private static String fileName(String key) {
+        return DiskLruFiles.fileName(key, ResourceDownloader.extension(key));
+    }
+
+    /**
+     * Checks whether a resource is cached, from the index in memory only, so that it can be called on the bridge thread.
+     * Resources are reported as not cached until the index is loaded. Counts a hit or a miss.
+     */
+    boolean contains(String url) {
+        String key = key(url);
+        if (key == null) {
+            return false;
+        }
+        boolean cached = files.peek(fileName(key));
+        if (cached) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * Resolves a resource to its cached file for the {@link ResourceServer} of the whiteboard view, or returns `null` if it
+     * is not cached. Called on a thread of the WebView.
+     */
+    String resolve(String url) {
+        String key = key(url);
+        File file = key != null ? files.get(fileName(key)) : null;
+        if (file == null) {
+            return null;
+        }
+        bytesSaved.addAndGet(file.length());
+        return "file://" + file.getAbsolutePath();
+    }
+
+    /**
+     * Gets the cached file of a resource, or `null` if it is not cached. Counts a hit or a miss.
+     */
+    File get(String url) {
+        String key = key(url);
+        if (key == null) {
+            return null;
+        }
+        File file = files.get(fileName(key));
+        if (file != null) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(file.length());
+        } else {
+            misses.incrementAndGet();
+        }
+        return file;
+    }
+
+    /**
+     * Opens the cached file of a resource for reading, or returns `null` if it is not cached. The file is memory-mapped,
+     * so that reads are served from the page cache without copying the file into the heap.
+     */
+    InputStream open(String url) throws IOException {
+        File file = get(url);
+        if (file == null) {
+            return null;
+        }
+        try (FileInputStream in = new FileInputStream(file); FileChannel channel = in.getChannel()) {
+            // The mapping stays valid after the channel is closed.
+            return new MappedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Downloads a resource in the background, unless it is cached or being downloaded. `downloadUrl` is the URL to
+     * download from, such as the URL returned by the app for `sourceUrl`.
+     */
+    void fetch(String sourceUrl, final String downloadUrl) {
+        final String key = key(sourceUrl);
+        if (key == null || !ResourceDownloader.isDownloadable(downloadUrl)) {
+            return;
+        }
+        downloadExecutor.execute(() -> cache(key, downloadUrl));
+    }
+
+    /**
+     * Downloads the resources of a deck. `resourcePaths` are relative to `prefixUrl/taskUuid/`, or `null` to use the paths
+     * recorded for the deck. The promise receives the number of resources of the deck in the cache.
+     */
+    void preload(final String prefixUrl, final String taskUuid, final String[] resourcePaths, final Promise<Integer> promise) {
+        downloadExecutor.execute(() -> {
+            String base = (prefixUrl.endsWith("/") ? prefixUrl : prefixUrl + "/") + taskUuid + "/";
+            List<String> paths = new ArrayList<>();
+            if (resourcePaths != null) {
+                for (String path : resourcePaths) {
+                    paths.add(path.startsWith("/") ? path.substring(1) : path);
+                }
+            } else {
+                paths.addAll(recordedPaths(taskUuid.toLowerCase()));
+            }
+            int cached = 0;
+            for (String path : paths) {
+                String url = base + path;
+                String key = key(url);
+                if (key != null && cache(key, url)) {
+                    cached++;
+                }
+            }
+            final int result = cached;
+            CallbackExecutors.main().execute(() -> promise.then(result));
+        });
+    }
+
+    /**
+     * Must be called on the download thread. Returns `true` if the resource is in the cache afterwards. Returns `false`
+     * without waiting if another thread is downloading the resource.
+     */
+    private boolean cache(String key, String url) {
+        synchronized (downloading) {
+            if (!downloading.add(key)) {
+                return false;
+            }
+        }
+        try {
+            return files.contains(fileName(key)) || download(key, url);
+        } finally {
+            synchronized (downloading) {
+                downloading.remove(key);
+            }
+        }
+    }
+
+    private boolean download(String key, String url) {
+        String name = fileName(key);
+        File tmp = files.tempFile(name);
+        try {
+            long bytes = ResourceDownloader.download(url, tmp);
+            files.commit(name, tmp);
+            downloads.incrementAndGet();
+            downloadedBytes.addAndGet(bytes);
+            recordDeckPath(key);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            Logger.error("An exception occurred while download slide resource", e);
+            failures.incrementAndGet();
+            tmp.delete();
+            return false;
+        }
+    }
+
+    private synchronized void recordDeckPath(String key) {
+        int slash = key.indexOf('/');
+        String taskUuid = key.substring(0, slash);
+        if (!taskUuid.matches("[0-9a-f]{32}")) {
+            // Not a resource of a converted deck.
+            return;
+        }
+        String path = key.substring(slash + 1);
+        if (!deckPaths(taskUuid).add(path)) {
+            return;
+        }
+        if (!decksDirectory.isDirectory() && !decksDirectory.mkdirs()) {
+            return;
+        }
+        try (Writer writer = new FileWriter(new File(decksDirectory, taskUuid), true)) {
+            writer.write(path + "\n");
+        } catch (IOException e) {
+            Logger.error("An exception occurred while record slide resource", e);
+        }
+    }
+
+    private synchronized List<String> recordedPaths(String taskUuid) {
+        return new ArrayList<>(deckPaths(taskUuid));
+    }
+
+    /**
+     * Gets the recorded paths of a deck, loading them on first use.
+     */
+    private synchronized Set<String> deckPaths(String taskUuid) {
+        Set<String> paths = deckPaths.get(taskUuid);
+        if (paths != null) {
+            return paths;
+        }
+        paths = new LinkedHashSet<>();
+        deckPaths.put(taskUuid, paths);
+        File file = new File(decksDirectory, taskUuid);
+        if (!file.isFile()) {
+            return paths;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    paths.add(line);
+                }
+            }
+        } catch (IOException e) {
+            Logger.error("An exception occurred while read slide resource records", e);
+        }
+        return paths;
+    }
+
+    SlideResourceCacheStats stats() {
+        return new SlideResourceCacheStats(hits.get(), misses.get(), bytesSaved.get(), downloads.get(),
+                downloadedBytes.get(), failures.get(), files.evictionCount(), files.size());
+    }
+
+    private static class MappedInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.herewhite.sdk;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.herewhite.sdk.domain.GlobalState;
+import com.herewhite.sdk.domain.WhiteDisplayerState;
+import com.herewhite.sdk.domain.WhiteObjectFields;
+import com.herewhite.sdk.internal.Logger;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the latest displayer state reported by the WebView.
+ * <p>
+ * A state update only carries the top-level keys that changed, such as `memberState` or `zoomScale`. Updates are merged
+ * into a retained JSON tree, and only the values of the changed keys are deserialized again; the values of the other
+ * keys, such as a large `roomMembers` or `sceneState`, are reused.
+ * <p>
+ * The deserialized values are shared by the retained state, so callers only ever receive deep copies of them: an app
+ * that modifies a returned state object cannot change what later readers and listeners see.
+ */
+class SyncDisplayerState<T extends WhiteDisplayerState> {
+
+    interface Listener<T> {
+        void onDisplayerStateChanged(T modifyState);
+    }
+
+    /**
+     * Receives the top-level keys whose value actually changed, so that callers only read the keys they need.
+     */
+    interface FieldsListener {
+        void onFieldsChanged(Set<String> keys);
+    }
+
+    private static final Gson gson = new Gson();
+    private static final String GLOBAL_STATE = "globalState";
+
+    private final WhiteObjectFields fields;
+    private final boolean disableCallbackWhilePutting;
+    private final JsonObject stateTree = new JsonObject();
+    /**
+     * Deserialized values of the top-level keys. A key of {@link #stateTree} missing here is deserialized on next read.
+     */
+    private final Map<String, Object> values = new HashMap<>();
+    private T displayerState;
+    /**
+     * The typed global state, converted again only when the raw `globalState` subtree or the custom class changes.
+     * Subtrees are replaced, never modified, when a key changes, so the identity of the subtree is its revision.
+     */
+    private GlobalState typedGlobalState;
+    private JsonElement typedGlobalStateSource;
+    private Class<?> typedGlobalStateClass;
+    private Listener<T> listener;
+    private FieldsListener fieldsListener;
+
+    SyncDisplayerState(Class<T> clazz, boolean disableCallbackWhilePutting) {
+        this(clazz, "{}", disableCallbackWhilePutting);
+    }
+
+    SyncDisplayerState(Class<T> clazz, String stateJSON, boolean disableCallbackWhilePutting) {
+        this.fields = WhiteObjectFields.of(clazz);
+        this.disableCallbackWhilePutting = disableCallbackWhilePutting;
+        JsonObject state = parse(stateJSON);
+        if (state != null) {
+            merge(state, false, new HashSet<String>());
+        }
+    }
+
+    void setListener(Listener<T> listener) {
+        this.listener = listener;
+    }
+
+    void setFieldsListener(FieldsListener fieldsListener) {
+        this.fieldsListener = fieldsListener;
+    }
+
+    /**
+     * Merges a state update from the WebView and notifies the listener with the changed part of the state.
+     */
+    void syncDisplayerState(String stateJSON) {
+        JsonObject update = parse(stateJSON);
+        if (update == null) {
+            return;
+        }
+        Set<String> changedKeys = new HashSet<>();
+        T modifyState;
+        synchronized (this) {
+            modifyState = merge(update, listener != null, changedKeys);
+        }
+        notifyListener(modifyState, changedKeys);
+    }
+
+    /**
+     * Applies a local change before the WebView reports it. Object values are merged into the current value,
+     * as the WebView does for `setGlobalState` and `setMemberState`.
+     */
+    void putProperty(String key, Object value) {
+        JsonElement element = gson.toJsonTree(value);
+        boolean notify = !disableCallbackWhilePutting;
+        Set<String> changedKeys = new HashSet<>();
+        T modifyState;
+        synchronized (this) {
+            JsonElement current = stateTree.get(key);
+            if (current != null && current.isJsonObject() && element.isJsonObject()) {
+                // The retained subtrees are never modified in place, so a shallow merge is enough.
+                JsonObject merged = new JsonObject();
+                for (Map.Entry<String, JsonElement> entry : current.getAsJsonObject().entrySet()) {
+                    merged.add(entry.getKey(), entry.getValue());
+                }
+                for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                    merged.add(entry.getKey(), entry.getValue());
+                }
+                element = merged;
+            }
+            JsonObject update = new JsonObject();
+            update.add(key, element);
+            modifyState = merge(update, notify && listener != null, changedKeys);
+        }
+        if (notify) {
+            notifyListener(modifyState, changedKeys);
+        }
+    }
+
+    /**
+     * Gets a deep copy of the full state. The retained instance is cached until the next change, and shares the values
+     * of unchanged keys with the previous one.
+     */
+    synchronized T getDisplayerState() {
+        if (displayerState == null) {
+            T state = fields.newInstance();
+            for (Map.Entry<String, JsonElement> entry : stateTree.entrySet()) {
+                Field field = fields.field(entry.getKey());
+                if (field != null) {
+                    set(state, field, value(field, entry.getKey(), entry.getValue()));
+                }
+            }
+            displayerState = state;
+        }
+        T state = fields.deepCopy(displayerState);
+        state.presetGlobalState(typedGlobalState(), typedGlobalStateClass);
+        return state;
+    }
+
+    /**
+     * Gets a deep copy of the typed global state.
+     */
+    synchronized GlobalState getGlobalState() {
+        GlobalState state = typedGlobalState();
+        return state != null ? WhiteObjectFields.of(state.getClass()).deepCopy(state) : null;
+    }
+
+    /**
+     * Must be called while holding the lock.
+     */
+    private GlobalState typedGlobalState() {
+        JsonElement element = stateTree.get(GLOBAL_STATE);
+        Class<?> clazz = WhiteDisplayerState.getCustomGlobalStateClass();
+        if (element != typedGlobalStateSource || clazz != typedGlobalStateClass) {
+            typedGlobalState = element != null ? WhiteDisplayerState.toGlobalState(element, clazz) : null;
+            typedGlobalStateSource = element;
+            typedGlobalStateClass = clazz;
+        }
+        return typedGlobalState;
+    }
+
+    /**
+     * Gets a deep copy of the value of a single top-level key, only that key is deserialized if needed.
+     */
+    synchronized Object getValue(String key) {
+        Field field = fields.field(key);
+        JsonElement element = stateTree.get(key);
+        if (field == null || element == null) {
+            return null;
+        }
+        return WhiteObjectFields.deepCopyValue(value(field, key, element));
+    }
+
+    /**
+     * Must be called while holding the lock. Keys whose value is unchanged are skipped and not added to `changedKeys`.
+     * Returns the changed part of the state if `materialize` is `true` and any key changed.
+     */
+    private T merge(JsonObject update, boolean materialize, Set<String> changedKeys) {
+        T modifyState = null;
+        for (Map.Entry<String, JsonElement> entry : update.entrySet()) {
+            String key = entry.getKey();
+            if (entry.getValue().equals(stateTree.get(key))) {
+                continue;
+            }
+            changedKeys.add(key);
+            if (materialize && modifyState == null) {
+                modifyState = fields.newInstance();
+            }
+            stateTree.add(key, entry.getValue());
+            values.remove(key);
+            Field field = fields.field(key);
+            if (modifyState != null && field != null) {
+                set(modifyState, field, WhiteObjectFields.deepCopyValue(value(field, key, entry.getValue())));
+            }
+        }
+        if (!changedKeys.isEmpty()) {
+            displayerState = null;
+        }
+        return modifyState;
+    }
+
+    private Object value(Field field, String key, JsonElement element) {
+        if (values.containsKey(key)) {
+            return values.get(key);
+        }
+        Object value = null;
+        try {
+            value = gson.fromJson(element, field.getGenericType());
+        } catch (RuntimeException e) {
+            Logger.error("An exception occurred while parse displayer state key: " + key, e);
+        }
+        values.put(key, value);
+        return value;
+    }
+
+    private static void set(Object target, Field field, Object value) {
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException | IllegalArgumentException e) {
+            Logger.error("An exception occurred while set displayer state field: " + field.getName(), e);
+        }
+    }
+
+    private static JsonObject parse(String stateJSON) {
+        try {
+            JsonElement element = new JsonParser().parse(stateJSON);
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        } catch (RuntimeException e) {
+            Logger.error("An exception occurred while parse displayer state", e);
+            return null;
+        }
+    }
+
+    private void notifyListener(T modifyState, Set<String> changedKeys) {
+        Listener<T> listener = this.listener;
+        if (listener != null && modifyState != null) {
+            listener.onDisplayerStateChanged(modifyState);
+        }
+        FieldsListener fieldsListener = this.fieldsListener;
+        if (fieldsListener != null && !changedKeys.isEmpty()) {
+            fieldsListener.onFieldsChanged(changedKeys);
+        }
+    }
+}
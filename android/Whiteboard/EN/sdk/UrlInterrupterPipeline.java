@@ -0,0 +1,214 @@
+package com.herewhite.sdk;
+
+import com.herewhite.sdk.domain.UrlInterrupter;
+import com.herewhite.sdk.domain.UrlInterrupterOptions;
+import com.herewhite.sdk.domain.UrlInterrupterStats;
+import com.herewhite.sdk.internal.Logger;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers the synchronous URL interrupter of the whiteboard with an {@link AsyncUrlInterrupter}.
+ * <p>
+ * Replaced URLs are cached with a time to live, so the whiteboard thread only waits for URLs it has not seen recently.
+ * Concurrent requests for the same URL share one call of the interrupter.
+ */
+class UrlInterrupterPipeline implements UrlInterrupter {
+    private static final String METHOD = "sdk.urlInterrupter";
+    private static final String ASYNC_METHOD = "sdk.urlInterrupter.async";
+
+    private static class Entry {
+        final String url;
+        final long expiresAt;
+
+        Entry(String url, long expiresAt) {
+            this.url = url;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * A call of the interrupter, shared by the requests for the same URL.
+     */
+    private static class Flight {
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicBoolean settled = new AtomicBoolean();
+        volatile String url;
+    }
+
+    private final AsyncUrlInterrupter interrupter;
+    private final WhiteboardView metricsView;
+    private final int cacheSize;
+    private final long cacheTtl;
+    private final long timeout;
+    private final ThreadPoolExecutor executor;
+
+    private final LinkedHashMap<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Flight> flights = new HashMap<>();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong sharedCalls = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * The latency is recorded in the bridge metrics of `metricsView`, which is `null` if the bridge is not a {@link WhiteboardView}.
+     */
+    UrlInterrupterPipeline(AsyncUrlInterrupter interrupter, UrlInterrupterOptions options, WhiteboardView metricsView) {
+        this.interrupter = interrupter;
+        this.metricsView = metricsView;
+        this.cacheSize = Math.max(0, options.getCacheSize());
+        this.cacheTtl = options.getCacheTtl();
+        this.timeout = options.getTimeout();
+        int threads = Math.max(1, options.getThreadCount());
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Called by the whiteboard, blocks until the URL is replaced or the timeout expires.
+     */
+    @Override
+    public String urlInterrupter(String sourceUrl) {
+        long start = System.nanoTime();
+        calls.incrementAndGet();
+        String url = cached(sourceUrl);
+        if (url != null) {
+            cacheHits.incrementAndGet();
+        } else {
+            url = await(start(sourceUrl), sourceUrl);
+        }
+        recordLatency(METHOD, start);
+        return url;
+    }
+
+    /**
+     * Starts replacing a URL without waiting, so that a later request is answered from the cache.
+     */
+    void prefetch(String sourceUrl) {
+        if (cached(sourceUrl) == null) {
+            start(sourceUrl);
+        }
+    }
+
+    private String cached(String sourceUrl) {
+        synchronized (cache) {
+            Entry entry = cache.get(sourceUrl);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() >= entry.expiresAt) {
+                cache.remove(sourceUrl);
+                return null;
+            }
+            return entry.url;
+        }
+    }
+
+    private Flight start(final String sourceUrl) {
+        final Flight flight;
+        synchronized (flights) {
+            Flight existing = flights.get(sourceUrl);
+            if (existing != null) {
+                sharedCalls.incrementAndGet();
+                return existing;
+            }
+            flight = new Flight();
+            String url = cached(sourceUrl);
+            if (url != null) {
+                // Settled after the caller missed the cache.
+                flight.url = url;
+                flight.settled.set(true);
+                flight.done.countDown();
+                return flight;
+            }
+            flights.put(sourceUrl, flight);
+        }
+        try {
+            executor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    interrupter.urlInterrupter(sourceUrl, url -> settle(sourceUrl, flight, url, start));
+                } catch (RuntimeException e) {
+                    Logger.error("An exception occurred in async url interrupter", e);
+                    settle(sourceUrl, flight, null, start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed by a replacement while the whiteboard was still calling this pipeline, the source URL is used.
+            settle(sourceUrl, flight, null, System.nanoTime());
+        }
+        return flight;
+    }
+
+    /**
+     * Stops the threads once the calls already started complete. Later calls return the source URL.
+     */
+    void close() {
+        executor.shutdown();
+    }
+
+    private void settle(String sourceUrl, Flight flight, String url, long start) {
+        if (!flight.settled.compareAndSet(false, true)) {
+            return;
+        }
+        recordLatency(ASYNC_METHOD, start);
+        if (url != null) {
+            synchronized (cache) {
+                if (cacheSize > 0) {
+                    cache.put(sourceUrl, new Entry(url, System.currentTimeMillis() + cacheTtl));
+                    if (cache.size() > cacheSize) {
+                        cache.remove(cache.keySet().iterator().next());
+                    }
+                }
+            }
+        } else {
+            failures.incrementAndGet();
+        }
+        // The cache is updated first, so a request arriving now either finds the URL or joins this flight.
+        synchronized (flights) {
+            if (flights.get(sourceUrl) == flight) {
+                flights.remove(sourceUrl);
+            }
+        }
+        flight.url = url != null ? url : sourceUrl;
+        flight.done.countDown();
+    }
+
+    private String await(Flight flight, String sourceUrl) {
+        try {
+            if (flight.done.await(timeout, TimeUnit.MILLISECONDS)) {
+                return flight.url;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timeouts.incrementAndGet();
+        return sourceUrl;
+    }
+
+    private void recordLatency(String method, long start) {
+        if (metricsView != null) {
+            metricsView.recordHandledCall(method, (System.nanoTime() - start) / 1000);
+        }
+    }
+
+    UrlInterrupterStats stats() {
+        int cachedUrls;
+        synchronized (cache) {
+            cachedUrls = cache.size();
+        }
+        return new UrlInterrupterStats(calls.get(), cacheHits.get(), sharedCalls.get(), timeouts.get(), failures.get(),
+                cachedUrls);
+    }
+}
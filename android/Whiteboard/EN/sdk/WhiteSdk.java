@@ -6,13 +6,18 @@ import androidx.annotation.Nullable;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import com.herewhite.sdk.domain.BridgeMetrics;
 import com.herewhite.sdk.domain.ConnectionPrepareParam;
 import com.herewhite.sdk.domain.FontFace;
 import com.herewhite.sdk.domain.PlayerConfiguration;
 import com.herewhite.sdk.domain.PlayerTimeInfo;
 import com.herewhite.sdk.domain.Promise;
 import com.herewhite.sdk.domain.SDKError;
+import com.herewhite.sdk.domain.SlideResourceCacheOptions;
+import com.herewhite.sdk.domain.SlideResourceCacheStats;
 import com.herewhite.sdk.domain.UrlInterrupter;
+import com.herewhite.sdk.domain.UrlInterrupterOptions;
+import com.herewhite.sdk.domain.UrlInterrupterStats;
 import com.herewhite.sdk.internal.PlayerJsInterfaceImpl;
 import com.herewhite.sdk.internal.PostMessageCallback;
 import com.herewhite.sdk.internal.RoomJsInterfaceImpl;
@@ -23,6 +28,9 @@ import com.herewhite.sdk.window.SlideListener;
 import org.json.JSONObject;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
 
 import wendu.dsbridge.OnReturnValue;
 
@@ -39,6 +47,11 @@ public class WhiteSdk {
 
     private final int densityDpi;
 
+    private final Object slideResourceLock = new Object();
+    private SlideListener slideListener;
+    private volatile SlideResourceCache slideResourceCache;
+    private volatile UrlInterrupterPipeline urlInterrupterPipeline;
+
     /**
      * Sets common event callbacks.
      *
@@ -301,6 +314,120 @@ public class WhiteSdk {
         releaseRoom();
     }
 
+    /**
+     * Enables or disables the metrics of the calls from the SDK to the whiteboard.
+     *
+     * @since 2.16.101
+     *
+     * The SDK records, for each bridge method, the number of calls, the payload size, and the latency from sending a call to receiving its return value.
+     * The recording is lock-free and measures the payload size on sampled calls only, so you can keep it enabled in production.
+     *
+     * @note This method takes effect only when the `bridge` passed to `WhiteSdk` is a {@link WhiteboardView WhiteboardView}.
+     *
+     * @param enabled Whether to enable the metrics:
+     * - `true`: Enable the metrics.
+     * - `false`: (Default) Disable the metrics.
+     */
+    public void setBridgeMetricsEnabled(boolean enabled) {
+        if (bridge instanceof WhiteboardView) {
+            ((WhiteboardView) bridge).setBridgeMetricsEnabled(enabled);
+        }
+    }
+
+    /**
+     * Gets the metrics of the calls from the SDK to the whiteboard.
+     *
+     * @since 2.16.101
+     *
+     * Call {@link #setBridgeMetricsEnabled(boolean) setBridgeMetricsEnabled} to enable the metrics first.
+     *
+     * @return The metrics of each bridge method, such as `"room.getScenes"`, `"displayerAsync.scenePreview"` and `"room.state.getRoomState"`. See {@link com.herewhite.sdk.domain.BridgeMetrics BridgeMetrics}.
+     */
+    public BridgeMetrics getBridgeMetrics() {
+        if (bridge instanceof WhiteboardView) {
+            return ((WhiteboardView) bridge).getBridgeMetrics();
+        }
+        return new BridgeMetrics(Collections.emptyMap(), null);
+    }
+
+    /**
+     * Clears the recorded metrics of the calls from the SDK to the whiteboard.
+     *
+     * @since 2.16.101
+     */
+    public void resetBridgeMetrics() {
+        if (bridge instanceof WhiteboardView) {
+            ((WhiteboardView) bridge).resetBridgeMetrics();
+        }
+    }
+
+    /**
+     * Sets the asynchronous URL interrupter.
+     *
+     * @since 2.16.101
+     *
+     * The whiteboard asks for the URL of each resource it loads, and waits for the answer. With the asynchronous interrupter,
+     * the SDK calls {@link AsyncUrlInterrupter#urlInterrupter(String, ResultCaller) urlInterrupter} on a pool of threads and
+     * caches the replaced URLs, so that the whiteboard does not wait for URLs it has seen recently. Concurrent requests for
+     * the same URL share one call of the interrupter. Call {@link #prefetchInterruptedUrls(String[]) prefetchInterruptedUrls}
+     * to replace URLs before the whiteboard needs them.
+     *
+     * @note
+     * - Call {@link WhiteSdkConfiguration#setEnableInterrupterAPI(boolean) setEnableInterrupterAPI}(true) when initializing the `WhiteSdk` instance,
+     * otherwise the interrupter is not called.
+     * - The asynchronous interrupter replaces {@link CommonCallback#urlInterrupter(String) urlInterrupter} of `CommonCallback`.
+     * - When the bridge metrics are enabled, the latency of each call is recorded. See {@link com.herewhite.sdk.domain.UrlInterrupterStats UrlInterrupterStats}.
+     *
+     * @param interrupter The interrupter. See {@link AsyncUrlInterrupter}. Pass `null` to remove the interrupter.
+     * @param options     The options. See {@link UrlInterrupterOptions}. Pass `null` to use the default options.
+     */
+    public void setAsyncUrlInterrupter(AsyncUrlInterrupter interrupter, UrlInterrupterOptions options) {
+        UrlInterrupterPipeline pipeline = null;
+        if (interrupter != null) {
+            pipeline = new UrlInterrupterPipeline(interrupter, options != null ? options : new UrlInterrupterOptions(),
+                    bridge instanceof WhiteboardView ? (WhiteboardView) bridge : null);
+        }
+        UrlInterrupterPipeline previous = urlInterrupterPipeline;
+        urlInterrupterPipeline = pipeline;
+        sdkJsInterface.setUrlInterrupter(pipeline);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Replaces URLs with the asynchronous URL interrupter before the whiteboard loads them.
+     *
+     * @since 2.16.101
+     *
+     * This method returns immediately. The replaced URLs are cached, so the whiteboard does not wait for them.
+     * It does nothing if no asynchronous interrupter is set.
+     *
+     * @param sourceUrls The original URLs, such as the `src` of the {@link com.herewhite.sdk.domain.PptPage PptPage} of the next scenes.
+     */
+    public void prefetchInterruptedUrls(String[] sourceUrls) {
+        UrlInterrupterPipeline pipeline = urlInterrupterPipeline;
+        if (pipeline == null) {
+            return;
+        }
+        for (String sourceUrl : sourceUrls) {
+            pipeline.prefetch(sourceUrl);
+        }
+    }
+
+    /**
+     * Gets the statistics of the asynchronous URL interrupter.
+     *
+     * @since 2.16.101
+     *
+     * @return The statistics, including the calls, cache hits and timeouts since the interrupter was set. See {@link UrlInterrupterStats}.
+     * Returns `null` if no asynchronous interrupter is set.
+     */
+    public UrlInterrupterStats getUrlInterrupterStats() {
+        UrlInterrupterPipeline pipeline = urlInterrupterPipeline;
+        return pipeline != null ? pipeline.stats() : null;
+    }
+
     /**
      * Requests the slide log.
      *
@@ -355,7 +482,120 @@ public class WhiteSdk {
      * @param slideListener Common callback events. See {@link com.herewhite.sdk.window.SlideListener SlideListener}.
      */
     public void setSlideListener(SlideListener slideListener) {
-        sdkJsInterface.setSlideListener(slideListener);
+        synchronized (slideResourceLock) {
+            this.slideListener = slideListener;
+            updateSlideListener();
+        }
+    }
+
+    /**
+     * Enables or disables the slide resource cache.
+     *
+     * @since 2.16.101
+     *
+     * When the cache is enabled, the SDK keeps the resources of converted PPT slides on disk, and serves them to the
+     * whiteboard from the `shouldInterceptRequest` of the {@link WhiteboardView} instead of downloading them again in
+     * later classes. The whiteboard still requests the original `https` URLs. A resource is keyed by the `taskUuid` of its conversion task and its path in the task, so it is reused
+     * whatever the host or the query of its URL. Resources that are not cached are downloaded in the background after the
+     * whiteboard loads them.
+     *
+     * If you set a {@link SlideListener} with {@link #setSlideListener(SlideListener) setSlideListener}, its `slideUrlInterrupter`
+     * is still called for every resource, and the URL it returns is used to download the resources that are not cached.
+     *
+     * @note
+     * - Call {@link WhiteSdkConfiguration#setEnableSlideInterrupterAPI(boolean) setEnableSlideInterrupterAPI}(true) when
+     * initializing the `WhiteSdk` instance, otherwise the cache is not used.
+     * - Call this method on the main thread.
+     * - This method sets a `WebViewClient` on the whiteboard view, see {@link WhiteboardView#setResourceResolver(ResourceResolver) setResourceResolver}.
+     * If you set your own `WebViewClient`, or if the whiteboard view is not a `WhiteboardView`, serve the cached resources from
+     * your `shouldInterceptRequest`, with {@link WhiteboardView#interceptResourceRequest(String) interceptResourceRequest}
+     * or {@link #openSlideResource(String) openSlideResource}.
+     *
+     * @param options The cache options. See {@link SlideResourceCacheOptions}. Pass `null` to disable the cache. The cache is disabled by default.
+     */
+    public void setSlideResourceCacheOptions(SlideResourceCacheOptions options) {
+        synchronized (slideResourceLock) {
+            final SlideResourceCache cache = options != null && options.getCacheDirectory() != null ? new SlideResourceCache(options) : null;
+            slideResourceCache = cache;
+            updateSlideListener();
+            if (bridge instanceof WhiteboardView) {
+                ((WhiteboardView) bridge).setSlideResourceResolver(cache != null ? cache::resolve : null);
+            }
+        }
+    }
+
+    private void updateSlideListener() {
+        SlideResourceCache cache = slideResourceCache;
+        sdkJsInterface.setSlideListener(cache != null ? new CachingSlideListener(cache, slideListener) : slideListener);
+    }
+
+    /**
+     * Preloads the resources of a converted PPT file into the slide resource cache.
+     *
+     * @since 2.16.101
+     *
+     * This method downloads the resources that the slide resource cache has recorded for this file in earlier classes.
+     * Call it before a class, for example with the `taskUuid` and `prefixUrl` passed to the slide app of the class.
+     * Use {@link #preloadSlideDeck(String, String, String[], Promise) preloadSlideDeck}[2/2] for a file that was never displayed on this device.
+     *
+     * @param taskUuid  The UUID of the file conversion task.
+     * @param prefixUrl The prefix of the URL of the converted file.
+     * @param promise   The number of resources of the file in the cache after preloading, triggered on the main thread.
+     *                  The promise is not triggered if the cache is disabled.
+     */
+    public void preloadSlideDeck(String taskUuid, String prefixUrl, Promise<Integer> promise) {
+        preloadSlideDeck(taskUuid, prefixUrl, null, promise);
+    }
+
+    /**
+     * Preloads resources of a converted PPT file into the slide resource cache.
+     *
+     * @since 2.16.101
+     *
+     * @param taskUuid      The UUID of the file conversion task.
+     * @param prefixUrl     The prefix of the URL of the converted file.
+     * @param resourcePaths The paths of the resources, relative to `prefixUrl/taskUuid/`. Pass `null` to preload the
+     *                      resources recorded in earlier classes.
+     * @param promise       The number of these resources in the cache after preloading, triggered on the main thread.
+     *                      The promise is not triggered if the cache is disabled.
+     */
+    public void preloadSlideDeck(String taskUuid, String prefixUrl, String[] resourcePaths, Promise<Integer> promise) {
+        SlideResourceCache cache = slideResourceCache;
+        if (cache != null) {
+            cache.preload(prefixUrl, taskUuid, resourcePaths, promise);
+        }
+    }
+
+    /**
+     * Opens a resource in the slide resource cache.
+     *
+     * @since 2.16.101
+     *
+     * The file is memory-mapped instead of copied. You can use this method to serve the resources from your own
+     * `WebViewClient.shouldInterceptRequest`, for example if the whiteboard view is not a `WhiteboardView`.
+     *
+     * @note This method reads the disk, do not call it on the main thread.
+     *
+     * @param url The URL of the resource.
+     * @return The content of the resource, or `null` if the resource is not cached or the cache is disabled.
+     * @throws IOException If the cached file cannot be read.
+     */
+    public InputStream openSlideResource(String url) throws IOException {
+        SlideResourceCache cache = slideResourceCache;
+        return cache != null ? cache.open(url) : null;
+    }
+
+    /**
+     * Gets the statistics of the slide resource cache.
+     *
+     * @since 2.16.101
+     *
+     * @return The statistics, including the hits, misses and bytes saved since the cache was enabled. See {@link SlideResourceCacheStats}.
+     * Returns `null` if the cache is disabled.
+     */
+    public SlideResourceCacheStats getSlideResourceCacheStats() {
+        SlideResourceCache cache = slideResourceCache;
+        return cache != null ? cache.stats() : null;
     }
 
     /**
@@ -382,4 +622,22 @@ public class WhiteSdk {
             whiteboardView.destroy();
         });
     }
+
+    /**
+     * Preselects the connection route with a view of a pool.
+     *
+     * @since 2.16.101
+     *
+     * Unlike {@link #prepareWhiteConnection(Context, ConnectionPrepareParam)}, this method does not load the whiteboard page in a new WebView.
+     * It takes a pre-warmed view from the pool, and returns the view to the pool once the route is selected.
+     *
+     * @param pool  The pool of whiteboard views. See {@link WhiteboardViewPool}.
+     * @param param The connection preparation parameters.
+     */
+    public static void prepareWhiteConnection(WhiteboardViewPool pool, ConnectionPrepareParam param) {
+        WhiteboardView whiteboardView = pool.borrow();
+        whiteboardView.callHandler("sdk.prepareWhiteConnection", new Object[]{param}, (OnReturnValue<String>) value -> {
+            pool.release(whiteboardView);
+        });
+    }
 }
@@ -1,11 +1,25 @@
 package com.herewhite.sdk;
 
 import android.content.Context;
+import android.content.MutableContextWrapper;
 import android.content.res.Configuration;
 import android.graphics.Bitmap;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.webkit.WebChromeClient;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+import android.webkit.WebView;
+import android.webkit.WebViewClient;
+
+import com.herewhite.sdk.domain.BridgeDispatchStats;
+import com.herewhite.sdk.domain.BridgeMetrics;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.List;
 
 import wendu.dsbridge.DWebView;
 import wendu.dsbridge.OnReturnValue;
@@ -15,9 +29,29 @@ import wendu.dsbridge.OnReturnValue;
  * Configurations for the whiteboard view.
  */
 public class WhiteboardView extends DWebView implements JsBridgeInterface {
+    private static final String INDEX_URL = "file:///android_asset/whiteboard/index.html";
 
     private boolean autoResize = true;
     private RefreshViewSizeStrategy delayStrategy;
+    private BridgeCallQueue callQueue;
+    private volatile boolean batchDispatch = false;
+    /**
+     * Whether the whiteboard page provides `sdk.batch`, `null` until the page answers.
+     */
+    private volatile Boolean batchSupported;
+    private volatile boolean coalesceSetters = false;
+    private final BridgeMetricsRecorder metricsRecorder = new BridgeMetricsRecorder();
+    private volatile boolean metricsEnabled = false;
+    private volatile ResourceServer resourceServer;
+    private ResourceResolver resourceResolver;
+    private ResourceResolver slideResourceResolver;
+    private boolean resourceClientInstalled = false;
+    /**
+     * The pool that created the view and the context of the view, `null` if the view was not created by a pool.
+     */
+    final WhiteboardViewPool pool;
+    final MutableContextWrapper pooledContext;
+    private boolean pageReady = false;
 
     /**
      * Initializes the whiteboard view.
@@ -26,6 +60,8 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
      */
     public WhiteboardView(Context context) {
         super(getFixedContext(context));
+        this.pool = null;
+        this.pooledContext = null;
         init();
     }
 
@@ -37,6 +73,18 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
      */
     public WhiteboardView(Context context, AttributeSet attrs) {
         super(getFixedContext(context), attrs);
+        this.pool = null;
+        this.pooledContext = null;
+        init();
+    }
+
+    /**
+     * Creates a view of a pool. The base of `context` is already fixed, and is switched when the view is handed out.
+     */
+    WhiteboardView(WhiteboardViewPool pool, MutableContextWrapper context) {
+        super(context);
+        this.pool = pool;
+        this.pooledContext = context;
         init();
     }
 
@@ -55,6 +103,7 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
         delayStrategy.onDetachedFromWindow();
+        callQueue.flush();
     }
     /**
      * Hidden in documentation
@@ -64,6 +113,216 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
     }
     /// @endcond
 
+    /**
+     * Enables or disables frame-coalesced batch dispatch.
+     *
+     * @since 2.16.101
+     *
+     * When batch dispatch is enabled, calls from `Room` and `Displayer` to the whiteboard are queued and sent once per display frame as a single JavaScript evaluation.
+     * The calls are executed in the order they are made, and each call still triggers its own callback.
+     *
+     * @note
+     * - Call this method on the main thread.
+     * - When you disable batch dispatch, the SDK sends the queued calls immediately.
+     * - Batch dispatch requires a whiteboard page that provides the `sdk.batch` method. The SDK checks for it when batch dispatch is
+     * first enabled, and sends the queued calls one by one, still once per display frame, until the page confirms the method or if
+     * the page does not provide it.
+     *
+     * @param batchDispatch Whether to enable batch dispatch:
+     * - `true`: Enable batch dispatch.
+     * - `false`: (Default) Disable batch dispatch. Each call is sent to the whiteboard immediately.
+     */
+    public void setBatchDispatch(boolean batchDispatch) {
+        this.batchDispatch = batchDispatch;
+        if (!batchDispatch) {
+            callQueue.flush();
+        } else if (batchSupported == null) {
+            hasJavascriptMethod("sdk.batch", exists -> batchSupported = Boolean.TRUE.equals(exists));
+        }
+    }
+
+    /**
+     * Enables or disables last-write-wins coalescing of setter calls.
+     *
+     * @since 2.16.101
+     *
+     * {@link Displayer#moveCamera(com.herewhite.sdk.domain.CameraConfig) moveCamera}, {@link Room#zoomChange(double) zoomChange},
+     * {@link Room#setMemberState(com.herewhite.sdk.domain.MemberState) setMemberState} and {@link Displayer#setBackgroundColor(int) setBackgroundColor}
+     * only set a value. When coalescing is enabled, these calls wait for the next display frame, and a pending call superseded by a newer call
+     * of the same method is dropped before it is serialized and sent to the whiteboard. The fields that the newer call does not set are kept from the dropped call.
+     *
+     * @note
+     * - Call this method on the main thread.
+     * - When you disable coalescing, the SDK sends the pending calls immediately.
+     * - Other calls are not delayed. When batch dispatch is disabled, such a call is sent immediately, after the pending setter calls made before it.
+     * - This method can be used with or without {@link #setBatchDispatch(boolean) setBatchDispatch}.
+     *
+     * @param coalesceSetters Whether to enable coalescing:
+     * - `true`: Enable coalescing.
+     * - `false`: (Default) Disable coalescing.
+     */
+    public void setCoalesceSetters(boolean coalesceSetters) {
+        this.coalesceSetters = coalesceSetters;
+        if (!coalesceSetters) {
+            callQueue.flush();
+        }
+    }
+
+    /**
+     * Gets whether last-write-wins coalescing of setter calls is enabled.
+     *
+     * @since 2.16.101
+     *
+     * @return Whether coalescing is enabled.
+     */
+    public boolean isCoalesceSetters() {
+        return coalesceSetters;
+    }
+
+    /**
+     * Gets whether frame-coalesced batch dispatch is enabled.
+     *
+     * @since 2.16.101
+     *
+     * @return Whether batch dispatch is enabled.
+     */
+    public boolean isBatchDispatch() {
+        return batchDispatch;
+    }
+
+    /**
+     * Gets the statistics of batch dispatch.
+     *
+     * @since 2.16.101
+     *
+     * You can compare the number of queued calls with the number of flushed frames to see how many JavaScript evaluations are saved.
+     *
+     * @return The statistics of batch dispatch. See {@link com.herewhite.sdk.domain.BridgeDispatchStats BridgeDispatchStats}.
+     */
+    public BridgeDispatchStats getBatchDispatchStats() {
+        return new BridgeDispatchStats(callQueue.getQueuedCalls(), callQueue.getFlushedFrames(), callQueue.getFlushNanos(), callQueue.getElidedCalls());
+    }
+
+    /**
+     * Sets the resolver that serves the resources of the whiteboard from local files.
+     *
+     * @since 2.16.101
+     *
+     * When a resolver is set, the SDK asks it for each resource that the whiteboard loads, such as images, fonts and PPT slides.
+     * The resources resolved to a local file are streamed from the file descriptor of the file, or of the app asset,
+     * without being copied into the Java heap. For example, to serve the resources downloaded by the PPT prefetcher,
+     * set `room::getPrefetchedUrl` as the resolver.
+     *
+     * @note
+     * - Call this method on the main thread.
+     * - This method sets a `WebViewClient` on the whiteboard view. If you set your own `WebViewClient` afterwards,
+     * return {@link #interceptResourceRequest(String) interceptResourceRequest} from its `shouldInterceptRequest`.
+     *
+     * @param resolver The resolver. See {@link ResourceResolver}. Pass `null` to load every resource from its URL, which is the default behavior.
+     */
+    public void setResourceResolver(ResourceResolver resolver) {
+        resourceResolver = resolver;
+        updateResourceServer();
+    }
+
+    /**
+     * Sets the resolver of the slide resource cache, asked before the resolver of the app. Call on the main thread.
+     */
+    void setSlideResourceResolver(ResourceResolver resolver) {
+        slideResourceResolver = resolver;
+        updateResourceServer();
+    }
+
+    private void updateResourceServer() {
+        final ResourceResolver app = resourceResolver;
+        final ResourceResolver slide = slideResourceResolver;
+        ResourceResolver resolver = app;
+        if (slide != null) {
+            resolver = app == null ? slide : url -> {
+                String localUrl = slide.resolve(url);
+                return localUrl != null ? localUrl : app.resolve(url);
+            };
+        }
+        resourceServer = resolver != null ? new ResourceServer(getContext().getAssets(), resolver) : null;
+        if (resolver != null && !resourceClientInstalled) {
+            resourceClientInstalled = true;
+            setWebViewClient(new ResourceWebViewClient());
+        }
+    }
+
+    /**
+     * Gets the local response for a resource requested by the whiteboard.
+     *
+     * @since 2.16.101
+     *
+     * Call this method from the `shouldInterceptRequest` of your own `WebViewClient`. See {@link #setResourceResolver(ResourceResolver) setResourceResolver}.
+     *
+     * @param url The URL of the request.
+     * @return The response streaming the local resource, or `null` if the resource is not resolved to a local file.
+     */
+    public WebResourceResponse interceptResourceRequest(String url) {
+        ResourceServer server = resourceServer;
+        return server != null ? server.serve(url) : null;
+    }
+
+    /// @cond test
+    /**
+     * Hidden in documentation. Use {@link WhiteSdk#setBridgeMetricsEnabled(boolean)} instead.
+     */
+    public void setBridgeMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    /**
+     * Hidden in documentation. Use {@link WhiteSdk#getBridgeMetrics()} instead.
+     */
+    public BridgeMetrics getBridgeMetrics() {
+        return new BridgeMetrics(metricsRecorder.snapshot(), getBatchDispatchStats());
+    }
+
+    /**
+     * Hidden in documentation. Use {@link WhiteSdk#resetBridgeMetrics()} instead.
+     */
+    public void resetBridgeMetrics() {
+        metricsRecorder.reset();
+    }
+    /// @endcond
+
+    void recordHandledCall(String method, long micros) {
+        if (metricsEnabled) {
+            metricsRecorder.onHandled(method, micros);
+        }
+    }
+
+    boolean isPageReady() {
+        return pageReady;
+    }
+
+    /**
+     * Restores the state of a new view before the view is reused by a pool: the settings are reset, the objects of the
+     * previous `WhiteSdk` are removed, and the whiteboard page is reloaded.
+     */
+    void resetForReuse() {
+        callQueue.flush();
+        batchDispatch = false;
+        // The page is reloaded, it is checked again.
+        batchSupported = null;
+        coalesceSetters = false;
+        metricsEnabled = false;
+        metricsRecorder.reset();
+        resourceServer = null;
+        resourceResolver = null;
+        slideResourceResolver = null;
+        autoResize = true;
+        removeJavascriptObject("sdk");
+        removeJavascriptObject("room");
+        // Holds the audio mixer of the previous Activity.
+        removeJavascriptObject("rtc");
+        pageReady = false;
+        loadUrl(INDEX_URL);
+        clearHistory();
+    }
+
 
     /// @cond test
     /**
@@ -79,14 +338,76 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
 
     private void init() {
         getSettings().setMediaPlaybackRequiresUserGesture(false);
-        loadUrl("file:///android_asset/whiteboard/index.html");
+        loadUrl(INDEX_URL);
         setWebChromeClient(new FixWebChromeClient());
         delayStrategy = new RefreshViewSizeStrategy(100);
+        callQueue = new BridgeCallQueue(this::dispatchQueuedCalls);
     }
 
     @Override
     public <T> void callHandler(String method, Object[] args, OnReturnValue<T> handler) {
-        super.callHandler(method, Utils.toBridgeMaps(args), handler);
+        if (coalesceSetters && handler == null && SetterCoalescer.isCoalescable(method)) {
+            callQueue.enqueueCoalesced(method, SetterCoalescer.snapshot(args));
+            return;
+        }
+
+        Object[] bridgeArgs = Utils.toBridgeMaps(args);
+        if (metricsEnabled) {
+            handler = metricsRecorder.onCall(method, bridgeArgs, handler);
+        }
+        if (batchDispatch) {
+            callQueue.enqueue(method, bridgeArgs, handler);
+        } else {
+            // Pending setters were called first, send them before this call to keep the order of calls.
+            callQueue.flush();
+            super.callHandler(method, bridgeArgs, handler);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void dispatchQueuedCalls(List<BridgeCallQueue.PendingCall> calls) {
+        if (!batchDispatch || calls.size() == 1 || !Boolean.TRUE.equals(batchSupported)) {
+            for (BridgeCallQueue.PendingCall call : calls) {
+                super.callHandler(call.method, bridgeArgs(call), (OnReturnValue<Object>) call.handler);
+            }
+            return;
+        }
+
+        JSONArray batch = new JSONArray();
+        for (BridgeCallQueue.PendingCall call : calls) {
+            JSONObject item = new JSONObject();
+            Object[] args = bridgeArgs(call);
+            try {
+                item.put("method", call.method);
+                item.put("args", args == null ? new JSONArray() : new JSONArray(Arrays.asList(args)));
+            } catch (Exception e) {
+                // JSONObject.put only throws for non-finite numbers, which the bridge can not carry either.
+            }
+            batch.put(item);
+        }
+
+        super.callHandler("sdk.batch", new Object[]{batch}, (OnReturnValue<JSONArray>) results -> {
+            for (int i = 0; i < calls.size(); i++) {
+                OnReturnValue<Object> handler = (OnReturnValue<Object>) calls.get(i).handler;
+                if (handler == null) {
+                    continue;
+                }
+                Object value = results == null ? null : results.opt(i);
+                handler.onValue(value == JSONObject.NULL ? null : value);
+            }
+        });
+    }
+
+    private Object[] bridgeArgs(BridgeCallQueue.PendingCall call) {
+        if (!call.coalesced) {
+            return call.args;
+        }
+        // Coalesced calls are recorded when flushed, the superseded ones never reach the WebView.
+        Object[] bridgeArgs = Utils.toBridgeMaps(call.args);
+        if (metricsEnabled) {
+            metricsRecorder.onCall(call.method, bridgeArgs, null);
+        }
+        return bridgeArgs;
     }
 
     @Override
@@ -117,6 +438,27 @@ public class WhiteboardView extends DWebView implements JsBridgeInterface {
                 return super.getDefaultVideoPoster();
             }
         }
+
+        @Override
+        public void onProgressChanged(WebView view, int newProgress) {
+            super.onProgressChanged(view, newProgress);
+            if (newProgress == 100 && !pageReady) {
+                pageReady = true;
+                if (pool != null) {
+                    pool.onPageReady(WhiteboardView.this);
+                }
+            }
+        }
+    }
+
+    private class ResourceWebViewClient extends WebViewClient {
+        @Override
+        public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+            if (!"GET".equals(request.getMethod())) {
+                return null;
+            }
+            return interceptResourceRequest(request.getUrl().toString());
+        }
     }
 
     private class RefreshViewSizeStrategy {
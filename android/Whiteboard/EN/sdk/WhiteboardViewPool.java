@@ -0,0 +1,291 @@
+package com.herewhite.sdk;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.content.res.Configuration;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import com.herewhite.sdk.domain.WhiteboardViewPoolStats;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pool of pre-warmed whiteboard views.
+ *
+ * Creating a {@link WhiteboardView} starts the WebView and loads the whiteboard page, which takes most of the time before
+ * the first stroke can be drawn. The pool creates the views in advance, when the main thread is idle, so that the page is
+ * already loaded when you open a whiteboard.
+ *
+ * The typical usage is as follows:
+ * 1. Create the pool once, for example in `Application#onCreate`, and call {@link #prewarm() prewarm}.
+ * 2. When opening a whiteboard, call {@link #acquire(Context) acquire}, add the returned view to your layout,
+ * and pass it to the `WhiteSdk` constructor.
+ * 3. When leaving the room, call {@link WhiteSdk#releaseRoom() releaseRoom}, then {@link #release(WhiteboardView) release} to return the view to the pool.
+ *
+ * The pool listens to `onTrimMemory` and destroys idle views when the system is low on memory.
+ *
+ * @note Call the methods of this class on the main thread.
+ *
+ * @since 2.16.101
+ */
+public class WhiteboardViewPool implements ComponentCallbacks2 {
+
+    /**
+     * Time at which a view was handed out, until its page is loaded.
+     */
+    private static class Start {
+        final boolean warm;
+        final long time;
+
+        Start(boolean warm, long time) {
+            this.warm = warm;
+            this.time = time;
+        }
+    }
+
+    private final Context context;
+    private final int size;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ArrayDeque<WhiteboardView> idleViews = new ArrayDeque<>();
+    private final Map<WhiteboardView, Start> startingViews = new HashMap<>();
+    private int target;
+    private boolean refillScheduled;
+    private boolean closed;
+
+    private long warmStarts;
+    private long warmStartupTime;
+    private long coldStarts;
+    private long coldStartupTime;
+    private long createdViews;
+    private long trimmedViews;
+
+    /**
+     * Creates pre-warmed views in idle time, one view per idle pass of the main thread.
+     */
+    private final MessageQueue.IdleHandler refill = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            synchronized (WhiteboardViewPool.this) {
+                if (!closed && idleViews.size() < target) {
+                    idleViews.add(create());
+                }
+                refillScheduled = !closed && idleViews.size() < target;
+                return refillScheduled;
+            }
+        }
+    };
+
+    /**
+     * Creates a pool of whiteboard views.
+     *
+     * The views of the pool are created with the application context. When a view is handed out by {@link #acquire(Context) acquire},
+     * the context of the view is switched to the context passed to `acquire`, and switched back when the view is returned to the pool.
+     *
+     * @param context The context. The pool only keeps the application context.
+     * @param size    The maximum number of idle views kept in the pool. The recommended value is 1, each idle view costs the memory of a WebView.
+     */
+    public WhiteboardViewPool(Context context, int size) {
+        this.context = WhiteboardView.getFixedContext(context.getApplicationContext());
+        this.size = Math.max(0, size);
+        this.target = this.size;
+        context.getApplicationContext().registerComponentCallbacks(this);
+    }
+
+    /**
+     * Starts filling the pool.
+     *
+     * The views are created when the main thread is idle, so that they do not delay the first frames of your app.
+     * After each call of {@link #acquire(Context) acquire}, the pool is filled again in the same way.
+     */
+    public synchronized void prewarm() {
+        target = size;
+        scheduleRefill();
+    }
+
+    /**
+     * Gets a whiteboard view from the pool.
+     *
+     * If the pool is empty, a new view is created, and its startup is recorded as a cold start.
+     *
+     * @param context The context of the Android Activity that displays the view.
+     * @return The whiteboard view.
+     */
+    public synchronized WhiteboardView acquire(Context context) {
+        long now = SystemClock.elapsedRealtime();
+        WhiteboardView view = idleViews.poll();
+        boolean warm = view != null;
+        if (view == null) {
+            view = create();
+        }
+        view.pooledContext.setBaseContext(WhiteboardView.getFixedContext(context));
+        if (view.isPageReady()) {
+            recordStart(true, 0);
+        } else {
+            startingViews.put(view, new Start(warm, now));
+        }
+        target = size;
+        scheduleRefill();
+        return view;
+    }
+
+    /**
+     * Returns a whiteboard view to the pool.
+     *
+     * The view is removed from its parent, and the whiteboard page is reloaded, so that the next `WhiteSdk` instance starts
+     * from a blank whiteboard. If the pool is full, the view is destroyed.
+     *
+     * @note
+     * - Call {@link WhiteSdk#releaseRoom() releaseRoom} before this method.
+     * - Do not use the view, or the `WhiteSdk` instance created with the view, after returning the view to the pool.
+     *
+     * @param view The whiteboard view acquired from this pool. Views not acquired from this pool are ignored.
+     */
+    public synchronized void release(WhiteboardView view) {
+        if (view.pool != this || idleViews.contains(view)) {
+            return;
+        }
+        startingViews.remove(view);
+        ViewParent parent = view.getParent();
+        if (parent instanceof ViewGroup) {
+            ((ViewGroup) parent).removeView(view);
+        }
+        // Do not keep the Activity alive while the view is idle.
+        view.pooledContext.setBaseContext(context);
+        if (closed || idleViews.size() >= target) {
+            destroy(view);
+            return;
+        }
+        view.resetForReuse();
+        idleViews.add(view);
+    }
+
+    /**
+     * Destroys the idle views and stops filling the pool.
+     *
+     * The views handed out before are destroyed when they are returned to the pool.
+     */
+    public synchronized void close() {
+        closed = true;
+        trimTo(0);
+        context.getApplicationContext().unregisterComponentCallbacks(this);
+    }
+
+    /**
+     * Gets the statistics of the pool.
+     *
+     * @return The statistics of the pool. See {@link com.herewhite.sdk.domain.WhiteboardViewPoolStats WhiteboardViewPoolStats}.
+     */
+    public synchronized WhiteboardViewPoolStats getStats() {
+        return new WhiteboardViewPoolStats(warmStarts, average(warmStartupTime, warmStarts), coldStarts,
+                average(coldStartupTime, coldStarts), idleViews.size(), createdViews, trimmedViews);
+    }
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+            trimTo(0);
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            trimTo(Math.min(size, 1));
+        }
+    }
+
+    /**
+     * Hidden in documentation
+     */
+    @Override
+    public void onLowMemory() {
+        trimTo(0);
+    }
+
+    /**
+     * Hidden in documentation
+     */
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+    /// @endcond
+
+    /**
+     * Called by a view of the pool when its page is loaded.
+     */
+    synchronized void onPageReady(WhiteboardView view) {
+        Start start = startingViews.remove(view);
+        if (start != null) {
+            recordStart(start.warm, SystemClock.elapsedRealtime() - start.time);
+        }
+    }
+
+    Context getContext() {
+        return context;
+    }
+
+    /**
+     * Takes a view for internal use, such as selecting the connection route. Unlike {@link #acquire(Context)}, the context
+     * of the view is kept and the startup is not recorded. Return the view with {@link #release(WhiteboardView)}.
+     */
+    synchronized WhiteboardView borrow() {
+        WhiteboardView view = idleViews.poll();
+        if (view == null) {
+            view = create();
+        }
+        target = size;
+        scheduleRefill();
+        return view;
+    }
+
+    /**
+     * Destroys idle views until at most `count` are left. The pool is filled again after the next {@link #acquire}.
+     */
+    private synchronized void trimTo(int count) {
+        target = Math.min(target, count);
+        while (idleViews.size() > count) {
+            destroy(idleViews.poll());
+            trimmedViews++;
+        }
+    }
+
+    private void scheduleRefill() {
+        if (closed || refillScheduled || idleViews.size() >= target) {
+            return;
+        }
+        refillScheduled = true;
+        // The idle handler must be added from the main thread.
+        mainHandler.post(() -> Looper.myQueue().addIdleHandler(refill));
+    }
+
+    private WhiteboardView create() {
+        createdViews++;
+        return new WhiteboardView(this, new MutableContextWrapper(context));
+    }
+
+    private static void destroy(WhiteboardView view) {
+        view.removeAllViews();
+        view.destroy();
+    }
+
+    private void recordStart(boolean warm, long time) {
+        if (warm) {
+            warmStarts++;
+            warmStartupTime += time;
+        } else {
+            coldStarts++;
+            coldStartupTime += time;
+        }
+    }
+
+    private static long average(long total, long count) {
+        return count > 0 ? total / count : 0;
+    }
+}
@@ -0,0 +1,79 @@
+package com.herewhite.sdk.domain;
+
+import java.util.Map;
+
+/**
+ * The statistics of the batch dispatch and setter coalescing of a {@link com.herewhite.sdk.WhiteboardView WhiteboardView}.
+ *
+ * @since 2.16.101
+ */
+public class BridgeDispatchStats extends WhiteObject {
+
+    private long queuedCalls;
+    private long flushedFrames;
+    private long flushTimeNanos;
+    private Map<String, Long> elidedCalls;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public BridgeDispatchStats(long queuedCalls, long flushedFrames, long flushTimeNanos, Map<String, Long> elidedCalls) {
+        this.queuedCalls = queuedCalls;
+        this.flushedFrames = flushedFrames;
+        this.flushTimeNanos = flushTimeNanos;
+        this.elidedCalls = elidedCalls;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of calls queued since batch dispatch or setter coalescing was enabled.
+     *
+     * @return The number of queued calls.
+     */
+    public long getQueuedCalls() {
+        return queuedCalls;
+    }
+
+    /**
+     * Gets the number of frames in which queued calls were flushed to the WebView.
+     *
+     * Each flushed frame costs one JavaScript evaluation.
+     *
+     * @return The number of flushed frames.
+     */
+    public long getFlushedFrames() {
+        return flushedFrames;
+    }
+
+    /**
+     * Gets the total main-thread time spent on flushing queued calls.
+     *
+     * @return The total flush time (ns).
+     */
+    public long getFlushTimeNanos() {
+        return flushTimeNanos;
+    }
+
+    /**
+     * Gets the number of setter calls dropped because a newer call of the same method superseded them.
+     *
+     * @return The number of dropped calls, keyed by bridge method name, such as `"displayer.moveCamera"`.
+     */
+    public Map<String, Long> getElidedCalls() {
+        return elidedCalls;
+    }
+
+    /**
+     * Gets the total number of setter calls dropped because a newer call of the same method superseded them.
+     *
+     * @return The total number of dropped calls.
+     */
+    public long getTotalElidedCalls() {
+        long total = 0;
+        for (Long count : elidedCalls.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,100 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The metrics of a bridge method, such as `"room.getScenes"` or `"displayerAsync.scenePreview"`.
+ *
+ * @since 2.16.101
+ */
+public class BridgeMethodMetrics extends WhiteObject {
+
+    private long callCount;
+    private long averagePayloadBytes;
+    private long maxPayloadBytes;
+    private long latencyCount;
+    private double p50LatencyMs;
+    private double p95LatencyMs;
+    private double p99LatencyMs;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public BridgeMethodMetrics(long callCount, long averagePayloadBytes, long maxPayloadBytes, long latencyCount,
+                               double p50LatencyMs, double p95LatencyMs, double p99LatencyMs) {
+        this.callCount = callCount;
+        this.averagePayloadBytes = averagePayloadBytes;
+        this.maxPayloadBytes = maxPayloadBytes;
+        this.latencyCount = latencyCount;
+        this.p50LatencyMs = p50LatencyMs;
+        this.p95LatencyMs = p95LatencyMs;
+        this.p99LatencyMs = p99LatencyMs;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of calls sent to the whiteboard.
+     *
+     * @return The number of calls.
+     */
+    public long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * Gets the average size of the call arguments in UTF-8 JSON.
+     *
+     * To keep the overhead low, the SDK measures the size of one in every 16 calls.
+     *
+     * @return The average payload size (bytes).
+     */
+    public long getAveragePayloadBytes() {
+        return averagePayloadBytes;
+    }
+
+    /**
+     * Gets the largest measured size of the call arguments in UTF-8 JSON.
+     *
+     * @return The largest measured payload size (bytes).
+     */
+    public long getMaxPayloadBytes() {
+        return maxPayloadBytes;
+    }
+
+    /**
+     * Gets the number of calls whose latency has been measured.
+     *
+     * The latency can only be measured for calls that wait for a return value, for example, {@link com.herewhite.sdk.Room#getScenes(Promise) getScenes}.
+     *
+     * @return The number of calls with a measured latency.
+     */
+    public long getLatencyCount() {
+        return latencyCount;
+    }
+
+    /**
+     * Gets the 50th percentile of the time from sending the call to receiving its return value.
+     *
+     * @return The 50th percentile latency (ms).
+     */
+    public double getP50LatencyMs() {
+        return p50LatencyMs;
+    }
+
+    /**
+     * Gets the 95th percentile of the time from sending the call to receiving its return value.
+     *
+     * @return The 95th percentile latency (ms).
+     */
+    public double getP95LatencyMs() {
+        return p95LatencyMs;
+    }
+
+    /**
+     * Gets the 99th percentile of the time from sending the call to receiving its return value.
+     *
+     * @return The 99th percentile latency (ms).
+     */
+    public double getP99LatencyMs() {
+        return p99LatencyMs;
+    }
+}
@@ -0,0 +1,53 @@
+package com.herewhite.sdk.domain;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The metrics of the calls from the SDK to the whiteboard.
+ *
+ * @since 2.16.101
+ */
+public class BridgeMetrics extends WhiteObject {
+
+    private Map<String, BridgeMethodMetrics> methods;
+    private BridgeDispatchStats dispatchStats;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public BridgeMetrics(Map<String, BridgeMethodMetrics> methods, BridgeDispatchStats dispatchStats) {
+        this.methods = methods;
+        this.dispatchStats = dispatchStats;
+    }
+    /// @endcond
+
+    /**
+     * Gets the metrics of each bridge method.
+     *
+     * @return The metrics, keyed by bridge method name, such as `"room.state.getRoomState"`. See {@link BridgeMethodMetrics BridgeMethodMetrics}.
+     */
+    public Map<String, BridgeMethodMetrics> getMethods() {
+        return methods == null ? Collections.<String, BridgeMethodMetrics>emptyMap() : methods;
+    }
+
+    /**
+     * Gets the metrics of a bridge method.
+     *
+     * @param method The bridge method name.
+     * @return The metrics of the method, or `null` if the method has not been called. See {@link BridgeMethodMetrics BridgeMethodMetrics}.
+     */
+    public BridgeMethodMetrics getMethod(String method) {
+        return getMethods().get(method);
+    }
+
+    /**
+     * Gets the statistics of batch dispatch and setter coalescing.
+     *
+     * @return The statistics. See {@link BridgeDispatchStats BridgeDispatchStats}.
+     */
+    public BridgeDispatchStats getDispatchStats() {
+        return dispatchStats;
+    }
+}
@@ -0,0 +1,73 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The statistics of the callbacks triggered through the executor set with {@link com.herewhite.sdk.Displayer#setCallbackExecutor setCallbackExecutor} or {@link com.herewhite.sdk.Displayer#setEventCallbackExecutor setEventCallbackExecutor}.
+ *
+ * @since 2.16.101
+ */
+public class CallbackDispatchStats extends WhiteObject {
+
+    private long dispatchedCallbacks;
+    private int queueDepth;
+    private int maxQueueDepth;
+    private double averageLatencyMs;
+    private double maxLatencyMs;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public CallbackDispatchStats(long dispatchedCallbacks, int queueDepth, int maxQueueDepth, double averageLatencyMs, double maxLatencyMs) {
+        this.dispatchedCallbacks = dispatchedCallbacks;
+        this.queueDepth = queueDepth;
+        this.maxQueueDepth = maxQueueDepth;
+        this.averageLatencyMs = averageLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of callbacks triggered since the executor was set.
+     *
+     * @return The number of triggered callbacks.
+     */
+    public long getDispatchedCallbacks() {
+        return dispatchedCallbacks;
+    }
+
+    /**
+     * Gets the number of callbacks waiting in the executor.
+     *
+     * @return The number of waiting callbacks.
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Gets the largest number of callbacks that waited in the executor at the same time.
+     *
+     * @return The maximum number of waiting callbacks.
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    /**
+     * Gets the average time between receiving an event from the whiteboard and triggering its callback.
+     *
+     * @return The average latency (ms).
+     */
+    public double getAverageLatencyMs() {
+        return averageLatencyMs;
+    }
+
+    /**
+     * Gets the longest time between receiving an event from the whiteboard and triggering its callback.
+     *
+     * @return The maximum latency (ms).
+     */
+    public double getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+}
@@ -0,0 +1,48 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The buffer options of a high-frequency event listener. See {@link com.herewhite.sdk.Displayer#addHighFrequencyEventListener(String, FrequencyEventListener, Integer, EventBufferOptions) addHighFrequencyEventListener}.
+ *
+ * @since 2.16.101
+ */
+public class EventBufferOptions extends WhiteObject {
+
+    private int capacity = 256;
+    private EventOverflowPolicy overflowPolicy = EventOverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Gets the maximum number of events buffered for a listener.
+     *
+     * @return The buffer capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum number of events buffered for a listener.
+     *
+     * @param capacity The buffer capacity. The default value is 256. The SDK rounds the value up to a power of two.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the policy applied when the buffer is full.
+     *
+     * @return The overflow policy. See {@link EventOverflowPolicy}.
+     */
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Sets the policy applied when the buffer is full.
+     *
+     * @param overflowPolicy The overflow policy. See {@link EventOverflowPolicy}. The default value is `DROP_OLDEST`.
+     */
+    public void setOverflowPolicy(EventOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+}
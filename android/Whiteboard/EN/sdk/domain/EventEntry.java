@@ -1,13 +1,38 @@
 package com.herewhite.sdk.domain;
 
+import com.google.gson.JsonElement;
+
 /**
  * The `EventEntry` class, for getting customized events.
  */
 public class EventEntry extends WhiteObject {
     private String eventName;
-    private Object payload;
+    private JsonElement payload;
     private String scope;
     private long authorId;
+    // Decoded lazily, as most listeners only read the payload of some events.
+    private transient volatile EventPayloadCodec<?> payloadCodec;
+    private transient volatile DecodedPayload decodedPayload;
+    private transient volatile DecodedPayload typedPayload;
+
+    private static final class DecodedPayload {
+        final Class<?> type;
+        final Object value;
+
+        DecodedPayload(Class<?> type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public void setPayloadCodec(EventPayloadCodec<?> payloadCodec) {
+        this.payloadCodec = payloadCodec;
+    }
+    /// @endcond
 
     /// @cond test
     /**
@@ -41,9 +66,47 @@ public class EventEntry extends WhiteObject {
     /**
      * Gets the content of the event.
      *
+     * The content is decoded on the first call, by the codec set with {@link com.herewhite.sdk.Displayer#setMagixEventPayloadCodec setMagixEventPayloadCodec} if any.
+     *
      * @return The content of the event.
      */
     public Object getPayload() {
-        return payload;
+        DecodedPayload decoded = decodedPayload;
+        if (decoded == null) {
+            EventPayloadCodec<?> codec = payloadCodec;
+            Object value;
+            if (payload == null) {
+                value = null;
+            } else if (codec != null) {
+                value = codec.decode(payload);
+            } else {
+                value = gson.fromJson(payload, Object.class);
+            }
+            decoded = new DecodedPayload(null, value);
+            decodedPayload = decoded;
+        }
+        return decoded.value;
+    }
+
+    /**
+     * Gets the content of the event, decoded into the specified class.
+     *
+     * @since 2.16.101
+     *
+     * The payload is decoded straight from its JSON tree, without building the generic maps returned by {@link #getPayload() getPayload}.
+     * The decoded value is cached until the payload is decoded into another class.
+     *
+     * @param classOfT The class to decode the content into.
+     * @param <T>      The type of the content.
+     * @return The content of the event.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPayload(Class<T> classOfT) {
+        DecodedPayload decoded = typedPayload;
+        if (decoded == null || decoded.type != classOfT) {
+            decoded = new DecodedPayload(classOfT, payload == null ? null : gson.fromJson(payload, classOfT));
+            typedPayload = decoded;
+        }
+        return (T) decoded.value;
     }
 }
@@ -0,0 +1,25 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * What the SDK does when the buffer of a high-frequency event is full because a listener consumes events too slowly.
+ *
+ * @since 2.16.101
+ */
+public enum EventOverflowPolicy {
+    /**
+     * `DROP_OLDEST`: (Default) Drops the oldest event not yet delivered to the slow listener, so the listener always receives the latest events.
+     */
+    DROP_OLDEST,
+    /**
+     * `DROP_NEWEST`: Drops the incoming event, so the listeners receive the events in the buffer without gaps.
+     */
+    DROP_NEWEST,
+    /**
+     * `BLOCK`: Waits until the slow listener frees a slot in the buffer. No event is dropped.
+     *
+     * @warning The SDK waits on the thread that receives every message from the whiteboard. While it waits, all the callbacks,
+     * state updates and return values of the whiteboard are stalled behind the slow listener, not only the events.
+     * Only use this policy with listeners that return quickly.
+     */
+    BLOCK
+}
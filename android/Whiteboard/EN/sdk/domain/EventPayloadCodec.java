@@ -0,0 +1,22 @@
+package com.herewhite.sdk.domain;
+
+import com.google.gson.JsonElement;
+
+/**
+ * The `EventPayloadCodec` interface, for decoding the payload of a customized event.
+ *
+ * The SDK keeps the payload as a JSON tree and only calls the codec the first time {@link EventEntry#getPayload() getPayload} is called.
+ *
+ * @since 2.16.101
+ *
+ * @param <T> The type of the decoded payload.
+ */
+public interface EventPayloadCodec<T> {
+    /**
+     * Decodes the payload of a customized event.
+     *
+     * @param payload The payload as a JSON tree.
+     * @return The decoded payload.
+     */
+    T decode(JsonElement payload);
+}
@@ -0,0 +1,114 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The sending options of a customized event. See {@link com.herewhite.sdk.Room#setMagixEventSendOptions setMagixEventSendOptions}.
+ *
+ * @since 2.16.101
+ */
+public class MagixEventSendOptions extends WhiteObject {
+
+    private MagixEventSendPolicy policy = MagixEventSendPolicy.IMMEDIATE;
+    private long flushInterval = 100;
+    private double maxEventsPerSecond = 0;
+    private int maxQueuedEvents = 256;
+    private EventOverflowPolicy queueOverflowPolicy = EventOverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Gets the sending policy.
+     *
+     * @return The sending policy. See {@link MagixEventSendPolicy}.
+     */
+    public MagixEventSendPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Sets the sending policy.
+     *
+     * @param policy The sending policy. See {@link MagixEventSendPolicy}. The default value is `IMMEDIATE`.
+     */
+    public void setPolicy(MagixEventSendPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Gets the flush interval of the `COALESCE` and `ACCUMULATE` policies.
+     *
+     * @return The flush interval (ms).
+     */
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Sets the flush interval of the `COALESCE` and `ACCUMULATE` policies.
+     *
+     * @param flushInterval The flush interval (ms). The default value is 100.
+     */
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Gets the maximum number of events sent per second.
+     *
+     * @return The maximum number of events sent per second. `0` means no limit.
+     */
+    public double getMaxEventsPerSecond() {
+        return maxEventsPerSecond;
+    }
+
+    /**
+     * Sets the maximum number of events sent per second.
+     *
+     * The limit is a token bucket holding up to one second of events, so short bursts within the limit are sent without delay.
+     * Events over the limit are delayed. With the `IMMEDIATE` policy, at most {@link #setMaxQueuedEvents(int) maxQueuedEvents} events wait for sending,
+     * see {@link #setQueueOverflowPolicy(EventOverflowPolicy) setQueueOverflowPolicy}.
+     *
+     * @param maxEventsPerSecond The maximum number of events sent per second. The default value is `0`, which means no limit.
+     */
+    public void setMaxEventsPerSecond(double maxEventsPerSecond) {
+        this.maxEventsPerSecond = maxEventsPerSecond;
+    }
+
+    /**
+     * Gets the maximum number of events waiting for sending.
+     *
+     * @return The maximum number of events waiting for sending.
+     */
+    public int getMaxQueuedEvents() {
+        return maxQueuedEvents;
+    }
+
+    /**
+     * Sets the maximum number of events waiting for sending.
+     *
+     * Only applies to the `IMMEDIATE` policy with a {@link #setMaxEventsPerSecond(double) maxEventsPerSecond} limit,
+     * where the events over the limit wait in a queue.
+     *
+     * @param maxQueuedEvents The maximum number of events waiting for sending. The default value is 256.
+     */
+    public void setMaxQueuedEvents(int maxQueuedEvents) {
+        this.maxQueuedEvents = maxQueuedEvents;
+    }
+
+    /**
+     * Gets the policy applied when the queue of events waiting for sending is full.
+     *
+     * @return The overflow policy. See {@link EventOverflowPolicy}.
+     */
+    public EventOverflowPolicy getQueueOverflowPolicy() {
+        return queueOverflowPolicy;
+    }
+
+    /**
+     * Sets the policy applied when the queue of events waiting for sending is full.
+     *
+     * @note `BLOCK` does not block the caller: the oldest event in the queue is sent at once, over the rate limit, so that no event is dropped.
+     *
+     * @param queueOverflowPolicy The overflow policy. See {@link EventOverflowPolicy}. The default value is `DROP_OLDEST`.
+     */
+    public void setQueueOverflowPolicy(EventOverflowPolicy queueOverflowPolicy) {
+        this.queueOverflowPolicy = queueOverflowPolicy;
+    }
+}
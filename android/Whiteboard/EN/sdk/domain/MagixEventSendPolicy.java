@@ -0,0 +1,21 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * How the SDK sends a customized event dispatched by {@link com.herewhite.sdk.Room#dispatchMagixEvent dispatchMagixEvent}.
+ *
+ * @since 2.16.101
+ */
+public enum MagixEventSendPolicy {
+    /**
+     * `IMMEDIATE`: (Default) Sends every event as soon as the rate limit allows.
+     */
+    IMMEDIATE,
+    /**
+     * `COALESCE`: Sends only the last event dispatched within the flush interval.
+     */
+    COALESCE,
+    /**
+     * `ACCUMULATE`: Sends the payloads of all the events dispatched within the flush interval as one event, whose payload is the array of the payloads in dispatch order.
+     */
+    ACCUMULATE
+}
@@ -0,0 +1,62 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The statistics of the customized events sent with {@link MagixEventSendOptions}.
+ *
+ * @since 2.16.101
+ */
+public class MagixEventSendStats extends WhiteObject {
+
+    private long queuedEvents;
+    private long sentEvents;
+    private long mergedEvents;
+    private long droppedEvents;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public MagixEventSendStats(long queuedEvents, long sentEvents, long mergedEvents, long droppedEvents) {
+        this.queuedEvents = queuedEvents;
+        this.sentEvents = sentEvents;
+        this.mergedEvents = mergedEvents;
+        this.droppedEvents = droppedEvents;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of events dispatched for the event names with send options.
+     *
+     * @return The number of dispatched events.
+     */
+    public long getQueuedEvents() {
+        return queuedEvents;
+    }
+
+    /**
+     * Gets the number of events actually sent to the room, an accumulated event counting as one.
+     *
+     * @return The number of sent events.
+     */
+    public long getSentEvents() {
+        return sentEvents;
+    }
+
+    /**
+     * Gets the number of events merged into another one by the `COALESCE` and `ACCUMULATE` policies.
+     *
+     * @return The number of merged events.
+     */
+    public long getMergedEvents() {
+        return mergedEvents;
+    }
+
+    /**
+     * Gets the number of events dropped because the queue of events waiting for sending was full.
+     *
+     * @return The number of dropped events.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents;
+    }
+}
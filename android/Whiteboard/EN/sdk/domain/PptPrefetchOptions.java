@@ -0,0 +1,73 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The options of the PPT prefetcher. See {@link com.herewhite.sdk.Room#setPptPrefetchOptions(PptPrefetchOptions) setPptPrefetchOptions}.
+ *
+ * @since 2.16.101
+ */
+public class PptPrefetchOptions extends WhiteObject {
+
+    private String cacheDirectory;
+    private int pageCount = 2;
+    private long cacheSize = 128L * 1024 * 1024;
+
+    /**
+     * Gets the directory of the prefetched resources.
+     *
+     * @return The absolute path of the directory.
+     */
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Sets the directory of the prefetched resources.
+     *
+     * Use a directory dedicated to the prefetcher, such as a subdirectory of `Context.getCacheDir()`, as the SDK deletes
+     * files in it to keep the cache within {@link #setCacheSize(long) cacheSize}.
+     *
+     * @param cacheDirectory The absolute path of the directory. The prefetcher is disabled if it is `null`, which is the
+     *                       default value.
+     */
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Gets the number of pages prefetched on each side of the current page.
+     *
+     * @return The number of pages.
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Sets the number of pages prefetched on each side of the current page.
+     *
+     * The pages in the direction of travel are prefetched before the pages behind the current page.
+     *
+     * @param pageCount The number of pages. The default value is 2.
+     */
+    public void setPageCount(int pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    /**
+     * Gets the maximum size of the prefetched resources on disk.
+     *
+     * @return The cache size (bytes).
+     */
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum size of the prefetched resources on disk.
+     *
+     * @param cacheSize The cache size (bytes). The default value is 128 MB.
+     */
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
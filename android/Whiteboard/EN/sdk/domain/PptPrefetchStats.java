@@ -0,0 +1,103 @@
+package com.herewhite.sdk.domain;
+
+import java.util.Map;
+
+/**
+ * The statistics of the PPT prefetcher. See {@link com.herewhite.sdk.Room#getPptPrefetchStats() getPptPrefetchStats}.
+ *
+ * @since 2.16.101
+ */
+public class PptPrefetchStats extends WhiteObject {
+
+    private long pageViews;
+    private long pageHits;
+    private long downloads;
+    private long downloadedBytes;
+    private long failures;
+    private long cacheBytes;
+    private Map<String, Long> pageReadyTimes;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public PptPrefetchStats(long pageViews, long pageHits, long downloads, long downloadedBytes, long failures,
+                            long cacheBytes, Map<String, Long> pageReadyTimes) {
+        this.pageViews = pageViews;
+        this.pageHits = pageHits;
+        this.downloads = downloads;
+        this.downloadedBytes = downloadedBytes;
+        this.failures = failures;
+        this.cacheBytes = cacheBytes;
+        this.pageReadyTimes = pageReadyTimes;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of page changes.
+     *
+     * @return The number of page views.
+     */
+    public long getPageViews() {
+        return pageViews;
+    }
+
+    /**
+     * Gets the number of page changes to a page whose resources were all prefetched.
+     *
+     * The hit rate is `pageHits / pageViews`.
+     *
+     * @return The number of page hits.
+     */
+    public long getPageHits() {
+        return pageHits;
+    }
+
+    /**
+     * Gets the number of resources downloaded.
+     *
+     * @return The number of downloads.
+     */
+    public long getDownloads() {
+        return downloads;
+    }
+
+    /**
+     * Gets the size of the resources downloaded.
+     *
+     * @return The downloaded size (bytes).
+     */
+    public long getDownloadedBytes() {
+        return downloadedBytes;
+    }
+
+    /**
+     * Gets the number of resources that failed to download.
+     *
+     * @return The number of failures.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the size of the files currently in the cache.
+     *
+     * @return The cache size (bytes).
+     */
+    public long getCacheBytes() {
+        return cacheBytes;
+    }
+
+    /**
+     * Gets the time it took for the resources of each recently viewed page to be ready.
+     *
+     * The time is counted from the page change until the last resource of the page is downloaded, and is 0 if the
+     * resources were prefetched. Pages without resources to download are reported with 0.
+     *
+     * @return The time (ms) of the latest view of each page, keyed by the scene path.
+     */
+    public Map<String, Long> getPageReadyTimes() {
+        return pageReadyTimes;
+    }
+}
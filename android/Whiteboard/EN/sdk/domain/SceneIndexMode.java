@@ -0,0 +1,23 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * How scene lookups use the local scene index. See {@link com.herewhite.sdk.Displayer#setSceneIndexMode(SceneIndexMode) setSceneIndexMode}.
+ *
+ * @since 2.16.101
+ */
+public enum SceneIndexMode {
+    /**
+     * `DISABLED`: (Default) Every scene lookup queries the whiteboard.
+     */
+    DISABLED,
+    /**
+     * `LOCAL`: Scene lookups are answered from the local scene index when possible, without querying the whiteboard.
+     */
+    LOCAL,
+    /**
+     * `VERIFY`: Scene lookups also query the whiteboard and compare its answer with the local scene index. A mismatch is logged
+     * and counted in {@link com.herewhite.sdk.Displayer#getSceneIndexMismatchCount() getSceneIndexMismatchCount}. The promise-based
+     * lookups return the answer of the whiteboard. Use this mode in tests.
+     */
+    VERIFY
+}
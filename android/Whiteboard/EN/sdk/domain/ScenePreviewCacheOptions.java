@@ -0,0 +1,72 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The options of the scene preview cache. See {@link com.herewhite.sdk.Displayer#setScenePreviewCacheOptions(ScenePreviewCacheOptions) setScenePreviewCacheOptions}.
+ *
+ * @since 2.16.101
+ */
+public class ScenePreviewCacheOptions extends WhiteObject {
+
+    private int memoryCacheSize = 16 * 1024 * 1024;
+    private String diskCacheDirectory;
+    private long diskCacheSize = 64L * 1024 * 1024;
+
+    /**
+     * Gets the maximum size of the decoded previews kept in memory.
+     *
+     * @return The memory cache size (bytes).
+     */
+    public int getMemoryCacheSize() {
+        return memoryCacheSize;
+    }
+
+    /**
+     * Sets the maximum size of the decoded previews kept in memory.
+     *
+     * @param memoryCacheSize The memory cache size (bytes). The default value is 16 MB.
+     */
+    public void setMemoryCacheSize(int memoryCacheSize) {
+        this.memoryCacheSize = memoryCacheSize;
+    }
+
+    /**
+     * Gets the directory of the disk cache.
+     *
+     * @return The absolute path of the directory, or `null` if previews are not cached on disk.
+     */
+    public String getDiskCacheDirectory() {
+        return diskCacheDirectory;
+    }
+
+    /**
+     * Sets the directory of the disk cache.
+     *
+     * The SDK stores the preview images in this directory, so that they survive the memory cache and app restarts.
+     * Use a directory dedicated to the cache, such as a subdirectory of `Context.getCacheDir()`, as the SDK deletes
+     * files in it to keep the cache within {@link #setDiskCacheSize(long) diskCacheSize}.
+     *
+     * @param diskCacheDirectory The absolute path of the directory. The default value is `null`, which means previews
+     *                           are only cached in memory.
+     */
+    public void setDiskCacheDirectory(String diskCacheDirectory) {
+        this.diskCacheDirectory = diskCacheDirectory;
+    }
+
+    /**
+     * Gets the maximum size of the disk cache.
+     *
+     * @return The disk cache size (bytes).
+     */
+    public long getDiskCacheSize() {
+        return diskCacheSize;
+    }
+
+    /**
+     * Sets the maximum size of the disk cache.
+     *
+     * @param diskCacheSize The disk cache size (bytes). The default value is 64 MB.
+     */
+    public void setDiskCacheSize(long diskCacheSize) {
+        this.diskCacheSize = diskCacheSize;
+    }
+}
@@ -0,0 +1,96 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The statistics of the scene preview cache. See {@link com.herewhite.sdk.Displayer#getScenePreviewCacheStats() getScenePreviewCacheStats}.
+ *
+ * @since 2.16.101
+ */
+public class ScenePreviewCacheStats extends WhiteObject {
+
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+    private long memoryEvictions;
+    private long diskEvictions;
+    private long memoryCacheBytes;
+    private long diskCacheBytes;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public ScenePreviewCacheStats(long memoryHits, long diskHits, long misses, long memoryEvictions, long diskEvictions,
+                                  long memoryCacheBytes, long diskCacheBytes) {
+        this.memoryHits = memoryHits;
+        this.diskHits = diskHits;
+        this.misses = misses;
+        this.memoryEvictions = memoryEvictions;
+        this.diskEvictions = diskEvictions;
+        this.memoryCacheBytes = memoryCacheBytes;
+        this.diskCacheBytes = diskCacheBytes;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of previews returned from memory.
+     *
+     * @return The number of memory hits.
+     */
+    public long getMemoryHits() {
+        return memoryHits;
+    }
+
+    /**
+     * Gets the number of previews read from the disk cache.
+     *
+     * @return The number of disk hits.
+     */
+    public long getDiskHits() {
+        return diskHits;
+    }
+
+    /**
+     * Gets the number of previews rendered by the whiteboard because they were not cached.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the number of previews removed from memory to keep the memory cache within its size.
+     *
+     * @return The number of memory evictions.
+     */
+    public long getMemoryEvictions() {
+        return memoryEvictions;
+    }
+
+    /**
+     * Gets the number of files deleted to keep the disk cache within its size.
+     *
+     * @return The number of disk evictions.
+     */
+    public long getDiskEvictions() {
+        return diskEvictions;
+    }
+
+    /**
+     * Gets the size of the previews currently kept in memory.
+     *
+     * @return The memory cache size (bytes).
+     */
+    public long getMemoryCacheBytes() {
+        return memoryCacheBytes;
+    }
+
+    /**
+     * Gets the size of the files currently in the disk cache.
+     *
+     * @return The disk cache size (bytes).
+     */
+    public long getDiskCacheBytes() {
+        return diskCacheBytes;
+    }
+}
@@ -0,0 +1,52 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The options of the slide resource cache. See {@link com.herewhite.sdk.WhiteSdk#setSlideResourceCacheOptions(SlideResourceCacheOptions) setSlideResourceCacheOptions}.
+ *
+ * @since 2.16.101
+ */
+public class SlideResourceCacheOptions extends WhiteObject {
+
+    private String cacheDirectory;
+    private long cacheSize = 256L * 1024 * 1024;
+
+    /**
+     * Gets the directory of the cache.
+     *
+     * @return The absolute path of the directory.
+     */
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Sets the directory of the cache.
+     *
+     * Use a directory dedicated to the cache, such as a subdirectory of `Context.getCacheDir()`, as the SDK deletes files
+     * in it to keep the cache within {@link #setCacheSize(long) cacheSize}.
+     *
+     * @param cacheDirectory The absolute path of the directory. The cache is disabled if it is `null`, which is the
+     *                       default value.
+     */
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Gets the maximum size of the cache.
+     *
+     * @return The cache size (bytes).
+     */
+    public long getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum size of the cache.
+     *
+     * @param cacheSize The cache size (bytes). The default value is 256 MB.
+     */
+    public void setCacheSize(long cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
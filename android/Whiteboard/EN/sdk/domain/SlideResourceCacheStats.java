@@ -0,0 +1,107 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The statistics of the slide resource cache. See {@link com.herewhite.sdk.WhiteSdk#getSlideResourceCacheStats() getSlideResourceCacheStats}.
+ *
+ * @since 2.16.101
+ */
+public class SlideResourceCacheStats extends WhiteObject {
+
+    private long hits;
+    private long misses;
+    private long bytesSaved;
+    private long downloads;
+    private long downloadedBytes;
+    private long failures;
+    private long evictions;
+    private long cacheBytes;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public SlideResourceCacheStats(long hits, long misses, long bytesSaved, long downloads, long downloadedBytes,
+                                   long failures, long evictions, long cacheBytes) {
+        this.hits = hits;
+        this.misses = misses;
+        this.bytesSaved = bytesSaved;
+        this.downloads = downloads;
+        this.downloadedBytes = downloadedBytes;
+        this.failures = failures;
+        this.evictions = evictions;
+        this.cacheBytes = cacheBytes;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of resources served from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of resources loaded from the network because they were not cached.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Gets the size of the resources served from the cache instead of the network.
+     *
+     * @return The size saved (bytes).
+     */
+    public long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    /**
+     * Gets the number of resources downloaded into the cache.
+     *
+     * @return The number of downloads.
+     */
+    public long getDownloads() {
+        return downloads;
+    }
+
+    /**
+     * Gets the size of the resources downloaded into the cache.
+     *
+     * @return The downloaded size (bytes).
+     */
+    public long getDownloadedBytes() {
+        return downloadedBytes;
+    }
+
+    /**
+     * Gets the number of resources that failed to download.
+     *
+     * @return The number of failures.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the number of files deleted to keep the cache within its size.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the size of the files currently in the cache.
+     *
+     * @return The cache size (bytes).
+     */
+    public long getCacheBytes() {
+        return cacheBytes;
+    }
+}
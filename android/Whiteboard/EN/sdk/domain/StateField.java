@@ -0,0 +1,68 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * A field of {@link RoomState} that can be listened to with {@link com.herewhite.sdk.Room#addStateFieldListener addStateFieldListener}.
+ *
+ * @since 2.16.101
+ *
+ * @param <V> The type of the field value.
+ */
+public final class StateField<V> {
+
+    /**
+     * The state of the whiteboard tool. See {@link MemberState}.
+     */
+    public static final StateField<MemberState> MEMBER_STATE = new StateField<>("memberState");
+    /**
+     * The state of the scenes under the current scene directory. See {@link SceneState}.
+     */
+    public static final StateField<SceneState> SCENE_STATE = new StateField<>("sceneState");
+    /**
+     * The list of members in the room. See {@link RoomMember}.
+     */
+    public static final StateField<RoomMember[]> ROOM_MEMBERS = new StateField<>("roomMembers");
+    /**
+     * The state of the view. See {@link CameraState}.
+     */
+    public static final StateField<CameraState> CAMERA_STATE = new StateField<>("cameraState");
+    /**
+     * The view state of the room. See {@link BroadcastState}.
+     */
+    public static final StateField<BroadcastState> BROADCAST_STATE = new StateField<>("broadcastState");
+    /**
+     * The global state of the room, as an instance of the class set by {@link WhiteDisplayerState#setCustomGlobalStateClass setCustomGlobalStateClass}.
+     */
+    public static final StateField<GlobalState> GLOBAL_STATE = new StateField<>("globalState");
+    /**
+     * The scale of the view.
+     */
+    public static final StateField<Double> ZOOM_SCALE = new StateField<>("zoomScale");
+
+    private final String key;
+
+    private StateField(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Gets the key of the field in the room state.
+     *
+     * @return The key of the field, such as `"memberState"`.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    @SuppressWarnings("unchecked")
+    public V valueOf(Object rawValue) {
+        if (this == GLOBAL_STATE) {
+            return (V) WhiteDisplayerState.toGlobalState(rawValue, WhiteDisplayerState.customClass);
+        }
+        return (V) rawValue;
+    }
+    /// @endcond
+}
@@ -0,0 +1,17 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The `StateFieldListener` interface, for reporting changes of a single room state field.
+ *
+ * @since 2.16.101
+ *
+ * @param <V> The type of the field value. See {@link StateField}.
+ */
+public interface StateFieldListener<V> {
+    /**
+     * Occurs when the value of the listened field changes.
+     *
+     * @param value The new value of the field.
+     */
+    void onStateFieldChanged(V value);
+}
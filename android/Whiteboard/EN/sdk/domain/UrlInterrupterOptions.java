@@ -0,0 +1,92 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The options of the asynchronous URL interrupter. See
+ * {@link com.herewhite.sdk.WhiteSdk#setAsyncUrlInterrupter(com.herewhite.sdk.AsyncUrlInterrupter, UrlInterrupterOptions) setAsyncUrlInterrupter}.
+ *
+ * @since 2.16.101
+ */
+public class UrlInterrupterOptions extends WhiteObject {
+
+    private int threadCount = 4;
+    private int cacheSize = 1024;
+    private long cacheTtl = 10 * 60 * 1000L;
+    private long timeout = 5000L;
+
+    /**
+     * Gets the number of threads that call the interrupter.
+     *
+     * @return The number of threads.
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Sets the number of threads that call the interrupter.
+     *
+     * @param threadCount The number of threads. The default value is 4.
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Gets the maximum number of replaced URLs kept in the cache.
+     *
+     * @return The number of URLs.
+     */
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of replaced URLs kept in the cache. The least recently used URLs are removed first.
+     *
+     * @param cacheSize The number of URLs. The default value is 1024. Pass 0 to disable the cache.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Gets how long a replaced URL is kept in the cache.
+     *
+     * @return The time (ms).
+     */
+    public long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /**
+     * Sets how long a replaced URL is kept in the cache.
+     *
+     * Set a time shorter than the validity of the URLs returned by the interrupter, such as signed URLs.
+     *
+     * @param cacheTtl The time (ms). The default value is 10 minutes.
+     */
+    public void setCacheTtl(long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Gets how long the whiteboard waits for the interrupter.
+     *
+     * @return The time (ms).
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets how long the whiteboard waits for the interrupter.
+     *
+     * If the interrupter does not return a URL in time, the whiteboard loads the original URL. The URL returned later
+     * is still cached.
+     *
+     * @param timeout The time (ms). The default value is 5000.
+     */
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,88 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The statistics of the asynchronous URL interrupter. See {@link com.herewhite.sdk.WhiteSdk#getUrlInterrupterStats() getUrlInterrupterStats}.
+ *
+ * The latency of each call is recorded in the bridge metrics, see {@link com.herewhite.sdk.WhiteSdk#getBridgeMetrics() getBridgeMetrics}:
+ * `"sdk.urlInterrupter"` is the time the whiteboard waits for a URL, and `"sdk.urlInterrupter.async"` is the time the
+ * interrupter takes to return a URL.
+ *
+ * @since 2.16.101
+ */
+public class UrlInterrupterStats extends WhiteObject {
+
+    private long calls;
+    private long cacheHits;
+    private long sharedCalls;
+    private long timeouts;
+    private long failures;
+    private long cachedUrls;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public UrlInterrupterStats(long calls, long cacheHits, long sharedCalls, long timeouts, long failures, long cachedUrls) {
+        this.calls = calls;
+        this.cacheHits = cacheHits;
+        this.sharedCalls = sharedCalls;
+        this.timeouts = timeouts;
+        this.failures = failures;
+        this.cachedUrls = cachedUrls;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of URLs requested by the whiteboard.
+     *
+     * @return The number of calls.
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    /**
+     * Gets the number of URLs returned from the cache without calling the interrupter.
+     *
+     * @return The number of cache hits.
+     */
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Gets the number of requests that waited for a call of the interrupter already in progress for the same URL.
+     *
+     * @return The number of shared calls.
+     */
+    public long getSharedCalls() {
+        return sharedCalls;
+    }
+
+    /**
+     * Gets the number of URLs for which the whiteboard stopped waiting and loaded the original URL.
+     *
+     * @return The number of timeouts.
+     */
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Gets the number of calls of the interrupter that threw an exception or returned `null`.
+     *
+     * @return The number of failures.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the number of replaced URLs currently in the cache.
+     *
+     * @return The number of URLs.
+     */
+    public long getCachedUrls() {
+        return cachedUrls;
+    }
+}
@@ -13,7 +13,7 @@ import com.google.gson.JsonSyntaxException;
 public class WhiteDisplayerState extends WhiteObject {
 
     static Gson gson = new Gson();
-    static Class<?> customClass = GlobalState.class;
+    static volatile Class<?> customClass = GlobalState.class;
 
     /**
      * Sets the customized `GlobalState` class.
@@ -34,20 +34,53 @@ public class WhiteDisplayerState extends WhiteObject {
      *
      * @return The global state of the room.
      */
-    public GlobalState getGlobalState() {
-        String str = gson.toJson(globalState);
+    public synchronized GlobalState getGlobalState() {
+        // The typed instance is only rebuilt when the raw state or the custom class changes.
+        Class<?> clazz = customClass;
+        if (typedGlobalStateSource != globalState || typedGlobalStateClass != clazz) {
+            typedGlobalState = toGlobalState(globalState, clazz);
+            typedGlobalStateSource = globalState;
+            typedGlobalStateClass = clazz;
+        }
+        // Each call returns its own instance, as before the typed instance was kept.
+        return typedGlobalState != null ? WhiteObjectFields.of(typedGlobalState.getClass()).deepCopy(typedGlobalState) : null;
+    }
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     *
+     * Sets the typed global state already converted from the global state of this instance with `clazz`,
+     * so that {@link #getGlobalState()} does not convert it again.
+     */
+    public synchronized void presetGlobalState(GlobalState typedGlobalState, Class<?> clazz) {
+        this.typedGlobalState = typedGlobalState;
+        this.typedGlobalStateSource = globalState;
+        this.typedGlobalStateClass = clazz;
+    }
+
+    /**
+     * Hidden in documentation
+     */
+    public static Class<?> getCustomGlobalStateClass() {
+        return customClass;
+    }
+
+    /**
+     * Hidden in documentation
+     *
+     * Converts a raw global state to `clazz`. Returns `null` if the conversion fails.
+     */
+    public static GlobalState toGlobalState(Object globalState, Class<?> clazz) {
         Object customInstance = null;
         try {
-            customInstance = gson.fromJson(str, customClass);
+            customInstance = gson.fromJson(gson.toJsonTree(globalState), clazz);
         } catch (JsonSyntaxException e) {
             Log.e("getGlobalState error", e.getMessage());
         }
-        if (customClass.isInstance(customInstance)) {
-            return ((GlobalState) customInstance);
-        } else {
-            return null;
-        }
+        return clazz.isInstance(customInstance) ? (GlobalState) customInstance : null;
     }
+    /// @endcond
 
     /**
      * Gets the list of members in the room.
@@ -71,6 +104,9 @@ public class WhiteDisplayerState extends WhiteObject {
     }
 
     private Object globalState;
+    private transient GlobalState typedGlobalState;
+    private transient Object typedGlobalStateSource;
+    private transient Class<?> typedGlobalStateClass;
     private RoomMember[] roomMembers;
     private SceneState sceneState;
 
@@ -0,0 +1,100 @@
+package com.herewhite.sdk.domain;
+
+/**
+ * The statistics of a pool of whiteboard views. See {@link com.herewhite.sdk.WhiteboardViewPool#getStats() getStats}.
+ *
+ * The startup time of a view is the time from handing out the view to the end of the loading of the whiteboard page.
+ * A warm start hands out a view created in advance by the pool, whose page is often already loaded. A cold start creates
+ * the view when it is handed out, because the pool is empty.
+ *
+ * @since 2.16.101
+ */
+public class WhiteboardViewPoolStats extends WhiteObject {
+
+    private long warmStarts;
+    private long warmStartupTime;
+    private long coldStarts;
+    private long coldStartupTime;
+    private long idleViews;
+    private long createdViews;
+    private long trimmedViews;
+
+    /// @cond test
+    /**
+     * Hidden in documentation
+     */
+    public WhiteboardViewPoolStats(long warmStarts, long warmStartupTime, long coldStarts, long coldStartupTime,
+                                   long idleViews, long createdViews, long trimmedViews) {
+        this.warmStarts = warmStarts;
+        this.warmStartupTime = warmStartupTime;
+        this.coldStarts = coldStarts;
+        this.coldStartupTime = coldStartupTime;
+        this.idleViews = idleViews;
+        this.createdViews = createdViews;
+        this.trimmedViews = trimmedViews;
+    }
+    /// @endcond
+
+    /**
+     * Gets the number of views handed out from the views created in advance.
+     *
+     * @return The number of warm starts.
+     */
+    public long getWarmStarts() {
+        return warmStarts;
+    }
+
+    /**
+     * Gets the average startup time of the warm starts.
+     *
+     * @return The average startup time, in milliseconds. A view whose page is loaded when it is handed out counts as 0.
+     */
+    public long getWarmStartupTime() {
+        return warmStartupTime;
+    }
+
+    /**
+     * Gets the number of views created when they were handed out.
+     *
+     * @return The number of cold starts.
+     */
+    public long getColdStarts() {
+        return coldStarts;
+    }
+
+    /**
+     * Gets the average startup time of the cold starts.
+     *
+     * @return The average startup time, in milliseconds.
+     */
+    public long getColdStartupTime() {
+        return coldStartupTime;
+    }
+
+    /**
+     * Gets the number of views currently waiting in the pool.
+     *
+     * @return The number of idle views.
+     */
+    public long getIdleViews() {
+        return idleViews;
+    }
+
+    /**
+     * Gets the number of views created by the pool.
+     *
+     * @return The number of created views.
+     */
+    public long getCreatedViews() {
+        return createdViews;
+    }
+
+    /**
+     * Gets the number of idle views destroyed to free memory.
+     *
+     * @return The number of trimmed views.
+     */
+    public long getTrimmedViews() {
+        return trimmedViews;
+    }
+}